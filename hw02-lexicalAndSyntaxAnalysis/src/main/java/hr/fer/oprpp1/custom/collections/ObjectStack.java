@@ -6,20 +6,20 @@ package hr.fer.oprpp1.custom.collections;
  * It serves as the Adaptor in the Adapter pattern.
  *
  * @author mirtamoslavac
- * @version 1.0
+ * @version 2.0
  */
 public class ObjectStack {
 
     /**
-     * The Adaptee in the adapter pattern, in this case an {@link ArrayIndexedCollection}.
+     * The Adaptee in the adapter pattern, in this case an {@link ArrayDequeCollection} whose end is the top of the stack.
      */
-    private ArrayIndexedCollection adapteeCollection;
+    private final ArrayDequeCollection adapteeCollection;
 
     /**
-     * Default constructor that creates a new instance of both the adaptor ({@code ObjectStack}) and the adaptee ({@link ArrayIndexedCollection}).
+     * Default constructor that creates a new instance of both the adaptor ({@code ObjectStack}) and the adaptee ({@link ArrayDequeCollection}).
      */
     public ObjectStack() {
-        adapteeCollection = new ArrayIndexedCollection();
+        adapteeCollection = new ArrayDequeCollection();
     }
 
     /**
@@ -46,7 +46,7 @@ public class ObjectStack {
      * @throws NullPointerException when {@code value} is passed as {@code null}.
      */
     public void push(Object value) {
-        this.adapteeCollection.add(value);
+        this.adapteeCollection.addLast(value);
     }
 
     /**
@@ -59,10 +59,7 @@ public class ObjectStack {
         if (this.isEmpty()) {
             throw new EmptyStackExceptionV2("Cannot pop when the stack is empty!");
         }
-        Object poppedObject = this.peek();
-        this.adapteeCollection.remove(this.size() - 1);
-
-        return poppedObject;
+        return this.adapteeCollection.removeLast();
     }
 
     /**
@@ -75,7 +72,7 @@ public class ObjectStack {
         if (this.isEmpty()) {
             throw new EmptyStackExceptionV2("Cannot peek when the stack is empty!");
         }
-        return this.adapteeCollection.get(this.size() - 1);
+        return this.adapteeCollection.peekLast();
     }
 
     /**
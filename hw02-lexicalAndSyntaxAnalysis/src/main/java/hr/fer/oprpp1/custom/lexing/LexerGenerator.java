@@ -0,0 +1,271 @@
+package hr.fer.oprpp1.custom.lexing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * The {@code LexerGenerator} class collects the definition of the tokens of a language as a deterministic finite automaton over character classes and generates
+ * the dense tables of a {@link LexerTable} from it.
+ * <p>
+ * Character classes are defined first, either by the characters they contain or by a predicate, and every character belongs to the first class that contains it,
+ * or to {@link #OTHER} if there is none.
+ * The end of the input is a class of its own, {@link #END_OF_INPUT}.
+ * States are then connected with transitions on character classes, and a transition can also report an error instead of moving to another state.
+ * A state that has no transition for a character class ends the token at the last accepting state.
+ * Every state defines whether the character that brought the automaton into it belongs to the value of a token, is left out of it or is replaced by another one,
+ * which is how escapes are resolved.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class LexerGenerator {
+
+    /**
+     * Character class of the end of the input.
+     */
+    public static final int END_OF_INPUT = 0;
+
+    /**
+     * Character class of all characters that do not belong to any defined class.
+     */
+    public static final int OTHER = 1;
+
+    /**
+     * Value in the table of transitions standing for no transition.
+     */
+    static final int NONE = -1;
+
+    /**
+     * The largest number of character classes, limited by the size of the entries of the table of classes.
+     */
+    private static final int MAX_CLASSES = Byte.MAX_VALUE + 1;
+
+    /**
+     * Classes of all {@code char} values defined so far, 0 for characters that do not belong to any class yet.
+     */
+    private final byte[] classes = new byte[Character.MAX_VALUE + 1];
+
+    /**
+     * The number of character classes defined so far.
+     */
+    private int classCount = OTHER + 1;
+
+    /**
+     * Types of tokens accepted in every state defined so far.
+     */
+    private final List<Integer> accepted = new ArrayList<>();
+
+    /**
+     * Outputs of every state defined so far.
+     */
+    private final List<Integer> outputs = new ArrayList<>();
+
+    /**
+     * Default transitions or errors of every state defined so far, {@link #NONE} for states without one.
+     */
+    private final List<Integer> defaults = new ArrayList<>();
+
+    /**
+     * Transitions defined so far, each as an array of the source state, the character class and the value of the transition.
+     */
+    private final List<int[]> transitions = new ArrayList<>();
+
+    /**
+     * Defines a new character class containing the given {@code characters} that do not belong to an earlier class.
+     *
+     * @param characters characters of the class.
+     * @return the new character class.
+     * @throws NullPointerException when the given {@code characters} are {@code null}.
+     * @throws IllegalStateException when there are too many character classes.
+     */
+    public int charClass(String characters) {
+        if (characters == null) throw new NullPointerException("The given characters cannot be null!");
+
+        return this.charClass(character -> characters.indexOf(character) >= 0);
+    }
+
+    /**
+     * Defines a new character class containing the characters satisfying the given {@code predicate} that do not belong to an earlier class.
+     *
+     * @param predicate predicate tested on every {@code char} value.
+     * @return the new character class.
+     * @throws NullPointerException when the given {@code predicate} is {@code null}.
+     * @throws IllegalStateException when there are too many character classes.
+     */
+    public int charClass(IntPredicate predicate) {
+        if (predicate == null) throw new NullPointerException("The given predicate cannot be null!");
+        if (this.classCount == MAX_CLASSES) throw new IllegalStateException("Cannot define more than " + MAX_CLASSES + " character classes!");
+
+        int charClass = this.classCount++;
+        for (int character = 0; character <= Character.MAX_VALUE; character++) {
+            if (this.classes[character] == 0 && predicate.test(character)) this.classes[character] = (byte) charClass;
+        }
+
+        return charClass;
+    }
+
+    /**
+     * Defines a new state that is not accepting.
+     *
+     * @return the new state.
+     */
+    public int state() {
+        return this.state(LexerTable.NO_MATCH);
+    }
+
+    /**
+     * Defines a new state accepting tokens of the given {@code type}.
+     *
+     * @param type type of the accepted tokens, or {@link LexerTable#NO_MATCH} for a state that is not accepting.
+     * @return the new state.
+     * @throws IllegalArgumentException when the given {@code type} is negative and not {@link LexerTable#NO_MATCH}.
+     */
+    public int state(int type) {
+        if (type < LexerTable.NO_MATCH) throw new IllegalArgumentException("The token type cannot be negative!");
+
+        this.accepted.add(type);
+        this.outputs.add(LexerTable.CONSUMED);
+        this.defaults.add(NONE);
+        return this.accepted.size() - 1;
+    }
+
+    /**
+     * Leaves the characters that bring the automaton into the given {@code state} out of the values of tokens.
+     *
+     * @param state the state.
+     * @throws IllegalArgumentException when the given {@code state} does not exist.
+     */
+    public void omit(int state) {
+        this.checkState(state);
+        this.outputs.set(state, LexerTable.OMITTED);
+    }
+
+    /**
+     * Replaces the characters that bring the automaton into the given {@code state} by the given {@code character} in the values of tokens.
+     *
+     * @param state the state.
+     * @param character the character put into the values of tokens.
+     * @throws IllegalArgumentException when the given {@code state} does not exist.
+     */
+    public void output(int state, char character) {
+        this.checkState(state);
+        this.outputs.set(state, (int) character);
+    }
+
+    /**
+     * Defines transitions from the state {@code from} to the state {@code to} on all given character classes.
+     *
+     * @param from the source state.
+     * @param to the target state.
+     * @param charClasses character classes of the transitions.
+     * @throws IllegalArgumentException when any of the states or character classes does not exist.
+     */
+    public void transition(int from, int to, int... charClasses) {
+        this.checkState(to);
+        this.add(from, to, charClasses);
+    }
+
+    /**
+     * Defines transitions from the state {@code from} to the state {@code to} on all character classes except the end of the input for which no other transition
+     * or error is defined.
+     *
+     * @param from the source state.
+     * @param to the target state.
+     * @throws IllegalArgumentException when any of the states does not exist.
+     */
+    public void otherwise(int from, int to) {
+        this.checkState(from);
+        this.checkState(to);
+        this.defaults.set(from, to);
+    }
+
+    /**
+     * Defines that all character classes except the end of the input for which no other transition or error is defined are errors with the given
+     * {@code errorCode} in the state {@code from}.
+     *
+     * @param from the source state.
+     * @param errorCode code of the error, reported by {@link LexerTable#errorCode(long)}.
+     * @throws IllegalArgumentException when the given {@code errorCode} is negative or the state does not exist.
+     */
+    public void otherwiseError(int from, int errorCode) {
+        if (errorCode < 0) throw new IllegalArgumentException("The error code cannot be negative!");
+        this.checkState(from);
+
+        this.defaults.set(from, NONE - 1 - errorCode);
+    }
+
+    /**
+     * Defines that the given character classes in the state {@code from} are errors with the given {@code errorCode}.
+     *
+     * @param from the source state.
+     * @param errorCode code of the error, reported by {@link LexerTable#errorCode(long)}.
+     * @param charClasses character classes of the errors.
+     * @throws IllegalArgumentException when the given {@code errorCode} is negative or any of the states or character classes does not exist.
+     */
+    public void error(int from, int errorCode, int... charClasses) {
+        if (errorCode < 0) throw new IllegalArgumentException("The error code cannot be negative!");
+
+        this.add(from, NONE - 1 - errorCode, charClasses);
+    }
+
+    /**
+     * Generates the tables of the automaton defined so far.
+     *
+     * @return the generated tables.
+     */
+    public LexerTable generate() {
+        int states = this.accepted.size();
+        int[] table = new int[states * this.classCount];
+        Arrays.fill(table, NONE);
+
+        for (int[] transition : this.transitions) {
+            table[transition[0] * this.classCount + transition[1]] = transition[2];
+        }
+
+        for (int state = 0; state < states; state++) {
+            int defaultTransition = this.defaults.get(state);
+            if (defaultTransition == NONE) continue;
+
+            for (int charClass = OTHER; charClass < this.classCount; charClass++) {
+                if (table[state * this.classCount + charClass] == NONE) table[state * this.classCount + charClass] = defaultTransition;
+            }
+        }
+
+        byte[] classes = Arrays.copyOf(this.classes, this.classes.length);
+        for (int character = 0; character < classes.length; character++) {
+            if (classes[character] == 0) classes[character] = OTHER;
+        }
+
+        return new LexerTable(classes, this.classCount, table, this.accepted.stream().mapToInt(Integer::intValue).toArray(),
+                this.outputs.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Adds transitions with the given {@code value} from the state {@code from} on all given character classes.
+     *
+     * @param from the source state.
+     * @param value the target state or the encoded error.
+     * @param charClasses character classes of the transitions.
+     * @throws IllegalArgumentException when the source state or any of the character classes does not exist.
+     */
+    private void add(int from, int value, int... charClasses) {
+        this.checkState(from);
+
+        for (int charClass : charClasses) {
+            if (charClass < 0 || charClass >= this.classCount) throw new IllegalArgumentException("The character class " + charClass + " does not exist!");
+            this.transitions.add(new int[] {from, charClass, value});
+        }
+    }
+
+    /**
+     * Checks whether the given {@code state} exists.
+     *
+     * @param state the state.
+     * @throws IllegalArgumentException when the given {@code state} does not exist.
+     */
+    private void checkState(int state) {
+        if (state < 0 || state >= this.accepted.size()) throw new IllegalArgumentException("The state " + state + " does not exist!");
+    }
+}
@@ -0,0 +1,210 @@
+package hr.fer.oprpp1.custom.lexing;
+
+/**
+ * The {@code LexerTable} class is a deterministic finite automaton generated by {@link LexerGenerator}, which recognizes tokens of a language.
+ * <p>
+ * Every character of the input is first mapped to its character class through a dense table covering all {@code char} values, and the next state is then read from
+ * a dense table of transitions indexed by the current state and the character class, so matching a token does not call any character predicates.
+ * The automaton reads characters as long as there is a transition for them and the matched token ends right after the last character that brought it into an
+ * accepting state.
+ * <p>
+ * The result of matching a token holds the type of the token and the position right after it, packed into a single {@code long} that is unpacked by
+ * {@link #type(long)} and {@link #end(long)}, so matching does not allocate.
+ * It also tells whether any character of the token is left out of its value or replaced, see {@link #isTransformed(long)}, so values that are plain copies of the
+ * input are created without reading the token again.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public final class LexerTable {
+
+    /**
+     * Type in the result of matching when no token could be matched.
+     */
+    public static final int NO_MATCH = -1;
+
+    /**
+     * Value in the table of outputs of states whose characters belong to the value of a token.
+     */
+    static final int CONSUMED = -1;
+
+    /**
+     * Value in the table of outputs of states whose characters are left out of the value of a token.
+     */
+    static final int OMITTED = -2;
+
+    /**
+     * Bit of the position in the result of matching that is set when the value of the matched token differs from its characters.
+     */
+    private static final int TRANSFORMED = 1 << 31;
+
+    /**
+     * Classes of all {@code char} values.
+     */
+    private final byte[] classes;
+
+    /**
+     * The number of character classes, including the end of the input.
+     */
+    private final int classCount;
+
+    /**
+     * Transitions of all states, {@code classCount} of them in the row of every state, where a state is represented by the offset of its row,
+     * {@link LexerGenerator#NONE} stands for no transition and a value smaller than that for an error.
+     */
+    private final int[] transitions;
+
+    /**
+     * Types of tokens accepted in every state, at the offset of its row, {@link #NO_MATCH} for states that are not accepting.
+     */
+    private final int[] accepted;
+
+    /**
+     * Outputs of every state, at the offset of its row, which are either {@link #CONSUMED}, {@link #OMITTED} or the character put into the value of a token
+     * instead of the consumed one.
+     */
+    private final int[] outputs;
+
+    /**
+     * Creates a new {@code LexerTable} from the given tables, indexed by states.
+     *
+     * @param classes classes of all {@code char} values.
+     * @param classCount the number of character classes.
+     * @param transitions transitions of all states, whose targets are states.
+     * @param accepted types of tokens accepted in every state.
+     * @param outputs outputs of every state.
+     */
+    LexerTable(byte[] classes, int classCount, int[] transitions, int[] accepted, int[] outputs) {
+        this.classes = classes;
+        this.classCount = classCount;
+        this.transitions = new int[transitions.length];
+        this.accepted = new int[transitions.length];
+        this.outputs = new int[transitions.length];
+
+        for (int i = 0; i < transitions.length; i++) {
+            this.transitions[i] = transitions[i] >= 0 ? transitions[i] * classCount : transitions[i];
+        }
+        for (int state = 0; state < accepted.length; state++) {
+            this.accepted[state * classCount] = accepted[state];
+            this.outputs[state * classCount] = outputs[state];
+        }
+    }
+
+    /**
+     * Matches the longest token starting at the given {@code offset} of the given {@code data}, starting in the given {@code state}.
+     *
+     * @param data the input.
+     * @param offset position of the first character of the token.
+     * @param state the starting state.
+     * @return the type of the matched token, {@link #NO_MATCH} or an error, along with the position right after the token or the position where the error was
+     * found.
+     */
+    public long match(char[] data, int offset, int state) {
+        byte[] classes = this.classes;
+        int[] transitions = this.transitions, accepted = this.accepted, outputs = this.outputs;
+        int row = state * this.classCount, type = NO_MATCH, end = offset;
+        boolean transformed = false, transformedEnd = false;
+
+        for (int i = offset, length = data.length; ; i++) {
+            if (i == length) {
+                int next = transitions[row + LexerGenerator.END_OF_INPUT];
+                if (next < LexerGenerator.NONE) return result(next, i, false);
+                if (next >= 0 && accepted[next] != NO_MATCH) return result(accepted[next], i, transformed);
+                return result(type, end, transformedEnd);
+            }
+
+            int next = transitions[row + classes[data[i]]];
+            if (next < 0) return next == LexerGenerator.NONE ? result(type, end, transformedEnd) : result(next, i, false);
+
+            row = next;
+            transformed |= outputs[row] != CONSUMED;
+            if (accepted[row] != NO_MATCH) {
+                type = accepted[row];
+                end = i + 1;
+                transformedEnd = transformed;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the value of the token matched with the given result differs from the characters of the token, in which case it has to be created by
+     * {@link #value(char[], int, int, int)}.
+     *
+     * @param result result of {@link #match(char[], int, int)} with a matched token.
+     * @return {@code true} if any character of the token is left out of its value or replaced, {@code false} otherwise.
+     */
+    public static boolean isTransformed(long result) {
+        return ((int) result & TRANSFORMED) != 0;
+    }
+
+    /**
+     * Creates the value of the token between {@code start} (inclusive) and {@code end} (exclusive) of the given {@code data}, which has been matched starting in
+     * the given {@code state}, leaving out or replacing the characters as defined by the outputs of the states.
+     *
+     * @param data the input.
+     * @param start position of the first character of the token.
+     * @param end position right after the token.
+     * @param state the state the token has been matched from.
+     * @return the value of the token.
+     */
+    public String value(char[] data, int start, int end, int state) {
+        StringBuilder sb = null;
+
+        for (int i = start, row = state * this.classCount; i < end; i++) {
+            row = this.transitions[row + this.classes[data[i]]];
+
+            int output = this.outputs[row];
+            if (output == CONSUMED) {
+                if (sb != null) sb.append(data[i]);
+                continue;
+            }
+
+            if (sb == null) sb = new StringBuilder(end - start).append(data, start, i - start);
+            if (output != OMITTED) sb.append((char) output);
+        }
+
+        return sb == null ? new String(data, start, end - start) : sb.toString();
+    }
+
+    /**
+     * Fetches the type of the token from the given result of matching.
+     *
+     * @param result result of {@link #match(char[], int, int)}.
+     * @return the type of the matched token, {@link #NO_MATCH} if no token could be matched, or a value smaller than that if an error was found.
+     */
+    public static int type(long result) {
+        return (int) (result >> 32);
+    }
+
+    /**
+     * Fetches the position right after the matched token, or the position where the error was found, from the given result of matching.
+     *
+     * @param result result of {@link #match(char[], int, int)}.
+     * @return the position.
+     */
+    public static int end(long result) {
+        return (int) result & ~TRANSFORMED;
+    }
+
+    /**
+     * Fetches the code of the error found while matching from the given result of matching.
+     *
+     * @param result result of {@link #match(char[], int, int)} whose type is smaller than {@link #NO_MATCH}.
+     * @return the error code given to {@link LexerGenerator#error(int, int, int...)}.
+     */
+    public static int errorCode(long result) {
+        return LexerGenerator.NONE - 1 - type(result);
+    }
+
+    /**
+     * Packs the given {@code type}, position and whether the value of the token differs from its characters into a result of matching.
+     *
+     * @param type the type.
+     * @param end the position.
+     * @param transformed whether the value of the token differs from its characters.
+     * @return the result.
+     */
+    private static long result(int type, int end, boolean transformed) {
+        return (long) type << 32 | (transformed ? end | TRANSFORMED : end) & 0xFFFFFFFFL;
+    }
+}
@@ -0,0 +1,136 @@
+package hr.fer.oprpp1.custom.lexing;
+
+/**
+ * The {@code NumberParser} class parses numbers directly from a range of a {@code char} array, so the values of numeric tokens can be read without creating a
+ * {@link String} first.
+ * <p>
+ * Integers are parsed with the same rules as {@link Long#parseLong(String)}.
+ * Decimal numbers made of at most 15 digits, at most 22 of them after the dot, are exactly the quotient of two exactly representable {@code double} values, so
+ * they are parsed by a single division, while all others are passed to {@link Double#parseDouble(String)}.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public final class NumberParser {
+
+    /**
+     * The largest number of digits of a decimal number parsed by a single division.
+     */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    /**
+     * Powers of ten that are exactly representable as {@code double} values.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Disables creating instances of {@code NumberParser}.
+     */
+    private NumberParser() {
+    }
+
+    /**
+     * Parses the characters between {@code start} (inclusive) and {@code end} (exclusive) of the given {@code data} as a {@code long}.
+     *
+     * @param data the input.
+     * @param start position of the first character of the number.
+     * @param end position right after the number.
+     * @return the parsed number.
+     * @throws NumberFormatException when the characters are not a number or it does not fit into a {@code long}.
+     */
+    public static long parseLong(char[] data, int start, int end) {
+        return parse(data, start, end, Long.MIN_VALUE);
+    }
+
+    /**
+     * Parses the characters between {@code start} (inclusive) and {@code end} (exclusive) of the given {@code data} as an {@code int}.
+     *
+     * @param data the input.
+     * @param start position of the first character of the number.
+     * @param end position right after the number.
+     * @return the parsed number.
+     * @throws NumberFormatException when the characters are not a number or it does not fit into an {@code int}.
+     */
+    public static int parseInt(char[] data, int start, int end) {
+        return (int) parse(data, start, end, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Parses the characters between {@code start} (inclusive) and {@code end} (exclusive) of the given {@code data} as a {@code double}.
+     *
+     * @param data the input.
+     * @param start position of the first character of the number.
+     * @param end position right after the number.
+     * @return the parsed number.
+     * @throws NumberFormatException when the characters are not a number.
+     */
+    public static double parseDouble(char[] data, int start, int end) {
+        boolean negative = start < end && data[start] == '-';
+        long mantissa = 0;
+        int digits = 0, decimals = -1;
+
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            char c = data[i];
+            if (c >= '0' && c <= '9' && digits < MAX_FAST_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) decimals++;
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                return Double.parseDouble(new String(data, start, end - start));
+            }
+        }
+
+        if (digits == 0) return Double.parseDouble(new String(data, start, end - start));
+
+        double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the characters between {@code start} (inclusive) and {@code end} (exclusive) of the given {@code data} as an integer that is not smaller than
+     * {@code min} and not larger than {@code -(min + 1)}.
+     * The value is accumulated as a negative number, so {@code min} itself can be parsed.
+     *
+     * @param data the input.
+     * @param start position of the first character of the number.
+     * @param end position right after the number.
+     * @param min the smallest allowed value.
+     * @return the parsed number.
+     * @throws NumberFormatException when the characters are not a number or it is out of range.
+     */
+    private static long parse(char[] data, int start, int end, long min) {
+        if (start >= end) throw new NumberFormatException("Cannot parse an empty number!");
+
+        boolean negative = data[start] == '-';
+        int i = negative || data[start] == '+' ? start + 1 : start;
+        if (i == end) throw new NumberFormatException("The number " + new String(data, start, end - start) + " has no digits!");
+
+        long limit = negative ? min : min + 1, multiplicationLimit = limit / 10, result = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(data[i], 10);
+            if (digit < 0 || result < multiplicationLimit) throw invalid(data, start, end);
+
+            result *= 10;
+            if (result < limit + digit) throw invalid(data, start, end);
+            result -= digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+    /**
+     * Creates an exception for the invalid number between {@code start} (inclusive) and {@code end} (exclusive) of the given {@code data}.
+     *
+     * @param data the input.
+     * @param start position of the first character of the number.
+     * @param end position right after the number.
+     * @return the exception.
+     */
+    private static NumberFormatException invalid(char[] data, int start, int end) {
+        return new NumberFormatException("The number " + new String(data, start, end - start) + " cannot be parsed!");
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Package containing a generator of table-driven lexers, which compiles the definitions of tokens into dense tables of transitions over character classes.
+ *
+ * @since 1.0
+ */
+package hr.fer.oprpp1.custom.lexing;
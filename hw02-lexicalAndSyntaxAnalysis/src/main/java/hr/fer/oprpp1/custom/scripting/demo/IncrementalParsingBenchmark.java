@@ -0,0 +1,105 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptIncrementalParser;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParserException;
+
+import java.util.Random;
+
+/**
+ * {@code IncrementalParsingBenchmark} is a command-line application comparing the time of parsing a generated document again after single-character edits with the
+ * time of updating its tree by {@link SmartScriptIncrementalParser}.
+ * Every other edit inserts a character, either at a random position or close to the previously edited one, and the following edit removes it.
+ * Accepts the size of the generated document in megabytes as an optional command-line argument, by default 10.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class IncrementalParsingBenchmark {
+
+    /**
+     * The number of measured edits.
+     */
+    private static final int EDITS = 2_000;
+
+    /**
+     * The number of measured parses of the whole document.
+     */
+    private static final int PARSES = 5;
+
+    /**
+     * Measures the time of updating the tree of a generated document after single-character edits.
+     *
+     * @param args size of the document in megabytes.
+     */
+    public static void main(String[] args) {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String document = TemplateGenerator.generate(megabytes << 20);
+        System.out.printf("%d MB document, %,d characters%n", megabytes, document.length());
+
+        for (int i = 0; i < PARSES; i++) {
+            new SmartScriptParser(document);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < PARSES; i++) {
+            new SmartScriptParser(document);
+        }
+        System.out.printf("  %-36s %,14.2f us per edit%n", "new SmartScriptParser", (System.nanoTime() - start) / 1e3 / PARSES);
+
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser(document);
+        edit(parser, document.length(), document.length(), new Random(1), EDITS);
+        report("edit, random positions", edit(parser, document.length(), document.length(), new Random(2), EDITS));
+        report("edit, positions close together", edit(parser, document.length(), 1 << 10, new Random(3), EDITS));
+    }
+
+    /**
+     * Prints the average time of a single edit and the average number of characters parsed after it.
+     *
+     * @param name name of the measured kind of edits.
+     * @param results results of the edits.
+     */
+    private static void report(String name, long[] results) {
+        System.out.printf("  %-36s %,14.2f us per edit, %,.1f characters parsed per edit, %d invalid edits rejected%n", name, results[0] / 1e3 / results[2],
+                (double) results[1] / results[2], EDITS - results[2]);
+    }
+
+    /**
+     * Inserts and removes a character at random positions of the document of the given {@code parser} the given number of times, each position at most
+     * {@code distance} characters away from the previous one, or anywhere within the document if the distance is not smaller than its length.
+     * Insertions that make the document invalid are rejected by the parser and are neither measured nor followed by a removal.
+     *
+     * @param parser the parser.
+     * @param length length of the document.
+     * @param distance the largest distance between consecutive positions.
+     * @param random source of positions.
+     * @param edits the number of edits.
+     * @return the total time of valid edits in nanoseconds, the total number of characters parsed after them and their number.
+     */
+    private static long[] edit(SmartScriptIncrementalParser parser, int length, int distance, Random random, int edits) {
+        long[] results = new long[3];
+        boolean inserted = false;
+
+        for (int i = 0, offset = length / 2; i < edits; i++) {
+            long start = System.nanoTime();
+            try {
+                if (!inserted) {
+                    offset = distance >= length ? random.nextInt(length + 1) :
+                            Math.max(0, Math.min(length, offset + random.nextInt(2 * distance + 1) - distance));
+                    parser.edit(offset, 0, "x");
+                    inserted = true;
+                } else {
+                    parser.edit(offset, 1, "");
+                    inserted = false;
+                }
+            } catch (SmartScriptParserException e) {
+                continue;
+            }
+
+            results[0] += System.nanoTime() - start;
+            results[1] += parser.getLastParsedLength();
+            results[2]++;
+        }
+
+        return results;
+    }
+}
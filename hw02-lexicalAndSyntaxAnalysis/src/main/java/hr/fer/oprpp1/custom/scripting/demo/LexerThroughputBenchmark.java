@@ -0,0 +1,133 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexerState;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptStreamingLexer;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptToken;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptTokenType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * {@code LexerThroughputBenchmark} is a command-line application comparing the number of tokens per second produced by {@link SmartScriptLexer} and
+ * {@link SmartScriptStreamingLexer} on a large generated document.
+ * Accepts the size of the generated document in megabytes as the first optional command-line argument, by default 16, and the size of a document that is
+ * written to a temporary file and lexed through a {@link Reader} as the second one, by default 256.
+ * Running it with a heap smaller than the second document, e.g. {@code -Xmx32m 1 512}, shows that the streaming lexer works in constant memory.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class LexerThroughputBenchmark {
+
+    /**
+     * Number of measured repetitions of every lexer, of which the best one is reported.
+     */
+    private static final int REPETITIONS = 5;
+
+    /**
+     * Measures the throughput of the lexers on documents of the given sizes.
+     *
+     * @param args sizes of the documents in megabytes.
+     * @throws IOException when the temporary file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        long fileMegabytes = args.length > 1 ? Long.parseLong(args[1]) : 256;
+
+        String document = TemplateGenerator.generate(megabytes << 20);
+        System.out.printf("%d MB document%n", megabytes);
+        report("SmartScriptLexer(String)", () -> lex(new SmartScriptLexer(document)));
+        report("SmartScriptStreamingLexer(CharBuffer)", () -> lex(new SmartScriptStreamingLexer(CharBuffer.wrap(document))));
+        report("SmartScriptStreamingLexer(StringReader)", () -> lex(new SmartScriptStreamingLexer(new StringReader(document))));
+
+        Path file = Files.createTempFile("smartscript", ".txt");
+        try {
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                TemplateGenerator.write(writer, fileMegabytes << 20);
+            }
+
+            long start = System.nanoTime();
+            long tokens;
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                tokens = lex(new SmartScriptStreamingLexer(reader));
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%d MB file through a Reader, max heap %d MB: %,d tokens, %,.0f tokens/s, peak used heap %,d MB%n", fileMegabytes,
+                    Runtime.getRuntime().maxMemory() >> 20, tokens, tokens * 1e9 / elapsed, peakUsedHeap() >> 20);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Runs the given lexing {@code task} a few times and prints its best throughput.
+     *
+     * @param name name of the measured lexer.
+     * @param task lexing of the document returning the number of tokens.
+     */
+    private static void report(String name, Supplier<Long> task) {
+        long tokens = 0, best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS + 2; i++) {
+            long start = System.nanoTime();
+            tokens = task.get();
+            long elapsed = System.nanoTime() - start;
+            if (i >= 2) best = Math.min(best, elapsed);
+        }
+
+        System.out.printf("  %-40s %,12d tokens %,15.0f tokens/s%n", name, tokens, tokens * 1e9 / best);
+    }
+
+    /**
+     * Tokenizes the whole input of the given {@code lexer}, switching states at tag boundaries the way the parser does.
+     *
+     * @param lexer lexer that is run.
+     * @return the number of generated tokens.
+     */
+    private static long lex(SmartScriptLexer lexer) {
+        long tokens = 0;
+        for (SmartScriptToken token = lexer.nextToken(); token.getType() != SmartScriptTokenType.EOF; token = lexer.nextToken(), tokens++) {
+            if (token.getType() == SmartScriptTokenType.TAG_START) lexer.setState(SmartScriptLexerState.TAG);
+            else if (token.getType() == SmartScriptTokenType.TAG_END) lexer.setState(SmartScriptLexerState.TEXT);
+        }
+        return tokens;
+    }
+
+    /**
+     * Tokenizes the whole input of the given {@code lexer}, switching states at tag boundaries the way the parser does.
+     *
+     * @param lexer lexer that is run.
+     * @return the number of generated tokens.
+     */
+    private static long lex(SmartScriptStreamingLexer lexer) {
+        long tokens = 0;
+        for (SmartScriptToken token = lexer.nextToken(); token.getType() != SmartScriptTokenType.EOF; token = lexer.nextToken(), tokens++) {
+            if (token.getType() == SmartScriptTokenType.TAG_START) lexer.setState(SmartScriptLexerState.TAG);
+            else if (token.getType() == SmartScriptTokenType.TAG_END) lexer.setState(SmartScriptLexerState.TEXT);
+        }
+        return tokens;
+    }
+
+    /**
+     * Sums up the peak usage of all heap memory pools.
+     *
+     * @return the peak number of used bytes of the heap.
+     */
+    private static long peakUsedHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+}
@@ -0,0 +1,64 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParallelParser;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * {@code ParallelParsingBenchmark} is a command-line application comparing the time of parsing large generated documents by {@link SmartScriptParser} and by
+ * {@link SmartScriptParallelParser} on a pool with a thread for every available processor.
+ * Accepts the sizes of the generated documents in megabytes as optional command-line arguments, by default 1, 4, 16 and 64.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class ParallelParsingBenchmark {
+
+    /**
+     * Number of measured repetitions of every parser, of which the best one is reported.
+     */
+    private static final int REPETITIONS = 5;
+
+    /**
+     * Measures the parsing time of documents of the given sizes.
+     *
+     * @param args sizes of the generated documents in megabytes.
+     */
+    public static void main(String[] args) {
+        int[] megabytes = args.length == 0 ? new int[] {1, 4, 16, 64} : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        System.out.printf("%d processors%n", pool.getParallelism());
+        for (int size : megabytes) {
+            String document = TemplateGenerator.generate(size << 20);
+            int chunks = new SmartScriptParallelParser(document, pool, SmartScriptParallelParser.DEFAULT_CHUNK_LENGTH).getNumberOfChunks();
+
+            long sequential = best(() -> new SmartScriptParser(document).getDocumentNode());
+            long parallel = best(() -> new SmartScriptParallelParser(document, pool, SmartScriptParallelParser.DEFAULT_CHUNK_LENGTH).getDocumentNode());
+
+            System.out.printf("%3d MB document, %4d chunks: sequential %8.2f ms, parallel %8.2f ms, speedup %5.2f%n",
+                    size, chunks, sequential / 1e6, parallel / 1e6, (double) sequential / parallel);
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Runs the given {@code task} a few times and returns its best time.
+     *
+     * @param task parsing of the document.
+     * @return the best time in nanoseconds.
+     */
+    private static long best(Supplier<Object> task) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS + 2; i++) {
+            long start = System.nanoTime();
+            task.get();
+            long elapsed = System.nanoTime() - start;
+            if (i >= 2) best = Math.min(best, elapsed);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,82 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.nodes.Node;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.Arrays;
+
+/**
+ * {@code ParserHeapBenchmark} is a command-line application measuring the heap retained by the document trees of large generated documents.
+ * Accepts the sizes of the generated documents in megabytes as optional command-line arguments, by default 1, 4 and 16.
+ * It should be run with a fixed heap size and a simple collector, e.g. {@code -XX:+UseSerialGC -Xms2g -Xmx2g}, so that the garbage collector reports stable numbers.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class ParserHeapBenchmark {
+
+    /**
+     * Measures the retained heap of the document trees of documents of the given sizes.
+     *
+     * @param args sizes of the generated documents in megabytes.
+     */
+    public static void main(String[] args) {
+        int[] megabytes = args.length == 0 ? new int[] {1, 4, 16} : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        measure(TemplateGenerator.generate(1 << 20));
+        for (int size : megabytes) {
+            String document = TemplateGenerator.generate(size << 20);
+            long[] measurement = measure(document);
+
+            System.out.printf("%3d MB document: %,9d nodes, %,13d B retained by the tree, %6.1f B per node%n",
+                    size, measurement[0], measurement[1], (double) measurement[1] / measurement[0]);
+        }
+    }
+
+    /**
+     * Parses the given {@code document} and measures the heap retained by its document tree.
+     *
+     * @param document document that is parsed.
+     * @return the number of nodes of the tree and the number of bytes retained by it.
+     */
+    private static long[] measure(String document) {
+        long before = usedHeap();
+        DocumentNode documentNode = new SmartScriptParser(document).getDocumentNode();
+        long retained = usedHeap() - before;
+        int nodes = countNodes(documentNode);
+        Reference.reachabilityFence(documentNode);
+
+        return new long[] {nodes, retained};
+    }
+
+    /**
+     * Counts the nodes of the tree rooted in the given {@code node}, including the root.
+     *
+     * @param node root of the tree.
+     * @return the number of nodes.
+     */
+    private static int countNodes(Node node) {
+        int count = 1;
+        for (int i = 0, children = node.numberOfChildren(); i < children; i++) {
+            count += countNodes(node.getChild(i));
+        }
+        return count;
+    }
+
+    /**
+     * Collects the garbage a few times and measures the used heap afterwards.
+     *
+     * @return the number of bytes of the used heap.
+     */
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,296 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.elems.*;
+import hr.fer.oprpp1.custom.scripting.exec.SmartScriptProgram;
+import hr.fer.oprpp1.custom.scripting.nodes.*;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@code RenderingThroughputBenchmark} is a command-line application comparing the rendering throughput of {@link SmartScriptProgram} with a straightforward
+ * tree-walking interpreter that keeps boxed values on a {@link Deque} and variables in a {@link Map}, as a hand-written walker of the document tree would.
+ * The output is counted and discarded, so that only the evaluation is measured.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class RenderingThroughputBenchmark {
+
+    /**
+     * Number of measured repetitions of every renderer, of which the best one is reported.
+     */
+    private static final int REPETITIONS = 5;
+
+    /**
+     * Measures the rendering throughput of a few loop-heavy templates.
+     *
+     * @param args unused.
+     * @throws IOException never, since the output is discarded.
+     */
+    public static void main(String[] args) throws IOException {
+        measure("arithmetic, 1000 x 1000 loop", "{$ FOR i 1 1000 $}{$ FOR j 1 1000 $}{$= i j * 2 + $} {$END$}\n{$END$}");
+        measure("text and variables, 1000 x 1000 loop", "{$ FOR i 1 1000 $}Row {$= i $}: {$ FOR j 1 1000 $}<td>{$= j $}</td>{$END$}\n{$END$}");
+        measure("doubles and @decfmt, 1000 x 100 loop", "{$ FOR i 1 1000 $}{$ FOR x 0 9.9 0.1 $}{$= x i * \"0.00\" @decfmt $};{$END$}\n{$END$}");
+        measure("generated 1 MB document", TemplateGenerator.generate(1 << 20));
+    }
+
+    /**
+     * Measures and prints the throughput of both renderers on the given {@code document}.
+     *
+     * @param name name of the document.
+     * @param document document that is rendered.
+     * @throws IOException never, since the output is discarded.
+     */
+    private static void measure(String name, String document) throws IOException {
+        DocumentNode documentNode = new SmartScriptParser(document).getDocumentNode();
+        SmartScriptProgram program = SmartScriptProgram.compile(documentNode);
+
+        System.out.println(name);
+        report("tree-walking interpreter", writer -> new TreeWalker(writer).visitChildren(documentNode));
+        report("SmartScriptProgram", program::execute);
+    }
+
+    /**
+     * Runs the given {@code renderer} a few times and prints its best time, throughput and the bytes it allocated per run.
+     *
+     * @param name name of the renderer.
+     * @param renderer renderer writing its output to the given writer.
+     * @throws IOException never, since the output is discarded.
+     */
+    private static void report(String name, Renderer renderer) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId(), best = Long.MAX_VALUE, allocated = 0;
+        CountingWriter writer = new CountingWriter();
+
+        for (int i = 0; i < REPETITIONS + 2; i++) {
+            writer.count = 0;
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId), start = System.nanoTime();
+            renderer.render(writer);
+            long elapsed = System.nanoTime() - start;
+            allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (i >= 2) best = Math.min(best, elapsed);
+        }
+
+        System.out.printf("  %-26s %8.2f ms %9.1f M chars/s %,15d B allocated%n", name, best / 1e6, writer.count * 1e3 / best, allocated);
+    }
+
+    /**
+     * Renders a document to the given writer.
+     */
+    @FunctionalInterface
+    private interface Renderer {
+
+        /**
+         * Renders the document to the given {@code writer}.
+         *
+         * @param writer destination of the output.
+         * @throws IOException when writing fails.
+         */
+        void render(Writer writer) throws IOException;
+    }
+
+    /**
+     * Writer counting and discarding the written characters.
+     */
+    private static class CountingWriter extends Writer {
+
+        /**
+         * The number of characters written so far.
+         */
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            this.count += length;
+        }
+
+        @Override
+        public void write(String string) {
+            this.count += string.length();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Interpreter walking the document tree directly, with the same semantics as {@link SmartScriptProgram}.
+     */
+    private static class TreeWalker {
+
+        /**
+         * Destination of the output.
+         */
+        private final Writer writer;
+
+        /**
+         * Values of the visible variables.
+         */
+        private final Map<String, Object> variables = new HashMap<>();
+
+        /**
+         * Creates a new {@code TreeWalker} writing to the given {@code writer}.
+         *
+         * @param writer destination of the output.
+         */
+        private TreeWalker(Writer writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Renders all children of the given {@code node}.
+         *
+         * @param node node whose children are rendered.
+         * @throws IOException when writing fails.
+         */
+        private void visitChildren(Node node) throws IOException {
+            for (int i = 0; i < node.numberOfChildren(); i++) {
+                Node child = node.getChild(i);
+                if (child instanceof TextNode) this.writer.write(((TextNode) child).getText());
+                else if (child instanceof EchoNode) this.visitEcho((EchoNode) child);
+                else this.visitForLoop((ForLoopNode) child);
+            }
+        }
+
+        /**
+         * Renders the given {@code forLoopNode}.
+         *
+         * @param forLoopNode node that is rendered.
+         * @throws IOException when writing fails.
+         */
+        private void visitForLoop(ForLoopNode forLoopNode) throws IOException {
+            Object end = this.toNumber(this.value(forLoopNode.getEndExpression()));
+            Object step = forLoopNode.getStepExpression() == null ? (Object) 1 : this.toNumber(this.value(forLoopNode.getStepExpression()));
+            String name = forLoopNode.getVariable().getName();
+            Object outer = this.variables.put(name, this.toNumber(this.value(forLoopNode.getStartExpression())));
+
+            while (((Number) this.variables.get(name)).doubleValue() <= ((Number) end).doubleValue()) {
+                this.visitChildren(forLoopNode);
+                this.variables.put(name, this.calculate("+", this.variables.get(name), step));
+            }
+
+            if (outer == null) this.variables.remove(name);
+            else this.variables.put(name, outer);
+        }
+
+        /**
+         * Renders the given {@code echoNode}.
+         *
+         * @param echoNode node that is rendered.
+         * @throws IOException when writing fails.
+         */
+        private void visitEcho(EchoNode echoNode) throws IOException {
+            Deque<Object> stack = new ArrayDeque<>();
+
+            for (int i = 0, elements = echoNode.numberOfElements(); i < elements; i++) {
+                Element element = echoNode.getElement(i);
+                if (element instanceof ElementOperator) {
+                    Object second = stack.pop(), first = stack.pop();
+                    stack.push(this.calculate(((ElementOperator) element).getSymbol(), first, second));
+                } else if (element instanceof ElementFunction) {
+                    this.call(((ElementFunction) element).getName(), stack);
+                } else {
+                    stack.push(this.value(element));
+                }
+            }
+
+            for (Iterator<Object> iterator = stack.descendingIterator(); iterator.hasNext(); ) {
+                this.writer.write(iterator.next().toString());
+            }
+        }
+
+        /**
+         * Calls the function with the given {@code name} on the given {@code stack}.
+         *
+         * @param name name of the function.
+         * @param stack operand stack.
+         */
+        private void call(String name, Deque<Object> stack) {
+            switch (name) {
+                case "@sin" -> stack.push(Math.sin(Math.toRadians(((Number) this.toNumber(stack.pop())).doubleValue())));
+                case "@decfmt" -> {
+                    DecimalFormat format = new DecimalFormat(stack.pop().toString());
+                    stack.push(format.format(this.toNumber(stack.pop())));
+                }
+                case "@dup" -> stack.push(stack.peek());
+                case "@swap" -> {
+                    Object second = stack.pop(), first = stack.pop();
+                    stack.push(second);
+                    stack.push(first);
+                }
+                default -> throw new IllegalArgumentException("Unsupported function " + name + "!");
+            }
+        }
+
+        /**
+         * Calculates the result of the given operator applied to the given operands.
+         *
+         * @param symbol symbol of the operator.
+         * @param first first operand.
+         * @param second second operand.
+         * @return the result.
+         */
+        private Object calculate(String symbol, Object first, Object second) {
+            Object a = this.toNumber(first), b = this.toNumber(second);
+
+            if (!symbol.equals("^") && a instanceof Integer && b instanceof Integer) {
+                int x = (Integer) a, y = (Integer) b;
+                return switch (symbol) {
+                    case "+" -> x + y;
+                    case "-" -> x - y;
+                    case "*" -> x * y;
+                    default -> x / y;
+                };
+            }
+
+            double x = ((Number) a).doubleValue(), y = ((Number) b).doubleValue();
+            return switch (symbol) {
+                case "+" -> x + y;
+                case "-" -> x - y;
+                case "*" -> x * y;
+                case "/" -> x / y;
+                default -> Math.pow(x, y);
+            };
+        }
+
+        /**
+         * Fetches the value of the given variable or constant {@code element}.
+         *
+         * @param element element whose value is fetched.
+         * @return the value.
+         */
+        private Object value(Element element) {
+            if (element instanceof ElementConstantInteger) return ((ElementConstantInteger) element).getValue();
+            if (element instanceof ElementConstantDouble) return ((ElementConstantDouble) element).getValue();
+            if (element instanceof ElementString) return ((ElementString) element).getValue();
+            return this.variables.get(((ElementVariable) element).getName());
+        }
+
+        /**
+         * Converts the given {@code value} to a number if it is a string.
+         *
+         * @param value value that is converted.
+         * @return the value as a number.
+         */
+        private Object toNumber(Object value) {
+            if (!(value instanceof String)) return value;
+
+            String string = (String) value;
+            return string.contains(".") || string.contains("E") ? (Object) Double.parseDouble(string) : (Object) Integer.parseInt(string);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptDiagnostic;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptValidator;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * {@code SmartScriptValidation} is a command-line application validating all templates within a directory tree by {@link SmartScriptValidator}.
+ * <p>
+ * Given a directory and optionally the extension of the templates, by default {@code .txt}, it writes the JSON report of the validation to the standard output
+ * and exits with status 1 if any template is invalid.
+ * Without arguments, it generates a corpus of templates with injected errors in a temporary directory and compares the time of validating it on a single thread
+ * and on a pool with a thread for every available processor.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptValidation {
+
+    /**
+     * Number of templates within the generated corpus.
+     */
+    private static final int TEMPLATES = 2_000;
+
+    /**
+     * Length of every generated template.
+     */
+    private static final int TEMPLATE_LENGTH = 1 << 15;
+
+    /**
+     * Validates the given directory tree or a generated corpus.
+     *
+     * @param args the directory and the extension of the templates.
+     * @throws IOException when the directory tree cannot be read or the corpus cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            SortedMap<Path, List<SmartScriptDiagnostic>> results = SmartScriptValidator.validateDirectory(Paths.get(args[0]), args.length > 1 ? args[1] : ".txt");
+
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            SmartScriptValidator.writeReport(results, writer);
+            writer.flush();
+            if (results.values().stream().anyMatch(diagnostics -> !diagnostics.isEmpty())) System.exit(1);
+            return;
+        }
+
+        Path root = Files.createTempDirectory("smartscript");
+        try {
+            int invalid = generateCorpus(root);
+            System.out.printf("%d templates of %d KB, %d with injected errors%n", TEMPLATES, TEMPLATE_LENGTH >> 10, invalid);
+
+            ForkJoinPool single = new ForkJoinPool(1), parallel = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            measure("1 thread", root, single);
+            measure(parallel.getParallelism() + " threads", root, parallel);
+            single.shutdown();
+            parallel.shutdown();
+        } finally {
+            try (Stream<Path> paths = Files.walk(root)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Writes the generated templates into the given directory, spread over a few subdirectories, injecting a few errors into every tenth of them.
+     *
+     * @param root the directory.
+     * @return the number of templates with injected errors.
+     * @throws IOException when a template cannot be written.
+     */
+    private static int generateCorpus(Path root) throws IOException {
+        String[] errors = {"{$ BAD $}", "\\q", "{$= # $}", "{$END$}", "{ $"};
+        Random random = new Random(42);
+        int invalid = 0;
+
+        for (int i = 0; i < TEMPLATES; i++) {
+            StringBuilder template = new StringBuilder(TemplateGenerator.generate(TEMPLATE_LENGTH));
+            if (i % 10 == 0) {
+                for (int j = 0; j < 3; j++) {
+                    int position = template.indexOf("{$", random.nextInt(template.length()));
+                    template.insert(position < 0 ? template.length() : position, errors[random.nextInt(errors.length)]);
+                }
+                invalid++;
+            }
+
+            Path file = root.resolve("dir" + i % 16).resolve("template" + i + ".txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, template, StandardCharsets.UTF_8);
+        }
+
+        return invalid;
+    }
+
+    /**
+     * Validates the given directory tree on the given {@code pool} a few times and prints the best time and the number of found diagnostics.
+     *
+     * @param name name of the configuration.
+     * @param root the directory tree.
+     * @param pool the pool.
+     * @throws IOException when the directory tree cannot be read.
+     */
+    private static void measure(String name, Path root, ForkJoinPool pool) throws IOException {
+        long best = Long.MAX_VALUE, diagnostics = 0;
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            diagnostics = SmartScriptValidator.validateDirectory(root, ".txt", pool).values().stream().mapToLong(List::size).sum();
+            if (i > 0) best = Math.min(best, System.nanoTime() - start);
+        }
+
+        System.out.printf("  %-12s %8.1f ms, %,d diagnostics%n", name, best / 1e6, diagnostics);
+    }
+}
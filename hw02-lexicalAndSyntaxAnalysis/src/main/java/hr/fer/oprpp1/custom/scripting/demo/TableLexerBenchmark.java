@@ -0,0 +1,141 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexerState;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptStreamingLexer;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptToken;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptTokenType;
+import hr.fer.oprpp1.hw02.prob1.Lexer;
+import hr.fer.oprpp1.hw02.prob1.LexerState;
+import hr.fer.oprpp1.hw02.prob1.Token;
+import hr.fer.oprpp1.hw02.prob1.TokenType;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * {@code TableLexerBenchmark} is a command-line application measuring the number of tokens per second produced by {@link Lexer} and {@link SmartScriptLexer},
+ * which run on transition tables, on large generated inputs, together with the hand-written {@link SmartScriptStreamingLexer} as a reference.
+ * Accepts the size of the generated inputs in megabytes as an optional command-line argument, by default 16.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class TableLexerBenchmark {
+
+    /**
+     * Number of measured repetitions of every lexer, of which the best one is reported.
+     */
+    private static final int REPETITIONS = 5;
+
+    /**
+     * Measures the throughput of the lexers on inputs of the given size.
+     *
+     * @param args size of the inputs in megabytes.
+     */
+    public static void main(String[] args) {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+
+        String text = generateText(megabytes << 20);
+        System.out.printf("%d MB input of words, numbers and symbols%n", megabytes);
+        report("Lexer", () -> lex(new Lexer(text)));
+
+        String document = TemplateGenerator.generate(megabytes << 20);
+        System.out.printf("%d MB document%n", megabytes);
+        report("SmartScriptLexer", () -> lex(new SmartScriptLexer(document)));
+        report("SmartScriptStreamingLexer(CharBuffer)", () -> lex(new SmartScriptStreamingLexer(CharBuffer.wrap(document))));
+    }
+
+    /**
+     * Generates an input of at least the given length for {@link Lexer}, made of words with escapes, numbers, symbols and parts enclosed in {@code #} that are
+     * meant to be tokenized in the extended state.
+     *
+     * @param minimalLength the smallest number of generated characters.
+     * @return the generated input.
+     */
+    private static String generateText(int minimalLength) {
+        String[] words = {"Janko", "Ivana", "Štefanija", "ab\\1cd", "\\2nd", "x\\\\", "automobil", "lexer"};
+        String[] symbols = {"!", ";", "-", ".", "?", ","};
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(minimalLength + 64);
+
+        while (sb.length() < minimalLength) {
+            switch (random.nextInt(8)) {
+                case 0, 1, 2, 3 -> sb.append(words[random.nextInt(words.length)]);
+                case 4, 5 -> sb.append(random.nextInt(1_000_000));
+                case 6 -> sb.append(symbols[random.nextInt(symbols.length)]);
+                default -> sb.append("# Ivana26\\a 463abc #");
+            }
+            sb.append(random.nextInt(6) == 0 ? "\r\n" : " ");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Runs the given lexing {@code task} a few times and prints its best throughput.
+     *
+     * @param name name of the measured lexer.
+     * @param task lexing of the input returning the number of tokens.
+     */
+    private static void report(String name, Supplier<Long> task) {
+        long tokens = 0, best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS + 2; i++) {
+            long start = System.nanoTime();
+            tokens = task.get();
+            long elapsed = System.nanoTime() - start;
+            if (i >= 2) best = Math.min(best, elapsed);
+        }
+
+        System.out.printf("  %-40s %,12d tokens %,15.0f tokens/s%n", name, tokens, tokens * 1e9 / best);
+    }
+
+    /**
+     * Tokenizes the whole input of the given {@code lexer}, switching to the extended state after a {@code #} symbol and back after the next one.
+     *
+     * @param lexer lexer that is run.
+     * @return the number of generated tokens.
+     */
+    private static long lex(Lexer lexer) {
+        long tokens = 0;
+        boolean extended = false;
+        for (Token token = lexer.nextToken(); token.getType() != TokenType.EOF; token = lexer.nextToken(), tokens++) {
+            if (token.getType() == TokenType.SYMBOL && token.getValue().equals('#')) {
+                extended = !extended;
+                lexer.setState(extended ? LexerState.EXTENDED : LexerState.BASIC);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Tokenizes the whole input of the given {@code lexer}, switching states at tag boundaries the way the parser does.
+     *
+     * @param lexer lexer that is run.
+     * @return the number of generated tokens.
+     */
+    private static long lex(SmartScriptLexer lexer) {
+        long tokens = 0;
+        for (SmartScriptToken token = lexer.nextToken(); token.getType() != SmartScriptTokenType.EOF; token = lexer.nextToken(), tokens++) {
+            if (token.getType() == SmartScriptTokenType.TAG_START) lexer.setState(SmartScriptLexerState.TAG);
+            else if (token.getType() == SmartScriptTokenType.TAG_END) lexer.setState(SmartScriptLexerState.TEXT);
+        }
+        return tokens;
+    }
+
+    /**
+     * Tokenizes the whole input of the given {@code lexer}, switching states at tag boundaries the way the parser does.
+     *
+     * @param lexer lexer that is run.
+     * @return the number of generated tokens.
+     */
+    private static long lex(SmartScriptStreamingLexer lexer) {
+        long tokens = 0;
+        for (SmartScriptToken token = lexer.nextToken(); token.getType() != SmartScriptTokenType.EOF; token = lexer.nextToken(), tokens++) {
+            if (token.getType() == SmartScriptTokenType.TAG_START) lexer.setState(SmartScriptLexerState.TAG);
+            else if (token.getType() == SmartScriptTokenType.TAG_END) lexer.setState(SmartScriptLexerState.TEXT);
+        }
+        return tokens;
+    }
+}
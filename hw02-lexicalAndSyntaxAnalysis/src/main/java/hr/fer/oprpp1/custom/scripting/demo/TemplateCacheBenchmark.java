@@ -0,0 +1,83 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptTemplateCache;
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptTemplateCache.ChangeDetection;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@code TemplateCacheBenchmark} is a command-line application comparing the time of fetching the document tree of a generated document file by parsing it on every
+ * request with the time of fetching it from a {@link SmartScriptTemplateCache} with every kind of change detection.
+ * Accepts the size of the generated document in kilobytes as an optional command-line argument, by default 1024.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class TemplateCacheBenchmark {
+
+    /**
+     * Measures the time of fetching the document tree of a generated document file.
+     *
+     * @param args size of the document in kilobytes.
+     * @throws IOException when the temporary file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int kilobytes = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        Path file = Files.createTempFile("smartscript", ".txt");
+
+        try {
+            Files.writeString(file, TemplateGenerator.generate(kilobytes << 10));
+            System.out.printf("%d kB document%n", kilobytes);
+
+            report("new SmartScriptParser(Files.readString)", 20, () -> new SmartScriptParser(Files.readString(file, StandardCharsets.UTF_8)).getDocumentNode());
+            for (ChangeDetection changeDetection : ChangeDetection.values()) {
+                try (SmartScriptTemplateCache cache = new SmartScriptTemplateCache(16, changeDetection)) {
+                    report("cache, " + changeDetection, changeDetection == ChangeDetection.CONTENT_HASH ? 200 : 200_000, () -> cache.get(file));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Runs the given {@code request} the given number of times after a warmup and prints the average time of a single request.
+     *
+     * @param name name of the measured way of fetching.
+     * @param requests the number of measured requests.
+     * @param request fetching of the document tree.
+     * @throws IOException when the file cannot be read.
+     */
+    private static void report(String name, int requests, Request request) throws IOException {
+        for (int i = 0; i < requests; i++) {
+            request.fetch();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            request.fetch();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / requests;
+
+        System.out.printf("  %-42s %,14.2f us per request%n", name, micros);
+    }
+
+    /**
+     * Fetches a document tree.
+     */
+    @FunctionalInterface
+    private interface Request {
+
+        /**
+         * Fetches the document tree.
+         *
+         * @return the document tree.
+         * @throws IOException when the file cannot be read.
+         */
+        Object fetch() throws IOException;
+    }
+}
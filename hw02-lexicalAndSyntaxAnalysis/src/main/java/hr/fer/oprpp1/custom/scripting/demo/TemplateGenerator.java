@@ -0,0 +1,109 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * The {@code TemplateGenerator} class generates large, valid documents of the custom scripting language, used as input by the benchmarks of this package.
+ * A document is made out of blocks similar to the homework examples: lines of text interleaved with echo tags and nested for-loops.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public final class TemplateGenerator {
+
+    /**
+     * Seed of the random generator, so that every benchmark gets the same document for the same size.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Words the text of the generated documents is made of.
+     */
+    private static final String[] WORDS = {"This", "is", "sample", "text", "generated", "message", "time", "the", "of", "and", "student", "grade", "value",
+            "result", "table", "row", "column", "total"};
+
+    /**
+     * Prevents instancing of the utility class.
+     */
+    private TemplateGenerator() {
+    }
+
+    /**
+     * Generates a document of at least the given size.
+     *
+     * @param minimalLength the minimal number of characters of the generated document.
+     * @return the generated document.
+     */
+    public static String generate(int minimalLength) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(minimalLength + 1024);
+
+        while (sb.length() < minimalLength) {
+            appendBlock(sb, random);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Writes a document of at least the given size to the given {@code destination} block by block, so that documents larger than the heap can be generated.
+     * The written document equals the one returned by {@link #generate(int)} for sizes within the range of an {@code int}.
+     *
+     * @param destination destination the document is written to.
+     * @param minimalLength the minimal number of characters of the generated document.
+     * @return the number of written characters.
+     * @throws IOException when writing to the destination fails.
+     */
+    public static long write(Appendable destination, long minimalLength) throws IOException {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(1024);
+        long length = 0;
+
+        while (length < minimalLength) {
+            sb.setLength(0);
+            appendBlock(sb, random);
+            destination.append(sb);
+            length += sb.length();
+        }
+
+        return length;
+    }
+
+    /**
+     * Appends a single block, made out of a line of text, an echo tag and two nested for-loops, to the given {@code sb}.
+     *
+     * @param sb builder the block is appended to.
+     * @param random generator of the varying parts of the block.
+     */
+    private static void appendBlock(StringBuilder sb, Random random) {
+        appendSentence(sb, random);
+        sb.append(" {$= \"header\" $}\n");
+
+        sb.append("{$ FOR i 1 ").append(2 + random.nextInt(8)).append(" 1 $}\n");
+        sb.append(" Row {$= i $}: ");
+        appendSentence(sb, random);
+        sb.append('\n');
+
+        sb.append("  {$FOR j 0 ").append(1 + random.nextInt(4)).append(" $}");
+        sb.append("{$= i j * 2 + $}, {$= j \"0.00\" @decfmt $} ");
+        sb.append("{$END$}\n");
+
+        sb.append(" total = {$= i i * @sin \"0.000\" @decfmt $} \\{escaped} \\\\ path\n");
+        sb.append("{$END$}\n");
+    }
+
+    /**
+     * Appends a sentence of a few random words to the given {@code sb}.
+     *
+     * @param sb builder the sentence is appended to.
+     * @param random generator of the words.
+     */
+    private static void appendSentence(StringBuilder sb, Random random) {
+        for (int i = 0, words = 3 + random.nextInt(6); i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sb.append('.');
+    }
+}
@@ -0,0 +1,102 @@
+package hr.fer.oprpp1.custom.scripting.demo;
+
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexerState;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptToken;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptTokenType;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+/**
+ * {@code TokenAllocationBenchmark} is a command-line application comparing the throughput and the allocation rate of reading a large generated document through
+ * {@link SmartScriptLexer#nextToken()}, which creates a token with a boxed or copied value for every token, and through {@link SmartScriptLexer#advance()},
+ * which reads numbers through primitive accessors and the rest through offsets and lengths without creating any objects.
+ * Accepts the size of the generated document in megabytes as an optional command-line argument, by default 16.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class TokenAllocationBenchmark {
+
+    /**
+     * Number of measured repetitions of every way of reading tokens, of which the best one is reported.
+     */
+    private static final int REPETITIONS = 5;
+
+    /**
+     * Measures both ways of reading tokens on a document of the given size.
+     *
+     * @param args size of the document in megabytes.
+     */
+    public static void main(String[] args) {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+
+        String document = TemplateGenerator.generate(megabytes << 20);
+        System.out.printf("%d MB document%n", megabytes);
+        report("nextToken()", () -> readTokens(new SmartScriptLexer(document)));
+        report("advance()", () -> advance(new SmartScriptLexer(document)));
+    }
+
+    /**
+     * Runs the given reading {@code task} a few times and prints its best throughput and the bytes it allocated per token.
+     *
+     * @param name name of the way of reading tokens.
+     * @param task reading of all tokens returning their number.
+     */
+    private static void report(String name, LongSupplier task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId(), tokens = 0, best = Long.MAX_VALUE, allocated = 0;
+
+        for (int i = 0; i < REPETITIONS + 2; i++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId), start = System.nanoTime();
+            tokens = task.getAsLong();
+            long elapsed = System.nanoTime() - start;
+            allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (i >= 2) best = Math.min(best, elapsed);
+        }
+
+        System.out.printf("  %-12s %,12d tokens %,15.0f tokens/s %,15d B allocated %8.1f B/token%n", name, tokens, tokens * 1e9 / best, allocated,
+                (double) allocated / tokens);
+    }
+
+    /**
+     * Reads all tokens of the given {@code lexer} as {@link SmartScriptToken} instances, switching states at tag boundaries the way the parser does.
+     *
+     * @param lexer lexer that is run.
+     * @return the number of read tokens.
+     */
+    private static long readTokens(SmartScriptLexer lexer) {
+        long tokens = 0, checksum = 0;
+        for (SmartScriptToken token = lexer.nextToken(); token.getType() != SmartScriptTokenType.EOF; token = lexer.nextToken(), tokens++) {
+            switch (token.getType()) {
+                case TAG_START -> lexer.setState(SmartScriptLexerState.TAG);
+                case TAG_END -> lexer.setState(SmartScriptLexerState.TEXT);
+                case INTEGER -> checksum += (int) token.getValue();
+                case DOUBLE -> checksum += (long) (double) token.getValue();
+                default -> checksum += ((String) token.getValue()).length();
+            }
+        }
+        return checksum == Long.MIN_VALUE ? 0 : tokens;
+    }
+
+    /**
+     * Reads all tokens of the given {@code lexer} through offsets, lengths and primitive values, switching states at tag boundaries the way the parser does.
+     *
+     * @param lexer lexer that is run.
+     * @return the number of read tokens.
+     */
+    private static long advance(SmartScriptLexer lexer) {
+        long tokens = 0, checksum = 0;
+        for (SmartScriptTokenType type = lexer.advance(); type != SmartScriptTokenType.EOF; type = lexer.advance(), tokens++) {
+            switch (type) {
+                case TAG_START -> lexer.setState(SmartScriptLexerState.TAG);
+                case TAG_END -> lexer.setState(SmartScriptLexerState.TEXT);
+                case INTEGER -> checksum += lexer.getTokenInt();
+                case DOUBLE -> checksum += (long) lexer.getTokenDouble();
+                default -> checksum += lexer.getTokenLength();
+            }
+        }
+        return checksum == Long.MIN_VALUE ? 0 : tokens;
+    }
+}
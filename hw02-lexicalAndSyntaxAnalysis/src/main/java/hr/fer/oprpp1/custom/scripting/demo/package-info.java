@@ -0,0 +1,6 @@
+/**
+ * Package used to demonstrate and measure certain functionalities of the custom script lexer and parser.
+ *
+ * @since 1.0
+ */
+package hr.fer.oprpp1.custom.scripting.demo;
@@ -0,0 +1,112 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+/**
+ * The {@code Instructions} class defines the operation codes of the instructions a {@link SmartScriptProgram} is compiled into.
+ * Every instruction is an operation code followed by a fixed number of integer operands, all stored in a single {@code int} array.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class Instructions {
+
+    /**
+     * Writes a piece of text. Operand: index of the text within the text constants.
+     */
+    static final int TEXT = 0;
+
+    /**
+     * Pushes an integer. Operand: the integer itself.
+     */
+    static final int PUSH_INT = 1;
+
+    /**
+     * Pushes a double. Operand: index of the double within the double constants.
+     */
+    static final int PUSH_DOUBLE = 2;
+
+    /**
+     * Pushes a string. Operand: index of the string within the text constants.
+     */
+    static final int PUSH_STRING = 3;
+
+    /**
+     * Pushes the value of a variable. Operand: index of the variable slot.
+     */
+    static final int LOAD = 4;
+
+    /**
+     * Pops a value, converts it to a number and stores it into a variable. Operand: index of the variable slot.
+     */
+    static final int STORE_NUMBER = 5;
+
+    /**
+     * Pops two numbers and pushes their sum. No operands.
+     */
+    static final int ADD = 6;
+
+    /**
+     * Pops two numbers and pushes their difference. No operands.
+     */
+    static final int SUBTRACT = 7;
+
+    /**
+     * Pops two numbers and pushes their product. No operands.
+     */
+    static final int MULTIPLY = 8;
+
+    /**
+     * Pops two numbers and pushes their quotient. No operands.
+     */
+    static final int DIVIDE = 9;
+
+    /**
+     * Pops two numbers and pushes the first one raised to the power of the second one. No operands.
+     */
+    static final int POWER = 10;
+
+    /**
+     * Replaces the number on top of the stack by its sine, treating it as degrees. No operands.
+     */
+    static final int SIN = 11;
+
+    /**
+     * Pops a format and a number and pushes the number formatted by {@link java.text.DecimalFormat}. No operands.
+     */
+    static final int DECFMT = 12;
+
+    /**
+     * Pushes a copy of the value on top of the stack. No operands.
+     */
+    static final int DUP = 13;
+
+    /**
+     * Swaps the two values on top of the stack. No operands.
+     */
+    static final int SWAP = 14;
+
+    /**
+     * Pops a default value and a parameter name and pushes the value of the parameter, or the default value if it is not given. No operands.
+     */
+    static final int PARAM_GET = 15;
+
+    /**
+     * Writes all values on the stack from the bottom to the top and empties it. No operands.
+     */
+    static final int ECHO = 16;
+
+    /**
+     * Jumps out of a loop if its variable is greater than its end value. Operands: slot of the variable, slot of the end value and the address to jump to.
+     */
+    static final int LOOP_TEST = 17;
+
+    /**
+     * Increments the loop variable by the step and jumps back to the test of the loop. Operands: slot of the variable, slot of the step and the address of the test.
+     */
+    static final int LOOP_STEP = 18;
+
+    /**
+     * Prevents instancing of the utility class.
+     */
+    private Instructions() {
+    }
+}
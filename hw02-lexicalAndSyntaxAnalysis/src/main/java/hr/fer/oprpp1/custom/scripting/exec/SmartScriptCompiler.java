@@ -0,0 +1,290 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+import hr.fer.oprpp1.custom.scripting.elems.*;
+import hr.fer.oprpp1.custom.scripting.nodes.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static hr.fer.oprpp1.custom.scripting.exec.Instructions.*;
+
+/**
+ * The {@code SmartScriptCompiler} class translates a document tree into the flat instruction array of a {@link SmartScriptProgram}.
+ * Neighbouring pieces of text are merged into a single instruction, every variable is resolved to the slot of the innermost enclosing for-loop declaring it and the
+ * depth of the operand stack is tracked, so that errors such as undefined variables, unknown functions or missing operands are reported before any output is written.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class SmartScriptCompiler {
+
+    /**
+     * Instructions generated so far.
+     */
+    private int[] code = new int[64];
+
+    /**
+     * The number of used elements of {@code code}.
+     */
+    private int codeLength;
+
+    /**
+     * Texts and strings used by the instructions.
+     */
+    private final List<String> texts = new ArrayList<>();
+
+    /**
+     * Positions of the texts within {@code texts}, so that every distinct text is stored only once.
+     */
+    private final Map<String, Integer> textIndexes = new HashMap<>();
+
+    /**
+     * Doubles used by the instructions.
+     */
+    private final List<Double> doubles = new ArrayList<>();
+
+    /**
+     * Slots of the currently visible variables.
+     */
+    private final Map<String, Integer> variables = new HashMap<>();
+
+    /**
+     * Text that has not been turned into an instruction yet, since it might be followed by more text.
+     */
+    private final StringBuilder pendingText = new StringBuilder();
+
+    /**
+     * The number of variable slots in use.
+     */
+    private int slots;
+
+    /**
+     * The largest number of variable slots in use at the same time.
+     */
+    private int maxSlots;
+
+    /**
+     * The current depth of the operand stack.
+     */
+    private int depth;
+
+    /**
+     * The largest depth of the operand stack.
+     */
+    private int maxDepth;
+
+    /**
+     * Compiles the tree rooted in the given {@code documentNode} into a program.
+     *
+     * @param documentNode root of the document tree.
+     * @return the compiled program.
+     * @throws SmartScriptExecutionException when the document refers to an undefined variable or an unknown function or operator, or when an operator or function
+     * lacks operands.
+     */
+    SmartScriptProgram compile(DocumentNode documentNode) {
+        this.compileChildren(documentNode);
+        this.flushText();
+
+        double[] doubleConstants = new double[this.doubles.size()];
+        for (int i = 0; i < doubleConstants.length; i++) {
+            doubleConstants[i] = this.doubles.get(i);
+        }
+
+        return new SmartScriptProgram(Arrays.copyOf(this.code, this.codeLength), this.texts.toArray(new String[0]), doubleConstants, this.maxSlots, this.maxDepth);
+    }
+
+    /**
+     * Compiles all children of the given {@code node} in order.
+     *
+     * @param node node whose children are compiled.
+     */
+    private void compileChildren(Node node) {
+        for (int i = 0, children = node.numberOfChildren(); i < children; i++) {
+            Node child = node.getChild(i);
+
+            if (child instanceof TextNode) this.pendingText.append(((TextNode) child).getText());
+            else if (child instanceof EchoNode) this.compileEcho((EchoNode) child);
+            else if (child instanceof ForLoopNode) this.compileForLoop((ForLoopNode) child);
+            else throw new SmartScriptExecutionException("Cannot compile a node of type " + child.getClass().getSimpleName() + "!");
+        }
+    }
+
+    /**
+     * Compiles the elements of the given {@code echoNode} in postfix order, followed by an instruction writing the resulting stack.
+     *
+     * @param echoNode echo node that is compiled.
+     */
+    private void compileEcho(EchoNode echoNode) {
+        this.flushText();
+
+        for (int i = 0, elements = echoNode.numberOfElements(); i < elements; i++) {
+            Element element = echoNode.getElement(i);
+            if (element instanceof ElementOperator) this.compileOperator(((ElementOperator) element).getSymbol());
+            else if (element instanceof ElementFunction) this.compileFunction(((ElementFunction) element).getName());
+            else this.compilePush(element);
+        }
+
+        this.emit(ECHO);
+        this.depth = 0;
+    }
+
+    /**
+     * Compiles the given {@code forLoopNode} into instructions evaluating its range once, followed by the test of the loop variable, the body and the step.
+     * The range is evaluated before the loop variable becomes visible, so it may refer to an outer variable of the same name.
+     *
+     * @param forLoopNode for-loop node that is compiled.
+     */
+    private void compileForLoop(ForLoopNode forLoopNode) {
+        this.flushText();
+
+        int variableSlot = this.slots, endSlot = variableSlot + 1, stepSlot = variableSlot + 2;
+        this.slots += 3;
+        this.maxSlots = Math.max(this.maxSlots, this.slots);
+
+        this.compilePush(forLoopNode.getEndExpression());
+        this.emit(STORE_NUMBER, endSlot);
+        if (forLoopNode.getStepExpression() != null) this.compilePush(forLoopNode.getStepExpression());
+        else this.emit(PUSH_INT, 1);
+        this.emit(STORE_NUMBER, stepSlot);
+        this.compilePush(forLoopNode.getStartExpression());
+        this.emit(STORE_NUMBER, variableSlot);
+        this.depth = 0;
+
+        String name = forLoopNode.getVariable().getName();
+        Integer outerSlot = this.variables.put(name, variableSlot);
+
+        int test = this.codeLength;
+        this.emit(LOOP_TEST, variableSlot, endSlot, -1);
+        this.compileChildren(forLoopNode);
+        this.flushText();
+        this.emit(LOOP_STEP, variableSlot, stepSlot, test);
+        this.code[test + 3] = this.codeLength;
+
+        if (outerSlot == null) this.variables.remove(name);
+        else this.variables.put(name, outerSlot);
+        this.slots -= 3;
+    }
+
+    /**
+     * Compiles an instruction pushing the value of the given variable or constant {@code element}.
+     *
+     * @param element element whose value is pushed.
+     */
+    private void compilePush(Element element) {
+        if (element instanceof ElementConstantInteger) {
+            this.emit(PUSH_INT, ((ElementConstantInteger) element).getValue());
+        } else if (element instanceof ElementConstantDouble) {
+            this.doubles.add(((ElementConstantDouble) element).getValue());
+            this.emit(PUSH_DOUBLE, this.doubles.size() - 1);
+        } else if (element instanceof ElementString) {
+            this.emit(PUSH_STRING, this.textIndex(((ElementString) element).getValue()));
+        } else if (element instanceof ElementVariable) {
+            String name = ((ElementVariable) element).getName();
+            Integer slot = this.variables.get(name);
+            if (slot == null) throw new SmartScriptExecutionException("The variable " + name + " is not defined by any enclosing FOR tag!");
+            this.emit(LOAD, slot);
+        } else {
+            throw new SmartScriptExecutionException("Cannot compile an element of type " + element.getClass().getSimpleName() + "!");
+        }
+
+        this.changeDepth(0, 1);
+    }
+
+    /**
+     * Compiles the instruction of the operator with the given {@code symbol}.
+     *
+     * @param symbol symbol of the operator.
+     */
+    private void compileOperator(String symbol) {
+        this.emit(switch (symbol) {
+            case "+" -> ADD;
+            case "-" -> SUBTRACT;
+            case "*" -> MULTIPLY;
+            case "/" -> DIVIDE;
+            case "^" -> POWER;
+            default -> throw new SmartScriptExecutionException("Unknown operator " + symbol + "!");
+        });
+
+        this.changeDepth(2, 1);
+    }
+
+    /**
+     * Compiles the instruction of the function with the given {@code name}.
+     *
+     * @param name name of the function, including the leading {@code @}.
+     */
+    private void compileFunction(String name) {
+        switch (name) {
+            case "@sin" -> this.compileFunctionCall(SIN, 1, 1);
+            case "@decfmt" -> this.compileFunctionCall(DECFMT, 2, 1);
+            case "@dup" -> this.compileFunctionCall(DUP, 1, 2);
+            case "@swap" -> this.compileFunctionCall(SWAP, 2, 2);
+            case "@paramGet" -> this.compileFunctionCall(PARAM_GET, 2, 1);
+            default -> throw new SmartScriptExecutionException("Unknown function " + name + "!");
+        }
+    }
+
+    /**
+     * Compiles a function call instruction with the given stack effect.
+     *
+     * @param opcode operation code of the function.
+     * @param arguments the number of values the function pops.
+     * @param results the number of values the function pushes.
+     */
+    private void compileFunctionCall(int opcode, int arguments, int results) {
+        this.emit(opcode);
+        this.changeDepth(arguments, results);
+    }
+
+    /**
+     * Updates the tracked depth of the operand stack after an instruction popping {@code popped} and pushing {@code pushed} values.
+     *
+     * @param popped the number of popped values.
+     * @param pushed the number of pushed values.
+     * @throws SmartScriptExecutionException when the stack does not hold enough values.
+     */
+    private void changeDepth(int popped, int pushed) {
+        if (this.depth < popped) throw new SmartScriptExecutionException("Too few operands on the stack for an operator or a function!");
+
+        this.depth += pushed - popped;
+        this.maxDepth = Math.max(this.maxDepth, this.depth);
+    }
+
+    /**
+     * Turns the pending text into a single instruction, if there is any.
+     */
+    private void flushText() {
+        if (this.pendingText.length() == 0) return;
+
+        this.emit(TEXT, this.textIndex(this.pendingText.toString()));
+        this.pendingText.setLength(0);
+    }
+
+    /**
+     * Fetches the position of the given {@code text} within the text constants, adding it if needed.
+     *
+     * @param text text whose position is fetched.
+     * @return the position of the text.
+     */
+    private int textIndex(String text) {
+        return this.textIndexes.computeIfAbsent(text, key -> {
+            this.texts.add(key);
+            return this.texts.size() - 1;
+        });
+    }
+
+    /**
+     * Appends the given instruction {@code words} to the code.
+     *
+     * @param words operation code followed by the operands.
+     */
+    private void emit(int... words) {
+        if (this.codeLength + words.length > this.code.length) this.code = Arrays.copyOf(this.code, this.code.length * 2 + words.length);
+
+        System.arraycopy(words, 0, this.code, this.codeLength, words.length);
+        this.codeLength += words.length;
+    }
+}
@@ -0,0 +1,439 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+import static hr.fer.oprpp1.custom.scripting.exec.Instructions.*;
+
+/**
+ * The {@code SmartScriptEvaluator} class executes the instructions of a single run of a {@link SmartScriptProgram}.
+ * <p>
+ * Values on the operand stack and in the variable slots are kept in parallel primitive arrays: a type tag, a {@code long} holding either an integer or the bits of a
+ * double, and a reference that is only used by strings.
+ * Arithmetic on numbers, loop tests and steps and writing integers therefore never box or allocate, while formatting and string conversions allocate as usual.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class SmartScriptEvaluator {
+
+    /**
+     * Type tag of integer values.
+     */
+    private static final byte INT = 0;
+
+    /**
+     * Type tag of double values.
+     */
+    private static final byte DOUBLE = 1;
+
+    /**
+     * Type tag of string values.
+     */
+    private static final byte STRING = 2;
+
+    /**
+     * Texts and strings used by the instructions.
+     */
+    private final String[] texts;
+
+    /**
+     * Doubles used by the instructions.
+     */
+    private final double[] doubles;
+
+    /**
+     * Values of the parameters fetched by {@code @paramGet}.
+     */
+    private final Map<String, String> parameters;
+
+    /**
+     * Type tags of the values on the operand stack.
+     */
+    private final byte[] stackTypes;
+
+    /**
+     * Integers and bits of doubles on the operand stack.
+     */
+    private final long[] stackNumbers;
+
+    /**
+     * Strings on the operand stack.
+     */
+    private final String[] stackStrings;
+
+    /**
+     * Index of the first free position of the operand stack.
+     */
+    private int top;
+
+    /**
+     * Type tags of the values of the variables.
+     */
+    private final byte[] slotTypes;
+
+    /**
+     * Integers and bits of doubles of the variables.
+     */
+    private final long[] slotNumbers;
+
+    /**
+     * Buffer used for writing integers without creating strings.
+     */
+    private final char[] digits = new char[11];
+
+    /**
+     * Formats used by {@code @decfmt} so far, created lazily since {@link DecimalFormat} is not thread-safe.
+     */
+    private Map<String, DecimalFormat> formats;
+
+    /**
+     * Creates a new {@code SmartScriptEvaluator} for a single run of a program.
+     *
+     * @param texts texts and strings used by the instructions.
+     * @param doubles doubles used by the instructions.
+     * @param slots the number of variable slots needed by the program.
+     * @param maxStackDepth the largest depth of the operand stack reached by the program.
+     * @param parameters values of the parameters fetched by {@code @paramGet}.
+     */
+    SmartScriptEvaluator(String[] texts, double[] doubles, int slots, int maxStackDepth, Map<String, String> parameters) {
+        this.texts = texts;
+        this.doubles = doubles;
+        this.parameters = parameters;
+        this.stackTypes = new byte[maxStackDepth];
+        this.stackNumbers = new long[maxStackDepth];
+        this.stackStrings = new String[maxStackDepth];
+        this.slotTypes = new byte[slots];
+        this.slotNumbers = new long[slots];
+    }
+
+    /**
+     * Executes the given {@code code}, writing the output to the given {@code writer}.
+     *
+     * @param code instructions of the program.
+     * @param writer destination of the output.
+     * @throws SmartScriptExecutionException when a value cannot be used as a number or an integer is divided by zero.
+     * @throws IOException when writing the output fails.
+     */
+    void run(int[] code, Writer writer) throws IOException {
+        for (int pc = 0, length = code.length; pc < length; ) {
+            switch (code[pc]) {
+                case TEXT -> {
+                    writer.write(this.texts[code[pc + 1]]);
+                    pc += 2;
+                }
+                case PUSH_INT -> {
+                    this.push(INT, code[pc + 1]);
+                    pc += 2;
+                }
+                case PUSH_DOUBLE -> {
+                    this.push(DOUBLE, Double.doubleToRawLongBits(this.doubles[code[pc + 1]]));
+                    pc += 2;
+                }
+                case PUSH_STRING -> {
+                    this.pushString(this.texts[code[pc + 1]]);
+                    pc += 2;
+                }
+                case LOAD -> {
+                    this.push(this.slotTypes[code[pc + 1]], this.slotNumbers[code[pc + 1]]);
+                    pc += 2;
+                }
+                case STORE_NUMBER -> {
+                    this.toNumber(--this.top);
+                    this.slotTypes[code[pc + 1]] = this.stackTypes[this.top];
+                    this.slotNumbers[code[pc + 1]] = this.stackNumbers[this.top];
+                    pc += 2;
+                }
+                case ADD, SUBTRACT, MULTIPLY, DIVIDE, POWER -> this.arithmetic(code[pc++]);
+                case SIN -> {
+                    this.toNumber(this.top - 1);
+                    this.replace(this.top - 1, DOUBLE, Double.doubleToRawLongBits(Math.sin(Math.toRadians(this.doubleAt(this.top - 1)))));
+                    pc++;
+                }
+                case DECFMT -> {
+                    this.decfmt();
+                    pc++;
+                }
+                case DUP -> {
+                    this.push(this.stackTypes[this.top - 1], this.stackNumbers[this.top - 1]);
+                    this.stackStrings[this.top - 1] = this.stackStrings[this.top - 2];
+                    pc++;
+                }
+                case SWAP -> {
+                    this.swap();
+                    pc++;
+                }
+                case PARAM_GET -> {
+                    this.paramGet();
+                    pc++;
+                }
+                case ECHO -> {
+                    this.echo(writer);
+                    pc++;
+                }
+                case LOOP_TEST -> pc = this.compare(code[pc + 1], code[pc + 2]) > 0 ? code[pc + 3] : pc + 4;
+                case LOOP_STEP -> {
+                    this.step(code[pc + 1], code[pc + 2]);
+                    pc = code[pc + 3];
+                }
+                default -> throw new SmartScriptExecutionException("Invalid instruction " + code[pc] + "!");
+            }
+        }
+    }
+
+    /**
+     * Pushes the given number onto the operand stack.
+     *
+     * @param type type tag of the number.
+     * @param number the integer or the bits of the double.
+     */
+    private void push(byte type, long number) {
+        this.stackTypes[this.top] = type;
+        this.stackNumbers[this.top] = number;
+        this.stackStrings[this.top++] = null;
+    }
+
+    /**
+     * Pushes the given {@code string} onto the operand stack.
+     *
+     * @param string string that is pushed.
+     */
+    private void pushString(String string) {
+        this.stackTypes[this.top] = STRING;
+        this.stackStrings[this.top++] = string;
+    }
+
+    /**
+     * Replaces the value at the given {@code index} of the operand stack with the given number.
+     *
+     * @param index position within the operand stack.
+     * @param type type tag of the number.
+     * @param number the integer or the bits of the double.
+     */
+    private void replace(int index, byte type, long number) {
+        this.stackTypes[index] = type;
+        this.stackNumbers[index] = number;
+        this.stackStrings[index] = null;
+    }
+
+    /**
+     * Fetches the number at the given {@code index} of the operand stack as a double.
+     *
+     * @param index position of a number within the operand stack.
+     * @return the number as a double.
+     */
+    private double doubleAt(int index) {
+        return this.stackTypes[index] == INT ? this.stackNumbers[index] : Double.longBitsToDouble(this.stackNumbers[index]);
+    }
+
+    /**
+     * Converts the string at the given {@code index} of the operand stack into a number, which is a double if it contains a dot or an exponent and an integer
+     * otherwise.
+     * Numbers are left as they are.
+     *
+     * @param index position within the operand stack.
+     * @throws SmartScriptExecutionException when the string is not a number.
+     */
+    private void toNumber(int index) {
+        if (this.stackTypes[index] != STRING) return;
+
+        String string = this.stackStrings[index];
+        try {
+            if (string.indexOf('.') >= 0 || string.indexOf('E') >= 0 || string.indexOf('e') >= 0) {
+                this.replace(index, DOUBLE, Double.doubleToRawLongBits(Double.parseDouble(string)));
+            } else {
+                this.replace(index, INT, Integer.parseInt(string));
+            }
+        } catch (NumberFormatException e) {
+            throw new SmartScriptExecutionException("The value \"" + string + "\" cannot be used as a number!");
+        }
+    }
+
+    /**
+     * Pops two numbers and pushes the result of the arithmetic operation with the given {@code opcode}.
+     *
+     * @param opcode operation code of the arithmetic operation.
+     * @throws SmartScriptExecutionException when a value is not a number or an integer is divided by zero.
+     */
+    private void arithmetic(int opcode) {
+        int second = --this.top, first = this.top - 1;
+        this.toNumber(first);
+        this.toNumber(second);
+
+        if (opcode != POWER && this.stackTypes[first] == INT && this.stackTypes[second] == INT) {
+            int a = (int) this.stackNumbers[first], b = (int) this.stackNumbers[second];
+            if (opcode == DIVIDE && b == 0) throw new SmartScriptExecutionException("Cannot divide an integer by zero!");
+
+            this.replace(first, INT, switch (opcode) {
+                case ADD -> a + b;
+                case SUBTRACT -> a - b;
+                case MULTIPLY -> a * b;
+                default -> a / b;
+            });
+            return;
+        }
+
+        double a = this.doubleAt(first), b = this.doubleAt(second);
+        this.replace(first, DOUBLE, Double.doubleToRawLongBits(switch (opcode) {
+            case ADD -> a + b;
+            case SUBTRACT -> a - b;
+            case MULTIPLY -> a * b;
+            case DIVIDE -> a / b;
+            default -> Math.pow(a, b);
+        }));
+    }
+
+    /**
+     * Pops a format and a number and pushes the number formatted by the {@link DecimalFormat} with that pattern.
+     *
+     * @throws SmartScriptExecutionException when the value is not a number or the format is invalid.
+     */
+    private void decfmt() {
+        String pattern = this.stringAt(--this.top);
+        int index = this.top - 1;
+        this.toNumber(index);
+
+        if (this.formats == null) this.formats = new HashMap<>();
+        DecimalFormat format = this.formats.get(pattern);
+        if (format == null) {
+            try {
+                format = new DecimalFormat(pattern);
+            } catch (IllegalArgumentException e) {
+                throw new SmartScriptExecutionException("Invalid decimal format \"" + pattern + "\"!");
+            }
+            this.formats.put(pattern, format);
+        }
+
+        String formatted = this.stackTypes[index] == INT ? format.format(this.stackNumbers[index]) : format.format(this.doubleAt(index));
+        this.top--;
+        this.pushString(formatted);
+    }
+
+    /**
+     * Swaps the two values on top of the operand stack.
+     */
+    private void swap() {
+        int first = this.top - 2, second = this.top - 1;
+
+        byte type = this.stackTypes[first];
+        long number = this.stackNumbers[first];
+        String string = this.stackStrings[first];
+
+        this.stackTypes[first] = this.stackTypes[second];
+        this.stackNumbers[first] = this.stackNumbers[second];
+        this.stackStrings[first] = this.stackStrings[second];
+        this.stackTypes[second] = type;
+        this.stackNumbers[second] = number;
+        this.stackStrings[second] = string;
+    }
+
+    /**
+     * Pops a default value and a parameter name and pushes the value of the parameter, or the default value if the parameter is not given.
+     */
+    private void paramGet() {
+        String value = this.parameters.get(this.stringAt(this.top - 2));
+        if (value == null) {
+            this.swap();
+            this.top--;
+        } else {
+            this.top -= 2;
+            this.pushString(value);
+        }
+    }
+
+    /**
+     * Writes all values on the operand stack from the bottom to the top and empties it.
+     *
+     * @param writer destination of the output.
+     * @throws IOException when writing the output fails.
+     */
+    private void echo(Writer writer) throws IOException {
+        for (int i = 0; i < this.top; i++) {
+            switch (this.stackTypes[i]) {
+                case INT -> this.writeInt(writer, (int) this.stackNumbers[i]);
+                case DOUBLE -> writer.write(Double.toString(Double.longBitsToDouble(this.stackNumbers[i])));
+                default -> writer.write(this.stackStrings[i]);
+            }
+            this.stackStrings[i] = null;
+        }
+        this.top = 0;
+    }
+
+    /**
+     * Writes the decimal representation of the given {@code value} without creating a string.
+     *
+     * @param writer destination of the output.
+     * @param value integer that is written.
+     * @throws IOException when writing the output fails.
+     */
+    private void writeInt(Writer writer, int value) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            writer.write(Integer.toString(value));
+            return;
+        }
+
+        int position = this.digits.length, remaining = Math.abs(value);
+        do {
+            this.digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) this.digits[--position] = '-';
+
+        writer.write(this.digits, position, this.digits.length - position);
+    }
+
+    /**
+     * Fetches the value at the given {@code index} of the operand stack as a string.
+     *
+     * @param index position within the operand stack.
+     * @return the value as a string.
+     */
+    private String stringAt(int index) {
+        return switch (this.stackTypes[index]) {
+            case INT -> Integer.toString((int) this.stackNumbers[index]);
+            case DOUBLE -> Double.toString(Double.longBitsToDouble(this.stackNumbers[index]));
+            default -> this.stackStrings[index];
+        };
+    }
+
+    /**
+     * Compares the values of the two given variable slots numerically.
+     *
+     * @param first slot of the first value.
+     * @param second slot of the second value.
+     * @return a negative integer, zero or a positive integer if the first value is less than, equal to or greater than the second one.
+     */
+    private int compare(int first, int second) {
+        if (this.slotTypes[first] == INT && this.slotTypes[second] == INT) return Long.compare(this.slotNumbers[first], this.slotNumbers[second]);
+
+        return Double.compare(this.slotDouble(first), this.slotDouble(second));
+    }
+
+    /**
+     * Increments the loop variable in the given {@code variable} slot by the value in the given {@code step} slot.
+     *
+     * @param variable slot of the loop variable.
+     * @param step slot of the step.
+     */
+    private void step(int variable, int step) {
+        if (this.slotTypes[variable] == INT && this.slotTypes[step] == INT) {
+            this.slotNumbers[variable] = (int) (this.slotNumbers[variable] + this.slotNumbers[step]);
+        } else {
+            this.slotNumbers[variable] = Double.doubleToRawLongBits(this.slotDouble(variable) + this.slotDouble(step));
+            this.slotTypes[variable] = DOUBLE;
+        }
+    }
+
+    /**
+     * Fetches the number in the given variable {@code slot} as a double.
+     *
+     * @param slot variable slot of a number.
+     * @return the number as a double.
+     */
+    private double slotDouble(int slot) {
+        return this.slotTypes[slot] == INT ? this.slotNumbers[slot] : Double.longBitsToDouble(this.slotNumbers[slot]);
+    }
+}
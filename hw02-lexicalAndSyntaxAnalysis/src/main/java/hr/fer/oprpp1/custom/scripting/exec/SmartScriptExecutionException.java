@@ -0,0 +1,30 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+/**
+ * Thrown to indicate that a document cannot be compiled or that something illegal happened while executing it.
+ *
+ * @author  mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptExecutionException extends RuntimeException {
+
+    @java.io.Serial
+    private static final long serialVersionUID = 4711580347231978206L;
+
+    /**
+     * Constructs an {@code SmartScriptExecutionException} with no detail message.
+     */
+    public SmartScriptExecutionException() {
+        super();
+    }
+
+    /**
+     * Constructs an {@code SmartScriptExecutionException} with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SmartScriptExecutionException(String message) {
+        super(message);
+    }
+
+}
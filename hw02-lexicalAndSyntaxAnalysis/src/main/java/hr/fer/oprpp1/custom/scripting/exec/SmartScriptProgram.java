@@ -0,0 +1,126 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * The {@code SmartScriptProgram} class represents a document of the custom scripting language compiled into a flat array of instructions for a stack-based evaluator.
+ * <p>
+ * Text is written as is, for-loops repeat their body while the loop variable is not greater than the end value and echo tags evaluate their elements in postfix
+ * order, writing all values left on the stack from the bottom to the top.
+ * The supported operators are {@code + - * / ^} and the supported functions are {@code @sin} (of an angle in degrees), {@code @decfmt}, {@code @dup},
+ * {@code @swap} and {@code @paramGet}, which fetches a parameter given to {@link #execute(Writer, Map)}.
+ * Integers stay integers unless combined with a double or raised to a power, and strings are converted to numbers when used as operands.
+ * <p>
+ * Programs are immutable and may be executed by many threads at the same time, since every execution has its own operand stack and variables.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public final class SmartScriptProgram {
+
+    /**
+     * Instructions of the program, each of them an operation code from {@link Instructions} followed by its operands.
+     */
+    private final int[] code;
+
+    /**
+     * Texts and strings used by the instructions.
+     */
+    private final String[] texts;
+
+    /**
+     * Doubles used by the instructions.
+     */
+    private final double[] doubles;
+
+    /**
+     * The number of variable slots needed by the program.
+     */
+    private final int slots;
+
+    /**
+     * The largest depth of the operand stack reached by the program.
+     */
+    private final int maxStackDepth;
+
+    /**
+     * Creates a new {@code SmartScriptProgram} out of compiled instructions and constants.
+     *
+     * @param code instructions of the program.
+     * @param texts texts and strings used by the instructions.
+     * @param doubles doubles used by the instructions.
+     * @param slots the number of variable slots needed by the program.
+     * @param maxStackDepth the largest depth of the operand stack reached by the program.
+     */
+    SmartScriptProgram(int[] code, String[] texts, double[] doubles, int slots, int maxStackDepth) {
+        this.code = code;
+        this.texts = texts;
+        this.doubles = doubles;
+        this.slots = slots;
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    /**
+     * Compiles the document tree rooted in the given {@code documentNode}.
+     *
+     * @param documentNode root of the document tree.
+     * @return the compiled program.
+     * @throws NullPointerException when the given {@code documentNode} is {@code null}.
+     * @throws SmartScriptExecutionException when the document refers to an undefined variable or an unknown function or operator, or when an operator or function
+     * lacks operands.
+     */
+    public static SmartScriptProgram compile(DocumentNode documentNode) {
+        if (documentNode == null) throw new NullPointerException("The given document node cannot be null!");
+
+        return new SmartScriptCompiler().compile(documentNode);
+    }
+
+    /**
+     * Executes the current program without any parameters, writing its output to the given {@code writer}.
+     *
+     * @param writer destination of the output, which is neither flushed nor closed.
+     * @throws NullPointerException when the given {@code writer} is {@code null}.
+     * @throws SmartScriptExecutionException when a value cannot be used as a number or an integer is divided by zero.
+     * @throws IOException when writing the output fails.
+     */
+    public void execute(Writer writer) throws IOException {
+        this.execute(writer, Map.of());
+    }
+
+    /**
+     * Executes the current program with the given {@code parameters}, writing its output to the given {@code writer}.
+     *
+     * @param writer destination of the output, which is neither flushed nor closed.
+     * @param parameters values of the parameters fetched by {@code @paramGet}.
+     * @throws NullPointerException when the given {@code writer} or {@code parameters} are {@code null}.
+     * @throws SmartScriptExecutionException when a value cannot be used as a number or an integer is divided by zero.
+     * @throws IOException when writing the output fails.
+     */
+    public void execute(Writer writer, Map<String, String> parameters) throws IOException {
+        if (writer == null) throw new NullPointerException("The given writer cannot be null!");
+        if (parameters == null) throw new NullPointerException("The given parameters cannot be null!");
+
+        new SmartScriptEvaluator(this.texts, this.doubles, this.slots, this.maxStackDepth, parameters).run(this.code, writer);
+    }
+
+    /**
+     * Determines the number of instructions of the current program.
+     *
+     * @return the number of instructions.
+     */
+    public int numberOfInstructions() {
+        int count = 0;
+        for (int pc = 0; pc < this.code.length; count++) {
+            pc += switch (this.code[pc]) {
+                case Instructions.LOOP_TEST, Instructions.LOOP_STEP -> 4;
+                case Instructions.TEXT, Instructions.PUSH_INT, Instructions.PUSH_DOUBLE, Instructions.PUSH_STRING, Instructions.LOAD, Instructions.STORE_NUMBER -> 2;
+                default -> 1;
+            };
+        }
+        return count;
+    }
+}
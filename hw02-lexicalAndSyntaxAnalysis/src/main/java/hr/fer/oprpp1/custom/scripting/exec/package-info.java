@@ -0,0 +1,6 @@
+/**
+ * Package containing the execution engine of the custom script, which compiles document trees into flat instruction arrays and evaluates them.
+ *
+ * @since 1.0
+ */
+package hr.fer.oprpp1.custom.scripting.exec;
@@ -1,7 +1,18 @@
 package hr.fer.oprpp1.custom.scripting.lexer;
 
+import hr.fer.oprpp1.custom.lexing.LexerGenerator;
+import hr.fer.oprpp1.custom.lexing.LexerTable;
+import hr.fer.oprpp1.custom.lexing.NumberParser;
+
 /**
  * The {@code SmartScriptLexer} class represents a program performing lexical analysis for a defined language.
+ * <p>
+ * Tokens are matched by a {@link LexerTable} generated once for all instances, which has a starting state for each {@link SmartScriptLexerState}.
+ * Escapes within text and strings are resolved by the table while creating the values of the tokens.
+ * <p>
+ * Tokens can be read without creating any objects through {@link #advance()}, which only finds the type and the position of the next token within the input.
+ * The value of the token is then created on demand, as a {@link String} by {@link #getTokenText()}, as a primitive number by {@link #getTokenInt()} or
+ * {@link #getTokenDouble()}, or as a whole {@link SmartScriptToken} by {@link #getToken()}.
  *
  * @author mirtamoslavac
  * @version 1.0
@@ -13,15 +24,35 @@ public class SmartScriptLexer {
     private final char[] data;
 
     /**
-     * The last generated token within the current lexer.
+     * The last generated token within the current lexer, {@code null} until it is requested.
      */
     private SmartScriptToken token;
 
+    /**
+     * Type of the last generated token within the current lexer.
+     */
+    private SmartScriptTokenType tokenType;
+
+    /**
+     * The state of the table the last generated token has been matched from.
+     */
+    private int tokenStart;
+
+    /**
+     * Whether the value of the last generated token differs from its characters.
+     */
+    private boolean tokenTransformed;
+
     /**
      * Index of the first nontokenized character.
      */
     private int currentIndex;
 
+    /**
+     * Index of the first character of the last generated token.
+     */
+    private int tokenOffset;
+
     /**
      * The current state of the current lexer.
      */
@@ -37,398 +68,359 @@ public class SmartScriptLexer {
      */
     private static final String TAG_END = "$}";
 
-
     /**
-     * Creates a new {@code SmartScriptLexer} instance for the given input text.
-     *
-     * @param text input to be converted to a charArray and tokenized.
-     * @throws NullPointerException when the given input text is {@code null}.
+     * All token types, indexed by the types of tokens accepted by the table.
      */
-    public SmartScriptLexer(String text) {
-        if (text == null) throw new NullPointerException("The input text cannot be null");
-
-        this.data = text.toCharArray();
-        this.currentIndex = 0;
-        this.token = null;
-        this.state = SmartScriptLexerState.TEXT;
-    }
+    private static final SmartScriptTokenType[] TYPES = SmartScriptTokenType.values();
 
     /**
-     * Sets the lexer state to the given {@code state}.
-     *
-     * @param state new lexer state of the current lexer.
-     * @throws NullPointerException when the given {@code state} is {@code null}.
+     * Type of tokens accepted by the table for whitespace within a tag, which is skipped.
      */
-    public void setState(SmartScriptLexerState state) {
-        if (state == null) throw new NullPointerException("The lexer state cannot be null");
-
-        this.state = state;
-    }
+    private static final int WHITESPACE = TYPES.length;
 
     /**
-     * Fetches the last generated token.
-     *
-     * @throws SmartScriptLexerException when trying to fetch the last token within the lexer that hasn't tokenized anything yet.
-     * @return last generated token.
+     * Code of the error of the table for a curly bracket that does not start a tag.
      */
-    public SmartScriptToken getToken() {
-        if (this.token == null) throw new SmartScriptLexerException("Cannot get last token when nothing has been tokenized yet!");
-
-        return this.token;
-    }
+    private static final int INVALID_TAG = 0;
 
     /**
-     * Generates the next token from the input text, depending on the current {@code state}, and returns it.
-     *
-     * @throws SmartScriptLexerException when trying to fetch a new token after obtaining EOF as the previous token's type or when unable to generate a token.
-     * @return a new {@link SmartScriptToken} instance.
+     * Code of the error of the table for invalid escapes.
      */
-    public SmartScriptToken nextToken() {
-        if (this.token != null && this.token.getType() == SmartScriptTokenType.EOF) throw new SmartScriptLexerException("Cannot tokenize after reading EOF!");
-
-        if (this.isEOF(this.currentIndex)) return this.token;
-
-        switch (this.state) {
-            case TEXT -> {
-                if (this.isTagStart()) return this.tokenizeTagStart();
-                else return this.tokenizeText();
-            }
-            case TAG -> {
-                this.skipWhitespace();
-                if (this.isTagEnd()) return this.tokenizeTagEnd();
-                else return this.tokenizeInsideTag();
-            }
-            default -> throw new SmartScriptLexerException("Invalid lexer state!");
-        }
-    }
+    private static final int INVALID_ESCAPE = 1;
 
     /**
-     * Returns a newly created text string {@link SmartScriptToken} instance outside a tag.
-     *
-     * @throws SmartScriptLexerException when attempting to start a tag, but not finishing it.
-     * @return string {@link SmartScriptToken}.
-     */
-    private SmartScriptToken tokenizeText() {
-        StringBuilder sb = new StringBuilder();
-
-        while (this.currentIndex < this.data.length && !this.isTagStart()) {
-            if (this.data[this.currentIndex] == '{') throw new SmartScriptLexerException("Invalid attempt of defining a tag!");
-            if (checkEscapingText()) {
-                sb.append(this.data[++this.currentIndex]);
-                this.currentIndex++;
-            } else {
-                sb.append(this.data[this.currentIndex++]);
-            }
-        }
+     * Code of the error of the table for strings that are not closed.
+     */
+    private static final int UNCLOSED_STRING = 2;
 
-        this.token = new SmartScriptToken(SmartScriptTokenType.STRING_TEXT, sb.toString());
-        return this.token;
-    }
+    /**
+     * Messages of the errors of the table, indexed by their codes.
+     */
+    private static final String[] ERRORS = {
+            "Invalid attempt of defining a tag!",
+            "Invalid attempt of escaping a character!",
+            "The string was not closed before the end of the input!"
+    };
 
     /**
-     * Creates a new start tag {@link SmartScriptToken} instance within a tag.
-     *
-     * @return start tag {@link SmartScriptToken}.
+     * Starting state of the table in the {@code SmartScriptLexerState.TEXT} state.
      */
-    private SmartScriptToken tokenizeTagStart() {
-        this.currentIndex += 2;
+    private static final int TEXT_STATE_START;
 
-        this.token = new SmartScriptToken(SmartScriptTokenType.TAG_START, TAG_START);
-        return this.token;
-    }
+    /**
+     * Starting state of the table in the {@code SmartScriptLexerState.TAG} state.
+     */
+    private static final int TAG_STATE_START;
 
     /**
-     * Returns a newly created {@link SmartScriptToken} instance within a tag.
-     *
-     * @throws SmartScriptLexerException when unable to recognize a defined token type.
-     * @return {@link SmartScriptToken} instance.
+     * Table matching the tokens of all lexers.
      */
-    private SmartScriptToken tokenizeInsideTag() {
-        this.skipWhitespace();
+    private static final LexerTable TABLE;
+
+    static {
+        LexerGenerator generator = new LexerGenerator();
+        int whitespace = generator.charClass(" \r\n\t");
+        int openCurly = generator.charClass("{"), closedCurly = generator.charClass("}"), dollar = generator.charClass("$");
+        int backslash = generator.charClass("\\"), quote = generator.charClass("\""), at = generator.charClass("@"), equals = generator.charClass("=");
+        int minus = generator.charClass("-"), dot = generator.charClass("."), underscore = generator.charClass("_"), operator = generator.charClass("+*/^");
+        int n = generator.charClass("n"), r = generator.charClass("r"), t = generator.charClass("t");
+        int letter = generator.charClass(Character::isLetter), digit = generator.charClass(Character::isDigit);
+        int eof = LexerGenerator.END_OF_INPUT;
+        int[] letters = {n, r, t, letter}, nameCharacters = {n, r, t, letter, digit, underscore};
 
-        if (Character.isLetter(this.data[this.currentIndex]) || this.data[this.currentIndex] == '=') return this.tokenizeIdentifier();
+        TEXT_STATE_START = generator.state();
+        TAG_STATE_START = generator.state();
 
-        if (this.data[this.currentIndex] == '@' && this.currentIndex + 1 < this.data.length && Character.isLetter(this.data[this.currentIndex+1])) return this.tokenizeFunction();
+        // A curly bracket within text is matched together with the following dollar sign, which leads to a state without transitions, so the text ends right
+        // before the tag start.
+        int text = generator.state(SmartScriptTokenType.STRING_TEXT.ordinal()), textEscape = generator.state();
+        int curly = generator.state(), textCurly = generator.state();
+        generator.omit(textEscape);
+        generator.transition(TEXT_STATE_START, curly, openCurly);
+        generator.transition(TEXT_STATE_START, textEscape, backslash);
+        generator.otherwise(TEXT_STATE_START, text);
+        generator.transition(text, textCurly, openCurly);
+        generator.transition(text, textEscape, backslash);
+        generator.otherwise(text, text);
+        generator.transition(textEscape, text, backslash, openCurly);
+        generator.error(textEscape, INVALID_ESCAPE, eof);
+        generator.otherwiseError(textEscape, INVALID_ESCAPE);
+        generator.transition(curly, generator.state(SmartScriptTokenType.TAG_START.ordinal()), dollar);
+        generator.error(curly, INVALID_TAG, eof);
+        generator.otherwiseError(curly, INVALID_TAG);
+        generator.transition(textCurly, generator.state(), dollar);
+        generator.error(textCurly, INVALID_TAG, eof);
+        generator.otherwiseError(textCurly, INVALID_TAG);
 
-        if (this.data[this.currentIndex] == '-' && checkIfNegativeNumber() || Character.isDigit(this.data[this.currentIndex])) return this.tokenizeNumber();
+        int skipped = generator.state(WHITESPACE);
+        generator.transition(TAG_STATE_START, skipped, whitespace);
+        generator.transition(skipped, skipped, whitespace);
 
-        if (this.checkIfValidOperator(this.data[this.currentIndex])) return this.tokenizeOperator();
+        int tagEnd = generator.state();
+        generator.transition(TAG_STATE_START, tagEnd, dollar);
+        generator.transition(tagEnd, generator.state(SmartScriptTokenType.TAG_END.ordinal()), closedCurly);
 
-        if (this.data[this.currentIndex] == '"') return this.tokenizeString();
+        int identifier = generator.state(SmartScriptTokenType.IDENTIFIER.ordinal());
+        generator.transition(TAG_STATE_START, generator.state(SmartScriptTokenType.IDENTIFIER.ordinal()), equals);
+        generator.transition(TAG_STATE_START, identifier, letters);
+        generator.transition(identifier, identifier, nameCharacters);
 
-        throw new SmartScriptLexerException("Cannot generate a token within the tag because of the '" + this.data[this.currentIndex] + "' character!");
+        int function = generator.state(SmartScriptTokenType.FUNCTION.ordinal()), functionStart = generator.state();
+        generator.transition(TAG_STATE_START, functionStart, at);
+        generator.transition(functionStart, function, letters);
+        generator.transition(function, function, nameCharacters);
+
+        // Numbers keep reading digits, minus signs and at most two dots, and are validated while parsing their values.
+        int minusOperator = generator.state(SmartScriptTokenType.OPERATOR.ordinal());
+        int integer = generator.state(SmartScriptTokenType.INTEGER.ordinal());
+        int decimal = generator.state(SmartScriptTokenType.DOUBLE.ordinal()), secondDot = generator.state(SmartScriptTokenType.DOUBLE.ordinal());
+        generator.transition(TAG_STATE_START, minusOperator, minus);
+        generator.transition(TAG_STATE_START, integer, digit);
+        generator.transition(minusOperator, integer, digit);
+        generator.transition(integer, integer, digit, minus);
+        generator.transition(integer, decimal, dot);
+        generator.transition(decimal, decimal, digit, minus);
+        generator.transition(decimal, secondDot, dot);
+        generator.transition(secondDot, secondDot, digit, minus);
+
+        generator.transition(TAG_STATE_START, generator.state(SmartScriptTokenType.OPERATOR.ordinal()), operator);
+
+        int stringStart = generator.state(), string = generator.state(), stringEscape = generator.state();
+        int newline = generator.state(), carriageReturn = generator.state(), tab = generator.state();
+        int stringEnd = generator.state(SmartScriptTokenType.STRING_TAG.ordinal());
+        generator.omit(stringStart);
+        generator.omit(stringEscape);
+        generator.omit(stringEnd);
+        generator.output(newline, '\n');
+        generator.output(carriageReturn, '\r');
+        generator.output(tab, '\t');
+        generator.transition(TAG_STATE_START, stringStart, quote);
+        for (int state : new int[] {stringStart, string, newline, carriageReturn, tab}) {
+            generator.transition(state, stringEnd, quote);
+            generator.transition(state, stringEscape, backslash);
+            generator.error(state, UNCLOSED_STRING, eof);
+            generator.otherwise(state, string);
+        }
+        generator.transition(stringEscape, string, backslash, quote);
+        generator.transition(stringEscape, newline, n);
+        generator.transition(stringEscape, carriageReturn, r);
+        generator.transition(stringEscape, tab, t);
+        generator.error(stringEscape, INVALID_ESCAPE, eof);
+        generator.otherwiseError(stringEscape, INVALID_ESCAPE);
+
+        TABLE = generator.generate();
     }
 
     /**
-     * Creates a new end tag {@link SmartScriptToken} instance within a tag.
+     * Creates a new {@code SmartScriptLexer} instance for the given input text.
      *
-     * @return end tag {@link SmartScriptToken}.
+     * @param text input to be converted to a charArray and tokenized.
+     * @throws NullPointerException when the given input text is {@code null}.
      */
-    private SmartScriptToken tokenizeTagEnd() {
-        this.currentIndex += 2;
+    public SmartScriptLexer(String text) {
+        if (text == null) throw new NullPointerException("The input text cannot be null");
 
-        this.token = new SmartScriptToken(SmartScriptTokenType.TAG_END, TAG_END);
-        return this.token;
+        this.data = text.toCharArray();
+        this.currentIndex = 0;
+        this.token = null;
+        this.state = SmartScriptLexerState.TEXT;
     }
 
     /**
-     * Creates a new identifier (tag name or variable) {@link SmartScriptToken} instance within a tag.
+     * Sets the lexer state to the given {@code state}.
      *
-     * @return identifier {@link SmartScriptToken}.
+     * @param state new lexer state of the current lexer.
+     * @throws NullPointerException when the given {@code state} is {@code null}.
      */
-    private SmartScriptToken tokenizeIdentifier() {
-
-        if(this.data[this.currentIndex] == '=') {
-            this.token = new SmartScriptToken(SmartScriptTokenType.IDENTIFIER, String.valueOf(this.data[this.currentIndex++]));
-            return this.token;
-        }
-
-        StringBuilder sb = new StringBuilder();
-
-        sb.append(this.data[this.currentIndex++]);
-
-        while (this.checkIfMoreValidVariableOrFunctionCharactersFollow())
-            sb.append(this.data[this.currentIndex++]);
+    public void setState(SmartScriptLexerState state) {
+        if (state == null) throw new NullPointerException("The lexer state cannot be null");
 
-        this.token = new SmartScriptToken(SmartScriptTokenType.IDENTIFIER, sb.toString());
-        return this.token;
+        this.state = state;
     }
 
     /**
-     * Creates a new function {@link SmartScriptToken} instance within a tag.
+     * Fetches the last generated token, creating it if it has not been created yet.
      *
-     * @return function {@link SmartScriptToken}.
+     * @throws SmartScriptLexerException when trying to fetch the last token within the lexer that hasn't tokenized anything yet.
+     * @throws NumberFormatException when unable to parse a number within a tag.
+     * @return last generated token.
      */
-    private SmartScriptToken tokenizeFunction() {
-
-        StringBuilder sb = new StringBuilder();
-
-        sb.append(this.data[this.currentIndex++]);
-        sb.append(this.data[this.currentIndex++]);
-
-        while (this.checkIfMoreValidVariableOrFunctionCharactersFollow())
-            sb.append(this.data[this.currentIndex++]);
+    public SmartScriptToken getToken() {
+        this.checkToken();
 
-        this.token = new SmartScriptToken(SmartScriptTokenType.FUNCTION, sb.toString());
+        if (this.token == null) this.token = this.createToken();
         return this.token;
     }
 
     /**
-     * Creates a new number (integer or double) {@link SmartScriptToken} instance within a tag.
+     * Fetches the type of the last generated token.
      *
-     * @throws NumberFormatException when unable to parse string to integer or double.
-     * @return integer or double {@link SmartScriptToken}.
+     * @throws SmartScriptLexerException when trying to fetch the type of the last token within the lexer that hasn't tokenized anything yet.
+     * @return type of the last generated token.
      */
-    private SmartScriptToken tokenizeNumber() {
-        int dotCounter = 0;
-
-        StringBuilder sb = new StringBuilder();
-
-        while (Character.isDigit(this.data[this.currentIndex])|| this.data[this.currentIndex] == '.' && dotCounter < 2 || this.data[this.currentIndex] == '-') {
-            if (this.data[this.currentIndex] == '.') dotCounter++;
-            sb.append(this.data[this.currentIndex++]);
-        }
+    public SmartScriptTokenType getTokenType() {
+        this.checkToken();
 
-        try {
-            if (dotCounter == 0) {
-                this.token = new SmartScriptToken(SmartScriptTokenType.INTEGER, Integer.parseInt(sb.toString()));
-            } else {
-                this.token = new SmartScriptToken(SmartScriptTokenType.DOUBLE, Double.parseDouble(sb.toString()));
-            }
-            return this.token;
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException("The number trying to be tokenized cannot be parsed!");
-        }
+        return this.tokenType;
     }
 
     /**
-     * Creates a new operator {@link SmartScriptToken} instance within a tag.
+     * Fetches the index of the first character of the last generated token within the input text.
      *
-     * @return operator {@link SmartScriptToken}.
+     * @throws SmartScriptLexerException when trying to fetch the offset of the last token within the lexer that hasn't tokenized anything yet.
+     * @return offset of the last generated token, the length of the input text for the EOF token.
      */
-    private SmartScriptToken tokenizeOperator() {
-        this.token = new SmartScriptToken(SmartScriptTokenType.OPERATOR, String.valueOf(this.data[this.currentIndex++]));
-        return this.token;
+    public int getTokenOffset() {
+        this.checkToken();
+
+        return this.tokenOffset;
     }
 
     /**
-     * Creates a new string {@link SmartScriptToken} instance within a tag.
+     * Fetches the number of characters of the input text the last generated token was made from.
      *
-     * @return string {@link SmartScriptToken}.
+     * @throws SmartScriptLexerException when trying to fetch the length of the last token within the lexer that hasn't tokenized anything yet.
+     * @return length of the last generated token, 0 for the EOF token.
      */
-    private SmartScriptToken tokenizeString() {
-        //ignore starting "
-        this.currentIndex++;
-
-        StringBuilder sb = new StringBuilder();
-
-        while (this.currentIndex < this.data.length && this.data[this.currentIndex] != '"') {
-            this.checkAndAddWhitespaceChars(sb);
-            if (checkEscapingTag()) {
-                sb.append(this.data[++this.currentIndex]);
-                this.currentIndex++;
-            } else {
-                sb.append(this.data[this.currentIndex++]);
-            }
-        }
-
-        //ignore ending "
-        this.currentIndex++;
+    public int getTokenLength() {
+        this.checkToken();
 
-        this.token = new SmartScriptToken(SmartScriptTokenType.STRING_TAG, sb.toString());
-        return this.token;
+        return this.currentIndex - this.tokenOffset;
     }
 
     /**
-     * Checks whether a tag start is being defined.
+     * Creates the text of the last generated token, which is its value with resolved escapes for text and strings, and its characters for all other tokens.
      *
-     * @return {@code true} if it is being defined, {@code false} otherwise.
+     * @throws SmartScriptLexerException when trying to fetch the text of the last token within the lexer that hasn't tokenized anything yet.
+     * @return text of the last generated token, {@code null} for the EOF token.
      */
-    private boolean isTagStart() {
-        return this.data[this.currentIndex] == TAG_START.charAt(0) && this.currentIndex + 1 < this.data.length && this.data[this.currentIndex+1] == TAG_START.charAt(1);
+    public String getTokenText() {
+        this.checkToken();
+
+        if (this.tokenType == SmartScriptTokenType.EOF) return null;
+        if (this.tokenTransformed) return TABLE.value(this.data, this.tokenOffset, this.currentIndex, this.tokenStart);
+        return new String(this.data, this.tokenOffset, this.currentIndex - this.tokenOffset);
     }
 
     /**
-     * Checks whether a tag ending is being defined.
+     * Parses the value of the last generated token, which has to be of the {@code INTEGER} type.
      *
-     * @return {@code true} if it is being defined, {@code false} otherwise.
+     * @throws SmartScriptLexerException when the last token does not exist or is not of the {@code INTEGER} type.
+     * @throws NumberFormatException when unable to parse the number.
+     * @return value of the last generated token.
      */
-    private boolean isTagEnd() {
-        return this.data[this.currentIndex] == TAG_END.charAt(0) && this.currentIndex + 1 < this.data.length && this.data[this.currentIndex+1] == TAG_END.charAt(1);
-    }
+    public int getTokenInt() {
+        this.checkToken();
+        if (this.tokenType != SmartScriptTokenType.INTEGER) throw new SmartScriptLexerException("The last token is not an integer!");
 
-    /**
-     * Looks for and adds, if found, whitespace characters defined through a char sequence within a string in a tag.
-     */
-    private void checkAndAddWhitespaceChars(StringBuilder sb) {
-       whileLoop: while (this.data[this.currentIndex] == '\\' && this.currentIndex + 1 < this.data.length) {
-           switch (this.data[this.currentIndex + 1]) {
-               case 'n' -> {
-                   this.currentIndex += 2;
-                   sb.append('\n');
-               }
-               case 'r' -> {
-                   this.currentIndex += 2;
-                   sb.append('\r');
-               }
-               case 't' -> {
-                   this.currentIndex += 2;
-                   sb.append('\t');
-               }
-               default -> {break whileLoop;}
-           }
+        try {
+            return NumberParser.parseInt(this.data, this.tokenOffset, this.currentIndex);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("The number trying to be tokenized cannot be parsed!");
         }
     }
 
     /**
-     * Determines whether a valid attempt of escaping a character is happening outside the tag.
+     * Parses the value of the last generated token, which has to be of the {@code DOUBLE} or the {@code INTEGER} type.
      *
-     * @throws SmartScriptLexerException when trying to escape a invalid character.
-     * @return {@code true} if the escaping is valid, {@code false} otherwise.
+     * @throws SmartScriptLexerException when the last token does not exist or is not a number.
+     * @throws NumberFormatException when unable to parse the number.
+     * @return value of the last generated token.
      */
-    private boolean checkEscapingText() {
-        if (this.data[this.currentIndex] == '\\') {
-            if (!checkEscapedText()) {
-                throw new SmartScriptLexerException("Invalid attempt of escaping a character!");
-            }
-            return true;
-        }
-        return false;
-    }
-    /**
-     * Determines whether the character attempted to be escaped outside the tag is allowed to be escaped by the language definition.
-     *
-     * @return {@code true} if the character is allowed to be escaped, {@code false} otherwise.
-     */
-    private boolean checkEscapedText() {
-        return this.currentIndex + 1 < this.data.length && (this.data[this.currentIndex+1] == '\\' || this.data[this.currentIndex+1] == '{');
-    }
+    public double getTokenDouble() {
+        this.checkToken();
+        if (this.tokenType == SmartScriptTokenType.INTEGER) return this.getTokenInt();
+        if (this.tokenType != SmartScriptTokenType.DOUBLE) throw new SmartScriptLexerException("The last token is not a number!");
 
-    /**
-     * Determines whether a valid attempt of escaping a character is happening within the tag.
-     *
-     * @throws SmartScriptLexerException when trying to escape a invalid character.
-     * @return {@code true} if the escaping is valid, {@code false} otherwise.
-     */
-    private boolean checkEscapingTag() {
-        if (this.data[this.currentIndex] == '\\') {
-            if (!checkEscapedTag()) {
-                throw new SmartScriptLexerException("Invalid attempt of escaping a character!");
-            }
-            return true;
+        try {
+            return NumberParser.parseDouble(this.data, this.tokenOffset, this.currentIndex);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("The number trying to be tokenized cannot be parsed!");
         }
-        return false;
     }
 
     /**
-     * Determines whether the character attempted to be escaped within the tag is allowed to be escaped by the language definition.
+     * Generates the next token from the input text, depending on the current {@code state}, and returns it.
      *
-     * @return {@code true} if the character is allowed to be escaped, {@code false} otherwise.
+     * @throws SmartScriptLexerException when trying to fetch a new token after obtaining EOF as the previous token's type or when unable to generate a token.
+     * @throws NumberFormatException when unable to parse a number within a tag.
+     * @return a new {@link SmartScriptToken} instance.
      */
-    private boolean checkEscapedTag() {
-        return this.currentIndex + 1 < this.data.length && (this.data[this.currentIndex+1] == '\\' || this.data[this.currentIndex+1] == '\"');
+    public SmartScriptToken nextToken() {
+        this.advance();
+        return this.getToken();
     }
 
     /**
-     * Determines whether the following character is valid in the given context, defined by the language.
+     * Finds the next token within the input text, depending on the current {@code state}, without creating its value.
+     * Numbers are not parsed until their value is requested.
      *
-     * @return {@code true} if the following character is valid in the given context, {@code false} otherwise.
+     * @throws SmartScriptLexerException when trying to fetch a new token after obtaining EOF as the previous token's type or when unable to generate a token, in
+     * which case the exception holds the offset of the invalid character.
+     * @return type of the next token.
      */
-    private boolean checkIfMoreValidVariableOrFunctionCharactersFollow() {
-        return Character.isLetter(this.data[this.currentIndex]) || Character.isDigit(this.data[this.currentIndex]) || this.data[this.currentIndex] == '_';
-    }
+    public SmartScriptTokenType advance() {
+        if (this.tokenType == SmartScriptTokenType.EOF) throw new SmartScriptLexerException("Cannot tokenize after reading EOF!");
 
-    /**
-     * Determines whether a number follows the current character{@code -} and therefore is a part of the number.
-     *
-     * @return {@code true} if a number follows, {@code false} otherwise.
-     */
-    private boolean checkIfNegativeNumber() {
-        return this.currentIndex + 1 < this.data.length && Character.isDigit(this.data[this.currentIndex+1]);
-    }
+        this.token = null;
+        if (this.currentIndex >= this.data.length) {
+            this.tokenOffset = this.currentIndex;
+            this.tokenType = SmartScriptTokenType.EOF;
+            return this.tokenType;
+        }
 
-    /**
-     * Determines whether the given {@code charater} is a valid operator defined by the language.
-     *
-     * @param character char that is to be checked.
-     * @return {@code true} if the given {@code character} is a valid operator, {@code false} otherwise.
-     */
-    private boolean checkIfValidOperator(char character){
-        return character == '+' || character == '-' || character == '*' || character == '/' || character == '^';
-    }
+        int start = switch (this.state) {
+            case TEXT -> TEXT_STATE_START;
+            case TAG -> TAG_STATE_START;
+        };
 
-    /**
-     * Determines whether the given {@code index} is over the upper boundary of the {@code data} array and
-     * is a part of the decision whether the tokenization of an EOF token is to be performed.
-     *
-     * @param index int that is to be checked.
-     * @return {@code true} if the given {@code index} is over the upper boundary, {@code false} otherwise.
-     */
-    private boolean isEOF(int index) {
-        if (index >= this.data.length) {
-            this.token = new SmartScriptToken(SmartScriptTokenType.EOF, null);
-            return true;
+        long result = TABLE.match(this.data, this.currentIndex, start);
+        if (LexerTable.type(result) == WHITESPACE) {
+            this.currentIndex = LexerTable.end(result);
+            if (this.currentIndex == this.data.length) {
+                throw new SmartScriptLexerException("The tag was not closed before the end of the input!", this.currentIndex);
+            }
+            result = TABLE.match(this.data, this.currentIndex, start);
+        }
+
+        int type = LexerTable.type(result);
+        if (type == LexerTable.NO_MATCH) {
+            throw new SmartScriptLexerException("Cannot generate a token within the tag because of the '" + this.data[this.currentIndex] + "' character!",
+                    this.currentIndex);
         }
-        return false;
+        if (type < LexerTable.NO_MATCH) throw new SmartScriptLexerException(ERRORS[LexerTable.errorCode(result)], LexerTable.end(result));
+
+        this.tokenOffset = this.currentIndex;
+        this.currentIndex = LexerTable.end(result);
+        this.tokenType = TYPES[type];
+        this.tokenStart = start;
+        this.tokenTransformed = LexerTable.isTransformed(result);
+        return this.tokenType;
     }
 
     /**
-     * Skips all whitespace characters in the {@code data} array until encountering a non-whitespace character;
+     * Checks whether any token has been generated.
+     *
+     * @throws SmartScriptLexerException when the lexer hasn't tokenized anything yet.
      */
-    private void skipWhitespace() {
-        for (int i = this.currentIndex, dataLength = this.data.length; i < dataLength; i++, this.currentIndex++) {
-            if (this.currentIndex == this.data.length || !this.isWhitespace(this.data[this.currentIndex])) break;
-        }
+    private void checkToken() {
+        if (this.tokenType == null) throw new SmartScriptLexerException("Cannot get last token when nothing has been tokenized yet!");
     }
 
     /**
-     * Determines whether the given {@code character} is a whitespace character.
+     * Creates the last generated token.
      *
-     * @param character char that is to be checked.
-     * @return {@code true} if the given {@code character} is a whitespace character, {@code false} otherwise.
+     * @throws NumberFormatException when unable to parse a number.
+     * @return a new {@link SmartScriptToken} instance.
      */
-    private boolean isWhitespace(char character) {
-        return character == ' ' || character == '\r' || character == '\n' || character == '\t';
+    private SmartScriptToken createToken() {
+        return switch (this.tokenType) {
+            case EOF -> new SmartScriptToken(SmartScriptTokenType.EOF, null);
+            case TAG_START -> new SmartScriptToken(SmartScriptTokenType.TAG_START, TAG_START);
+            case TAG_END -> new SmartScriptToken(SmartScriptTokenType.TAG_END, TAG_END);
+            case INTEGER -> new SmartScriptToken(SmartScriptTokenType.INTEGER, this.getTokenInt());
+            case DOUBLE -> new SmartScriptToken(SmartScriptTokenType.DOUBLE, this.getTokenDouble());
+            default -> new SmartScriptToken(this.tokenType, this.getTokenText());
+        };
     }
-
-}
\ No newline at end of file
+}
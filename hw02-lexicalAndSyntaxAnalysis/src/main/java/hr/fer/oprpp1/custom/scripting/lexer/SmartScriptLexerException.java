@@ -11,11 +11,17 @@ public class SmartScriptLexerException extends RuntimeException {
     @java.io.Serial
     private static final long serialVersionUID = 753869421124357689L;
 
+    /**
+     * Index of the character of the input the exception refers to, -1 if unknown.
+     */
+    private final int offset;
+
     /**
      * Constructs an {@code SmartScriptException} with no detail message.
      */
     public SmartScriptLexerException() {
         super();
+        this.offset = -1;
     }
 
     /**
@@ -24,7 +30,27 @@ public class SmartScriptLexerException extends RuntimeException {
      * @param message the detail message
      */
     public SmartScriptLexerException(String message) {
+        this(message, -1);
+    }
+
+    /**
+     * Constructs an {@code SmartScriptException} with the specified detail message, referring to the character of the input at the given {@code offset}.
+     *
+     * @param message the detail message
+     * @param offset index of the character of the input the exception refers to, -1 if unknown
+     */
+    public SmartScriptLexerException(String message, int offset) {
         super(message);
+        this.offset = offset;
+    }
+
+    /**
+     * Fetches the index of the character of the input the exception refers to.
+     *
+     * @return the index of the character, -1 if unknown
+     */
+    public int getOffset() {
+        return this.offset;
     }
 
 }
@@ -0,0 +1,431 @@
+package hr.fer.oprpp1.custom.scripting.lexer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+
+/**
+ * The {@code SmartScriptStreamingLexer} class represents a program performing the same lexical analysis as {@link SmartScriptLexer}, but over input that does not
+ * have to be held in memory as a whole.
+ * The input is either read from a {@link Reader} through a sliding buffer of a fixed size, so that documents of any size are tokenized in constant memory, or taken
+ * from a {@link CharBuffer}, such as a decoded memory-mapped file, without copying it.
+ * <p>
+ * Tokens within tags have the same types and values as those of {@link SmartScriptLexer}.
+ * The values of {@link SmartScriptTokenType#STRING_TEXT} tokens are, however, {@link CharSequence} slices of the input instead of fresh strings, and a single piece
+ * of text may be split into several consecutive text tokens: before every escape sequence, whose backslash is left out of the slices, and wherever the sliding
+ * buffer has to be refilled.
+ * Slices of input read from a {@link Reader} are only valid until the next call of {@link #nextToken()}, while slices of a {@link CharBuffer} stay valid for as long
+ * as the buffer itself.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptStreamingLexer {
+
+    /**
+     * Default number of characters of the sliding buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The smallest allowed number of characters of the sliding buffer.
+     */
+    private static final int MIN_BUFFER_SIZE = 4;
+
+    /**
+     * Source of the input, {@code null} when the whole input is in {@code window}.
+     */
+    private final Reader reader;
+
+    /**
+     * Characters of the input that are currently available, from index 0 to its limit.
+     */
+    private final CharBuffer window;
+
+    /**
+     * Index of the first nontokenized character within {@code window}.
+     */
+    private int currentIndex;
+
+    /**
+     * Determines whether the whole input has been read into {@code window}.
+     */
+    private boolean endOfInput;
+
+    /**
+     * The last generated token within the current lexer.
+     */
+    private SmartScriptToken token;
+
+    /**
+     * The current state of the current lexer.
+     */
+    private SmartScriptLexerState state;
+
+    /**
+     * Creates a new {@code SmartScriptStreamingLexer} instance that reads its input from the given {@code reader} through a sliding buffer of the default size.
+     *
+     * @param reader source of the input, which is not closed by the lexer.
+     * @throws NullPointerException when the given reader is {@code null}.
+     */
+    public SmartScriptStreamingLexer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new {@code SmartScriptStreamingLexer} instance that reads its input from the given {@code reader} through a sliding buffer of the given size.
+     *
+     * @param reader source of the input, which is not closed by the lexer.
+     * @param bufferSize the number of characters of the sliding buffer.
+     * @throws NullPointerException when the given reader is {@code null}.
+     * @throws IllegalArgumentException when the given buffer size is smaller than 4.
+     */
+    public SmartScriptStreamingLexer(Reader reader, int bufferSize) {
+        if (reader == null) throw new NullPointerException("The given reader cannot be null!");
+        if (bufferSize < MIN_BUFFER_SIZE) throw new IllegalArgumentException("The buffer size should be at least " + MIN_BUFFER_SIZE + "!");
+
+        this.reader = reader;
+        this.window = CharBuffer.allocate(bufferSize).flip();
+        this.state = SmartScriptLexerState.TEXT;
+    }
+
+    /**
+     * Creates a new {@code SmartScriptStreamingLexer} instance that tokenizes the remaining characters of the given {@code input}.
+     * The position of the given buffer is not changed.
+     *
+     * @param input input text.
+     * @throws NullPointerException when the given input is {@code null}.
+     */
+    public SmartScriptStreamingLexer(CharBuffer input) {
+        if (input == null) throw new NullPointerException("The input text cannot be null");
+
+        this.reader = null;
+        this.window = input.slice();
+        this.endOfInput = true;
+        this.state = SmartScriptLexerState.TEXT;
+    }
+
+    /**
+     * Sets the lexer state to the given {@code state}.
+     *
+     * @param state new lexer state of the current lexer.
+     * @throws NullPointerException when the given {@code state} is {@code null}.
+     */
+    public void setState(SmartScriptLexerState state) {
+        if (state == null) throw new NullPointerException("The lexer state cannot be null");
+
+        this.state = state;
+    }
+
+    /**
+     * Fetches the last generated token.
+     *
+     * @throws SmartScriptLexerException when trying to fetch the last token within the lexer that hasn't tokenized anything yet.
+     * @return last generated token.
+     */
+    public SmartScriptToken getToken() {
+        if (this.token == null) throw new SmartScriptLexerException("Cannot get last token when nothing has been tokenized yet!");
+
+        return this.token;
+    }
+
+    /**
+     * Generates the next token from the input text, depending on the current {@code state}, and returns it.
+     *
+     * @throws SmartScriptLexerException when trying to fetch a new token after obtaining EOF as the previous token's type or when unable to generate a token.
+     * @throws UncheckedIOException when reading the input fails.
+     * @return a new {@link SmartScriptToken} instance.
+     */
+    public SmartScriptToken nextToken() {
+        if (this.token != null && this.token.getType() == SmartScriptTokenType.EOF) throw new SmartScriptLexerException("Cannot tokenize after reading EOF!");
+
+        if (this.window.limit() - this.currentIndex < this.window.capacity() / 2) this.fill();
+        if (this.peek(0) == -1) {
+            this.token = new SmartScriptToken(SmartScriptTokenType.EOF, null);
+            return this.token;
+        }
+
+        switch (this.state) {
+            case TEXT -> {
+                if (this.isTagStart()) return this.tokenizeTagStart();
+                else return this.tokenizeText();
+            }
+            case TAG -> {
+                this.skipWhitespace();
+                if (this.peek(0) == -1) throw new SmartScriptLexerException("The tag was not closed before the end of the input!");
+                if (this.isTagEnd()) return this.tokenizeTagEnd();
+                else return this.tokenizeInsideTag();
+            }
+            default -> throw new SmartScriptLexerException("Invalid lexer state!");
+        }
+    }
+
+    /**
+     * Returns a newly created text {@link SmartScriptToken} instance outside a tag, whose value is a slice of the sliding buffer.
+     * The text ends before a tag start, before the next escape sequence and at the end of the buffer.
+     *
+     * @throws SmartScriptLexerException when attempting to start a tag, but not finishing it, or when trying to escape an invalid character.
+     * @return text {@link SmartScriptToken}.
+     */
+    private SmartScriptToken tokenizeText() {
+        int start = this.currentIndex, index = start, limit = this.window.limit();
+
+        while (index < limit) {
+            char character = this.window.get(index);
+            if (character == '{' || character == '\\') {
+                if (index + 1 >= limit && !this.endOfInput) break;
+
+                char next = index + 1 < limit ? this.window.get(index + 1) : 0;
+                if (character == '{') {
+                    if (next == '$') break;
+                    throw new SmartScriptLexerException("Invalid attempt of defining a tag!");
+                }
+                if (next != '\\' && next != '{') throw new SmartScriptLexerException("Invalid attempt of escaping a character!");
+                if (index > start) break;
+
+                start = index + 1;
+                index += 2;
+                continue;
+            }
+            index++;
+        }
+
+        this.currentIndex = index;
+        this.token = new SmartScriptToken(SmartScriptTokenType.STRING_TEXT, this.window.subSequence(start, index));
+        return this.token;
+    }
+
+    /**
+     * Creates a new start tag {@link SmartScriptToken} instance within a tag.
+     *
+     * @return start tag {@link SmartScriptToken}.
+     */
+    private SmartScriptToken tokenizeTagStart() {
+        this.currentIndex += 2;
+
+        this.token = new SmartScriptToken(SmartScriptTokenType.TAG_START, "{$");
+        return this.token;
+    }
+
+    /**
+     * Creates a new end tag {@link SmartScriptToken} instance within a tag.
+     *
+     * @return end tag {@link SmartScriptToken}.
+     */
+    private SmartScriptToken tokenizeTagEnd() {
+        this.currentIndex += 2;
+
+        this.token = new SmartScriptToken(SmartScriptTokenType.TAG_END, "$}");
+        return this.token;
+    }
+
+    /**
+     * Returns a newly created {@link SmartScriptToken} instance within a tag.
+     *
+     * @throws SmartScriptLexerException when unable to recognize a defined token type.
+     * @return {@link SmartScriptToken} instance.
+     */
+    private SmartScriptToken tokenizeInsideTag() {
+        int character = this.peek(0);
+
+        if (Character.isLetter(character) || character == '=') return this.tokenizeIdentifier();
+
+        if (character == '@' && Character.isLetter(this.peek(1))) return this.tokenizeFunction();
+
+        if (character == '-' && Character.isDigit(this.peek(1)) || Character.isDigit(character)) return this.tokenizeNumber();
+
+        if (character == '+' || character == '-' || character == '*' || character == '/' || character == '^') {
+            this.currentIndex++;
+            this.token = new SmartScriptToken(SmartScriptTokenType.OPERATOR, String.valueOf((char) character));
+            return this.token;
+        }
+
+        if (character == '"') return this.tokenizeString();
+
+        throw new SmartScriptLexerException("Cannot generate a token within the tag because of the '" + (char) character + "' character!");
+    }
+
+    /**
+     * Creates a new identifier (tag name or variable) {@link SmartScriptToken} instance within a tag.
+     *
+     * @return identifier {@link SmartScriptToken}.
+     */
+    private SmartScriptToken tokenizeIdentifier() {
+        if (this.peek(0) == '=') {
+            this.currentIndex++;
+            this.token = new SmartScriptToken(SmartScriptTokenType.IDENTIFIER, "=");
+            return this.token;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(this.next());
+        this.appendVariableOrFunctionCharacters(sb);
+
+        this.token = new SmartScriptToken(SmartScriptTokenType.IDENTIFIER, sb.toString());
+        return this.token;
+    }
+
+    /**
+     * Creates a new function {@link SmartScriptToken} instance within a tag.
+     *
+     * @return function {@link SmartScriptToken}.
+     */
+    private SmartScriptToken tokenizeFunction() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(this.next()).append(this.next());
+        this.appendVariableOrFunctionCharacters(sb);
+
+        this.token = new SmartScriptToken(SmartScriptTokenType.FUNCTION, sb.toString());
+        return this.token;
+    }
+
+    /**
+     * Creates a new number (integer or double) {@link SmartScriptToken} instance within a tag.
+     *
+     * @throws NumberFormatException when unable to parse string to integer or double.
+     * @return integer or double {@link SmartScriptToken}.
+     */
+    private SmartScriptToken tokenizeNumber() {
+        int dotCounter = 0;
+        StringBuilder sb = new StringBuilder();
+
+        for (int character = this.peek(0); Character.isDigit(character) || character == '.' && dotCounter < 2 || character == '-'; character = this.peek(0)) {
+            if (character == '.') dotCounter++;
+            sb.append(this.next());
+        }
+
+        try {
+            if (dotCounter == 0) {
+                this.token = new SmartScriptToken(SmartScriptTokenType.INTEGER, Integer.parseInt(sb.toString()));
+            } else {
+                this.token = new SmartScriptToken(SmartScriptTokenType.DOUBLE, Double.parseDouble(sb.toString()));
+            }
+            return this.token;
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("The number trying to be tokenized cannot be parsed!");
+        }
+    }
+
+    /**
+     * Creates a new string {@link SmartScriptToken} instance within a tag.
+     *
+     * @throws SmartScriptLexerException when trying to escape an invalid character or when the string is not closed.
+     * @return string {@link SmartScriptToken}.
+     */
+    private SmartScriptToken tokenizeString() {
+        this.currentIndex++;
+        StringBuilder sb = new StringBuilder();
+
+        for (int character = this.peek(0); character != '"'; character = this.peek(0)) {
+            if (character == -1) throw new SmartScriptLexerException("The string was not closed before the end of the input!");
+
+            if (character == '\\') {
+                sb.append(switch (this.peek(1)) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    case 't' -> '\t';
+                    case '\\' -> '\\';
+                    case '"' -> '"';
+                    default -> throw new SmartScriptLexerException("Invalid attempt of escaping a character!");
+                });
+                this.currentIndex += 2;
+            } else {
+                sb.append(this.next());
+            }
+        }
+        this.currentIndex++;
+
+        this.token = new SmartScriptToken(SmartScriptTokenType.STRING_TAG, sb.toString());
+        return this.token;
+    }
+
+    /**
+     * Appends all following letters, digits and underscores to the given {@code sb}.
+     *
+     * @param sb builder of a variable or function name.
+     */
+    private void appendVariableOrFunctionCharacters(StringBuilder sb) {
+        for (int character = this.peek(0); Character.isLetterOrDigit(character) || character == '_'; character = this.peek(0)) {
+            sb.append(this.next());
+        }
+    }
+
+    /**
+     * Checks whether a tag start is being defined.
+     *
+     * @return {@code true} if it is being defined, {@code false} otherwise.
+     */
+    private boolean isTagStart() {
+        return this.peek(0) == '{' && this.peek(1) == '$';
+    }
+
+    /**
+     * Checks whether a tag ending is being defined.
+     *
+     * @return {@code true} if it is being defined, {@code false} otherwise.
+     */
+    private boolean isTagEnd() {
+        return this.peek(0) == '$' && this.peek(1) == '}';
+    }
+
+    /**
+     * Skips all whitespace characters until encountering a non-whitespace character or the end of the input.
+     */
+    private void skipWhitespace() {
+        for (int character = this.peek(0); character == ' ' || character == '\r' || character == '\n' || character == '\t'; character = this.peek(0)) {
+            this.currentIndex++;
+        }
+    }
+
+    /**
+     * Fetches the character at the given {@code offset} from the first nontokenized character, refilling the buffer if needed.
+     *
+     * @param offset distance from the first nontokenized character, 0 or 1.
+     * @return the character, -1 if the input ends before it.
+     */
+    private int peek(int offset) {
+        if (this.currentIndex + offset >= this.window.limit()) {
+            if (this.endOfInput) return -1;
+            this.fill();
+            if (this.currentIndex + offset >= this.window.limit()) return -1;
+        }
+
+        return this.window.get(this.currentIndex + offset);
+    }
+
+    /**
+     * Consumes the first nontokenized character, which must have been checked with {@link #peek(int)}.
+     *
+     * @return the consumed character.
+     */
+    private char next() {
+        return this.window.get(this.currentIndex++);
+    }
+
+    /**
+     * Moves the nontokenized characters to the beginning of the buffer and fills the rest of it from the reader.
+     * Slices of the buffer returned as token values become invalid.
+     *
+     * @throws UncheckedIOException when reading the input fails.
+     */
+    private void fill() {
+        if (this.endOfInput) return;
+
+        this.window.position(this.currentIndex);
+        this.window.compact();
+        this.currentIndex = 0;
+        try {
+            while (this.window.hasRemaining()) {
+                if (this.reader.read(this.window) == -1) {
+                    this.endOfInput = true;
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("The input could not be read!", e);
+        } finally {
+            this.window.flip();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package hr.fer.oprpp1.custom.scripting.nodes;
+
+import java.util.Arrays;
+
+/**
+ * The {@code BranchNode} abstract class is used as a base class for nodes that can have children.
+ * The children are kept in a plain array, which is allocated only once the first child is added and can be trimmed to its exact size with {@link #trimToSize()} once
+ * all children are known.
+ * Once a tree is complete, it can be made read-only by {@link #makeReadOnly()}, so that it can be shared between threads without any of them modifying it.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public abstract class BranchNode extends Node {
+
+    /**
+     * Capacity of the array of children allocated when the first child is added.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Shared empty array of children of all instances without children.
+     */
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    /**
+     * Array of all children of the current instance.
+     */
+    private Node[] children = NO_CHILDREN;
+
+    /**
+     * The number of children of the current instance.
+     */
+    private int numberOfChildren;
+
+    /**
+     * Whether the children of the current instance can no longer be changed.
+     */
+    private boolean readOnly;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException when the given child is {@code null}.
+     * @throws UnsupportedOperationException when the current node is read-only.
+     */
+    @Override
+    public void addChildNode(Node child) {
+        if (child == null) throw new NullPointerException("The given child cannot be null!");
+        this.checkWritable();
+
+        if (this.numberOfChildren == this.children.length) {
+            this.children = Arrays.copyOf(this.children, Math.max(INITIAL_CAPACITY, this.numberOfChildren * 2));
+        }
+
+        this.children[this.numberOfChildren++] = child;
+    }
+
+    /**
+     * Adds the children of the given {@code source} node from {@code from} (inclusive) to {@code to} (exclusive) to the current instance, in order.
+     *
+     * @param source node whose children are added.
+     * @param from index of the first added child.
+     * @param to index right after the last added child.
+     * @throws NullPointerException when the given {@code source} is {@code null}.
+     * @throws IndexOutOfBoundsException when the given range is not within the children of the given {@code source}.
+     * @throws UnsupportedOperationException when the current node is read-only.
+     */
+    public void addChildNodes(BranchNode source, int from, int to) {
+        if (source == null) throw new NullPointerException("The given source node cannot be null!");
+        if (from < 0 || to > source.numberOfChildren || from > to) throw new IndexOutOfBoundsException("Invalid range of wanted children!");
+        this.checkWritable();
+
+        int added = to - from;
+        if (this.numberOfChildren + added > this.children.length) {
+            this.children = Arrays.copyOf(this.children, Math.max(this.numberOfChildren + added, Math.max(INITIAL_CAPACITY, this.numberOfChildren * 2)));
+        }
+
+        System.arraycopy(source.children, from, this.children, this.numberOfChildren, added);
+        this.numberOfChildren += added;
+    }
+
+    @Override
+    public int numberOfChildren() {
+        return this.numberOfChildren;
+    }
+
+    @Override
+    public Node getChild(int index) {
+        if (this.numberOfChildren == 0) throw new IndexOutOfBoundsException("Cannot get child if the node has no children yet!");
+        if (index < 0 || index >= this.numberOfChildren) throw new IndexOutOfBoundsException("Invalid number of wanted child!");
+
+        return this.children[index];
+    }
+
+    /**
+     * Shrinks the array of children to the exact number of children of the current instance.
+     * Further children can still be added afterwards, unless the node is read-only.
+     *
+     * @throws UnsupportedOperationException when the current node is read-only.
+     */
+    public void trimToSize() {
+        this.checkWritable();
+        if (this.children.length != this.numberOfChildren) this.children = Arrays.copyOf(this.children, this.numberOfChildren);
+    }
+
+    /**
+     * Makes the current instance and all its descendants read-only, trimming their arrays of children first.
+     * Adding children to a read-only node throws an {@link UnsupportedOperationException}.
+     */
+    public void makeReadOnly() {
+        if (this.readOnly) return;
+
+        this.trimToSize();
+        this.readOnly = true;
+        for (int i = 0; i < this.numberOfChildren; i++) {
+            if (this.children[i] instanceof BranchNode) ((BranchNode) this.children[i]).makeReadOnly();
+        }
+    }
+
+    /**
+     * Determines whether the current instance is read-only.
+     *
+     * @return {@code true} if children cannot be added to the current instance, {@code false} otherwise.
+     */
+    public boolean isReadOnly() {
+        return this.readOnly;
+    }
+
+    /**
+     * Checks that the children of the current instance can still be changed.
+     *
+     * @throws UnsupportedOperationException when the current node is read-only.
+     */
+    private void checkWritable() {
+        if (this.readOnly) throw new UnsupportedOperationException("A read-only " + this.getClass().getSimpleName() + " cannot be modified!");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BranchNode)) return false;
+        BranchNode that = (BranchNode) o;
+        return Arrays.equals(this.children, 0, this.numberOfChildren, that.children, 0, that.numberOfChildren);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < this.numberOfChildren; i++) {
+            result = 31 * result + this.children[i].hashCode();
+        }
+        return result;
+    }
+}
@@ -4,9 +4,9 @@ package hr.fer.oprpp1.custom.scripting.nodes;
  * The {@code DocumentNode} class represents an entire document.
  *
  * @author mirtamoslavac
- * @version 1.0
+ * @version 1.1
  */
-public class DocumentNode extends Node {
+public class DocumentNode extends BranchNode {
 
     @Override
     public String toString() {
@@ -6,9 +6,10 @@ import java.util.Arrays;
 
 /**
  * The {@code EchoNode} class represents a command which generates some textual output dynamically.
+ * Echo nodes cannot have children and their elements cannot be modified, so equal ones may be shared within a document tree.
  *
  * @author mirtamoslavac
- * @version 1.0
+ * @version 1.1
  */
 public class EchoNode extends Node {
     /**
@@ -25,16 +26,38 @@ public class EchoNode extends Node {
     public EchoNode(Element[] elements) {
         if (elements == null) throw new NullPointerException("Element array cannot be null!");
 
-        this.elements = elements;
+        this.elements = elements.clone();
     }
 
     /**
-     * Fetches the {@code elements} array of the current {@code EchoNode} instance.
+     * Fetches a copy of the {@code elements} array of the current {@code EchoNode} instance, so that shared instances cannot be modified through it.
      *
-     * @return {@code elements} array.
+     * @return copy of the {@code elements} array.
      */
     public Element[] getElements() {
-        return this.elements;
+        return this.elements.clone();
+    }
+
+    /**
+     * Fetches the number of elements of the current {@code EchoNode} instance.
+     *
+     * @return number of elements.
+     */
+    public int numberOfElements() {
+        return this.elements.length;
+    }
+
+    /**
+     * Fetches the selected element of the current {@code EchoNode} instance.
+     *
+     * @param index index of the wanted element.
+     * @return the wanted element.
+     * @throws IndexOutOfBoundsException when the {@code index} is not within the range from 0 to {@code this.numberOfElements()}.
+     */
+    public Element getElement(int index) {
+        if (index < 0 || index >= this.elements.length) throw new IndexOutOfBoundsException("Invalid number of wanted element!");
+
+        return this.elements[index];
     }
 
     /**
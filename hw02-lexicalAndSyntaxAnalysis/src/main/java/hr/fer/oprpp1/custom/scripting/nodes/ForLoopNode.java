@@ -11,29 +11,29 @@ import java.util.Objects;
  * The {@code ForLoopNode} class represents a single for-loop construct.
  *
  * @author mirtamoslavac
- * @version 1.0
+ * @version 1.1
  */
-public class ForLoopNode extends Node {
+public class ForLoopNode extends BranchNode {
 
     /**
      * {@link ElementVariable} property.
      */
-    private ElementVariable variable;
+    private final ElementVariable variable;
 
     /**
      * An {@link Element} instance representing the starting expression.
      */
-    private Element startExpression;
+    private final Element startExpression;
 
     /**
      * An {@link Element} instance representing the ending expression.
      */
-    private Element endExpression;
+    private final Element endExpression;
 
     /**
      * An {@link Element} instance representing the step expression.
      */
-    private Element stepExpression;
+    private final Element stepExpression;
 
     /**
      * Creates a new {@code ForLoopNode} instance with respective expressions as arguments.
@@ -54,8 +54,7 @@ public class ForLoopNode extends Node {
         this.variable = variable;
         this.startExpression = elements[0];
         this.endExpression = elements[1];
-        this.stepExpression = null;
-        if (elements.length == 3) this.stepExpression = elements[2];
+        this.stepExpression = elements.length == 3 ? elements[2] : null;
     }
 
     /**
@@ -1,37 +1,23 @@
 package hr.fer.oprpp1.custom.scripting.nodes;
 
-import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
-
-import java.util.Objects;
-
 /**
  * The {@code Node} abstract class is used as a base class for representing graph nodes/structured documents.
+ * A node carries no storage for children by itself; nodes that can have children extend {@link BranchNode}, while the rest are immutable leaves that the parser may
+ * share between several places in the same document tree.
  *
  * @author mirtamoslavac
- * @version 1.0
+ * @version 2.0
  */
 public abstract class Node {
 
-    /**
-     * Collection of all children of the current instance.
-     */
-    private ArrayIndexedCollection children;
-
-    /**
-     * Creates a new {@code Node} instance.
-     */
-    public Node() {
-        this.children = null;
-    }
-
     /**
      * Adds given child to an internally managed collection of children.
      *
      * @param child the given {@link Node} instance to be added.
+     * @throws UnsupportedOperationException when the current node cannot have children.
      */
     public void addChildNode(Node child) {
-        if (this.children == null) this.children = new ArrayIndexedCollection();
-        this.children.add(child);
+        throw new UnsupportedOperationException("A " + this.getClass().getSimpleName() + " cannot have children!");
     }
 
     /**
@@ -40,8 +26,7 @@ public abstract class Node {
      * @return number of children.
      */
     public int numberOfChildren() {
-        if (this.children == null) return 0;
-        return this.children.size();
+        return 0;
     }
 
     /**
@@ -51,22 +36,6 @@ public abstract class Node {
      * @return the wanted child {@link Node} instance.
      */
     public Node getChild(int index) {
-        if (this.children == null) throw new IndexOutOfBoundsException("Cannot get child if the node has no children yet!");
-        if (index < 0 || index >= this.numberOfChildren()) throw new IndexOutOfBoundsException("Invalid number of wanted child!");
-
-        return (Node)this.children.get(index);
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Node)) return false;
-        Node node = (Node) o;
-        return Objects.equals(this.children, node.children);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(this.children);
+        throw new IndexOutOfBoundsException("Cannot get child if the node has no children yet!");
     }
 }
@@ -4,9 +4,10 @@ import java.util.Objects;
 
 /**
  * The {@code TextNode} class represents a piece of textual data.
+ * Text nodes cannot have children and are immutable, so equal ones may be shared within a document tree.
  *
  * @author mirtamoslavac
- * @version 1.0
+ * @version 1.1
  */
 public class TextNode extends Node {
 
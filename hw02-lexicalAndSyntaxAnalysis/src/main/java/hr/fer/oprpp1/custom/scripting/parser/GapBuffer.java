@@ -0,0 +1,127 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+/**
+ * The {@code GapBuffer} class is a mutable sequence of characters with a gap of free space at the position of the last change.
+ * Replacing characters only moves the characters between the gap and the new position, so a series of changes close to each other takes time proportional to the
+ * size of the changes and not to the length of the text.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class GapBuffer implements CharSequence {
+
+    /**
+     * The smallest size of the gap after the buffer has been enlarged.
+     */
+    private static final int MIN_GAP = 1 << 10;
+
+    /**
+     * Characters of the text, with the gap between {@code gapStart} and {@code gapEnd}.
+     */
+    private char[] buffer;
+
+    /**
+     * Position of the first character of the gap.
+     */
+    private int gapStart;
+
+    /**
+     * Position right after the last character of the gap.
+     */
+    private int gapEnd;
+
+    /**
+     * Creates a new {@code GapBuffer} holding the given {@code text}.
+     *
+     * @param text initial text.
+     */
+    GapBuffer(String text) {
+        this.buffer = new char[text.length() + MIN_GAP];
+        text.getChars(0, text.length(), this.buffer, 0);
+        this.gapStart = text.length();
+        this.gapEnd = this.buffer.length;
+    }
+
+    @Override
+    public int length() {
+        return this.buffer.length - (this.gapEnd - this.gapStart);
+    }
+
+    @Override
+    public char charAt(int index) {
+        return this.buffer[index < this.gapStart ? index : index + this.gapEnd - this.gapStart];
+    }
+
+    /**
+     * Replaces {@code removedLength} characters starting at the given {@code offset} with the given {@code insertedText}.
+     *
+     * @param offset position of the first replaced character.
+     * @param removedLength the number of removed characters.
+     * @param insertedText text inserted in place of the removed characters.
+     * @return the removed characters.
+     */
+    String replace(int offset, int removedLength, String insertedText) {
+        this.moveGap(offset);
+        String removed = new String(this.buffer, this.gapEnd, removedLength);
+        this.gapEnd += removedLength;
+
+        if (this.gapEnd - this.gapStart < insertedText.length()) this.enlarge(insertedText.length());
+        insertedText.getChars(0, insertedText.length(), this.buffer, this.gapStart);
+        this.gapStart += insertedText.length();
+
+        return removed;
+    }
+
+    @Override
+    public String subSequence(int start, int end) {
+        char[] characters = new char[end - start];
+
+        int beforeGap = Math.max(0, Math.min(end, this.gapStart) - start);
+        System.arraycopy(this.buffer, start, characters, 0, beforeGap);
+        if (beforeGap < characters.length) {
+            int gapLength = this.gapEnd - this.gapStart;
+            System.arraycopy(this.buffer, start + beforeGap + gapLength, characters, beforeGap, characters.length - beforeGap);
+        }
+
+        return new String(characters);
+    }
+
+    @Override
+    public String toString() {
+        return this.subSequence(0, this.length());
+    }
+
+    /**
+     * Moves the gap so that it starts at the given {@code position}.
+     *
+     * @param position new start of the gap.
+     */
+    private void moveGap(int position) {
+        if (position < this.gapStart) {
+            int moved = this.gapStart - position;
+            System.arraycopy(this.buffer, position, this.buffer, this.gapEnd - moved, moved);
+            this.gapStart -= moved;
+            this.gapEnd -= moved;
+        } else if (position > this.gapStart) {
+            int moved = position - this.gapStart;
+            System.arraycopy(this.buffer, this.gapEnd, this.buffer, this.gapStart, moved);
+            this.gapStart += moved;
+            this.gapEnd += moved;
+        }
+    }
+
+    /**
+     * Enlarges the buffer so that the gap can hold at least the given number of characters.
+     *
+     * @param needed the number of characters the gap should be able to hold.
+     */
+    private void enlarge(int needed) {
+        int afterGap = this.buffer.length - this.gapEnd;
+        char[] enlarged = new char[Math.max(this.buffer.length * 2, this.length() + needed + MIN_GAP)];
+
+        System.arraycopy(this.buffer, 0, enlarged, 0, this.gapStart);
+        System.arraycopy(this.buffer, this.gapEnd, enlarged, enlarged.length - afterGap, afterGap);
+        this.gapEnd = enlarged.length - afterGap;
+        this.buffer = enlarged;
+    }
+}
@@ -0,0 +1,89 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+/**
+ * The {@code SmartScriptDiagnostic} class represents a single error found by {@link SmartScriptValidator} within a document, along with its position.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptDiagnostic {
+
+    /**
+     * Index of the first character the error refers to.
+     */
+    private final int offset;
+
+    /**
+     * Line of the first character the error refers to, starting from 1.
+     */
+    private final int line;
+
+    /**
+     * Column of the first character the error refers to, starting from 1.
+     */
+    private final int column;
+
+    /**
+     * Description of the error.
+     */
+    private final String message;
+
+    /**
+     * Creates a new {@code SmartScriptDiagnostic} instance.
+     *
+     * @param offset index of the first character the error refers to.
+     * @param line line of the first character the error refers to, starting from 1.
+     * @param column column of the first character the error refers to, starting from 1.
+     * @param message description of the error.
+     * @throws NullPointerException when the given {@code message} is {@code null}.
+     */
+    public SmartScriptDiagnostic(int offset, int line, int column, String message) {
+        if (message == null) throw new NullPointerException("The given message cannot be null!");
+
+        this.offset = offset;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+    }
+
+    /**
+     * Fetches the index of the first character the error refers to.
+     *
+     * @return the offset of the error.
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Fetches the line of the first character the error refers to.
+     *
+     * @return the line of the error, starting from 1.
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * Fetches the column of the first character the error refers to.
+     *
+     * @return the column of the error, starting from 1.
+     */
+    public int getColumn() {
+        return this.column;
+    }
+
+    /**
+     * Fetches the description of the error.
+     *
+     * @return the message of the error.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    @Override
+    public String toString() {
+        return this.line + ":" + this.column + ": " + this.message;
+    }
+}
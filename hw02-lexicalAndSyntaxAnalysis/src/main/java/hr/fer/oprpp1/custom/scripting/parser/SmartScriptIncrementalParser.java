@@ -0,0 +1,501 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.nodes.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The {@code SmartScriptIncrementalParser} class keeps a document together with its tree and updates the tree after edits of the document by parsing only the part
+ * of the document around the edit.
+ * <p>
+ * Along with the tree, the parser keeps the length of every node within the document.
+ * An edit is located in the innermost for-loop whose body fully contains it, and only the children of that for-loop, or of the document, that are touched by the edit
+ * are parsed again.
+ * When the new part cannot be parsed on its own, for example because the edit opened a tag or removed an {@code END} tag, or when its text would have to be joined
+ * with the text of a neighbour, the part is widened by more and more neighbours, up to the whole enclosing for-loop and eventually the whole document.
+ * <p>
+ * Every edit creates new nodes only along the path from the root to the changed part, so the untouched subtrees are shared between the old and the new tree and the
+ * old tree stays valid.
+ * The resulting tree is always equal to the tree {@link SmartScriptParser} produces from the edited document.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptIncrementalParser {
+
+    /**
+     * The current document.
+     */
+    private final GapBuffer document;
+
+    /**
+     * The root of the tree of the current document.
+     */
+    private DocumentNode documentNode;
+
+    /**
+     * Lengths of the nodes of the tree, {@code null} if they could not be determined and every edit has to be followed by parsing the whole document.
+     */
+    private Span span;
+
+    /**
+     * The number of characters parsed after the last edit.
+     */
+    private int lastParsedLength;
+
+    /**
+     * Creates a new {@code SmartScriptIncrementalParser} instance and parses the given {@code documentBody}.
+     *
+     * @param documentBody the initial document.
+     * @throws NullPointerException when the given {@code documentBody} is {@code null}.
+     * @throws SmartScriptParserException when the document cannot be parsed.
+     */
+    public SmartScriptIncrementalParser(String documentBody) {
+        if (documentBody == null) throw new NullPointerException("The given document body cannot be null!");
+
+        this.documentNode = new SmartScriptParser(documentBody).getDocumentNode();
+        this.document = new GapBuffer(documentBody);
+        this.span = scan(documentBody, this.documentNode);
+        this.lastParsedLength = documentBody.length();
+    }
+
+    /**
+     * Fetches the root of the tree of the current document.
+     *
+     * @return the document node.
+     */
+    public DocumentNode getDocumentNode() {
+        return this.documentNode;
+    }
+
+    /**
+     * Creates a copy of the current document.
+     *
+     * @return the current document.
+     */
+    public String getDocumentBody() {
+        return this.document.toString();
+    }
+
+    /**
+     * Fetches the number of characters that were parsed after the last edit, or the length of the initial document if there were no edits.
+     *
+     * @return the number of parsed characters.
+     */
+    public int getLastParsedLength() {
+        return this.lastParsedLength;
+    }
+
+    /**
+     * Replaces {@code removedLength} characters of the current document starting at the given {@code offset} with the given {@code insertedText} and updates the tree.
+     * When the edited document cannot be parsed, the edit is undone and the current document and tree stay unchanged.
+     *
+     * @param offset position of the first replaced character.
+     * @param removedLength the number of removed characters.
+     * @param insertedText text inserted in place of the removed characters.
+     * @return the root of the tree of the edited document.
+     * @throws NullPointerException when the given {@code insertedText} is {@code null}.
+     * @throws IndexOutOfBoundsException when the replaced characters are not within the document.
+     * @throws SmartScriptParserException when the edited document cannot be parsed.
+     */
+    public DocumentNode edit(int offset, int removedLength, String insertedText) {
+        if (insertedText == null) throw new NullPointerException("The given inserted text cannot be null!");
+        if (offset < 0 || removedLength < 0 || offset + removedLength > this.document.length())
+            throw new IndexOutOfBoundsException("The edited characters are not within the document!");
+
+        String removed = this.document.replace(offset, removedLength, insertedText);
+        Edit edit = new Edit(offset, offset + removedLength, insertedText.length() - removedLength);
+        Replacement replacement = this.span == null ? null : this.edit(this.documentNode, this.span, 0, edit);
+
+        if (replacement != null) {
+            this.documentNode = (DocumentNode) replacement.node;
+            this.span = replacement.span;
+            this.lastParsedLength = edit.parsedLength;
+            return this.documentNode;
+        }
+
+        String documentBody = this.document.toString();
+        try {
+            this.documentNode = new SmartScriptParser(documentBody).getDocumentNode();
+        } catch (SmartScriptParserException e) {
+            this.document.replace(offset, insertedText.length(), removed);
+            throw e;
+        }
+        this.span = scan(documentBody, this.documentNode);
+        this.lastParsedLength = documentBody.length();
+        return this.documentNode;
+    }
+
+    /**
+     * Applies the given {@code edit} to the children of the given {@code node}, which must contain the whole edit.
+     *
+     * @param node node containing the edit.
+     * @param span lengths of the node and its descendants.
+     * @param start position of the node within the document before the edit.
+     * @param edit the edit.
+     * @return the new node and its lengths, {@code null} if the edit cannot be applied within the node.
+     */
+    private Replacement edit(BranchNode node, Span span, int start, Edit edit) {
+        int children = span.children.length;
+        int[] offsets = span.offsets;
+
+        int first = search(offsets, 1, children + 1, edit.offset - start) - 1;
+        int last = Math.max(first, search(offsets, 0, children, edit.removedEnd - start + 1));
+
+        if (last - first == 1 && span.children[first].kind == Span.FOR) {
+            Span child = span.children[first];
+            int childStart = start + offsets[first];
+            if (childStart + child.headerLength <= edit.offset && edit.removedEnd <= childStart + child.length - child.footerLength) {
+                Replacement replacement = this.edit((BranchNode) node.getChild(first), child, childStart, edit);
+                if (replacement != null) return this.replace(node, span, first, first + 1, new Node[] {replacement.node}, new Span[] {replacement.span}, edit);
+            }
+        }
+
+        for (int extra = 0; ; extra = Math.max(1, extra * 4)) {
+            int from = Math.max(0, first - extra), to = Math.min(children, last + extra);
+
+            Replacement replacement = this.reparse(node, span, start, from, to, edit);
+            if (replacement != null || (from == 0 && to == children)) return replacement;
+        }
+    }
+
+    /**
+     * Parses the children of the given {@code node} from {@code from} (inclusive) to {@code to} (exclusive) again, after the edit.
+     *
+     * @param node node whose children are parsed.
+     * @param span lengths of the node and its descendants.
+     * @param start position of the node within the document before the edit.
+     * @param from index of the first parsed child.
+     * @param to index right after the last parsed child.
+     * @param edit the edit.
+     * @return the new node and its lengths, {@code null} if the new children cannot be parsed on their own.
+     */
+    private Replacement reparse(BranchNode node, Span span, int start, int from, int to, Edit edit) {
+        String part = this.document.subSequence(start + span.offsets[from], start + span.offsets[to] + edit.delta);
+        edit.parsedLength += part.length();
+
+        DocumentNode partNode;
+        try {
+            partNode = new SmartScriptParser(part).getDocumentNode();
+        } catch (SmartScriptParserException e) {
+            return null;
+        }
+        Span partSpan = scan(part, partNode);
+        if (partSpan == null) return null;
+
+        Node[] nodes = new Node[partNode.numberOfChildren()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = partNode.getChild(i);
+        }
+
+        Node before = from > 0 ? node.getChild(from - 1) : null, after = to < span.children.length ? node.getChild(to) : null;
+        Node firstNew = nodes.length > 0 ? nodes[0] : after, lastNew = nodes.length > 0 ? nodes[nodes.length - 1] : before;
+        if (before instanceof TextNode && firstNew instanceof TextNode || lastNew instanceof TextNode && after instanceof TextNode) return null;
+
+        return this.replace(node, span, from, to, nodes, partSpan.children, edit);
+    }
+
+    /**
+     * Creates a copy of the given {@code node} whose children from {@code from} (inclusive) to {@code to} (exclusive) are replaced by the given {@code nodes}.
+     *
+     * @param node node that is copied.
+     * @param span lengths of the node and its descendants.
+     * @param from index of the first replaced child.
+     * @param to index right after the last replaced child.
+     * @param nodes new children.
+     * @param spans lengths of the new children and their descendants.
+     * @param edit the edit.
+     * @return the new node and its lengths.
+     */
+    private Replacement replace(BranchNode node, Span span, int from, int to, Node[] nodes, Span[] spans, Edit edit) {
+        BranchNode copy;
+        if (node instanceof ForLoopNode) {
+            ForLoopNode forLoopNode = (ForLoopNode) node;
+            copy = forLoopNode.getStepExpression() == null ?
+                    new ForLoopNode(forLoopNode.getVariable(), forLoopNode.getStartExpression(), forLoopNode.getEndExpression()) :
+                    new ForLoopNode(forLoopNode.getVariable(), forLoopNode.getStartExpression(), forLoopNode.getEndExpression(), forLoopNode.getStepExpression());
+        } else {
+            copy = new DocumentNode();
+        }
+
+        int children = span.children.length, newChildren = children - (to - from) + spans.length;
+        copy.addChildNodes(node, 0, from);
+        for (Node child : nodes) copy.addChildNode(child);
+        copy.addChildNodes(node, to, children);
+        copy.trimToSize();
+
+        Span[] childSpans = new Span[newChildren];
+        System.arraycopy(span.children, 0, childSpans, 0, from);
+        System.arraycopy(spans, 0, childSpans, from, spans.length);
+        System.arraycopy(span.children, to, childSpans, from + spans.length, children - to);
+
+        int[] offsets = new int[newChildren + 1];
+        System.arraycopy(span.offsets, 0, offsets, 0, from + 1);
+        for (int i = 0; i < spans.length; i++) {
+            offsets[from + i + 1] = offsets[from + i] + spans[i].length;
+        }
+        for (int i = to + 1, shift = from + spans.length - to; i <= children; i++) {
+            offsets[i + shift] = span.offsets[i] + edit.delta;
+        }
+
+        return new Replacement(copy, new Span(span.kind, span.length + edit.delta, span.headerLength, span.footerLength, childSpans, offsets));
+    }
+
+    /**
+     * Finds the first element of the given sorted {@code array} between {@code from} (inclusive) and {@code to} (exclusive) that is not smaller than the given
+     * {@code key}.
+     *
+     * @param array sorted array.
+     * @param from index of the first searched element.
+     * @param to index right after the last searched element.
+     * @param key searched value.
+     * @return index of the found element, {@code to} if there is none.
+     */
+    private static int search(int[] array, int from, int to, int key) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (array[middle] < key) from = middle + 1;
+            else to = middle;
+        }
+
+        return from;
+    }
+
+    /**
+     * Determines the lengths of the nodes of the given {@code document} and checks that they match the given tree of the document.
+     *
+     * @param document the document.
+     * @param documentNode the tree of the document.
+     * @return the lengths of the nodes, {@code null} if they do not match the tree.
+     */
+    private static Span scan(String document, DocumentNode documentNode) {
+        Deque<Integer> openedStarts = new ArrayDeque<>();
+        Deque<List<Span>> openedChildren = new ArrayDeque<>();
+        List<Span> children = new ArrayList<>();
+
+        for (int i = 0, length = document.length(); i < length; ) {
+            if (!SmartScriptScanner.isTagStart(document, i)) {
+                int end = SmartScriptScanner.findTextEnd(document, i);
+                children.add(new Span(Span.TEXT, end - i));
+                i = end;
+                continue;
+            }
+
+            int nameStart = SmartScriptScanner.skipWhitespace(document, i + 2), nameEnd = SmartScriptScanner.findNameEnd(document, nameStart);
+            int end = SmartScriptScanner.findTagEnd(document, nameEnd);
+            if (end < 0) return null;
+
+            if (SmartScriptScanner.isName(document, nameStart, nameEnd, "=")) {
+                children.add(new Span(Span.ECHO, end - i));
+            } else if (SmartScriptScanner.isName(document, nameStart, nameEnd, "FOR")) {
+                openedStarts.push(i);
+                openedStarts.push(end - i);
+                openedChildren.push(children);
+                children = new ArrayList<>();
+            } else if (SmartScriptScanner.isName(document, nameStart, nameEnd, "END") && !openedStarts.isEmpty()) {
+                int headerLength = openedStarts.pop(), start = openedStarts.pop();
+                Span forSpan = new Span(Span.FOR, end - start, headerLength, end - i, children.toArray(new Span[0]));
+                children = openedChildren.pop();
+                children.add(forSpan);
+            } else {
+                return null;
+            }
+            i = end;
+        }
+
+        if (!openedStarts.isEmpty()) return null;
+
+        Span span = new Span(Span.DOCUMENT, document.length(), 0, 0, children.toArray(new Span[0]));
+        return matches(documentNode, span) ? span : null;
+    }
+
+    /**
+     * Checks whether the given {@code span} has the same structure as the tree rooted in the given {@code node}.
+     *
+     * @param node root of the tree.
+     * @param span lengths of the nodes of the tree.
+     * @return {@code true} if the structures match, {@code false} otherwise.
+     */
+    private static boolean matches(Node node, Span span) {
+        int kind = node instanceof DocumentNode ? Span.DOCUMENT : node instanceof ForLoopNode ? Span.FOR : node instanceof EchoNode ? Span.ECHO : Span.TEXT;
+        if (kind != span.kind || node.numberOfChildren() != (span.children == null ? 0 : span.children.length)) return false;
+
+        for (int i = 0, children = node.numberOfChildren(); i < children; i++) {
+            if (!matches(node.getChild(i), span.children[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The {@code Span} class represents the length of a node within the document, together with the lengths of its children.
+     */
+    private static class Span {
+
+        /**
+         * Kind of spans of the document node.
+         */
+        private static final int DOCUMENT = 0;
+
+        /**
+         * Kind of spans of text nodes.
+         */
+        private static final int TEXT = 1;
+
+        /**
+         * Kind of spans of echo nodes.
+         */
+        private static final int ECHO = 2;
+
+        /**
+         * Kind of spans of for-loop nodes.
+         */
+        private static final int FOR = 3;
+
+        /**
+         * Kind of the node.
+         */
+        private final int kind;
+
+        /**
+         * The number of characters of the node, including its tags.
+         */
+        private final int length;
+
+        /**
+         * The number of characters of the {@code FOR} tag of a for-loop node, 0 otherwise.
+         */
+        private final int headerLength;
+
+        /**
+         * The number of characters of the {@code END} tag of a for-loop node, 0 otherwise.
+         */
+        private final int footerLength;
+
+        /**
+         * Lengths of the children of the node, {@code null} if the node cannot have children.
+         */
+        private final Span[] children;
+
+        /**
+         * Positions of the children of the node relative to the start of the node, followed by the position right after the last child, {@code null} if the
+         * node cannot have children.
+         */
+        private final int[] offsets;
+
+        /**
+         * Creates a new {@code Span} of a node that cannot have children.
+         *
+         * @param kind kind of the node.
+         * @param length the number of characters of the node.
+         */
+        private Span(int kind, int length) {
+            this(kind, length, 0, 0, null, null);
+        }
+
+        /**
+         * Creates a new {@code Span} of a node that can have children.
+         *
+         * @param kind kind of the node.
+         * @param length the number of characters of the node, including its tags.
+         * @param headerLength the number of characters of the {@code FOR} tag of a for-loop node.
+         * @param footerLength the number of characters of the {@code END} tag of a for-loop node.
+         * @param children lengths of the children of the node.
+         */
+        private Span(int kind, int length, int headerLength, int footerLength, Span[] children) {
+            this(kind, length, headerLength, footerLength, children, new int[children.length + 1]);
+
+            this.offsets[0] = headerLength;
+            for (int i = 0; i < children.length; i++) {
+                this.offsets[i + 1] = this.offsets[i] + children[i].length;
+            }
+        }
+
+        /**
+         * Creates a new {@code Span} of a node.
+         *
+         * @param kind kind of the node.
+         * @param length the number of characters of the node, including its tags.
+         * @param headerLength the number of characters of the {@code FOR} tag of a for-loop node.
+         * @param footerLength the number of characters of the {@code END} tag of a for-loop node.
+         * @param children lengths of the children of the node.
+         * @param offsets positions of the children of the node relative to its start, followed by the position right after the last child.
+         */
+        private Span(int kind, int length, int headerLength, int footerLength, Span[] children, int[] offsets) {
+            this.kind = kind;
+            this.length = length;
+            this.headerLength = headerLength;
+            this.footerLength = footerLength;
+            this.children = children;
+            this.offsets = offsets;
+        }
+    }
+
+    /**
+     * The {@code Edit} class represents a single edit of the document.
+     */
+    private static class Edit {
+
+        /**
+         * Position of the first replaced character.
+         */
+        private final int offset;
+
+        /**
+         * Position right after the last removed character, before the edit.
+         */
+        private final int removedEnd;
+
+        /**
+         * The change of the length of the document.
+         */
+        private final int delta;
+
+        /**
+         * The number of characters parsed so far.
+         */
+        private int parsedLength;
+
+        /**
+         * Creates a new {@code Edit}.
+         *
+         * @param offset position of the first replaced character.
+         * @param removedEnd position right after the last removed character, before the edit.
+         * @param delta the change of the length of the document.
+         */
+        private Edit(int offset, int removedEnd, int delta) {
+            this.offset = offset;
+            this.removedEnd = removedEnd;
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * The {@code Replacement} class represents a new node along with its lengths.
+     */
+    private static class Replacement {
+
+        /**
+         * The new node.
+         */
+        private final Node node;
+
+        /**
+         * Lengths of the new node and its descendants.
+         */
+        private final Span span;
+
+        /**
+         * Creates a new {@code Replacement}.
+         *
+         * @param node the new node.
+         * @param span lengths of the new node and its descendants.
+         */
+        private Replacement(Node node, Span span) {
+            this.node = node;
+            this.span = span;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code SmartScriptParallelParser} class parses large documents on a {@link ForkJoinPool}, producing a tree equal to the one of {@link SmartScriptParser}.
+ * <p>
+ * A quick scan, which only recognizes tags, strings within tags and escapes, first finds the positions right after the top-level tags, where no {@code FOR} tag is
+ * open and the lexer is about to read text.
+ * The document is split at some of those positions into chunks of at least the given length, the chunks are parsed in parallel by {@link SmartScriptParser} and the
+ * children of their trees are joined into a single {@link DocumentNode}.
+ * Documents that are too short to be split or that are found to be invalid, either by the scan or by the parsing of a chunk, are parsed sequentially, so that
+ * invalid documents throw the same exceptions as with {@link SmartScriptParser}.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptParallelParser {
+
+    /**
+     * Default minimal length of the chunks parsed in parallel.
+     */
+    public static final int DEFAULT_CHUNK_LENGTH = 1 << 18;
+
+    /**
+     * The root of the document tree.
+     */
+    private final DocumentNode documentNode;
+
+    /**
+     * The number of chunks the document has been split into, 1 if it has been parsed sequentially.
+     */
+    private final int numberOfChunks;
+
+    /**
+     * Creates a new {@code SmartScriptParallelParser} instance and parses the given {@code documentBody} on the common pool, in chunks of the default length.
+     *
+     * @param documentBody the document.
+     * @throws NullPointerException when the given {@code documentBody} is {@code null}.
+     * @throws SmartScriptParserException when the document cannot be parsed.
+     */
+    public SmartScriptParallelParser(String documentBody) {
+        this(documentBody, ForkJoinPool.commonPool(), DEFAULT_CHUNK_LENGTH);
+    }
+
+    /**
+     * Creates a new {@code SmartScriptParallelParser} instance and parses the given {@code documentBody} on the given {@code pool}, in chunks of at least the given
+     * length.
+     *
+     * @param documentBody the document.
+     * @param pool pool the chunks are parsed on.
+     * @param chunkLength minimal number of characters of a chunk.
+     * @throws NullPointerException when the given {@code documentBody} or {@code pool} is {@code null}.
+     * @throws IllegalArgumentException when the given {@code chunkLength} is smaller than 1.
+     * @throws SmartScriptParserException when the document cannot be parsed.
+     */
+    public SmartScriptParallelParser(String documentBody, ForkJoinPool pool, int chunkLength) {
+        if (documentBody == null) throw new NullPointerException("The given document body cannot be null!");
+        if (pool == null) throw new NullPointerException("The given pool cannot be null!");
+        if (chunkLength < 1) throw new IllegalArgumentException("The chunk length should be at least 1!");
+
+        int[] boundaries = findChunkBoundaries(documentBody, chunkLength);
+        DocumentNode[] chunks = boundaries == null ? null : pool.invoke(new ChunkTask(documentBody, boundaries, 0, boundaries.length - 1));
+
+        if (chunks == null) {
+            this.documentNode = new SmartScriptParser(documentBody).getDocumentNode();
+            this.numberOfChunks = 1;
+        } else {
+            this.documentNode = join(chunks);
+            this.numberOfChunks = chunks.length;
+        }
+    }
+
+    /**
+     * Fetches the root of the document tree.
+     *
+     * @return the document node.
+     */
+    public DocumentNode getDocumentNode() {
+        return this.documentNode;
+    }
+
+    /**
+     * Fetches the number of chunks the document has been parsed in.
+     *
+     * @return the number of chunks, 1 if the document has been parsed sequentially.
+     */
+    public int getNumberOfChunks() {
+        return this.numberOfChunks;
+    }
+
+    /**
+     * Finds the boundaries of the chunks of the given {@code document}, which are positions right after top-level tags at least {@code chunkLength} characters apart.
+     *
+     * @param document the document.
+     * @param chunkLength minimal number of characters of a chunk.
+     * @return the boundaries, starting with 0 and ending with the length of the document, or {@code null} if the document cannot be split or is invalid.
+     */
+    static int[] findChunkBoundaries(String document, int chunkLength) {
+        int length = document.length();
+        if (length < 2 * chunkLength) return null;
+
+        int[] boundaries = new int[8];
+        int count = 1, depth = 0;
+
+        for (int i = 0; i < length; ) {
+            if (!SmartScriptScanner.isTagStart(document, i)) {
+                i = SmartScriptScanner.findTextEnd(document, i);
+                continue;
+            }
+
+            int nameStart = SmartScriptScanner.skipWhitespace(document, i + 2), nameEnd = SmartScriptScanner.findNameEnd(document, nameStart);
+            i = SmartScriptScanner.findTagEnd(document, nameEnd);
+            if (i < 0) return null;
+
+            if (SmartScriptScanner.isName(document, nameStart, nameEnd, "FOR")) depth++;
+            else if (SmartScriptScanner.isName(document, nameStart, nameEnd, "END") && --depth < 0) return null;
+
+            if (depth == 0 && i - boundaries[count - 1] >= chunkLength && length - i >= chunkLength) {
+                if (count == boundaries.length) boundaries = Arrays.copyOf(boundaries, count * 2);
+                boundaries[count++] = i;
+            }
+        }
+
+        if (count == 1) return null;
+        if (count == boundaries.length) boundaries = Arrays.copyOf(boundaries, count + 1);
+        boundaries[count++] = length;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Joins the children of the given {@code chunks} into a single document node.
+     *
+     * @param chunks trees of the chunks in order.
+     * @return the joined tree.
+     */
+    private static DocumentNode join(DocumentNode[] chunks) {
+        DocumentNode documentNode = new DocumentNode();
+
+        for (DocumentNode chunk : chunks) {
+            for (int i = 0, children = chunk.numberOfChildren(); i < children; i++) {
+                documentNode.addChildNode(chunk.getChild(i));
+            }
+        }
+
+        documentNode.trimToSize();
+        return documentNode;
+    }
+
+    /**
+     * The {@code ChunkTask} class parses a range of chunks, splitting it in halves until a single chunk remains.
+     */
+    private static class ChunkTask extends RecursiveTask<DocumentNode[]> {
+
+        @java.io.Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The whole document.
+         */
+        private final String document;
+
+        /**
+         * Boundaries of all chunks of the document.
+         */
+        private final int[] boundaries;
+
+        /**
+         * Index of the first parsed chunk.
+         */
+        private final int from;
+
+        /**
+         * Index right after the last parsed chunk.
+         */
+        private final int to;
+
+        /**
+         * Creates a new {@code ChunkTask} parsing the chunks from {@code from} (inclusive) to {@code to} (exclusive).
+         *
+         * @param document the whole document.
+         * @param boundaries boundaries of all chunks of the document.
+         * @param from index of the first parsed chunk.
+         * @param to index right after the last parsed chunk.
+         */
+        private ChunkTask(String document, int[] boundaries, int from, int to) {
+            this.document = document;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Parses the chunks of the current task.
+         *
+         * @return the trees of the chunks, {@code null} if any of them is invalid.
+         */
+        @Override
+        protected DocumentNode[] compute() {
+            if (this.to - this.from == 1) {
+                try {
+                    String chunk = this.document.substring(this.boundaries[this.from], this.boundaries[this.to]);
+                    return new DocumentNode[] {new SmartScriptParser(chunk).getDocumentNode()};
+                } catch (SmartScriptParserException e) {
+                    return null;
+                }
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            ChunkTask left = new ChunkTask(this.document, this.boundaries, this.from, middle);
+            left.fork();
+            DocumentNode[] right = new ChunkTask(this.document, this.boundaries, middle, this.to).compute();
+            DocumentNode[] leftChunks = left.join();
+            if (leftChunks == null || right == null) return null;
+
+            DocumentNode[] chunks = Arrays.copyOf(leftChunks, leftChunks.length + right.length);
+            System.arraycopy(right, 0, chunks, leftChunks.length, right.length);
+            return chunks;
+        }
+    }
+}
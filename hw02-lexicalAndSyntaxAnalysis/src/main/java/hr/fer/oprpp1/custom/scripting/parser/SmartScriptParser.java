@@ -5,17 +5,20 @@ import hr.fer.oprpp1.custom.collections.ObjectStack;
 import hr.fer.oprpp1.custom.scripting.elems.*;
 import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
 import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexerState;
-import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptToken;
 import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptTokenType;
 import hr.fer.oprpp1.custom.scripting.nodes.*;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * The {@code SmartScriptParser} class represents an implementation of a parser.
+ * Equal leaf nodes and elements that are small enough are shared within a single document tree, so that a document repeating the same short texts and tags keeps a
+ * single copy of each, and the children of every node are trimmed to their exact number once the node is closed.
  *
  * @author mirtamoslavac
- * @version 1.0
+ * @version 1.1
  */
 public class SmartScriptParser {
 
@@ -34,6 +37,16 @@ public class SmartScriptParser {
      */
     private final DocumentNode documentNode;
 
+    /**
+     * The maximal length of texts and strings whose nodes and elements are shared.
+     */
+    private static final int SHARED_TEXT_LENGTH = 64;
+
+    /**
+     * Leaf nodes and elements created so far mapped to themselves, so that equal ones can be shared, {@code null} once the parse is finished.
+     */
+    private Map<Object, Object> sharedLeaves;
+
     /**
      * Creates a new {@code SmartScriptParser} instance.
      * It also creates its own new {@link SmartScriptLexer} instance which enables it to build a document tree corresponding to the given {@code documentBody}.
@@ -47,6 +60,7 @@ public class SmartScriptParser {
 
         this.lexer = new SmartScriptLexer(documentBody);
         this.stack = new ObjectStack();
+        this.sharedLeaves = new HashMap<>();
 
         try {
             this.documentNode = this.parseDocumentBody();
@@ -55,6 +69,8 @@ public class SmartScriptParser {
                     e.getClass().getCanonicalName().equals("hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexerException") ?
                             e.getMessage() :
                             e.getClass().getCanonicalName() +  ": " + e.getMessage());
+        } finally {
+            this.sharedLeaves = null;
         }
     }
 
@@ -70,28 +86,33 @@ public class SmartScriptParser {
     private DocumentNode parseDocumentBody() {
         this.stack.push(new DocumentNode());
 
-        SmartScriptToken currentToken = this.lexer.nextToken();
-        while (currentToken.getType() != SmartScriptTokenType.EOF) {
-            switch (currentToken.getType()) {
-                case STRING_TEXT -> ((Node)this.stack.peek()).addChildNode(new TextNode((String)currentToken.getValue()));
+        SmartScriptTokenType currentType = this.lexer.advance();
+        while (currentType != SmartScriptTokenType.EOF) {
+            switch (currentType) {
+                case STRING_TEXT -> {
+                    String text = this.lexer.getTokenText();
+                    ((Node)this.stack.peek()).addChildNode(this.share(new TextNode(text), text));
+                }
                 case TAG_START -> this.lexer.setState(SmartScriptLexerState.TAG);
-                case IDENTIFIER -> this.parseTag(currentToken);
+                case IDENTIFIER -> this.parseTag(this.lexer.getTokenText());
                 default -> throw new SmartScriptParserException("Invalid token type!");
             }
 
-            currentToken = this.lexer.nextToken();
+            currentType = this.lexer.advance();
         }
 
         if (this.stack.isEmpty()) {
             throw new SmartScriptParserException("More {$END$} tags than opened non-empty tags!");
         }
 
-        return (DocumentNode)stack.pop();
+        DocumentNode documentNode = (DocumentNode)stack.pop();
+        documentNode.trimToSize();
+        return documentNode;
     }
 
-    private void parseTag(SmartScriptToken currentToken) {
+    private void parseTag(String tagName) {
 
-        switch ((String)currentToken.getValue()) {
+        switch (tagName) {
             case "=" -> ((Node)this.stack.peek()).addChildNode(this.parseEchoTag());
             case "FOR" -> {
                 ForLoopNode forLoopNode = this.parseForTag();
@@ -99,9 +120,9 @@ public class SmartScriptParser {
                 this.stack.push(forLoopNode);
             }
             case "END" -> {
-                if (this.lexer.nextToken().getType() != SmartScriptTokenType.TAG_END)
+                if (this.lexer.advance() != SmartScriptTokenType.TAG_END)
                     throw new SmartScriptParserException("The END tag name should be immediately followed by specified tag ending!");
-                this.stack.pop();
+                ((BranchNode)this.stack.pop()).trimToSize();
             }
             default -> throw new SmartScriptParserException("Invalid tag name!");
         }
@@ -112,53 +133,68 @@ public class SmartScriptParser {
 
 
     private EchoNode parseEchoTag() {
-        ArrayIndexedCollection elements = new ArrayIndexedCollection();
+        ArrayIndexedCollection elements = this.parseElements("The =-tag was not closed with a specified tag ending!");
 
-        SmartScriptToken currentToken = this.lexer.nextToken();
-
-        while (currentToken.getType() != SmartScriptTokenType.TAG_END) {
-            elements.add(
-                    switch (currentToken.getType()) {
-                        case EOF -> throw new SmartScriptParserException("The =-tag was not closed with a specified tag ending!");
-                        case IDENTIFIER -> new ElementVariable((String)currentToken.getValue());
-                        case INTEGER -> new ElementConstantInteger((int)currentToken.getValue());
-                        case DOUBLE -> new ElementConstantDouble((double)currentToken.getValue());
-                        case STRING_TAG -> new ElementString((String)currentToken.getValue());
-                        case FUNCTION -> new ElementFunction((String)currentToken.getValue());
-                        case OPERATOR -> new ElementOperator((String)currentToken.getValue());
-                        default -> throw new SmartScriptParserException("Invalid token type!");
-            });
+        return this.share(new EchoNode(Arrays.copyOf(elements.toArray(), elements.size(), Element[].class)), null);
 
-            currentToken = this.lexer.nextToken();
-        }
+    }
 
-        return new EchoNode(Arrays.copyOf(elements.toArray(), elements.size(), Element[].class));
+    private ForLoopNode parseForTag() {
+        ArrayIndexedCollection elements = this.parseElements("The FOR tag was not closed with a specified tag ending!");
 
+        return new ForLoopNode((ElementVariable) elements.get(0), Arrays.copyOfRange(elements.toArray(), 1, elements.size(), Element[].class));
     }
 
-    private ForLoopNode parseForTag() {
+    /**
+     * Parses the elements of a tag up to its end, reading their values straight from the lexer, so no tokens are created.
+     *
+     * @param unclosedMessage message of the exception thrown when the tag is not closed.
+     * @return the elements of the tag.
+     * @throws SmartScriptParserException when the tag is not closed or contains an invalid token.
+     */
+    private ArrayIndexedCollection parseElements(String unclosedMessage) {
         ArrayIndexedCollection elements = new ArrayIndexedCollection();
 
-        SmartScriptToken currentToken = this.lexer.nextToken();
-        while (currentToken.getType() != SmartScriptTokenType.TAG_END) {
-            elements.add(
-                    switch (currentToken.getType()) {
-                        case EOF -> throw new SmartScriptParserException("The FOR tag was not closed with a specified tag ending!");
-                        case IDENTIFIER -> new ElementVariable((String)currentToken.getValue());
-                        case INTEGER -> new ElementConstantInteger((int)currentToken.getValue());
-                        case DOUBLE -> new ElementConstantDouble((double)currentToken.getValue());
-                        case STRING_TAG -> new ElementString((String)currentToken.getValue());
-                        case FUNCTION -> new ElementFunction((String)currentToken.getValue());
-                        case OPERATOR -> new ElementOperator((String)currentToken.getValue());
+        SmartScriptTokenType currentType = this.lexer.advance();
+        while (currentType != SmartScriptTokenType.TAG_END) {
+            String text = switch (currentType) {
+                case IDENTIFIER, STRING_TAG, FUNCTION, OPERATOR -> this.lexer.getTokenText();
+                default -> null;
+            };
+
+            elements.add(this.share(
+                    switch (currentType) {
+                        case EOF -> throw new SmartScriptParserException(unclosedMessage);
+                        case IDENTIFIER -> new ElementVariable(text);
+                        case INTEGER -> new ElementConstantInteger(this.lexer.getTokenInt());
+                        case DOUBLE -> new ElementConstantDouble(this.lexer.getTokenDouble());
+                        case STRING_TAG -> new ElementString(text);
+                        case FUNCTION -> new ElementFunction(text);
+                        case OPERATOR -> new ElementOperator(text);
                         default -> throw new SmartScriptParserException("Invalid token type!");
-                    }
+                    }, text)
             );
 
-            currentToken = this.lexer.nextToken();
+            currentType = this.lexer.advance();
         }
 
-        return new ForLoopNode((ElementVariable) elements.get(0), Arrays.copyOfRange(elements.toArray(), 1, elements.size(), Element[].class));
+        return elements;
     }
 
+    /**
+     * Returns a previously created leaf node or element equal to the given {@code leaf}, or the given {@code leaf} itself if there is none yet.
+     * Leaves holding a text longer than {@link #SHARED_TEXT_LENGTH} are never shared.
+     *
+     * @param leaf newly created leaf node or element.
+     * @param value value of the token the leaf was created from, checked for its length if it is a string, {@code null} for other leaves.
+     * @param <T> type of the leaf.
+     * @return a shared leaf equal to the given one.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T share(T leaf, Object value) {
+        if (value instanceof String && ((String) value).length() > SHARED_TEXT_LENGTH) return leaf;
 
+        Object shared = this.sharedLeaves.putIfAbsent(leaf, leaf);
+        return shared == null ? leaf : (T) shared;
+    }
 }
@@ -0,0 +1,119 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+/**
+ * The {@code SmartScriptScanner} class finds the structure of documents much faster than the lexer, by recognizing only escapes, tags and strings within tags.
+ * It does not validate the documents, so its results can only be trusted for documents that are successfully parsed by {@link SmartScriptParser}.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class SmartScriptScanner {
+
+    /**
+     * Prevents instancing of the utility class.
+     */
+    private SmartScriptScanner() {
+    }
+
+    /**
+     * Checks whether a tag starts at the given {@code index} of the given {@code document}.
+     *
+     * @param document the document.
+     * @param index position within the document.
+     * @return {@code true} if a tag starts at the given position, {@code false} otherwise.
+     */
+    static boolean isTagStart(CharSequence document, int index) {
+        return document.charAt(index) == '{' && index + 1 < document.length() && document.charAt(index + 1) == '$';
+    }
+
+    /**
+     * Finds the end of the text starting at the given {@code index}, which is either the start of a tag or the end of the document.
+     *
+     * @param document the document.
+     * @param index position of the first character of the text.
+     * @return the position right after the text.
+     */
+    static int findTextEnd(CharSequence document, int index) {
+        int length = document.length();
+
+        while (index < length) {
+            if (document.charAt(index) == '\\') index += 2;
+            else if (isTagStart(document, index)) return index;
+            else index++;
+        }
+
+        return length;
+    }
+
+    /**
+     * Skips the whitespace characters recognized by the lexer, starting at the given {@code index}.
+     *
+     * @param document the document.
+     * @param index position of the first skipped character.
+     * @return the position of the first non-whitespace character or the length of the document.
+     */
+    static int skipWhitespace(CharSequence document, int index) {
+        for (int length = document.length(); index < length; index++) {
+            char character = document.charAt(index);
+            if (character != ' ' && character != '\r' && character != '\n' && character != '\t') break;
+        }
+
+        return index;
+    }
+
+    /**
+     * Finds the end of the name of the tag starting at the given {@code index}, which is either {@code =} or an identifier.
+     *
+     * @param document the document.
+     * @param index position of the first character of the name.
+     * @return the position right after the name.
+     */
+    static int findNameEnd(CharSequence document, int index) {
+        int length = document.length();
+        if (index < length && document.charAt(index) == '=') return index + 1;
+
+        while (index < length && (Character.isLetterOrDigit(document.charAt(index)) || document.charAt(index) == '_')) index++;
+        return index;
+    }
+
+    /**
+     * Checks whether the tag name between {@code nameStart} and {@code nameEnd} equals the given {@code name}.
+     *
+     * @param document the document.
+     * @param nameStart position of the first character of the tag name.
+     * @param nameEnd position right after the tag name.
+     * @param name expected name.
+     * @return {@code true} if the tag has the given name, {@code false} otherwise.
+     */
+    static boolean isName(CharSequence document, int nameStart, int nameEnd, String name) {
+        if (nameEnd - nameStart != name.length()) return false;
+
+        for (int i = 0; i < name.length(); i++) {
+            if (document.charAt(nameStart + i) != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the end of the tag whose content continues at the given {@code index}, skipping strings.
+     *
+     * @param document the document.
+     * @param index position within a tag.
+     * @return the position right after the tag ending, -1 if there is none.
+     */
+    static int findTagEnd(CharSequence document, int index) {
+        for (int length = document.length(); index + 1 < length; index++) {
+            char character = document.charAt(index);
+
+            if (character == '"') {
+                for (index++; index < length && document.charAt(index) != '"'; index++) {
+                    if (document.charAt(index) == '\\') index++;
+                }
+            } else if (character == '$' && document.charAt(index + 1) == '}') {
+                return index + 2;
+            }
+        }
+
+        return -1;
+    }
+}
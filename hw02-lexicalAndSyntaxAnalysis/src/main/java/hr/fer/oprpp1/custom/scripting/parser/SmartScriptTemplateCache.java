@@ -0,0 +1,465 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.nodes.BranchNode;
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The {@code SmartScriptTemplateCache} class keeps the document trees of recently parsed documents, so that documents used over and over again are parsed only once.
+ * <p>
+ * Documents are read from files, which are identified by their absolute, normalized paths, or given as strings, which are identified by their content.
+ * Changes of files are detected according to the {@link ChangeDetection} strategy given at creation, and at most the given number of document trees is kept, the least
+ * recently used one being evicted first.
+ * <p>
+ * The cache is thread-safe. A document that is requested by several threads at once is parsed only once, while the others wait for its tree, and documents that
+ * cannot be parsed are not cached.
+ * The returned trees are shared by all callers, so they are made read-only by {@link BranchNode#makeReadOnly()} before they are cached.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptTemplateCache implements AutoCloseable {
+
+    /**
+     * The {@code ChangeDetection} enum defines the ways a cache detects that a cached file has been changed.
+     */
+    public enum ChangeDetection {
+
+        /**
+         * The modification time and the size of the file are checked on every request.
+         */
+        MODIFICATION_TIME,
+
+        /**
+         * The file is read and its SHA-256 digest compared on every request, which also detects changes that keep the modification time.
+         */
+        CONTENT_HASH,
+
+        /**
+         * The file system is not touched on requests of cached files, which are instead invalidated by a background thread watching their directories.
+         */
+        FILE_WATCH
+    }
+
+    /**
+     * The maximal number of cached document trees.
+     */
+    private final int maximumSize;
+
+    /**
+     * The way changes of cached files are detected.
+     */
+    private final ChangeDetection changeDetection;
+
+    /**
+     * Cached document trees by their paths or document bodies, in the order of their use.
+     */
+    private final LinkedHashMap<Object, CachedTemplate> entries;
+
+    /**
+     * Watch service of the directories of cached files, {@code null} unless files are watched.
+     */
+    private final WatchService watchService;
+
+    /**
+     * Directories registered with {@code watchService}.
+     */
+    private final Set<Path> watchedDirectories = new HashSet<>();
+
+    /**
+     * The number of requests answered by a cached tree.
+     */
+    private long hits;
+
+    /**
+     * The number of requests that needed parsing.
+     */
+    private long misses;
+
+    /**
+     * The number of trees evicted because of the size limit.
+     */
+    private long evictions;
+
+    /**
+     * The number of trees removed because their files have changed or because they were invalidated explicitly.
+     */
+    private long invalidations;
+
+    /**
+     * Creates a new, empty {@code SmartScriptTemplateCache} of the given {@code maximumSize}, which detects changes of files by their modification times.
+     *
+     * @param maximumSize the maximal number of cached document trees.
+     * @throws IllegalArgumentException when the given {@code maximumSize} is smaller than 1.
+     */
+    public SmartScriptTemplateCache(int maximumSize) {
+        this(maximumSize, ChangeDetection.MODIFICATION_TIME);
+    }
+
+    /**
+     * Creates a new, empty {@code SmartScriptTemplateCache} of the given {@code maximumSize}, which detects changes of files in the given way.
+     * A cache watching files has to be closed once it is not needed anymore.
+     *
+     * @param maximumSize the maximal number of cached document trees.
+     * @param changeDetection the way changes of cached files are detected.
+     * @throws IllegalArgumentException when the given {@code maximumSize} is smaller than 1.
+     * @throws NullPointerException when the given {@code changeDetection} is {@code null}.
+     * @throws UncheckedIOException when the file system cannot be watched.
+     */
+    public SmartScriptTemplateCache(int maximumSize, ChangeDetection changeDetection) {
+        if (maximumSize < 1) throw new IllegalArgumentException("The maximum size of the cache should be at least 1!");
+        if (changeDetection == null) throw new NullPointerException("The given change detection cannot be null!");
+
+        this.maximumSize = maximumSize;
+        this.changeDetection = changeDetection;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @java.io.Serial
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CachedTemplate> eldest) {
+                if (this.size() <= SmartScriptTemplateCache.this.maximumSize) return false;
+
+                SmartScriptTemplateCache.this.evictions++;
+                return true;
+            }
+        };
+
+        if (changeDetection != ChangeDetection.FILE_WATCH) {
+            this.watchService = null;
+            return;
+        }
+
+        try {
+            this.watchService = Path.of("").getFileSystem().newWatchService();
+        } catch (IOException e) {
+            throw new UncheckedIOException("The file system cannot be watched!", e);
+        }
+        Thread watcher = new Thread(this::watch, "SmartScriptTemplateCache watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Fetches the document tree of the UTF-8 encoded file with the given {@code path}, parsing the file if it is not cached or if it has changed.
+     *
+     * @param path path of the document.
+     * @return the shared, read-only document tree.
+     * @throws NullPointerException when the given {@code path} is {@code null}.
+     * @throws IOException when the file cannot be read.
+     * @throws SmartScriptParserException when the document cannot be parsed.
+     */
+    public DocumentNode get(Path path) throws IOException {
+        if (path == null) throw new NullPointerException("The given path cannot be null!");
+
+        Path key = path.toAbsolutePath().normalize();
+        byte[] content = null;
+        Object version = null;
+
+        switch (this.changeDetection) {
+            case MODIFICATION_TIME -> {
+                BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+                version = List.of(attributes.lastModifiedTime(), attributes.size());
+            }
+            case CONTENT_HASH -> {
+                content = Files.readAllBytes(key);
+                version = ByteBuffer.wrap(digest(content));
+            }
+            case FILE_WATCH -> this.watchDirectory(key.getParent());
+        }
+
+        CachedTemplate created = new CachedTemplate(version), entry = this.lookup(key, created);
+        if (entry == created) {
+            try {
+                if (content == null) content = Files.readAllBytes(key);
+                this.complete(key, entry, new String(content, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                this.fail(key, entry, e);
+                throw e;
+            }
+        }
+
+        return await(entry.documentNode);
+    }
+
+    /**
+     * Fetches the document tree of the given {@code documentBody}, parsing it if it is not cached.
+     *
+     * @param documentBody the document.
+     * @return the shared, read-only document tree.
+     * @throws NullPointerException when the given {@code documentBody} is {@code null}.
+     * @throws SmartScriptParserException when the document cannot be parsed.
+     */
+    public DocumentNode get(String documentBody) {
+        if (documentBody == null) throw new NullPointerException("The given document body cannot be null!");
+
+        CachedTemplate created = new CachedTemplate(null), entry = this.lookup(documentBody, created);
+        if (entry == created) this.complete(documentBody, entry, documentBody);
+
+        try {
+            return await(entry.documentNode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the document tree of the file with the given {@code path}, if it is cached.
+     *
+     * @param path path of the document.
+     * @throws NullPointerException when the given {@code path} is {@code null}.
+     */
+    public synchronized void invalidate(Path path) {
+        if (path == null) throw new NullPointerException("The given path cannot be null!");
+
+        if (this.entries.remove(path.toAbsolutePath().normalize()) != null) this.invalidations++;
+    }
+
+    /**
+     * Removes all document trees from the current cache, keeping the collected statistics.
+     */
+    public synchronized void invalidateAll() {
+        this.invalidations += this.entries.size();
+        this.entries.clear();
+    }
+
+    /**
+     * Determines the number of document trees currently in the cache, including the ones that are still being parsed.
+     *
+     * @return the number of cached trees.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Fetches the number of requests answered by a cached tree.
+     *
+     * @return the number of hits.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Fetches the number of requests that needed parsing.
+     *
+     * @return the number of misses.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Fetches the number of trees evicted because of the size limit.
+     *
+     * @return the number of evictions.
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Fetches the number of trees removed because their files have changed or because they were invalidated explicitly.
+     *
+     * @return the number of invalidations.
+     */
+    public synchronized long getInvalidations() {
+        return this.invalidations;
+    }
+
+    /**
+     * Stops watching the directories of cached files, if they are watched, and empties the cache.
+     *
+     * @throws IOException when the watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.watchService != null) this.watchService.close();
+        synchronized (this) {
+            this.entries.clear();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("SmartScriptTemplateCache[size=%d/%d, changeDetection=%s, hits=%d, misses=%d, evictions=%d, invalidations=%d]", this.entries.size(),
+                this.maximumSize, this.changeDetection, this.hits, this.misses, this.evictions, this.invalidations);
+    }
+
+    /**
+     * Fetches the entry of the given {@code key} if its version matches the version of the given {@code created} entry, or caches the {@code created} entry, which
+     * the caller then has to complete.
+     *
+     * @param key path or document body.
+     * @param created new, uncompleted entry.
+     * @return the matching entry or the {@code created} one.
+     */
+    private synchronized CachedTemplate lookup(Object key, CachedTemplate created) {
+        CachedTemplate entry = this.entries.get(key);
+        if (entry != null && Objects.equals(entry.version, created.version)) {
+            this.hits++;
+            return entry;
+        }
+
+        if (entry != null) this.invalidations++;
+        this.misses++;
+        this.entries.put(key, created);
+        return created;
+    }
+
+    /**
+     * Parses the given {@code documentBody} and completes the given {@code entry} with its tree.
+     * If parsing fails for any reason, including an {@link Error}, the entry is completed exceptionally and removed, so that no thread keeps waiting for it.
+     *
+     * @param key path or document body of the entry.
+     * @param entry entry created by the current thread.
+     * @param documentBody the document.
+     * @throws SmartScriptParserException when the document cannot be parsed.
+     */
+    private void complete(Object key, CachedTemplate entry, String documentBody) {
+        DocumentNode documentNode;
+        try {
+            documentNode = new SmartScriptParser(documentBody).getDocumentNode();
+            documentNode.makeReadOnly();
+        } catch (Throwable e) {
+            this.fail(key, entry, e);
+            throw e;
+        }
+
+        entry.documentNode.complete(documentNode);
+    }
+
+    /**
+     * Completes the given {@code entry} with the given {@code exception} and removes it, so that the failure is not cached.
+     *
+     * @param key path or document body of the entry.
+     * @param entry entry created by the current thread.
+     * @param exception reason of the failure.
+     */
+    private void fail(Object key, CachedTemplate entry, Throwable exception) {
+        synchronized (this) {
+            this.entries.remove(key, entry);
+        }
+        entry.documentNode.completeExceptionally(exception);
+    }
+
+    /**
+     * Registers the given {@code directory} with the watch service, unless it already is registered.
+     *
+     * @param directory directory of a cached file.
+     * @throws IOException when the directory cannot be watched.
+     */
+    private void watchDirectory(Path directory) throws IOException {
+        synchronized (this.watchedDirectories) {
+            if (this.watchedDirectories.contains(directory)) return;
+
+            directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            this.watchedDirectories.add(directory);
+        }
+    }
+
+    /**
+     * Invalidates the trees of changed files until the watch service is closed.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey watchKey = this.watchService.take();
+                Path directory = (Path) watchKey.watchable();
+
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) this.invalidateAll();
+                    else this.invalidate(directory.resolve((Path) event.context()));
+                }
+
+                if (!watchKey.reset()) {
+                    synchronized (this.watchedDirectories) {
+                        this.watchedDirectories.remove(directory);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the cache has been closed
+        }
+    }
+
+    /**
+     * Waits for the given {@code future} and returns its tree, rethrowing the exception it has failed with.
+     *
+     * @param future future of a document tree.
+     * @return the document tree.
+     * @throws IOException when the file of the document could not be read.
+     */
+    private static DocumentNode await(CompletableFuture<DocumentNode> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Calculates the SHA-256 digest of the given {@code content}.
+     *
+     * @param content content of a file.
+     * @return the digest.
+     */
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported!", e);
+        }
+    }
+
+    /**
+     * The {@code CachedTemplate} class represents a cached document tree, which may still be being parsed.
+     */
+    private static class CachedTemplate {
+
+        /**
+         * The document tree, completed once the document has been parsed.
+         */
+        private final CompletableFuture<DocumentNode> documentNode = new CompletableFuture<>();
+
+        /**
+         * Version of the file the tree has been parsed from, {@code null} if it is not checked.
+         */
+        private final Object version;
+
+        /**
+         * Creates a new {@code CachedTemplate} of the given {@code version}.
+         *
+         * @param version version of the file, {@code null} if it is not checked.
+         */
+        private CachedTemplate(Object version) {
+            this.version = version;
+        }
+    }
+}
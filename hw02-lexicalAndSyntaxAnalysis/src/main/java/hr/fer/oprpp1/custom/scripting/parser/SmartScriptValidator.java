@@ -0,0 +1,417 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexer;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexerException;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptLexerState;
+import hr.fer.oprpp1.custom.scripting.lexer.SmartScriptTokenType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * The {@code SmartScriptValidator} class checks documents for all errors that would make {@link SmartScriptParser} fail, instead of stopping at the first one.
+ * <p>
+ * A document is split into texts and tags by a quick scan, which only recognizes tags, strings within tags and escapes, and every part is checked on its own, so
+ * the validation recovers from an error at the next tag boundary.
+ * Texts and tags are tokenized by {@link SmartScriptLexer}, whose errors are reported at the invalid character, and tags are then parsed by
+ * {@link SmartScriptParser}, whose errors are reported at the start of the tag.
+ * The nesting of {@code FOR} and {@code END} tags is tracked across the whole document, even for tags that contain errors.
+ * A document without any diagnostics is parsed by {@link SmartScriptParser} without an exception.
+ * <p>
+ * Whole directory trees are validated in parallel on a {@link ForkJoinPool}, and their results can be written as a JSON report by
+ * {@link #writeReport(Map, Appendable)}.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SmartScriptValidator {
+
+    /**
+     * The validated document.
+     */
+    private final String document;
+
+    /**
+     * Diagnostics found so far.
+     */
+    private final List<SmartScriptDiagnostic> diagnostics = new ArrayList<>();
+
+    /**
+     * Offsets of the {@code FOR} tags that have not been closed yet.
+     */
+    private final Deque<Integer> openLoops = new ArrayDeque<>();
+
+    /**
+     * Offsets of the first characters of all lines of the document but the first one, {@code null} until the first diagnostic is found.
+     */
+    private int[] lineStarts;
+
+    /**
+     * Creates a new {@code SmartScriptValidator} for the given {@code document}.
+     *
+     * @param document the document.
+     */
+    private SmartScriptValidator(String document) {
+        this.document = document;
+    }
+
+    /**
+     * Validates the given {@code document}.
+     *
+     * @param document the document.
+     * @return the diagnostics of all errors found within the document ordered by their offsets, an empty list if the document is valid.
+     * @throws NullPointerException when the given {@code document} is {@code null}.
+     */
+    public static List<SmartScriptDiagnostic> validate(String document) {
+        if (document == null) throw new NullPointerException("The given document cannot be null!");
+
+        SmartScriptValidator validator = new SmartScriptValidator(document);
+        validator.validate();
+        return Collections.unmodifiableList(validator.diagnostics);
+    }
+
+    /**
+     * Validates all regular files with the given {@code extension} within the directory tree starting at {@code root}, in parallel on the common pool.
+     *
+     * @param root the root of the directory tree.
+     * @param extension the extension of the validated files, including the dot, or an empty string for all files.
+     * @return the diagnostics of every validated file, mapped from its path relative to {@code root}.
+     * @throws NullPointerException when the given {@code root} or {@code extension} is {@code null}.
+     * @throws IOException when the directory tree cannot be read.
+     */
+    public static SortedMap<Path, List<SmartScriptDiagnostic>> validateDirectory(Path root, String extension) throws IOException {
+        return validateDirectory(root, extension, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates all regular files with the given {@code extension} within the directory tree starting at {@code root}, in parallel on the given {@code pool}.
+     * A file that cannot be read gets a single diagnostic describing the problem.
+     *
+     * @param root the root of the directory tree.
+     * @param extension the extension of the validated files, including the dot, or an empty string for all files.
+     * @param pool pool the files are validated on.
+     * @return the diagnostics of every validated file, mapped from its path relative to {@code root}.
+     * @throws NullPointerException when any of the arguments is {@code null}.
+     * @throws IOException when the directory tree cannot be read.
+     */
+    public static SortedMap<Path, List<SmartScriptDiagnostic>> validateDirectory(Path root, String extension, ForkJoinPool pool) throws IOException {
+        if (root == null) throw new NullPointerException("The given root cannot be null!");
+        if (extension == null) throw new NullPointerException("The given extension cannot be null!");
+        if (pool == null) throw new NullPointerException("The given pool cannot be null!");
+
+        Path[] files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).filter(path -> path.getFileName().toString().endsWith(extension)).toArray(Path[]::new);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<SmartScriptDiagnostic>[] results = new List[files.length];
+        pool.invoke(new FileTask(files, results, 0, files.length));
+
+        SortedMap<Path, List<SmartScriptDiagnostic>> report = new TreeMap<>();
+        for (int i = 0; i < files.length; i++) {
+            report.put(root.relativize(files[i]), results[i]);
+        }
+        return report;
+    }
+
+    /**
+     * Writes the given results of validation as a JSON object to the given {@code destination}.
+     * The object holds the numbers of files, invalid files and diagnostics, and an array of files with their paths and arrays of diagnostics, each holding the
+     * line, column, offset and message of the error.
+     *
+     * @param results diagnostics of files mapped from their paths.
+     * @param destination destination of the report.
+     * @throws NullPointerException when the given {@code results} or {@code destination} is {@code null}.
+     * @throws IOException when writing to the destination fails.
+     */
+    public static void writeReport(Map<Path, List<SmartScriptDiagnostic>> results, Appendable destination) throws IOException {
+        if (results == null) throw new NullPointerException("The given results cannot be null!");
+        if (destination == null) throw new NullPointerException("The given destination cannot be null!");
+
+        long invalidFiles = results.values().stream().filter(diagnostics -> !diagnostics.isEmpty()).count();
+        long diagnosticCount = results.values().stream().mapToLong(List::size).sum();
+        destination.append("{\"files\":").append(String.valueOf(results.size()))
+                .append(",\"invalidFiles\":").append(String.valueOf(invalidFiles))
+                .append(",\"diagnostics\":").append(String.valueOf(diagnosticCount))
+                .append(",\"results\":[");
+
+        String fileSeparator = "\n";
+        for (Map.Entry<Path, List<SmartScriptDiagnostic>> entry : results.entrySet()) {
+            StringJoiner path = new StringJoiner("/");
+            entry.getKey().forEach(name -> path.add(name.toString()));
+            destination.append(fileSeparator).append("{\"file\":");
+            appendString(destination, path.toString());
+            destination.append(",\"valid\":").append(String.valueOf(entry.getValue().isEmpty())).append(",\"diagnostics\":[");
+
+            String separator = "";
+            for (SmartScriptDiagnostic diagnostic : entry.getValue()) {
+                destination.append(separator).append("{\"line\":").append(String.valueOf(diagnostic.getLine()))
+                        .append(",\"column\":").append(String.valueOf(diagnostic.getColumn()))
+                        .append(",\"offset\":").append(String.valueOf(diagnostic.getOffset()))
+                        .append(",\"message\":");
+                appendString(destination, diagnostic.getMessage());
+                destination.append('}');
+                separator = ",";
+            }
+
+            destination.append("]}");
+            fileSeparator = ",\n";
+        }
+
+        destination.append("\n]}\n");
+    }
+
+    /**
+     * Validates the file at the given {@code path}.
+     *
+     * @param path the path of the file.
+     * @return the diagnostics of the file.
+     */
+    private static List<SmartScriptDiagnostic> validateFile(Path path) {
+        try {
+            return validate(Files.readString(path, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return List.of(new SmartScriptDiagnostic(0, 1, 1, "The file cannot be read: " + e.getMessage() + "!"));
+        }
+    }
+
+    /**
+     * Appends the given {@code string} as a JSON string literal to the given {@code destination}.
+     *
+     * @param destination destination of the literal.
+     * @param string the string.
+     * @throws IOException when writing to the destination fails.
+     */
+    private static void appendString(Appendable destination, String string) throws IOException {
+        destination.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+            switch (character) {
+                case '"' -> destination.append("\\\"");
+                case '\\' -> destination.append("\\\\");
+                case '\n' -> destination.append("\\n");
+                case '\r' -> destination.append("\\r");
+                case '\t' -> destination.append("\\t");
+                default -> {
+                    if (character < ' ') destination.append(String.format("\\u%04x", (int) character));
+                    else destination.append(character);
+                }
+            }
+        }
+        destination.append('"');
+    }
+
+    /**
+     * Validates the whole document, splitting it into texts and tags.
+     */
+    private void validate() {
+        int length = this.document.length();
+
+        for (int index = 0; index < length; ) {
+            int tagStart = Math.min(SmartScriptScanner.findTextEnd(this.document, index), length);
+            if (tagStart > index) this.validateText(index, tagStart);
+            if (tagStart == length) break;
+            if (tagStart + 2 == length) break; // like the parser, ignores a tag start ending the document
+
+            int tagEnd = SmartScriptScanner.findTagEnd(this.document, tagStart + 2);
+            this.validateTag(tagStart, tagEnd < 0 ? length : tagEnd);
+            index = tagEnd < 0 ? length : tagEnd;
+        }
+
+        for (int offset : this.openLoops) {
+            this.report(offset, "The FOR tag was not closed with an {$END$} tag!");
+        }
+
+        this.diagnostics.sort(Comparator.comparingInt(SmartScriptDiagnostic::getOffset));
+    }
+
+    /**
+     * Validates the text between {@code start} (inclusive) and {@code end} (exclusive).
+     *
+     * @param start offset of the first character of the text.
+     * @param end offset right after the text.
+     */
+    private void validateText(int start, int end) {
+        SmartScriptLexer lexer = new SmartScriptLexer(this.document.substring(start, end));
+
+        try {
+            while (lexer.advance() != SmartScriptTokenType.EOF) ;
+        } catch (SmartScriptLexerException e) {
+            this.report(start + Math.max(e.getOffset(), 0), e.getMessage());
+        }
+    }
+
+    /**
+     * Validates the tag between {@code start} (inclusive) and {@code end} (exclusive), which is either right after its end or the end of the document.
+     *
+     * @param start offset of the first character of the tag.
+     * @param end offset right after the tag.
+     */
+    private void validateTag(int start, int end) {
+        String tag = this.document.substring(start, end);
+        int nameStart = SmartScriptScanner.skipWhitespace(this.document, start + 2), nameEnd = SmartScriptScanner.findNameEnd(this.document, nameStart);
+        boolean loop = SmartScriptScanner.isName(this.document, nameStart, nameEnd, "FOR");
+        boolean loopEnd = SmartScriptScanner.isName(this.document, nameStart, nameEnd, "END");
+
+        SmartScriptTokenType nameType = this.tokenizeTag(start, tag, loopEnd);
+        if (nameType == SmartScriptTokenType.IDENTIFIER) {
+            if (loop) this.parse(start, tag + "{$END$}");
+            else if (SmartScriptScanner.isName(this.document, nameStart, nameEnd, "=")) this.parse(start, tag);
+            else if (!loopEnd) this.report(start, "Invalid tag name!");
+        } else if (nameType != null) {
+            this.report(start, "Invalid token type!");
+        }
+
+        if (loop) {
+            this.openLoops.push(start);
+        } else if (loopEnd) {
+            if (this.openLoops.isEmpty()) this.report(start, "More {$END$} tags than opened non-empty tags!");
+            else this.openLoops.pop();
+        }
+    }
+
+    /**
+     * Tokenizes the given {@code tag} starting at {@code start}, reporting the first error of the lexer.
+     *
+     * @param start offset of the first character of the tag.
+     * @param tag the tag.
+     * @param loopEnd whether the tag is an {@code END} tag, whose name has to be followed by the end of the tag.
+     * @return type of the first token within the tag, which should be its name, or {@code null} if the tag contains an error.
+     */
+    private SmartScriptTokenType tokenizeTag(int start, String tag, boolean loopEnd) {
+        SmartScriptLexer lexer = new SmartScriptLexer(tag);
+
+        try {
+            lexer.advance();
+            lexer.setState(SmartScriptLexerState.TAG);
+
+            SmartScriptTokenType nameType = lexer.advance(), type = nameType;
+            for (int tokens = 0; type != SmartScriptTokenType.TAG_END; tokens++, type = lexer.advance()) {
+                if (type == SmartScriptTokenType.EOF) {
+                    this.report(start, "The tag was not closed before the end of the input!");
+                    return null;
+                }
+                if (loopEnd && tokens == 1) {
+                    this.report(start + lexer.getTokenOffset(), "The END tag name should be immediately followed by specified tag ending!");
+                    return null;
+                }
+            }
+            return nameType;
+        } catch (SmartScriptLexerException e) {
+            this.report(start + Math.max(e.getOffset(), 0), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parses the given {@code fragment} made of the tag starting at {@code start}, reporting its error at the start of the tag.
+     *
+     * @param start offset of the first character of the tag.
+     * @param fragment the fragment.
+     */
+    private void parse(int start, String fragment) {
+        try {
+            new SmartScriptParser(fragment);
+        } catch (SmartScriptParserException e) {
+            this.report(start, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a diagnostic with the given {@code message} for the character at the given {@code offset}.
+     *
+     * @param offset offset of the character.
+     * @param message the message.
+     */
+    private void report(int offset, String message) {
+        if (this.lineStarts == null) {
+            int[] lineStarts = new int[16];
+            int lines = 0;
+            for (int i = this.document.indexOf('\n'); i >= 0; i = this.document.indexOf('\n', i + 1)) {
+                if (lines == lineStarts.length) lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+                lineStarts[lines++] = i + 1;
+            }
+            this.lineStarts = Arrays.copyOf(lineStarts, lines);
+        }
+
+        int line = Arrays.binarySearch(this.lineStarts, offset);
+        line = line >= 0 ? line + 1 : -line - 1;
+        int lineStart = line == 0 ? 0 : this.lineStarts[line - 1];
+        this.diagnostics.add(new SmartScriptDiagnostic(offset, line + 1, offset - lineStart + 1, message == null ? "Unknown error!" : message));
+    }
+
+    /**
+     * The {@code FileTask} class validates a range of files, splitting it in halves until a single file remains.
+     */
+    private static class FileTask extends RecursiveAction {
+
+        @java.io.Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * All validated files.
+         */
+        private final Path[] files;
+
+        /**
+         * Diagnostics of all validated files, filled in by the tasks.
+         */
+        private final List<SmartScriptDiagnostic>[] results;
+
+        /**
+         * Index of the first validated file.
+         */
+        private final int from;
+
+        /**
+         * Index right after the last validated file.
+         */
+        private final int to;
+
+        /**
+         * Creates a new {@code FileTask} validating the files from {@code from} (inclusive) to {@code to} (exclusive).
+         *
+         * @param files all validated files.
+         * @param results diagnostics of all validated files.
+         * @param from index of the first validated file.
+         * @param to index right after the last validated file.
+         */
+        private FileTask(Path[] files, List<SmartScriptDiagnostic>[] results, int from, int to) {
+            this.files = files;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Validates the files of the current task.
+         */
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= 1) {
+                if (this.from < this.to) this.results[this.from] = validateFile(this.files[this.from]);
+                return;
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(new FileTask(this.files, this.results, this.from, middle), new FileTask(this.files, this.results, middle, this.to));
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package hr.fer.oprpp1.hw02.prob1;
 
+import hr.fer.oprpp1.custom.lexing.LexerGenerator;
+import hr.fer.oprpp1.custom.lexing.LexerTable;
+import hr.fer.oprpp1.custom.lexing.NumberParser;
+
 /**
  * The {@code Lexer} class represents a program performing lexical analysis.
+ * <p>
+ * Tokens are matched by a {@link LexerTable} generated once for all instances, which has a starting state for each {@link LexerState}.
+ * In the basic state, words are made of letters and escaped characters, where a backslash escapes any character other than a letter or a whitespace character and
+ * must not end the input.
+ * <p>
+ * Tokens can be read without creating any objects through {@link #advance()}, which only finds the type and the position of the next token within the input.
+ * The value of the token is then created on demand by {@link #getTokenText()}, {@link #getTokenLong()}, {@link #getTokenSymbol()} or, as a whole {@link Token},
+ * by {@link #getToken()}.
  *
  * @author mirtamoslavac
  * @version 1.0
@@ -13,15 +25,35 @@ public class Lexer {
     private final char[] data;
 
     /**
-     * The last generated token within the current lexer.
+     * The last generated token within the current lexer, {@code null} until it is requested.
      */
     private Token token;
 
+    /**
+     * Type of the last generated token within the current lexer.
+     */
+    private TokenType tokenType;
+
+    /**
+     * The state of the table the last generated token has been matched from.
+     */
+    private int tokenStart;
+
+    /**
+     * Whether the value of the last generated token differs from its characters.
+     */
+    private boolean tokenTransformed;
+
     /**
      * Index of the first nontokenized character.
      */
     private int currentIndex;
 
+    /**
+     * Index of the first character of the last generated token.
+     */
+    private int tokenOffset;
+
     /**
      * Defined boundary that is used to regulate lexer state.
      */
@@ -32,6 +64,92 @@ public class Lexer {
      */
     private LexerState state;
 
+    /**
+     * All token types, indexed by the types of tokens accepted by the table.
+     */
+    private static final TokenType[] TYPES = TokenType.values();
+
+    /**
+     * Type of tokens accepted by the table for whitespace, which is skipped.
+     */
+    private static final int WHITESPACE = TYPES.length;
+
+    /**
+     * Code of the error of the table for invalid escapes.
+     */
+    private static final int INVALID_ESCAPE = 0;
+
+    /**
+     * Starting state of the table in the {@code LexerState.BASIC} state.
+     */
+    private static final int BASIC_START;
+
+    /**
+     * Starting state of the table in the {@code LexerState.EXTENDED} state.
+     */
+    private static final int EXTENDED_START;
+
+    /**
+     * Table matching the tokens of all lexers.
+     */
+    private static final LexerTable TABLE;
+
+    static {
+        LexerGenerator generator = new LexerGenerator();
+        int whitespace = generator.charClass(" \r\n\t");
+        int backslash = generator.charClass("\\");
+        int boundary = generator.charClass(String.valueOf(EXTENDED_STATE_BOUNDARY));
+        int letter = generator.charClass(Character::isLetter);
+        int digit = generator.charClass(Character::isDigit);
+        int eof = LexerGenerator.END_OF_INPUT, other = LexerGenerator.OTHER;
+
+        BASIC_START = generator.state();
+        EXTENDED_START = generator.state();
+
+        int skipped = generator.state(WHITESPACE);
+        generator.transition(BASIC_START, skipped, whitespace);
+        generator.transition(EXTENDED_START, skipped, whitespace);
+        generator.transition(skipped, skipped, whitespace);
+
+        int number = generator.state(TokenType.NUMBER.ordinal());
+        generator.transition(BASIC_START, number, digit);
+        generator.transition(number, number, digit);
+
+        generator.otherwise(BASIC_START, generator.state(TokenType.SYMBOL.ordinal()));
+
+        // A backslash following an escaped backslash escapes the next character only after an even number of backslash pairs within the word,
+        // so the states of a word keep the parity of the number of pairs.
+        int word = generator.state(TokenType.WORD.ordinal()), oddWord = generator.state(TokenType.WORD.ordinal());
+        int escape = generator.state(), oddEscape = generator.state();
+        int escapedBackslash = generator.state(TokenType.WORD.ordinal());
+        generator.omit(escape);
+        generator.omit(oddEscape);
+
+        generator.transition(BASIC_START, word, letter);
+        generator.transition(BASIC_START, escape, backslash);
+        generator.transition(word, word, letter);
+        generator.transition(word, escape, backslash);
+        generator.transition(oddWord, oddWord, letter);
+        generator.transition(oddWord, oddEscape, backslash);
+
+        generator.error(escape, INVALID_ESCAPE, eof, whitespace, letter);
+        generator.transition(escape, escapedBackslash, backslash);
+        generator.transition(escape, word, digit, boundary, other);
+        generator.error(oddEscape, INVALID_ESCAPE, eof, whitespace, letter);
+        generator.transition(oddEscape, escape, backslash);
+        generator.transition(oddEscape, oddWord, digit, boundary, other);
+
+        generator.error(escapedBackslash, INVALID_ESCAPE, eof);
+        generator.transition(escapedBackslash, escape, backslash);
+        generator.transition(escapedBackslash, oddWord, letter, digit, boundary, other);
+
+        int extendedWord = generator.state(TokenType.WORD.ordinal());
+        generator.transition(EXTENDED_START, extendedWord, backslash, letter, digit, other);
+        generator.transition(extendedWord, extendedWord, backslash, letter, digit, other);
+
+        TABLE = generator.generate();
+    }
+
     /**
      * Creates a new {@code Lexer} instance for the given input text.
      *
@@ -54,198 +172,166 @@ public class Lexer {
      * @return a new {@link Token} instance.
      */
     public Token nextToken() {
-        if (this.token != null && this.token.getType() == TokenType.EOF) throw new LexerException("Cannot tokenize after reading EOF!");
+        this.advance();
+        return this.getToken();
+    }
 
-        if (this.isEOF(this.currentIndex)) return this.token;
-        this.skipWhitespace();
-        if (this.isEOF(this.currentIndex)) return this.token;
+    /**
+     * Finds the next token within the input text, depending on the current {@code state}, without creating its value.
+     * A word in the extended state that is ended by the boundary character switches the lexer back to the basic state.
+     * Numbers are not parsed until their value is requested.
+     *
+     * @throws LexerException when trying to fetch a new token after obtaining EOF as the previous token's type or when unable to generate a token.
+     * @return type of the next token.
+     */
+    public TokenType advance() {
+        if (this.tokenType == TokenType.EOF) throw new LexerException("Cannot tokenize after reading EOF!");
 
-        if (this.state == LexerState.EXTENDED) {
-            Token extendedToken = tokenizeStringOfCharactersAsWord();
-            if (extendedToken != null) return extendedToken;
-        }
+        this.token = null;
+        while (true) {
+            this.tokenOffset = this.currentIndex;
+            if (this.currentIndex >= this.data.length) {
+                this.tokenType = TokenType.EOF;
+                return this.tokenType;
+            }
 
-        if (Character.isLetter(this.data[this.currentIndex]) || this.data[this.currentIndex] == '\\') return tokenizeWord();
+            if (this.state == LexerState.EXTENDED && this.data[this.currentIndex] == EXTENDED_STATE_BOUNDARY) this.state = LexerState.BASIC;
+            int start = this.state == LexerState.BASIC ? BASIC_START : EXTENDED_START;
 
-        if (Character.isDigit(this.data[this.currentIndex])) return tokenizeNumber();
+            long result = TABLE.match(this.data, this.currentIndex, start);
+            int type = LexerTable.type(result);
+            if (type == LexerTable.NO_MATCH) throw new LexerException("Cannot generate a token!");
+            if (type < LexerTable.NO_MATCH) throw new LexerException("Invalid escape!");
 
-        if (!Character.isLetter(this.data[this.currentIndex]) || !Character.isDigit(this.data[this.currentIndex])) return tokenizeSymbol();
+            this.currentIndex = LexerTable.end(result);
+            if (type == WHITESPACE) continue;
 
-        throw new LexerException("Cannot generate a token!");
+            this.tokenType = TYPES[type];
+            this.tokenStart = start;
+            this.tokenTransformed = LexerTable.isTransformed(result);
+            if (this.tokenType == TokenType.WORD && this.state == LexerState.EXTENDED && this.currentIndex < this.data.length
+                    && this.data[this.currentIndex] == EXTENDED_STATE_BOUNDARY) {
+                this.state = LexerState.BASIC;
+            }
+            return this.tokenType;
+        }
     }
 
     /**
-     * Fetches the last generated token.
+     * Fetches the last generated token, creating it if it has not been created yet.
      *
-     * @throws LexerException when trying to fetch the last token within the lexer that hasn't tokenized anything yet.
+     * @throws LexerException when trying to fetch the last token within the lexer that hasn't tokenized anything yet or when the number trying to be tokenized
+     * cannot be parsed into a long.
      * @return last generated token.
      */
     public Token getToken() {
-        if (this.token == null) throw new LexerException("Cannot get last token when nothing has been tokenized yet!");
+        this.checkToken();
+
+        if (this.token == null) {
+            this.token = switch (this.tokenType) {
+                case EOF -> new Token(TokenType.EOF, null);
+                case WORD -> new Token(TokenType.WORD, this.getTokenText());
+                case NUMBER -> new Token(TokenType.NUMBER, this.getTokenLong());
+                case SYMBOL -> new Token(TokenType.SYMBOL, this.getTokenSymbol());
+            };
+        }
         return this.token;
     }
 
     /**
-     * Sets the lexer state to the given {@code state}.
+     * Fetches the type of the last generated token.
      *
-     * @param state new lexer state of the current lexer.
-     * @throws NullPointerException when the given {@code state} is {@code null}.
+     * @throws LexerException when trying to fetch the type of the last token within the lexer that hasn't tokenized anything yet.
+     * @return type of the last generated token.
      */
-    public void setState(LexerState state) {
-        if (state == null) throw new NullPointerException("The state cannot be set to null");
-        this.state = state;
-    }
-
-    /**
-     * Skips all whitespace characters in the {@code data} array until encountering a non-whitespace character;
-     */
-    private void skipWhitespace() {
-        for (int i = this.currentIndex, dataLength = this.data.length; i < dataLength; i++, this.currentIndex++) {
-            if (this.currentIndex == this.data.length || !this.isWhitespace(this.data[this.currentIndex])) break;
-        }
+    public TokenType getTokenType() {
+        this.checkToken();
+        return this.tokenType;
     }
 
     /**
-     * Determines whether the given {@code character} is a whitespace character.
+     * Fetches the index of the first character of the last generated token within the input text.
      *
-     * @param character char that is to be checked.
-     * @return {@code true} if the given {@code character} is a whitespace character, {@code false} otherwise.
+     * @throws LexerException when trying to fetch the offset of the last token within the lexer that hasn't tokenized anything yet.
+     * @return offset of the last generated token, the length of the input text for the EOF token.
      */
-    private boolean isWhitespace(char character) {
-        return character == ' ' || character == '\r' || character == '\n' || character == '\t';
+    public int getTokenOffset() {
+        this.checkToken();
+        return this.tokenOffset;
     }
 
     /**
-     * Determines whether the given {@code index} is over the upper boundary of the {@code data} array and
-     * is a part of the decision whether the tokenization of an EOF token is to be performed.
+     * Fetches the number of characters of the input text the last generated token was made from.
      *
-     * @param index int that is to be checked.
-     * @return {@code true} if the given {@code index} is over the upper boundary, {@code false} otherwise.
+     * @throws LexerException when trying to fetch the length of the last token within the lexer that hasn't tokenized anything yet.
+     * @return length of the last generated token, 0 for the EOF token.
      */
-    private boolean isEOF(int index) {
-        if (index >= this.data.length) {
-            this.token = new Token(TokenType.EOF, null);
-            return true;
-        }
-        return false;
+    public int getTokenLength() {
+        this.checkToken();
+        return this.currentIndex - this.tokenOffset;
     }
 
     /**
-     * Creates a new word {@link Token} instance.
+     * Creates the text of the last generated token, which is its value with resolved escapes for words and its characters for all other tokens.
      *
-     * @throws LexerException when invalid escaping is attempted.
-     * @return word {@link Token}.
+     * @throws LexerException when trying to fetch the text of the last token within the lexer that hasn't tokenized anything yet.
+     * @return text of the last generated token, {@code null} for the EOF token.
      */
-    private Token tokenizeWord() {
-        StringBuilder sb = new StringBuilder();
-
-        for (int i = this.currentIndex, dataLength = this.data.length, escapeBackslashCounter = 0; i < dataLength; i++, this.currentIndex++) {
-            if (this.isWhitespace(this.data[i])) {
-                this.currentIndex--;
-                break;
-            }
-
-            if (this.data[i] == '\\' && this.isEOF(this.currentIndex+1)) { //xyz\EOF
-                throw new LexerException("Invalid escape!");
-            } else if (i-1>=0 && isWhitespace(this.data[i - 1]) && this.data[i] == '\\' && this.isEOF(this.currentIndex)) { //xyz \EOF
-                throw new LexerException("Invalid escape!");
-            } else if (i-1>=0 && this.data[i] == '\\' && this.data[i-1] == '\\' && ++escapeBackslashCounter % 2 != 0) { //safe from odd number of \
-                sb.append(this.data[i]);
-                continue;
-            } else if (i+1 < this.data.length && this.data[i] == '\\' && (this.isWhitespace(this.data[i+1]) || Character.isLetter(this.data[i+1]))) { // \  or \letter
-                throw new LexerException("Invalid escape!");
-            } else if (i-1>=0 && !(Character.isLetter(this.data[i]) || this.data[i] == '\\') && this.data[i-1] != '\\') { //a characher that is not a letter or a \ within a word
-                                                                                                                          // was not escaped
-                this.currentIndex--;
-                break;
-            } else if (this.data[i] == '\\') { //safe escaping within a word
-                continue;
-            }
-
-            sb.append(this.data[i]);
-
-        }
-
-        this.currentIndex++;
+    public String getTokenText() {
+        this.checkToken();
 
-        return new Token(TokenType.WORD, sb.toString());
+        if (this.tokenType == TokenType.EOF) return null;
+        if (this.tokenTransformed) return TABLE.value(this.data, this.tokenOffset, this.currentIndex, this.tokenStart);
+        return new String(this.data, this.tokenOffset, this.currentIndex - this.tokenOffset);
     }
 
     /**
-     * Creates a new number {@link Token} instance.
+     * Parses the value of the last generated token, which has to be of the {@code NUMBER} type.
      *
-     * @throws LexerException when the generated number cannot be parsed into a long.
-     * @return number {@link Token}.
+     * @throws LexerException when the last token does not exist, is not of the {@code NUMBER} type or cannot be parsed into a long.
+     * @return value of the last generated token.
      */
-    private Token tokenizeNumber() {
-        StringBuilder sb = new StringBuilder();
-
-        for (int i = this.currentIndex, dataLength = this.data.length; i < dataLength; i++, this.currentIndex++) {
-            if (this.isWhitespace(this.data[i])) {
-                this.currentIndex--;
-                break;
-            }
-
-            if (!Character.isDigit(this.data[i])) {
-                this.currentIndex--;
-                break;
-            }
-
-            sb.append(this.data[i]);
-        }
-
-        this.currentIndex++;
+    public long getTokenLong() {
+        this.checkToken();
+        if (this.tokenType != TokenType.NUMBER) throw new LexerException("The last token is not a number!");
 
         try {
-            this.token =  new Token(TokenType.NUMBER, Long.parseLong(sb.toString()));
-            return this.token;
+            return NumberParser.parseLong(this.data, this.tokenOffset, this.currentIndex);
         } catch (NumberFormatException e) {
             throw new LexerException("The number trying to be tokenized cannot be parsed into a long!");
         }
     }
 
     /**
-     * Creates a new symbol {@link Token} instance.
+     * Fetches the value of the last generated token, which has to be of the {@code SYMBOL} type.
      *
-     * @return symbol {@link Token}.
+     * @throws LexerException when the last token does not exist or is not of the {@code SYMBOL} type.
+     * @return value of the last generated token.
      */
-    private Token tokenizeSymbol() {
-        this.token = new Token(TokenType.SYMBOL, this.data[currentIndex++]);
-        return this.token;
+    public char getTokenSymbol() {
+        this.checkToken();
+        if (this.tokenType != TokenType.SYMBOL) throw new LexerException("The last token is not a symbol!");
+
+        return this.data[this.tokenOffset];
     }
 
     /**
-     * Creates a new word {@link Token} instance within the {@code LexerState.EXTENDED} state.
+     * Sets the lexer state to the given {@code state}.
      *
-     * @return word {@link Token}.
+     * @param state new lexer state of the current lexer.
+     * @throws NullPointerException when the given {@code state} is {@code null}.
      */
-    private Token tokenizeStringOfCharactersAsWord() {
-        StringBuilder sb = new StringBuilder();
-
-        for (int i = this.currentIndex, dataLength = this.data.length; i < dataLength; i++, this.currentIndex++) {
-            if (this.data[i] == EXTENDED_STATE_BOUNDARY) {
-                this.state = LexerState.BASIC;
-                if (sb.isEmpty()) {
-                    return null;
-                } else {
-                    this.currentIndex--;
-                    break;
-                }
-            }
-
-            if (this.isWhitespace(this.data[i])) {
-                this.currentIndex--;
-                break;
-            }
-
-            sb.append(this.data[i]);
-
-        }
-
-        this.currentIndex++;
-        this.token = new Token(TokenType.WORD, sb.toString());
-
-        return this.token;
+    public void setState(LexerState state) {
+        if (state == null) throw new NullPointerException("The state cannot be set to null");
+        this.state = state;
+    }
 
+    /**
+     * Checks whether any token has been generated.
+     *
+     * @throws LexerException when the lexer hasn't tokenized anything yet.
+     */
+    private void checkToken() {
+        if (this.tokenType == null) throw new LexerException("Cannot get last token when nothing has been tokenized yet!");
     }
 }
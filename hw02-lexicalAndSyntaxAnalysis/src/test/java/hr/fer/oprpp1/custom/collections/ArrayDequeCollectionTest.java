@@ -0,0 +1,123 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrayDequeCollectionTest {
+
+    private ArrayDequeCollection emptyDeque;
+    private ArrayDequeCollection dequeContainingElements;
+
+    @BeforeEach
+    void setUp() {
+        emptyDeque = new ArrayDequeCollection();
+
+        dequeContainingElements = new ArrayDequeCollection(4);
+        dequeContainingElements.addLast(2);
+        dequeContainingElements.addLast(3);
+        dequeContainingElements.addFirst(1);
+    }
+
+    @Test
+    void testConstructorInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrayDequeCollection(0));
+    }
+
+    @Test
+    void testAddNull() {
+        assertThrows(NullPointerException.class, () -> emptyDeque.add(null));
+        assertThrows(NullPointerException.class, () -> emptyDeque.addFirst(null));
+        assertThrows(NullPointerException.class, () -> emptyDeque.addLast(null));
+    }
+
+    @Test
+    void testAddBothEnds() {
+        assertEquals(3, dequeContainingElements.size());
+        assertArrayEquals(new Object[]{1, 2, 3}, dequeContainingElements.toArray());
+    }
+
+    @Test
+    void testAddWrappingAroundAndResizing() {
+        dequeContainingElements.addFirst(0);
+        dequeContainingElements.addLast(4);
+        dequeContainingElements.addFirst(-1);
+
+        assertEquals(6, dequeContainingElements.size());
+        assertArrayEquals(new Object[]{-1, 0, 1, 2, 3, 4}, dequeContainingElements.toArray());
+    }
+
+    @Test
+    void testRemoveFirstAndLast() {
+        assertEquals(1, dequeContainingElements.removeFirst());
+        assertEquals(3, dequeContainingElements.removeLast());
+        assertEquals(2, dequeContainingElements.removeLast());
+        assertTrue(dequeContainingElements.isEmpty());
+    }
+
+    @Test
+    void testRemoveFromEmpty() {
+        assertThrows(NoSuchElementException.class, () -> emptyDeque.removeFirst());
+        assertThrows(NoSuchElementException.class, () -> emptyDeque.removeLast());
+    }
+
+    @Test
+    void testPeek() {
+        assertEquals(1, dequeContainingElements.peekFirst());
+        assertEquals(3, dequeContainingElements.peekLast());
+        assertEquals(3, dequeContainingElements.size());
+        assertThrows(NoSuchElementException.class, () -> emptyDeque.peekFirst());
+        assertThrows(NoSuchElementException.class, () -> emptyDeque.peekLast());
+    }
+
+    @Test
+    void testContains() {
+        assertTrue(dequeContainingElements.contains(2));
+        assertFalse(dequeContainingElements.contains(5));
+        assertFalse(dequeContainingElements.contains(null));
+    }
+
+    @Test
+    void testRemoveValue() {
+        dequeContainingElements.addFirst(0);
+
+        assertTrue(dequeContainingElements.remove(Integer.valueOf(1)));
+        assertFalse(dequeContainingElements.remove(Integer.valueOf(1)));
+        assertArrayEquals(new Object[]{0, 2, 3}, dequeContainingElements.toArray());
+        assertEquals(3, dequeContainingElements.peekLast());
+    }
+
+    @Test
+    void testClear() {
+        dequeContainingElements.clear();
+
+        assertEquals(0, dequeContainingElements.size());
+        assertArrayEquals(new Object[0], dequeContainingElements.toArray());
+        dequeContainingElements.addFirst(7);
+        assertEquals(7, dequeContainingElements.peekLast());
+    }
+
+    @Test
+    void testElementsGetterOrder() {
+        dequeContainingElements.addFirst(0);
+        ElementsGetter getter = dequeContainingElements.createElementsGetter();
+
+        for (int expected = 0; expected < 4; expected++) {
+            assertEquals(expected, getter.getNextElement());
+        }
+        assertFalse(getter.hasNextElement());
+        assertThrows(NoSuchElementException.class, getter::getNextElement);
+    }
+
+    @Test
+    void testElementsGetterConcurrentModification() {
+        ElementsGetter getter = dequeContainingElements.createElementsGetter();
+        dequeContainingElements.removeFirst();
+
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+    }
+}
@@ -0,0 +1,90 @@
+package hr.fer.oprpp1.custom.lexing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LexerGeneratorTest {
+
+    private static final int NUMBER = 0;
+    private static final int WORD = 1;
+
+    private static final char[] INPUT = "abc 123 a\\1b\\\\".toCharArray();
+
+    private LexerTable table() {
+        LexerGenerator generator = new LexerGenerator();
+        int backslash = generator.charClass("\\");
+        int digit = generator.charClass(Character::isDigit);
+        int letter = generator.charClass(Character::isLetter);
+
+        int start = generator.state();
+        int number = generator.state(NUMBER), word = generator.state(WORD), escape = generator.state();
+        generator.omit(escape);
+        generator.transition(start, number, digit);
+        generator.transition(number, number, digit);
+        generator.transition(start, word, letter);
+        generator.transition(word, word, letter);
+        generator.transition(word, escape, backslash);
+        generator.transition(escape, word, backslash, digit);
+        generator.error(escape, 3, LexerGenerator.END_OF_INPUT);
+        generator.otherwiseError(escape, 4);
+
+        return generator.generate();
+    }
+
+    @Test
+    public void testLongestMatch() {
+        LexerTable table = table();
+
+        long result = table.match(INPUT, 0, 0);
+        assertEquals(WORD, LexerTable.type(result));
+        assertEquals(3, LexerTable.end(result));
+        assertFalse(LexerTable.isTransformed(result));
+
+        result = table.match(INPUT, 4, 0);
+        assertEquals(NUMBER, LexerTable.type(result));
+        assertEquals(7, LexerTable.end(result));
+    }
+
+    @Test
+    public void testNoMatch() {
+        assertEquals(LexerTable.NO_MATCH, LexerTable.type(table().match(INPUT, 3, 0)));
+    }
+
+    @Test
+    public void testOmittedCharacters() {
+        LexerTable table = table();
+
+        long result = table.match(INPUT, 8, 0);
+        assertEquals(WORD, LexerTable.type(result));
+        assertEquals(INPUT.length, LexerTable.end(result));
+        assertTrue(LexerTable.isTransformed(result));
+        assertEquals("a1b\\", table.value(INPUT, 8, LexerTable.end(result), 0));
+    }
+
+    @Test
+    public void testErrors() {
+        LexerTable table = table();
+
+        long result = table.match("ab\\".toCharArray(), 0, 0);
+        assertTrue(LexerTable.type(result) < LexerTable.NO_MATCH);
+        assertEquals(3, LexerTable.errorCode(result));
+        assertEquals(3, LexerTable.end(result));
+
+        result = table.match("ab\\c".toCharArray(), 0, 0);
+        assertEquals(4, LexerTable.errorCode(result));
+        assertEquals(3, LexerTable.end(result));
+    }
+
+    @Test
+    public void testInvalidDefinitions() {
+        LexerGenerator generator = new LexerGenerator();
+        int state = generator.state();
+
+        assertThrows(NullPointerException.class, () -> generator.charClass((String) null));
+        assertThrows(IllegalArgumentException.class, () -> generator.transition(state, 5, LexerGenerator.OTHER));
+        assertThrows(IllegalArgumentException.class, () -> generator.transition(state, state, 10));
+        assertThrows(IllegalArgumentException.class, () -> generator.error(state, -1, LexerGenerator.OTHER));
+        assertThrows(IllegalArgumentException.class, () -> generator.state(-2));
+    }
+}
@@ -0,0 +1,63 @@
+package hr.fer.oprpp1.custom.lexing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumberParserTest {
+
+    private long parseLong(String number) {
+        char[] data = ("x" + number + "x").toCharArray();
+        return NumberParser.parseLong(data, 1, data.length - 1);
+    }
+
+    private int parseInt(String number) {
+        char[] data = ("x" + number + "x").toCharArray();
+        return NumberParser.parseInt(data, 1, data.length - 1);
+    }
+
+    private double parseDouble(String number) {
+        char[] data = ("x" + number + "x").toCharArray();
+        return NumberParser.parseDouble(data, 1, data.length - 1);
+    }
+
+    @Test
+    public void testParseLong() {
+        assertEquals(0, parseLong("0"));
+        assertEquals(463, parseLong("463"));
+        assertEquals(-17, parseLong("-17"));
+        assertEquals(Long.MAX_VALUE, parseLong(String.valueOf(Long.MAX_VALUE)));
+        assertEquals(Long.MIN_VALUE, parseLong(String.valueOf(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void testParseInvalidLong() {
+        assertThrows(NumberFormatException.class, () -> parseLong(""));
+        assertThrows(NumberFormatException.class, () -> parseLong("-"));
+        assertThrows(NumberFormatException.class, () -> parseLong("1-2"));
+        assertThrows(NumberFormatException.class, () -> parseLong("9223372036854775808"));
+        assertThrows(NumberFormatException.class, () -> parseLong("12345678901234567890"));
+    }
+
+    @Test
+    public void testParseInt() {
+        assertEquals(Integer.MAX_VALUE, parseInt(String.valueOf(Integer.MAX_VALUE)));
+        assertEquals(Integer.MIN_VALUE, parseInt(String.valueOf(Integer.MIN_VALUE)));
+        assertThrows(NumberFormatException.class, () -> parseInt("2147483648"));
+    }
+
+    @Test
+    public void testParseDouble() {
+        for (String number : new String[] {"0.0", "-0.0", "3.14", "-2.5", "1.", "12345678901234.5", "0.1", "1234567890123456.789", "0.30000000000000004"}) {
+            assertEquals(Double.parseDouble(number), parseDouble(number), number);
+        }
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(parseDouble("-0.0")));
+    }
+
+    @Test
+    public void testParseInvalidDouble() {
+        assertThrows(NumberFormatException.class, () -> parseDouble("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> parseDouble("-"));
+        assertThrows(NumberFormatException.class, () -> parseDouble("1-2"));
+    }
+}
@@ -0,0 +1,140 @@
+package hr.fer.oprpp1.custom.scripting.exec;
+
+import hr.fer.oprpp1.custom.scripting.parser.SmartScriptParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmartScriptProgramTest {
+
+    private String render(String document) {
+        return render(document, Map.of());
+    }
+
+    private String render(String document, Map<String, String> parameters) {
+        StringWriter writer = new StringWriter();
+        try {
+            SmartScriptProgram.compile(new SmartScriptParser(document).getDocumentNode()).execute(writer, parameters);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return writer.toString();
+    }
+
+    private SmartScriptProgram compile(String document) {
+        return SmartScriptProgram.compile(new SmartScriptParser(document).getDocumentNode());
+    }
+
+    @Test
+    public void testNullArguments() {
+        assertThrows(NullPointerException.class, () -> SmartScriptProgram.compile(null));
+        assertThrows(NullPointerException.class, () -> compile("text").execute(null));
+        assertThrows(NullPointerException.class, () -> compile("text").execute(new StringWriter(), null));
+    }
+
+    @Test
+    public void testTextIsWrittenAsIs() {
+        assertEquals("", render(""));
+        assertEquals("Some {text} with \\ escapes.", render("Some \\{text} with \\\\ escapes."));
+    }
+
+    @Test
+    public void testNeighbouringTextIsMerged() {
+        assertEquals(1, compile("first \\{ second \\\\ third").numberOfInstructions());
+    }
+
+    @Test
+    public void testEchoWritesStackFromBottomToTop() {
+        assertEquals("1-2.5abc", render("{$= 1 -2.5 \"abc\" $}"));
+    }
+
+    @Test
+    public void testIntegerArithmetic() {
+        assertEquals("7 1 12 3", render("{$= 3 4 + $} {$= 4 3 - $} {$= 3 4 * $} {$= 7 2 / $}"));
+    }
+
+    @Test
+    public void testDoubleArithmeticAndPower() {
+        assertEquals("3.5 8.0 0.5", render("{$= 1 2.5 + $} {$= 2 3 ^ $} {$= 1.0 2 / $}"));
+    }
+
+    @Test
+    public void testStringsAreConvertedToNumbers() {
+        assertEquals("5 3.5", render("{$= \"2\" 3 + $} {$= \"1.5\" 2 + $}"));
+        assertThrows(SmartScriptExecutionException.class, () -> render("{$= \"abc\" 3 + $}"));
+    }
+
+    @Test
+    public void testIntegerDivisionByZeroThrows() {
+        assertThrows(SmartScriptExecutionException.class, () -> render("{$= 1 0 / $}"));
+    }
+
+    @Test
+    public void testFunctions() {
+        assertEquals("1.000", render("{$= 90 @sin \"0.000\" @decfmt $}"));
+        assertEquals("33", render("{$= 3 @dup $}"));
+        assertEquals("21", render("{$= 1 2 @swap $}"));
+        assertEquals("Ana 7", render("{$= \"name\" \"nobody\" @paramGet \" \" \"age\" 7 @paramGet $}", Map.of("name", "Ana")));
+    }
+
+    @Test
+    public void testForLoop() {
+        assertEquals("1 2 3 ", render("{$ FOR i 1 3 $}{$= i $} {$END$}"));
+        assertEquals("0 2 4 ", render("{$ FOR i 0 5 2 $}{$= i $} {$END$}"));
+        assertEquals("", render("{$ FOR i 3 1 $}{$= i $}{$END$}"));
+        assertEquals("1 1.5 2.0 ", render("{$ FOR i 1 2 0.5 $}{$= i $} {$END$}"));
+        assertEquals("1 2 ", render("{$ FOR i \"1\" \"2\" $}{$= i $} {$END$}"));
+    }
+
+    @Test
+    public void testNestedForLoops() {
+        assertEquals("1:1 1:2 2:2 2:4 ", render("{$ FOR i 1 2 $}{$ FOR j 1 2 $}{$= i $}:{$= i j * $} {$END$}{$END$}"));
+    }
+
+    @Test
+    public void testInnerLoopShadowsOuterVariable() {
+        assertEquals("1[56]12[56]2", render("{$ FOR i 1 2 $}{$= i $}[{$ FOR i 5 6 $}{$= i $}{$END$}]{$= i $}{$END$}"));
+        assertEquals("234", render("{$ FOR i 2 2 $}{$ FOR i i 4 $}{$= i $}{$END$}{$END$}"));
+    }
+
+    @Test
+    public void testCompilationErrors() {
+        assertThrows(SmartScriptExecutionException.class, () -> compile("{$= x $}"));
+        assertThrows(SmartScriptExecutionException.class, () -> compile("{$ FOR i 1 2 $}{$END$}{$= i $}"));
+        assertThrows(SmartScriptExecutionException.class, () -> compile("{$= 1 @unknown $}"));
+        assertThrows(SmartScriptExecutionException.class, () -> compile("{$= 1 + $}"));
+        assertThrows(SmartScriptExecutionException.class, () -> compile("{$= @swap $}"));
+    }
+
+    @Test
+    public void testConcurrentExecutionsAreIndependent() throws Exception {
+        SmartScriptProgram program = compile("{$ FOR i 1 200 $}{$ FOR j 1 20 $}{$= i j * \"0.0\" @decfmt $},{$END$}{$END$}");
+        StringWriter expected = new StringWriter();
+        program.execute(expected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[16];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    StringWriter writer = new StringWriter();
+                    program.execute(writer);
+                    assertEquals(expected.toString(), writer.toString());
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
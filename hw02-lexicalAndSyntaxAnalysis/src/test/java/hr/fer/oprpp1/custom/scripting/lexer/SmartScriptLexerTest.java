@@ -409,6 +409,90 @@ public class SmartScriptLexerTest {
         assertThrows(SmartScriptLexerException.class, lexer::nextToken);
     }
 
+    @Test
+    public void testTokenOffsetAndLength() {
+        SmartScriptLexer lexer = new SmartScriptLexer("ab{$ FOR i 10 $}");
+        assertThrows(SmartScriptLexerException.class, lexer::getTokenOffset);
+
+        lexer.nextToken();
+        assertEquals(0, lexer.getTokenOffset());
+        assertEquals(2, lexer.getTokenLength());
+        lexer.nextToken();
+        lexer.setState(SmartScriptLexerState.TAG);
+        lexer.nextToken();
+        assertEquals(5, lexer.getTokenOffset());
+        assertEquals(3, lexer.getTokenLength());
+        lexer.nextToken();
+        lexer.nextToken();
+        assertEquals(11, lexer.getTokenOffset());
+        assertEquals(2, lexer.getTokenLength());
+    }
+
+    @Test
+    public void testNumberEndingInput() {
+        SmartScriptLexer lexer = new SmartScriptLexer("{$= 12");
+        skipTagStart(lexer);
+
+        assertEquals(12, lexer.nextToken().getValue());
+        checkEOF(lexer);
+    }
+
+    @Test
+    public void testUnclosedString() {
+        SmartScriptLexer lexer = new SmartScriptLexer("{$= \"abc\\n");
+        skipTagStart(lexer);
+
+        assertThrows(SmartScriptLexerException.class, lexer::nextToken);
+    }
+
+    @Test
+    public void testEscapeBeforeClosingQuote() {
+        SmartScriptLexer lexer = new SmartScriptLexer("{$= \"a\\n\" $}");
+        skipTagStart(lexer);
+
+        assertEquals("a\n", lexer.nextToken().getValue());
+        assertEquals(SmartScriptTokenType.TAG_END, lexer.nextToken().getType());
+    }
+
+    @Test
+    public void testAdvanceWithoutTokens() {
+        SmartScriptLexer lexer = new SmartScriptLexer("a\\{b{$= x -3 2.5 \"s\\n\" $}");
+
+        assertEquals(SmartScriptTokenType.STRING_TEXT, lexer.advance());
+        assertEquals("a{b", lexer.getTokenText());
+        assertEquals(SmartScriptTokenType.TAG_START, lexer.advance());
+        lexer.setState(SmartScriptLexerState.TAG);
+        assertEquals(SmartScriptTokenType.IDENTIFIER, lexer.advance());
+        assertEquals(SmartScriptTokenType.IDENTIFIER, lexer.advance());
+        assertEquals("x", lexer.getTokenText());
+        assertEquals(SmartScriptTokenType.INTEGER, lexer.advance());
+        assertEquals(-3, lexer.getTokenInt());
+        assertEquals(-3.0, lexer.getTokenDouble());
+        assertEquals(SmartScriptTokenType.DOUBLE, lexer.advance());
+        assertEquals(2.5, lexer.getTokenDouble());
+        assertThrows(SmartScriptLexerException.class, lexer::getTokenInt);
+        assertEquals(SmartScriptTokenType.STRING_TAG, lexer.advance());
+        assertEquals("s\n", lexer.getTokenText());
+        assertEquals("s\n", lexer.getToken().getValue());
+        assertSame(lexer.getToken(), lexer.getToken());
+        assertEquals(SmartScriptTokenType.TAG_END, lexer.advance());
+        lexer.setState(SmartScriptLexerState.TEXT);
+        assertEquals(SmartScriptTokenType.EOF, lexer.advance());
+        assertNull(lexer.getTokenText());
+        assertThrows(SmartScriptLexerException.class, lexer::advance);
+    }
+
+    @Test
+    public void testLazyInvalidNumber() {
+        SmartScriptLexer lexer = new SmartScriptLexer("{$= 1-2 $}");
+        skipTagStart(lexer);
+
+        assertEquals(SmartScriptTokenType.INTEGER, lexer.advance());
+        assertEquals(3, lexer.getTokenLength());
+        assertThrows(NumberFormatException.class, lexer::getTokenInt);
+        assertThrows(NumberFormatException.class, lexer::getToken);
+    }
+
     private void skipTagStart(SmartScriptLexer lexer) {
         lexer.nextToken();
         lexer.setState(SmartScriptLexerState.TAG);
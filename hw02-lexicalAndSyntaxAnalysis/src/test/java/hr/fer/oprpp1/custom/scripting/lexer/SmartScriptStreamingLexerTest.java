@@ -0,0 +1,203 @@
+package hr.fer.oprpp1.custom.scripting.lexer;
+
+import hr.fer.oprpp1.custom.scripting.demo.TemplateGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmartScriptStreamingLexerTest {
+
+    private String readExample(int n) {
+        try(InputStream is = this.getClass().getClassLoader().getResourceAsStream("extra/primjer"+n+".txt")) {
+            return new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8);
+        } catch(IOException ex) {
+            throw new RuntimeException("Error while reading the file.", ex);
+        }
+    }
+
+    @Test
+    public void testNullInput() {
+        assertThrows(NullPointerException.class, () -> new SmartScriptStreamingLexer((Reader) null));
+        assertThrows(NullPointerException.class, () -> new SmartScriptStreamingLexer((CharBuffer) null));
+    }
+
+    @Test
+    public void testTooSmallBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new SmartScriptStreamingLexer(new StringReader(""), 3));
+    }
+
+    @Test
+    public void testSetStateNull() {
+        assertThrows(NullPointerException.class, () -> new SmartScriptStreamingLexer(CharBuffer.wrap("")).setState(null));
+    }
+
+    @Test
+    public void testGetTokenBeforeTokenizingThrows() {
+        assertThrows(SmartScriptLexerException.class, () -> new SmartScriptStreamingLexer(CharBuffer.wrap("")).getToken());
+    }
+
+    @Test
+    public void testTokenizingAfterEOF() {
+        SmartScriptStreamingLexer lexer = new SmartScriptStreamingLexer(new StringReader(""));
+
+        assertEquals(SmartScriptTokenType.EOF, lexer.nextToken().getType());
+        assertEquals(SmartScriptTokenType.EOF, lexer.getToken().getType());
+        assertThrows(SmartScriptLexerException.class, lexer::nextToken);
+    }
+
+    @Test
+    public void testTextIsSplitAtEscapes() {
+        SmartScriptStreamingLexer lexer = new SmartScriptStreamingLexer(CharBuffer.wrap("ab\\{cd\\\\"));
+
+        assertEquals("ab", lexer.nextToken().getValue().toString());
+        assertEquals("{cd", lexer.nextToken().getValue().toString());
+        assertEquals("\\", lexer.nextToken().getValue().toString());
+        assertEquals(SmartScriptTokenType.EOF, lexer.nextToken().getType());
+    }
+
+    @Test
+    public void testTextTokensAreSlicesOfCharBuffer() {
+        CharBuffer input = CharBuffer.wrap("text {$END$}");
+        SmartScriptToken token = new SmartScriptStreamingLexer(input).nextToken();
+
+        assertTrue(token.getValue() instanceof CharBuffer);
+        assertEquals("text ", token.getValue().toString());
+        assertEquals(0, input.position());
+    }
+
+    @Test
+    public void testInvalidTextThrows() {
+        assertThrows(SmartScriptLexerException.class, () -> new SmartScriptStreamingLexer(CharBuffer.wrap("a \\n")).nextToken());
+        assertThrows(SmartScriptLexerException.class, () -> new SmartScriptStreamingLexer(CharBuffer.wrap("a { b")).nextToken());
+        assertThrows(SmartScriptLexerException.class, () -> new SmartScriptStreamingLexer(CharBuffer.wrap("a \\")).nextToken());
+    }
+
+    @Test
+    public void testUnclosedStringAndTagThrow() {
+        SmartScriptStreamingLexer string = new SmartScriptStreamingLexer(new StringReader("{$= \"abc"), 4);
+        skipTagStart(string);
+        assertThrows(SmartScriptLexerException.class, string::nextToken);
+
+        SmartScriptStreamingLexer tag = new SmartScriptStreamingLexer(new StringReader("{$= a   "), 4);
+        skipTagStart(tag);
+        assertEquals("a", tag.nextToken().getValue());
+        assertThrows(SmartScriptLexerException.class, tag::nextToken);
+    }
+
+    @Test
+    public void testNumbersMatchSmartScriptLexer() {
+        SmartScriptStreamingLexer lexer = new SmartScriptStreamingLexer(new StringReader("{$= -12 3.25 7hello$}"), 4);
+        skipTagStart(lexer);
+
+        assertEquals(-12, lexer.nextToken().getValue());
+        assertEquals(3.25, lexer.nextToken().getValue());
+        assertEquals(7, lexer.nextToken().getValue());
+        assertEquals("hello", lexer.nextToken().getValue());
+
+        SmartScriptStreamingLexer invalid = new SmartScriptStreamingLexer(CharBuffer.wrap("{$= 2.2.5 $}"));
+        skipTagStart(invalid);
+        assertThrows(NumberFormatException.class, invalid::nextToken);
+    }
+
+    @Test
+    public void testExamplesMatchSmartScriptLexer() {
+        for (int n = 1; n <= 9; n++) {
+            String document = readExample(n);
+            List<String> expected = tokenize(document);
+
+            for (int bufferSize : new int[] {4, 5, 16, SmartScriptStreamingLexer.DEFAULT_BUFFER_SIZE}) {
+                assertEquals(expected, tokenize(() -> new SmartScriptStreamingLexer(new StringReader(document), bufferSize)), "primjer" + n + ", buffer " + bufferSize);
+            }
+            assertEquals(expected, tokenize(() -> new SmartScriptStreamingLexer(CharBuffer.wrap(document))), "primjer" + n);
+        }
+    }
+
+    @Test
+    public void testGeneratedDocumentMatchesSmartScriptLexer() {
+        String document = TemplateGenerator.generate(1 << 16);
+        List<String> expected = tokenize(document);
+
+        assertEquals(expected, tokenize(() -> new SmartScriptStreamingLexer(new StringReader(document), 7)));
+        assertEquals(expected, tokenize(() -> new SmartScriptStreamingLexer(new StringReader(document), 256)));
+        assertEquals(expected, tokenize(() -> new SmartScriptStreamingLexer(CharBuffer.wrap(document))));
+    }
+
+    @Test
+    public void testReadingFailureIsRethrown() {
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("failure");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertThrows(UncheckedIOException.class, () -> new SmartScriptStreamingLexer(failing).nextToken());
+    }
+
+    private List<String> tokenize(String document) {
+        SmartScriptLexer lexer = new SmartScriptLexer(document);
+        List<String> tokens = new ArrayList<>();
+
+        try {
+            for (SmartScriptToken token = lexer.nextToken(); token.getType() != SmartScriptTokenType.EOF; token = lexer.nextToken()) {
+                tokens.add(token.getType() + ":" + token.getValue());
+                if (token.getType() == SmartScriptTokenType.TAG_START) lexer.setState(SmartScriptLexerState.TAG);
+                if (token.getType() == SmartScriptTokenType.TAG_END) lexer.setState(SmartScriptLexerState.TEXT);
+            }
+        } catch (RuntimeException ex) {
+            tokens.add("ERROR");
+        }
+        return tokens;
+    }
+
+    private List<String> tokenize(Supplier<SmartScriptStreamingLexer> lexerSupplier) {
+        SmartScriptStreamingLexer lexer = lexerSupplier.get();
+        List<String> tokens = new ArrayList<>();
+        StringBuilder text = null;
+
+        try {
+            for (SmartScriptToken token = lexer.nextToken(); token.getType() != SmartScriptTokenType.EOF; token = lexer.nextToken()) {
+                if (token.getType() == SmartScriptTokenType.STRING_TEXT) {
+                    if (text == null) text = new StringBuilder();
+                    text.append((CharSequence) token.getValue());
+                    continue;
+                }
+                if (text != null) {
+                    tokens.add(SmartScriptTokenType.STRING_TEXT + ":" + text);
+                    text = null;
+                }
+
+                tokens.add(token.getType() + ":" + token.getValue());
+                if (token.getType() == SmartScriptTokenType.TAG_START) lexer.setState(SmartScriptLexerState.TAG);
+                if (token.getType() == SmartScriptTokenType.TAG_END) lexer.setState(SmartScriptLexerState.TEXT);
+            }
+        } catch (RuntimeException ex) {
+            tokens.add("ERROR");
+            return tokens;
+        }
+        if (text != null) tokens.add(SmartScriptTokenType.STRING_TEXT + ":" + text);
+        return tokens;
+    }
+
+    private void skipTagStart(SmartScriptStreamingLexer lexer) {
+        lexer.nextToken();
+        lexer.setState(SmartScriptLexerState.TAG);
+        lexer.nextToken();
+    }
+}
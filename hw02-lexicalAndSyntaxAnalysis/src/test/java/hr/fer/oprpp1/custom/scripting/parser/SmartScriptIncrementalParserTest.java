@@ -0,0 +1,150 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.demo.TemplateGenerator;
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.nodes.ForLoopNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmartScriptIncrementalParserTest {
+
+    private static final String[] INSERTED = {"", "x", " ", "\n", "{", "$", "}", "{$", "$}", "\\", "\\\\", "\"", "=", "{$END$}", "{$ FOR i 1 2 $}",
+            "{$= i \"a\" @sin $}", "{$ FOR j 0 \"5\" 1 $}text{$END$}", "1.5", "@"};
+
+    @Test
+    public void testInvalidArguments() {
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser("Text");
+
+        assertThrows(NullPointerException.class, () -> new SmartScriptIncrementalParser(null));
+        assertThrows(NullPointerException.class, () -> parser.edit(0, 0, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.edit(-1, 0, "a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.edit(0, -1, "a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> parser.edit(3, 2, "a"));
+        assertThrows(SmartScriptParserException.class, () -> new SmartScriptIncrementalParser("{$ FOR i 1 2 $}"));
+    }
+
+    @Test
+    public void testEditWithinForLoopBody() {
+        String document = "a {$ FOR i 1 2 $} b {$= i $} c {$END$} d {$ FOR j 1 2 $} e {$END$} f";
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser(document);
+        DocumentNode before = parser.getDocumentNode();
+
+        DocumentNode after = parser.edit(document.indexOf(" c "), 0, "{$= 3 $}");
+        String edited = parser.getDocumentBody();
+
+        assertEquals("a {$ FOR i 1 2 $} b {$= i $}{$= 3 $} c {$END$} d {$ FOR j 1 2 $} e {$END$} f", edited);
+        assertEquals(new SmartScriptParser(edited).getDocumentNode().toString(), after.toString());
+        assertEquals(4, after.getChild(1).numberOfChildren());
+        assertSame(before.getChild(0), after.getChild(0));
+        assertSame(before.getChild(3), after.getChild(3));
+        assertSame(before.getChild(1).getChild(0), after.getChild(1).getChild(0));
+        assertTrue(parser.getLastParsedLength() < edited.length());
+    }
+
+    @Test
+    public void testOldTreeIsNotChanged() {
+        String document = "a {$ FOR i 1 2 $} b {$END$} c";
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser(document);
+        DocumentNode before = parser.getDocumentNode();
+
+        parser.edit(document.indexOf(" b "), 3, "{$= i $}");
+
+        assertEquals(new SmartScriptParser(document).getDocumentNode().toString(), before.toString());
+        assertEquals(new SmartScriptParser(parser.getDocumentBody()).getDocumentNode().toString(), parser.getDocumentNode().toString());
+    }
+
+    @Test
+    public void testEditChangingStructure() {
+        String document = "a {$ FOR i 1 2 $} b {$END$} c {$ FOR j 1 2 $} d {$END$} e";
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser(document);
+
+        DocumentNode documentNode = parser.edit(document.indexOf(" {$END$}"), 0, "{$END$}{$ FOR k 1 2 $}");
+        assertEquals(new SmartScriptParser(parser.getDocumentBody()).getDocumentNode().toString(), documentNode.toString());
+        assertEquals(6, documentNode.numberOfChildren());
+
+        documentNode = parser.edit(parser.getDocumentBody().indexOf(" {$END$} c"), 0, "{$ FOR m 1 2 $}{$END$}");
+        assertEquals(new SmartScriptParser(parser.getDocumentBody()).getDocumentNode().toString(), documentNode.toString());
+        assertTrue(documentNode.getChild(2).getChild(0) instanceof ForLoopNode);
+    }
+
+    @Test
+    public void testInvalidEditKeepsState() {
+        String document = "a {$ FOR i 1 2 $} b {$END$} c";
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser(document);
+        DocumentNode before = parser.getDocumentNode();
+
+        assertThrows(SmartScriptParserException.class, () -> parser.edit(document.indexOf("{$END$}"), 7, ""));
+        assertThrows(SmartScriptParserException.class, () -> parser.edit(document.indexOf(" b "), 0, "{$ \"a $}"));
+        assertThrows(SmartScriptParserException.class, () -> parser.edit(0, 0, "\\"));
+
+        assertEquals(document, parser.getDocumentBody());
+        assertSame(before, parser.getDocumentNode());
+        assertEquals(new SmartScriptParser(document).getDocumentNode().toString(), parser.edit(document.length(), 0, "").toString());
+    }
+
+    @Test
+    public void testEditsOfEmptyDocument() {
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser("");
+
+        assertEquals(0, parser.getDocumentNode().numberOfChildren());
+        assertEquals(new SmartScriptParser("{$ FOR i 1 2 $}{$END$}").getDocumentNode().toString(), parser.edit(0, 0, "{$ FOR i 1 2 $}{$END$}").toString());
+        assertEquals(new SmartScriptParser("{$ FOR i 1 2 $}a{$END$}").getDocumentNode().toString(), parser.edit(15, 0, "a").toString());
+        assertEquals(0, parser.edit(0, 23, "").numberOfChildren());
+    }
+
+    @Test
+    public void testRandomEditsOfGeneratedDocument() {
+        randomEdits(TemplateGenerator.generate(1 << 13), 2000, 1);
+    }
+
+    @Test
+    public void testRandomEditsOfExamples() throws IOException {
+        for (int i = 1; i <= 9; i++) {
+            String document = readExample(i);
+            try {
+                new SmartScriptParser(document);
+            } catch (SmartScriptParserException e) {
+                continue;
+            }
+            randomEdits(document, 300, i);
+        }
+    }
+
+    private static void randomEdits(String document, int edits, long seed) {
+        Random random = new Random(seed);
+        SmartScriptIncrementalParser parser = new SmartScriptIncrementalParser(document);
+        StringBuilder expected = new StringBuilder(document);
+
+        for (int i = 0; i < edits; i++) {
+            int offset = random.nextInt(expected.length() + 1);
+            int removedLength = Math.min(random.nextInt(random.nextBoolean() ? 3 : 40), expected.length() - offset);
+            String inserted = INSERTED[random.nextInt(INSERTED.length)];
+
+            String edited = new StringBuilder(expected).replace(offset, offset + removedLength, inserted).toString();
+            DocumentNode expectedNode;
+            try {
+                expectedNode = new SmartScriptParser(edited).getDocumentNode();
+            } catch (SmartScriptParserException e) {
+                assertThrows(SmartScriptParserException.class, () -> parser.edit(offset, removedLength, inserted));
+                assertEquals(expected.toString(), parser.getDocumentBody());
+                continue;
+            }
+
+            assertEquals(expectedNode.toString(), parser.edit(offset, removedLength, inserted).toString());
+            assertEquals(expectedNode.numberOfChildren(), parser.getDocumentNode().numberOfChildren());
+            expected.replace(offset, offset + removedLength, inserted);
+            assertEquals(expected.toString(), parser.getDocumentBody());
+        }
+    }
+
+    private static String readExample(int number) throws IOException {
+        try (var is = SmartScriptIncrementalParserTest.class.getClassLoader().getResourceAsStream("extra/primjer" + number + ".txt")) {
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
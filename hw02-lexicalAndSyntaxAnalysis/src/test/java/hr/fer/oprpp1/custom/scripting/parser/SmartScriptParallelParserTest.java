@@ -0,0 +1,80 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.demo.TemplateGenerator;
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.nodes.ForLoopNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmartScriptParallelParserTest {
+
+    private DocumentNode parse(String document, int chunkLength) {
+        return new SmartScriptParallelParser(document, ForkJoinPool.commonPool(), chunkLength).getDocumentNode();
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(NullPointerException.class, () -> new SmartScriptParallelParser(null));
+        assertThrows(NullPointerException.class, () -> new SmartScriptParallelParser("", null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SmartScriptParallelParser("", ForkJoinPool.commonPool(), 0));
+    }
+
+    @Test
+    public void testShortDocumentIsParsedSequentially() {
+        SmartScriptParallelParser parser = new SmartScriptParallelParser("Text {$= 1 $}");
+
+        assertEquals(1, parser.getNumberOfChunks());
+        assertEquals(new SmartScriptParser("Text {$= 1 $}").getDocumentNode().toString(), parser.getDocumentNode().toString());
+    }
+
+    @Test
+    public void testGeneratedDocumentEqualsSequentialTree() {
+        String document = TemplateGenerator.generate(1 << 18);
+        DocumentNode expected = new SmartScriptParser(document).getDocumentNode();
+
+        for (int chunkLength : new int[] {1, 100, 4096, 1 << 16}) {
+            SmartScriptParallelParser parser = new SmartScriptParallelParser(document, ForkJoinPool.commonPool(), chunkLength);
+            assertTrue(parser.getNumberOfChunks() > 1);
+            assertEquals(expected.toString(), parser.getDocumentNode().toString());
+            assertEquals(expected.numberOfChildren(), parser.getDocumentNode().numberOfChildren());
+        }
+    }
+
+    @Test
+    public void testDocumentIsNotSplitWithinForLoops() {
+        String document = "a {$ FOR i 1 2 $} b {$= \"$} {$END$}\" $} c {$END$} d {$= 1 $} e {$ FOR j 1 2 $}{$END$} f";
+        DocumentNode documentNode = parse(document, 1);
+
+        assertEquals(new SmartScriptParser(document).getDocumentNode().toString(), documentNode.toString());
+        assertEquals(3, ((ForLoopNode) documentNode.getChild(1)).numberOfChildren());
+    }
+
+    @Test
+    public void testEscapesAreNotMistakenForTags() {
+        String document = "a \\{$ FOR i 1 2 $} b \\\\{$= 1 $} c {$ FOR i 1 2 $}\\{$END$}{$END$} d";
+
+        assertEquals(new SmartScriptParser(document).getDocumentNode().toString(), parse(document, 1).toString());
+    }
+
+    @Test
+    public void testInvalidDocumentsThrowSequentialExceptions() {
+        String[] documents = {"a {$= 1 $} b {$END$} c {$= 2 $} d", "a {$= 1 $} b {$ FOR i 1 2 $} c {$= 2 $} d", "a {$= 1 $} b {$= 1 $ c", "a {$= 1 $} {"};
+
+        for (String document : documents) {
+            SmartScriptParserException expected = assertThrows(SmartScriptParserException.class, () -> new SmartScriptParser(document));
+            SmartScriptParserException actual = assertThrows(SmartScriptParserException.class, () -> parse(document, 1));
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    @Test
+    public void testChunkBoundaries() {
+        assertArrayEquals(new int[] {0, 8, 18, 28}, SmartScriptParallelParser.findChunkBoundaries("{$= 1 $}ab{$= 2 $}cd{$= 3 $}", 5));
+        assertArrayEquals(new int[] {0, 18, 28}, SmartScriptParallelParser.findChunkBoundaries("{$= 1 $}ab{$= 2 $}cd{$= 3 $}", 10));
+        assertNull(SmartScriptParallelParser.findChunkBoundaries("{$ FOR i 1 2 $}{$= 1 $}{$END$}", 1));
+        assertNull(SmartScriptParallelParser.findChunkBoundaries("{$END$}{$= 1 $}{$= 1 $}", 1));
+    }
+}
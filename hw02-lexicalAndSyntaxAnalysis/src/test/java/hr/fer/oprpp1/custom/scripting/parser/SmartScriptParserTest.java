@@ -1,5 +1,6 @@
 package hr.fer.oprpp1.custom.scripting.parser;
 
+import hr.fer.oprpp1.custom.scripting.elems.ElementString;
 import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
 
 import hr.fer.oprpp1.custom.scripting.nodes.EchoNode;
@@ -173,4 +174,56 @@ public class SmartScriptParserTest {
     void testMissingTagBeginningThrows() {
         assertThrows(SmartScriptParserException.class, () ->  new SmartScriptParser(readFromExampleFolder(11)));
     }
+
+    @Test
+    void testEqualShortLeavesAreShared() {
+        DocumentNode root = new SmartScriptParser("a{$= i 1 $}a{$= i 1 $}{$ FOR i 1 2 $}a{$END$}").getDocumentNode();
+        ForLoopNode forLoopNode = (ForLoopNode) root.getChild(4);
+
+        assertSame(root.getChild(0), root.getChild(2));
+        assertSame(root.getChild(1), root.getChild(3));
+        assertSame(root.getChild(0), forLoopNode.getChild(0));
+        assertSame(((EchoNode) root.getChild(1)).getElement(0), forLoopNode.getVariable());
+    }
+
+    @Test
+    void testSharedEchoNodeElementsCannotBeModified() {
+        DocumentNode root = new SmartScriptParser("{$= i 1 $}{$= i 1 $}").getDocumentNode();
+        EchoNode echoNode = (EchoNode) root.getChild(0);
+
+        echoNode.getElements()[0] = new ElementString("changed");
+
+        assertEquals("i", echoNode.getElement(0).asText());
+        assertEquals(2, ((EchoNode) root.getChild(1)).numberOfElements());
+        assertThrows(IndexOutOfBoundsException.class, () -> echoNode.getElement(2));
+    }
+
+    @Test
+    void testLongTextsAreNotShared() {
+        String text = "x".repeat(100);
+        DocumentNode root = new SmartScriptParser(text + "{$= 1 $}" + text).getDocumentNode();
+
+        assertEquals(root.getChild(0), root.getChild(2));
+        assertNotSame(root.getChild(0), root.getChild(2));
+    }
+
+    @Test
+    void testLeafNodesCannotHaveChildren() {
+        DocumentNode root = new SmartScriptParser(readFromExampleFolder(1)).getDocumentNode();
+
+        assertEquals(0, root.getChild(0).numberOfChildren());
+        assertThrows(UnsupportedOperationException.class, () -> root.getChild(0).addChildNode(new TextNode("child")));
+        assertThrows(IndexOutOfBoundsException.class, () -> root.getChild(0).getChild(0));
+    }
+
+    @Test
+    void testReparsedDocumentIsEqualAfterTrimming() {
+        DocumentNode root = new SmartScriptParser(readFromExampleFolder(1)).getDocumentNode();
+        DocumentNode reparsed = new SmartScriptParser(root.toString()).getDocumentNode();
+
+        assertEquals(root, reparsed);
+        assertEquals(root.hashCode(), reparsed.hashCode());
+        reparsed.addChildNode(new TextNode("more"));
+        assertNotEquals(root, reparsed);
+    }
 }
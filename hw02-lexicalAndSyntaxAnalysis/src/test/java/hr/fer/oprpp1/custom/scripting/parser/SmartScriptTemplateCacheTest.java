@@ -0,0 +1,217 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.nodes.DocumentNode;
+import hr.fer.oprpp1.custom.scripting.nodes.ForLoopNode;
+import hr.fer.oprpp1.custom.scripting.nodes.TextNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmartScriptTemplateCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String content, long modifiedMillis) throws IOException {
+        Path file = this.directory.resolve(name);
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+        return file;
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SmartScriptTemplateCache(0));
+        assertThrows(NullPointerException.class, () -> new SmartScriptTemplateCache(1, null));
+        assertThrows(NullPointerException.class, () -> new SmartScriptTemplateCache(1).get((Path) null));
+        assertThrows(NullPointerException.class, () -> new SmartScriptTemplateCache(1).get((String) null));
+    }
+
+    @Test
+    public void testCachedTreesAreReadOnly() {
+        DocumentNode documentNode = new SmartScriptTemplateCache(4).get("a{$ FOR i 1 2 $}{$ FOR j 1 2 $}x{$END$}{$END$}");
+        ForLoopNode outer = (ForLoopNode) documentNode.getChild(1), inner = (ForLoopNode) outer.getChild(0);
+
+        assertTrue(documentNode.isReadOnly() && outer.isReadOnly() && inner.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> documentNode.addChildNode(new TextNode("b")));
+        assertThrows(UnsupportedOperationException.class, () -> inner.addChildNode(new TextNode("b")));
+        assertThrows(UnsupportedOperationException.class, () -> outer.addChildNodes(inner, 0, 1));
+        assertEquals("a{$ FOR i 1 2$}{$ FOR j 1 2$}x{$END$}{$END$}", documentNode.toString());
+    }
+
+    @Test
+    public void testSameFileIsParsedOnce() throws IOException {
+        Path file = write("a.txt", "Text {$= 1 $}", 1_000_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4);
+
+        DocumentNode first = cache.get(file);
+        assertSame(first, cache.get(file));
+        assertSame(first, cache.get(this.directory.resolve("other/../a.txt")));
+        assertEquals(new SmartScriptParser("Text {$= 1 $}").getDocumentNode(), first);
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testDocumentBodyIsParsedOnce() {
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4);
+
+        DocumentNode first = cache.get("{$ FOR i 1 2 $}x{$END$}");
+        assertSame(first, cache.get(new String("{$ FOR i 1 2 $}x{$END$}")));
+        assertNotSame(first, cache.get("other"));
+    }
+
+    @Test
+    public void testModificationTimeChangeIsDetected() throws IOException {
+        Path file = write("a.txt", "first", 1_000_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4);
+        DocumentNode first = cache.get(file);
+
+        write("a.txt", "other", 1_000_000);
+        assertSame(first, cache.get(file));
+
+        write("a.txt", "other", 2_000_000);
+        assertEquals(new SmartScriptParser("other").getDocumentNode(), cache.get(file));
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void testContentHashDetectsChangesKeepingModificationTime() throws IOException {
+        Path file = write("a.txt", "first", 1_000_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4, SmartScriptTemplateCache.ChangeDetection.CONTENT_HASH);
+        DocumentNode first = cache.get(file);
+
+        write("a.txt", "first", 2_000_000);
+        assertSame(first, cache.get(file));
+
+        write("a.txt", "other", 2_000_000);
+        assertEquals(new SmartScriptParser("other").getDocumentNode(), cache.get(file));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws IOException {
+        Path a = write("a.txt", "a", 1_000_000), b = write("b.txt", "b", 1_000_000), c = write("c.txt", "c", 1_000_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(2);
+
+        DocumentNode first = cache.get(a);
+        cache.get(b);
+        cache.get(a);
+        cache.get(c);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertSame(first, cache.get(a));
+        assertEquals(3, cache.getMisses());
+        cache.get(b);
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws IOException {
+        Path file = write("a.txt", "{$ END $}", 1_000_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4);
+
+        assertThrows(SmartScriptParserException.class, () -> cache.get(file));
+        assertThrows(SmartScriptParserException.class, () -> cache.get(file));
+        assertThrows(NoSuchFileException.class, () -> cache.get(this.directory.resolve("missing.txt")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExplicitInvalidation() throws IOException {
+        Path file = write("a.txt", "a", 1_000_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4);
+        DocumentNode first = cache.get(file);
+
+        cache.invalidate(file);
+        assertNotSame(first, cache.get(file));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getInvalidations());
+    }
+
+    @Test
+    public void testConcurrentRequestsParseOnce() throws Exception {
+        Path file = write("a.txt", "{$ FOR i 1 10 $}text {$= i $}{$END$}".repeat(10_000), 1_000_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            Callable<DocumentNode> request = () -> {
+                start.await();
+                return cache.get(file);
+            };
+            List<Future<DocumentNode>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(request));
+            }
+            start.countDown();
+
+            DocumentNode first = futures.get(0).get();
+            for (Future<DocumentNode> future : futures) {
+                assertSame(first, future.get());
+            }
+            assertEquals(1, cache.getMisses());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testErrorWhileParsingIsNotCached() throws Exception {
+        String document = "{$ FOR i 1 2 $}".repeat(100_000) + "{$END$}".repeat(100_000);
+        SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4);
+
+        for (int request = 0; request < 2; request++) {
+            Throwable[] thrown = new Throwable[1];
+            Thread thread = new Thread(null, () -> {
+                try {
+                    cache.get(document);
+                } catch (Throwable e) {
+                    thrown[0] = e;
+                }
+            }, "parser", 256 * 1024);
+            thread.start();
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+
+            assertFalse(thread.isAlive());
+            assertTrue(thrown[0] instanceof StackOverflowError);
+            assertEquals(0, cache.size());
+        }
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testFileWatchInvalidatesChangedFiles() throws Exception {
+        Path file = write("a.txt", "first", 1_000_000);
+
+        try (SmartScriptTemplateCache cache = new SmartScriptTemplateCache(4, SmartScriptTemplateCache.ChangeDetection.FILE_WATCH)) {
+            DocumentNode first = cache.get(file);
+            assertSame(first, cache.get(file));
+
+            Files.writeString(file, "other");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cache.size() != 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(new SmartScriptParser("other").getDocumentNode(), cache.get(file));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package hr.fer.oprpp1.custom.scripting.parser;
+
+import hr.fer.oprpp1.custom.scripting.demo.TemplateGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmartScriptValidatorTest {
+
+    private String readExample(int n) {
+        try(InputStream is = this.getClass().getClassLoader().getResourceAsStream("extra/primjer"+n+".txt")) {
+            return new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8);
+        } catch(IOException ex) {
+            throw new RuntimeException("Error while reading the file.", ex);
+        }
+    }
+
+    private boolean parses(String document) {
+        try {
+            new SmartScriptParser(document);
+            return true;
+        } catch (SmartScriptParserException e) {
+            return false;
+        }
+    }
+
+    private void checkAgainstParser(String document) {
+        assertEquals(parses(document), SmartScriptValidator.validate(document).isEmpty(), document);
+    }
+
+    @Test
+    public void testNullDocument() {
+        assertThrows(NullPointerException.class, () -> SmartScriptValidator.validate(null));
+    }
+
+    @Test
+    public void testExamplesAgreeWithParser() throws IOException {
+        for (int i = 1; i <= 9; i++) {
+            checkAgainstParser(readExample(i));
+        }
+        for (int i = 1; i <= 11; i++) {
+            checkAgainstParser(Files.readString(Paths.get("examples/doc" + i + ".txt")));
+        }
+        checkAgainstParser(TemplateGenerator.generate(1 << 16));
+    }
+
+    @Test
+    public void testSnippetsAgreeWithParser() {
+        String[] snippets = {
+                "", "text", "a\\{b", "a\\b", "a{b", "a{", "{$= x $}", "{$=$}", "{$ FOR i 1 2 $}{$END$}", "{$ FOR i 1 2 $}", "{$END$}",
+                "{$END$}text", "{$ END x $}", "{$ for i 1 2 $}{$END$}", "{$ 3 $}", "{$= \"abc $}", "{$= \"a\\q\" $}", "{$= 1-2 $}",
+                "{$= x", "{$= x ", "{$= # $}", "{$ FOR 3 1 2 $}{$END$}", "{$ FOR i 1 $}{$END$}", "{$ FOR i 1 2 3 4 $}{$END$}",
+                "{$ FOR i 1 2 $}{$ FOR j 1 2 $}{$END$}{$END$}", "{$ FOR i 1 2 $}{$END$}{$END$}", "{$= \"a$}\" $}"
+        };
+
+        for (String snippet : snippets) {
+            checkAgainstParser(snippet);
+        }
+    }
+
+    @Test
+    public void testTrailingTagStartAgreesWithParser() {
+        String[] snippets = {"{$", "aa{$", "FOR{$", "aa{$ ", "{$=", "a\\{$", "{$ FOR i 1 2 $}{$"};
+
+        for (String snippet : snippets) {
+            checkAgainstParser(snippet);
+        }
+        assertTrue(SmartScriptValidator.validate("aa{$").isEmpty());
+        assertEquals("1:6: The tag was not closed before the end of the input!", SmartScriptValidator.validate("aa{$ ").get(0).toString());
+    }
+
+    @Test
+    public void testRecoversAfterErrors() {
+        String document = "First \\q line\n{$= x # $} ok {$ FOR i 1 $}\n  {$ BAD $}{$END$}\n{$END$} {$= \"unclosed $}";
+
+        List<SmartScriptDiagnostic> diagnostics = SmartScriptValidator.validate(document);
+
+        assertEquals(6, diagnostics.size());
+        assertEquals("1:8: Invalid attempt of escaping a character!", diagnostics.get(0).toString());
+        assertEquals("2:7: Cannot generate a token within the tag because of the '#' character!", diagnostics.get(1).toString());
+        assertEquals(2, diagnostics.get(2).getLine());
+        assertEquals(15, diagnostics.get(2).getColumn());
+        assertEquals("3:3: Invalid tag name!", diagnostics.get(3).toString());
+        assertEquals("4:1: More {$END$} tags than opened non-empty tags!", diagnostics.get(4).toString());
+        assertEquals("4:25: The string was not closed before the end of the input!", diagnostics.get(5).toString());
+        assertEquals(document.length(), diagnostics.get(5).getOffset());
+    }
+
+    @Test
+    public void testUnbalancedLoops() {
+        List<SmartScriptDiagnostic> diagnostics = SmartScriptValidator.validate("{$END$}{$ FOR i 1 2 $}{$ FOR j 1 2 $}{$END$}");
+
+        assertEquals(2, diagnostics.size());
+        assertEquals(0, diagnostics.get(0).getOffset());
+        assertEquals("More {$END$} tags than opened non-empty tags!", diagnostics.get(0).getMessage());
+        assertEquals(7, diagnostics.get(1).getOffset());
+    }
+
+    @Test
+    public void testValidateDirectory(@TempDir Path root) throws IOException {
+        Files.createDirectories(root.resolve("nested"));
+        Files.writeString(root.resolve("valid.txt"), "{$ FOR i 1 2 $}{$= i $}{$END$}");
+        Files.writeString(root.resolve("nested/invalid.txt"), "line\n{$= \"a\\q\" $}{$ X $}");
+        Files.writeString(root.resolve("ignored.html"), "{$ X $}");
+
+        SortedMap<Path, List<SmartScriptDiagnostic>> results = SmartScriptValidator.validateDirectory(root, ".txt", new ForkJoinPool(2));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(Paths.get("valid.txt")).isEmpty());
+        assertEquals(2, results.get(Paths.get("nested", "invalid.txt")).size());
+
+        StringBuilder report = new StringBuilder();
+        SmartScriptValidator.writeReport(results, report);
+        assertEquals("{\"files\":2,\"invalidFiles\":1,\"diagnostics\":2,\"results\":[\n"
+                + "{\"file\":\"nested/invalid.txt\",\"valid\":false,\"diagnostics\":["
+                + "{\"line\":2,\"column\":8,\"offset\":12,\"message\":\"Invalid attempt of escaping a character!\"},"
+                + "{\"line\":2,\"column\":13,\"offset\":17,\"message\":\"Invalid tag name!\"}]},\n"
+                + "{\"file\":\"valid.txt\",\"valid\":true,\"diagnostics\":[]}\n]}\n", report.toString());
+    }
+}
@@ -292,6 +292,29 @@ public class Prob1Test {
 
 	}
 
+	@Test
+	public void testAdvanceWithoutTokens() {
+		Lexer lexer = new Lexer("Janko 3# Ivana26\\a#");
+
+		assertEquals(TokenType.WORD, lexer.advance());
+		assertEquals("Janko", lexer.getTokenText());
+		assertEquals(TokenType.NUMBER, lexer.advance());
+		assertEquals(3, lexer.getTokenLong());
+		assertThrows(LexerException.class, lexer::getTokenSymbol);
+		assertEquals(TokenType.SYMBOL, lexer.advance());
+		assertEquals('#', lexer.getTokenSymbol());
+
+		lexer.setState(LexerState.EXTENDED);
+
+		assertEquals(TokenType.WORD, lexer.advance());
+		assertEquals(9, lexer.getTokenOffset());
+		assertEquals(9, lexer.getTokenLength());
+		checkToken(lexer.getToken(), new Token(TokenType.WORD, "Ivana26\\a"));
+		assertEquals(TokenType.SYMBOL, lexer.advance());
+		assertEquals(TokenType.EOF, lexer.advance());
+		assertThrows(LexerException.class, lexer::advance);
+	}
+
 	private void checkToken(Token actual, Token expected) {
 			String msg = "Token are not equal.";
 			assertEquals(expected.getType(), actual.getType(), msg);
@@ -1,9 +1,12 @@
 package hr.fer.oprpp1.custom.collections;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import static java.lang.Math.max;
 import static java.lang.System.arraycopy;
@@ -14,7 +17,7 @@ import static java.lang.System.arraycopy;
  *
  * @param <T> type of objects stored in the collection.
  * @author mirtamoslavac
- * @version 3.0
+ * @version 3.5
  */
 public class ArrayIndexedCollection<T> implements List<T> {
 
@@ -34,6 +37,11 @@ public class ArrayIndexedCollection<T> implements List<T> {
      */
     private long modificationCount = 0;
 
+    /**
+     * Filter answering most membership checks of elements that are not in the current collection, {@code null} unless attached.
+     */
+    private CountingBloomFilter membershipFilter;
+
     /**
      * Default capacity is a constant that will be set as the current collection's capacity
      * when {@code initialCapacity} isn't provided as an argument in the class constructor.
@@ -62,6 +70,8 @@ public class ArrayIndexedCollection<T> implements List<T> {
         if (initialCapacity < 1) throw new IllegalArgumentException("The initial capacity of the array-backed collection should be larger than 1!");
         this.elements = (T[]) new Object[initialCapacity];
         this.size = 0;
+
+        if (CollectionStatistics.ENABLED) CollectionStatistics.ARRAY_INDEXED_COLLECTION.recordAllocation(CollectionStatistics.referenceArrayBytes(initialCapacity));
     }
 
     /**
@@ -91,6 +101,7 @@ public class ArrayIndexedCollection<T> implements List<T> {
         if (initialCapacity < 1) throw new IllegalArgumentException("The initial capacity of the array-backed collection should be larger than 1!");
 
         this.elements =(T[]) new Object[max(initialCapacity, other.size())];
+        if (CollectionStatistics.ENABLED) CollectionStatistics.ARRAY_INDEXED_COLLECTION.recordAllocation(CollectionStatistics.referenceArrayBytes(this.elements.length));
         this.addAll(other);
 
         this.size = other.size();
@@ -118,6 +129,21 @@ public class ArrayIndexedCollection<T> implements List<T> {
 
         checkCapacity();
         this.elements[size++] = value;
+
+        if (this.membershipFilter != null) this.membershipFilter.add(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The {@code elements} array is enlarged at most once, to fit all elements of the given collection, before they are added, unless the given collection is the
+     * current one, whose modification has to be detected while its elements are fetched.
+     */
+    @Override
+    public void addAll(Collection<? extends T> other) {
+        if (other == null) throw new NullPointerException("The given other collection is null!");
+
+        if (other != this) this.ensureCapacity(this.size + other.size());
+        List.super.addAll(other);
     }
 
     /**
@@ -127,21 +153,31 @@ public class ArrayIndexedCollection<T> implements List<T> {
     @Override
     public void clear() {
         Arrays.fill(this.elements, null);
+        this.size = 0;
+        if (this.membershipFilter != null) this.membershipFilter.clear();
 
         this.modificationCount++;
     }
 
     @Override
     public ElementsGetter<T> createElementsGetter() {
-        return new ArrayElementsGetter<>(this);
+        return new ArrayElementsGetter<>(this, ElementsGetter.ValidationMode.EVERY_ELEMENT);
+    }
+
+    @Override
+    public ElementsGetter<T> createElementsGetter(ElementsGetter.ValidationMode mode) {
+        if (mode == null) throw new NullPointerException("The given validation mode cannot be null!");
+
+        return new ArrayElementsGetter<>(this, mode);
     }
 
     /**
      * The {@code ArrayElementsGetter} is an implementation of {@link ElementsGetter} adapted for the {@link ArrayIndexedCollection}.
+     * Whether the collection has been modified is checked as often as its {@link ElementsGetter.ValidationMode} requires.
      *
      * @param <T> type of objects stored in the elements getter.
      * @author mirtamoslavac
-     * @version 2.0
+     * @version 2.1
      */
     private static class ArrayElementsGetter<T> implements ElementsGetter<T> {
 
@@ -160,40 +196,186 @@ public class ArrayIndexedCollection<T> implements List<T> {
          */
         private final long savedModificationCount;
 
+        /**
+         * How often the current elements getter checks whether the collection has been modified.
+         */
+        private final ValidationMode mode;
+
         /**
          * Initializes the getter to the starting position.
          *
          * @param arrayCollection collection whose elements will be fetched on demand.
+         * @param mode how often the getter checks whether the collection has been modified.
          * @throws NullPointerException when the given collection is {@code null}.
          */
-        private ArrayElementsGetter(ArrayIndexedCollection<T> arrayCollection) {
+        private ArrayElementsGetter(ArrayIndexedCollection<T> arrayCollection, ValidationMode mode) {
             if (arrayCollection == null) throw new NullPointerException("The given collection cannot be null!");
             this.arrayCollection = arrayCollection;
             this.toBeFetched = 0;
             this.savedModificationCount = arrayCollection.modificationCount;
+            this.mode = mode;
         }
 
 
         @Override
         public boolean hasNextElement() {
-            if (this.savedModificationCount != this.arrayCollection.modificationCount) {
-                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
-            }
+            if (this.mode == ValidationMode.EVERY_ELEMENT) this.checkForComodification();
+            if (this.toBeFetched < this.arrayCollection.size) return true;
 
-            return this.toBeFetched < this.arrayCollection.size;
+            if (this.mode != ValidationMode.UNCHECKED) this.checkForComodification();
+            return false;
         }
 
 
         @Override
         public T getNextElement() {
+            if (this.mode == ValidationMode.EVERY_ELEMENT || this.mode == ValidationMode.EVERY_BATCH && this.toBeFetched % DEFAULT_BATCH_SIZE == 0) {
+                this.checkForComodification();
+            }
+            if (this.toBeFetched >= this.arrayCollection.size) {
+                if (this.mode != ValidationMode.UNCHECKED) this.checkForComodification();
+                throw new NoSuchElementException("There are no elements in this collection that remain unfetched!");
+            }
+
+            return this.arrayCollection.elements[this.toBeFetched++];
+        }
+
+        /**
+         * {@inheritDoc}
+         * The elements are copied straight from the backing array of the collection.
+         */
+        @Override
+        public int getNextElements(T[] buffer) {
+            if (buffer == null) throw new NullPointerException("The given buffer cannot be null!");
+            if (this.mode == ValidationMode.EVERY_ELEMENT || this.mode == ValidationMode.EVERY_BATCH) this.checkForComodification();
+
+            int fetched = Math.min(buffer.length, this.arrayCollection.size - this.toBeFetched);
+            if (fetched < buffer.length && this.mode == ValidationMode.AT_END) this.checkForComodification();
+            if (fetched <= 0) return 0;
+
+            arraycopy(this.arrayCollection.elements, this.toBeFetched, buffer, 0, fetched);
+            this.toBeFetched += fetched;
+
+            return fetched;
+        }
+
+        /**
+         * Checks whether the collection has been modified after instancing the current elements getter.
+         *
+         * @throws ConcurrentModificationException when the collection has been modified.
+         */
+        private void checkForComodification() {
             if (this.savedModificationCount != this.arrayCollection.modificationCount) {
                 throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
             }
-            if (!hasNextElement()) {
-                throw new NoSuchElementException("There are no elements in this collection that remain unfetched!");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned spliterator splits the backing array into two halves by index, so each part knows its exact size.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(this, 0, this.size);
+    }
+
+    /**
+     * The {@code ArraySpliterator} is an implementation of {@link Spliterator} adapted for the {@link ArrayIndexedCollection}.
+     * It covers a range of indexes of the backing array and reports the {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} characteristics.
+     *
+     * @param <T> type of objects stored in the spliterator.
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class ArraySpliterator<T> implements Spliterator<T> {
+
+        /**
+         * The collection whose elements are traversed.
+         */
+        private final ArrayIndexedCollection<T> arrayCollection;
+
+        /**
+         * Position of the element that is to be traversed next.
+         */
+        private int index;
+
+        /**
+         * Position right after the last element covered by the current spliterator.
+         */
+        private final int fence;
+
+        /**
+         * The number of modifications made on the collection at the moment of instancing the current spliterator.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Creates a new {@code ArraySpliterator} covering the elements of the given collection from {@code origin} (inclusive) to {@code fence} (exclusive).
+         *
+         * @param arrayCollection collection whose elements are traversed.
+         * @param origin position of the first covered element.
+         * @param fence position right after the last covered element.
+         */
+        private ArraySpliterator(ArrayIndexedCollection<T> arrayCollection, int origin, int fence) {
+            this.arrayCollection = arrayCollection;
+            this.index = origin;
+            this.fence = fence;
+            this.savedModificationCount = arrayCollection.modificationCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+            if (this.index >= this.fence) return false;
+
+            T value = this.arrayCollection.elements[this.index++];
+            action.accept(value);
+            this.checkForComodification();
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+
+            T[] elements = this.arrayCollection.elements;
+            for (int i = this.index, fence = this.fence; i < fence; i++) {
+                action.accept(elements[i]);
             }
+            this.index = this.fence;
+            this.checkForComodification();
+        }
 
-            return this.arrayCollection.get(this.toBeFetched++);
+        @Override
+        public Spliterator<T> trySplit() {
+            int low = this.index, middle = (low + this.fence) >>> 1;
+            if (low >= middle) return null;
+
+            this.index = middle;
+            return new ArraySpliterator<>(this.arrayCollection, low, middle);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        /**
+         * Checks whether the collection has been modified after instancing the current spliterator.
+         *
+         * @throws ConcurrentModificationException when the collection has been modified.
+         */
+        private void checkForComodification() {
+            if (this.savedModificationCount != this.arrayCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this spliterator!");
+            }
         }
     }
 
@@ -221,9 +403,12 @@ public class ArrayIndexedCollection<T> implements List<T> {
         checkCapacity();
 
         if (this.size - position >= 0) arraycopy(this.elements, position, this.elements, position + 1, this.size - position);
+        if (CollectionStatistics.ENABLED) CollectionStatistics.ARRAY_INDEXED_COLLECTION.recordCopy(this.size - position);
 
         this.elements[position] = value;
         this.size++;
+
+        if (this.membershipFilter != null) this.membershipFilter.add(value);
     }
 
     @Override
@@ -231,6 +416,9 @@ public class ArrayIndexedCollection<T> implements List<T> {
         if(value == null){
             return -1;
         }
+        if (this.membershipFilter != null && !this.membershipFilter.mightContain(value)) {
+            return -1;
+        }
 
         int returnValue = -1;
         for (int i = 0, elementNumber = this.size; i < elementNumber; i++) {
@@ -239,7 +427,9 @@ public class ArrayIndexedCollection<T> implements List<T> {
                 break;
             }
         }
+        if (returnValue == -1 && this.membershipFilter != null) this.membershipFilter.recordFalsePositive();
 
+        if (CollectionStatistics.ENABLED) CollectionStatistics.ARRAY_INDEXED_COLLECTION.recordLookup(returnValue == -1 ? this.size : returnValue + 1);
         return returnValue;
     }
 
@@ -252,10 +442,12 @@ public class ArrayIndexedCollection<T> implements List<T> {
     @Override
     public void remove(int index) {
         index = Objects.checkIndex(index, this.size);
+        if (this.membershipFilter != null) this.membershipFilter.remove(this.elements[index]);
 
         for (int i = index, newLastIndex = this.size - 1; i < newLastIndex; i++) {
             this.elements[i] = this.elements[i + 1];
         }
+        if (CollectionStatistics.ENABLED) CollectionStatistics.ARRAY_INDEXED_COLLECTION.recordCopy(this.size - 1 - index);
 
         this.elements[--size] = null;
         this.modificationCount++;
@@ -278,6 +470,56 @@ public class ArrayIndexedCollection<T> implements List<T> {
         return this.indexOf(value) != -1;
     }
 
+    /**
+     * Sorts the elements of the current collection in place into the order given by the {@code comparator}, using a stable merge sort on the backing array.
+     * Equal elements keep their relative order and already sorted runs are not merged again, so sorting a nearly sorted collection takes close to linear time.
+     *
+     * @param comparator comparator determining the order of the elements.
+     * @throws NullPointerException when the given comparator is {@code null}.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        if (comparator == null) throw new NullPointerException("The given comparator cannot be null!");
+
+        MergeSort.sort(this.elements, 0, this.size, comparator);
+        this.modificationCount++;
+    }
+
+    /**
+     * Attaches a new {@link CountingBloomFilter} to the current collection, filled with its elements and kept up to date on every addition and removal.
+     * The filter lets {@link #contains(Object)}, {@link #indexOf(Object)} and {@link #remove(Object)} answer most checks of elements that are not in the collection
+     * without scanning it, while the answers stay exact.
+     * A previously attached filter is replaced.
+     *
+     * @param expectedElements the number of elements the filter is sized for, increased to the current size of the collection if it is smaller.
+     * @param falsePositiveRate the wanted probability that a check of a missing element still has to scan the collection.
+     * @return the attached filter, which also reports its memory usage and false positive rates.
+     * @throws IllegalArgumentException when the filter cannot be created with the given parameters.
+     */
+    public CountingBloomFilter attachMembershipFilter(int expectedElements, double falsePositiveRate) {
+        CountingBloomFilter filter = new CountingBloomFilter(Math.max(expectedElements, this.size), falsePositiveRate);
+        for (int i = 0; i < this.size; i++) {
+            filter.add(this.elements[i]);
+        }
+        this.membershipFilter = filter;
+        return filter;
+    }
+
+    /**
+     * Detaches the {@link CountingBloomFilter} attached by {@link #attachMembershipFilter(int, double)}, if there is one.
+     */
+    public void detachMembershipFilter() {
+        this.membershipFilter = null;
+    }
+
+    /**
+     * Fetches the {@link CountingBloomFilter} attached to the current collection.
+     *
+     * @return the attached filter, {@code null} if there is none.
+     */
+    public CountingBloomFilter getMembershipFilter() {
+        return this.membershipFilter;
+    }
+
     /**
      * Checks whether new addition to the {@code elements} fills the entire array.
      * If so, it reallocates and resizes the array by the defined {@code RESIZING_FACTOR}.
@@ -286,9 +528,41 @@ public class ArrayIndexedCollection<T> implements List<T> {
         if (this.elements.length <= this.size) {
             this.elements = Arrays.copyOf(this.elements, this.elements.length * RESIZING_FACTOR);
             this.modificationCount++;
+
+            if (CollectionStatistics.ENABLED) {
+                CollectionStatistics.ARRAY_INDEXED_COLLECTION.recordResize(this.size, CollectionStatistics.referenceArrayBytes(this.elements.length));
+            }
         }
     }
 
+    /**
+     * Checks whether the {@code elements} array can hold at least {@code minCapacity} elements.
+     * If not, it reallocates the array, resizing it by the defined {@code RESIZING_FACTOR} or to exactly {@code minCapacity}, whichever is larger.
+     *
+     * @param minCapacity the minimal wanted capacity of the {@code elements} array.
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (this.elements.length < minCapacity) {
+            this.elements = Arrays.copyOf(this.elements, max(minCapacity, this.elements.length * RESIZING_FACTOR));
+            this.modificationCount++;
+
+            if (CollectionStatistics.ENABLED) {
+                CollectionStatistics.ARRAY_INDEXED_COLLECTION.recordResize(this.size, CollectionStatistics.referenceArrayBytes(this.elements.length));
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of bytes retained by the current collection: the collection object itself and its backing array, including the unused capacity, but not the
+     * stored elements.
+     *
+     * @return estimated retained size of the current collection in bytes.
+     * @see CollectionStatistics
+     */
+    public long estimateRetainedBytes() {
+        return CollectionStatistics.objectBytes(1, Integer.BYTES + Long.BYTES) + CollectionStatistics.referenceArrayBytes(this.elements.length);
+    }
+
     /**
      * Checks whether some other object {@code o} is "equal to" the current collection.
      *
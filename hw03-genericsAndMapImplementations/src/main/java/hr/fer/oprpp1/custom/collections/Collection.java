@@ -1,11 +1,16 @@
 package hr.fer.oprpp1.custom.collections;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * The {@code Collection} interface represents a general collection of objects.
  *
  * @param <T> type of objects stored in the collection.
  * @author mirtamoslavac
- * @version 3.0
+ * @version 3.2
  */
 public interface Collection<T> {
 
@@ -96,6 +101,21 @@ public interface Collection<T> {
      */
     ElementsGetter<T> createElementsGetter();
 
+    /**
+     * Creates a new instance of {@link ElementsGetter} for the current collection that checks for modifications of the collection as often as the given {@code mode}
+     * requires.
+     * The default implementation ignores the mode and returns a getter that checks on every element, which satisfies every mode.
+     *
+     * @param mode how often the created getter checks whether the collection has been modified.
+     * @return new instance of {@link ElementsGetter} for the current collection.
+     * @throws NullPointerException when the given mode is {@code null}.
+     */
+    default ElementsGetter<T> createElementsGetter(ElementsGetter.ValidationMode mode) {
+        if (mode == null) throw new NullPointerException("The given validation mode cannot be null!");
+
+        return this.createElementsGetter();
+    }
+
     /**
      * Adds all elements of the given collection {@code col} that are accepted by the given {@code tester} at the end of the current collection.
      *
@@ -114,4 +134,70 @@ public interface Collection<T> {
         });
     }
 
+    /**
+     * Calls {@link Processor#process(Object)} for each element of the current collection, splitting the work across the common fork-join pool.
+     * The collection is divided by its {@link #spliterator()}, so array-backed collections hand every thread its own range of indexes.
+     * The elements are not processed in any particular order and the given {@code processor} must be safe to call from multiple threads at once.
+     *
+     * @param processor thread-safe {@link Processor} instance that performs a process for every object within the current collection.
+     * @throws NullPointerException when {@code processor} is {@code null}.
+     */
+    default void parallelForEach(Processor<? super T> processor) {
+        if (processor == null) throw new NullPointerException("The given processor cannot be null!");
+
+        this.parallelStream().forEach(processor::process);
+    }
+
+    /**
+     * Adds all elements of the given collection {@code col} that are accepted by the given {@code tester} at the end of the current collection.
+     * The elements are tested concurrently on the common fork-join pool, while the accepted ones are added to the current collection from the calling thread, in the
+     * order they appear in {@code col}.
+     * The given {@code tester} must be safe to call from multiple threads at once.
+     *
+     * @param col collections whose elements could to be added to the current collection.
+     * @param tester thread-safe {@link Tester} instance that checks for each element of {@code col} whether it passes the implemented test.
+     * @throws NullPointerException when the given collection or tester are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    default void parallelAddAllSatisfying(Collection<? extends T> col, Tester<? super T> tester) {
+        if (col == null) throw new NullPointerException("The given collection cannot be null!");
+        if (tester == null) throw new NullPointerException("The given tester cannot be null!");
+
+        Object[] accepted = col.parallelStream().filter(tester::test).toArray();
+        for (Object value : accepted) {
+            this.add((T) value);
+        }
+    }
+
+    /**
+     * Creates a new {@link Spliterator} over the elements of the current collection, in the order they appear in it.
+     * The default implementation covers a snapshot of the elements taken by {@link #toArray()}, while implementations are expected to override it with a
+     * spliterator that traverses their own storage directly.
+     *
+     * @return new {@link Spliterator} over the elements of the current collection.
+     */
+    @SuppressWarnings("unchecked")
+    default Spliterator<T> spliterator() {
+        return (Spliterator<T>) Spliterators.spliterator(this.toArray(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Creates a new sequential {@link Stream} with the current collection as its source.
+     *
+     * @return new sequential {@link Stream} over the elements of the current collection.
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Creates a new, possibly parallel, {@link Stream} with the current collection as its source.
+     * How well the work gets divided among threads depends on how evenly the collection's {@link #spliterator()} splits.
+     *
+     * @return new possibly parallel {@link Stream} over the elements of the current collection.
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
 }
@@ -0,0 +1,266 @@
+package hr.fer.oprpp1.custom.collections;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code CollectionStatistics} class collects allocation and lookup statistics shared by all instances of one kind of collection.
+ * Collecting is turned on by starting the JVM with {@code -Dhr.fer.oprpp1.custom.collections.statistics=true}, in which case the statistics are also registered as
+ * MXBeans under {@code hr.fer.oprpp1.custom.collections:type=CollectionStatistics}.
+ * Every recording site is guarded by the constant {@link #ENABLED}, so the JIT compiler removes the instrumentation entirely when collecting is turned off.
+ * <p>
+ * Byte estimates assume a 64-bit JVM with compressed references: 12 byte object headers, 16 byte array headers, 4 byte references and 8 byte alignment.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public final class CollectionStatistics implements CollectionStatisticsMXBean {
+
+    /**
+     * Name of the system property that turns collecting of the statistics on.
+     */
+    public static final String ENABLED_PROPERTY = "hr.fer.oprpp1.custom.collections.statistics";
+
+    /**
+     * Determines whether the statistics are collected, read once from the {@link #ENABLED_PROPERTY} system property.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Statistics of all {@link ArrayIndexedCollection} instances.
+     */
+    public static final CollectionStatistics ARRAY_INDEXED_COLLECTION = new CollectionStatistics("ArrayIndexedCollection");
+
+    /**
+     * Statistics of all {@link LinkedListIndexedCollection} instances.
+     */
+    public static final CollectionStatistics LINKED_LIST_INDEXED_COLLECTION = new CollectionStatistics("LinkedListIndexedCollection");
+
+    /**
+     * Statistics of all {@link SimpleHashtable} instances.
+     */
+    public static final CollectionStatistics SIMPLE_HASHTABLE = new CollectionStatistics("SimpleHashtable");
+
+    /**
+     * Size of an object header in bytes.
+     */
+    static final int OBJECT_HEADER_BYTES = 12;
+
+    /**
+     * Size of an array header in bytes.
+     */
+    static final int ARRAY_HEADER_BYTES = 16;
+
+    /**
+     * Size of a reference in bytes.
+     */
+    static final int REFERENCE_BYTES = 4;
+
+    /**
+     * Alignment of every object in bytes.
+     */
+    static final int ALIGNMENT_BYTES = 8;
+
+    static {
+        if (ENABLED) {
+            register(ARRAY_INDEXED_COLLECTION);
+            register(LINKED_LIST_INDEXED_COLLECTION);
+            register(SIMPLE_HASHTABLE);
+        }
+    }
+
+    /**
+     * Name of the kind of collection whose statistics are collected.
+     */
+    private final String name;
+
+    /**
+     * The number of resize events.
+     */
+    private final LongAdder resizes = new LongAdder();
+
+    /**
+     * The number of copied elements.
+     */
+    private final LongAdder copiedElements = new LongAdder();
+
+    /**
+     * The estimated number of allocated bytes.
+     */
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    /**
+     * The number of lookups.
+     */
+    private final LongAdder lookups = new LongAdder();
+
+    /**
+     * The total number of probes made by all lookups.
+     */
+    private final LongAdder probes = new LongAdder();
+
+    /**
+     * The largest number of probes made by a single lookup.
+     */
+    private final LongAccumulator maxProbeLength = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a new, empty {@code CollectionStatistics} instance.
+     *
+     * @param name name of the kind of collection whose statistics are collected.
+     */
+    CollectionStatistics(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public long getResizes() {
+        return this.resizes.sum();
+    }
+
+    @Override
+    public long getCopiedElements() {
+        return this.copiedElements.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return this.allocatedBytes.sum();
+    }
+
+    @Override
+    public long getLookups() {
+        return this.lookups.sum();
+    }
+
+    @Override
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    @Override
+    public double getAverageProbeLength() {
+        long lookups = this.getLookups();
+        return lookups == 0 ? 0 : (double) this.getProbes() / lookups;
+    }
+
+    @Override
+    public long getMaxProbeLength() {
+        return this.maxProbeLength.get();
+    }
+
+    @Override
+    public void reset() {
+        this.resizes.reset();
+        this.copiedElements.reset();
+        this.allocatedBytes.reset();
+        this.lookups.reset();
+        this.probes.reset();
+        this.maxProbeLength.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: resizes=%d, copiedElements=%d, allocatedBytes=%d, lookups=%d, averageProbeLength=%.2f, maxProbeLength=%d",
+                this.name, this.getResizes(), this.getCopiedElements(), this.getAllocatedBytes(), this.getLookups(), this.getAverageProbeLength(),
+                this.getMaxProbeLength());
+    }
+
+    /**
+     * Records that the backing storage has been reallocated.
+     *
+     * @param copied the number of elements copied into the new storage.
+     * @param bytes estimated size of the new storage in bytes.
+     */
+    void recordResize(long copied, long bytes) {
+        this.resizes.increment();
+        this.copiedElements.add(copied);
+        this.allocatedBytes.add(bytes);
+    }
+
+    /**
+     * Records that elements have been shifted within the backing storage.
+     *
+     * @param copied the number of moved elements.
+     */
+    void recordCopy(long copied) {
+        this.copiedElements.add(copied);
+    }
+
+    /**
+     * Records an allocation of backing storage, a node or an entry.
+     *
+     * @param bytes estimated size of the allocated object in bytes.
+     */
+    void recordAllocation(long bytes) {
+        this.allocatedBytes.add(bytes);
+    }
+
+    /**
+     * Records a single lookup.
+     *
+     * @param probeLength the number of elements, nodes or entries visited by the lookup.
+     */
+    void recordLookup(long probeLength) {
+        this.lookups.increment();
+        this.probes.add(probeLength);
+        this.maxProbeLength.accumulate(probeLength);
+    }
+
+    /**
+     * Estimates the size of an array of references.
+     *
+     * @param length length of the array.
+     * @return estimated size of the array in bytes.
+     */
+    static long referenceArrayBytes(int length) {
+        return align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * length);
+    }
+
+    /**
+     * Estimates the size of an object.
+     *
+     * @param references the number of reference fields of the object.
+     * @param primitiveBytes the total size of primitive fields of the object in bytes.
+     * @return estimated size of the object in bytes.
+     */
+    static long objectBytes(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER_BYTES + (long) REFERENCE_BYTES * references + primitiveBytes);
+    }
+
+    /**
+     * Rounds the given size up to the object alignment.
+     *
+     * @param bytes unaligned size in bytes.
+     * @return aligned size in bytes.
+     */
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT_BYTES - 1) / ALIGNMENT_BYTES * ALIGNMENT_BYTES;
+    }
+
+    /**
+     * Registers the given statistics with the platform MBean server.
+     * Statistics already registered by another copy of this class, loaded by a different class loader, are left as they are.
+     *
+     * @param statistics statistics that are to be registered.
+     * @throws IllegalStateException when the registration fails.
+     */
+    private static void register(CollectionStatistics statistics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics,
+                    new ObjectName("hr.fer.oprpp1.custom.collections:type=CollectionStatistics,name=" + statistics.name));
+        } catch (InstanceAlreadyExistsException ignored) {
+        } catch (JMException ex) {
+            throw new IllegalStateException("The collection statistics could not be registered!", ex);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package hr.fer.oprpp1.custom.collections;
+
+/**
+ * The {@code CollectionStatisticsMXBean} interface is the management interface through which the {@link CollectionStatistics} of one kind of collection are exposed
+ * over JMX.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public interface CollectionStatisticsMXBean {
+
+    /**
+     * Fetches the name of the kind of collection whose statistics are collected.
+     *
+     * @return simple class name of the instrumented collection.
+     */
+    String getName();
+
+    /**
+     * Fetches the number of times the backing storage has been reallocated to a larger one.
+     *
+     * @return the number of resize events.
+     */
+    long getResizes();
+
+    /**
+     * Fetches the number of elements that were copied or moved within or between backing arrays, by resizing or by shifting on insertion and removal.
+     *
+     * @return the number of copied elements.
+     */
+    long getCopiedElements();
+
+    /**
+     * Fetches the estimated number of bytes allocated for backing arrays, nodes and entries, not counting the stored elements themselves.
+     *
+     * @return the estimated number of allocated bytes.
+     */
+    long getAllocatedBytes();
+
+    /**
+     * Fetches the number of lookups, meaning linear searches in lists and chain walks in hashtables.
+     *
+     * @return the number of lookups.
+     */
+    long getLookups();
+
+    /**
+     * Fetches the total number of elements, nodes or chain entries visited by all lookups.
+     *
+     * @return the number of probes.
+     */
+    long getProbes();
+
+    /**
+     * Calculates the average number of probes made by a single lookup.
+     *
+     * @return the average probe length, 0 if no lookups were made.
+     */
+    double getAverageProbeLength();
+
+    /**
+     * Fetches the largest number of probes made by a single lookup.
+     *
+     * @return the maximal probe length.
+     */
+    long getMaxProbeLength();
+
+    /**
+     * Sets all counters back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,257 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+
+/**
+ * The {@code CountingBloomFilter} class is a probabilistic set of objects that supports removal, used to answer most negative membership checks of a collection without
+ * scanning it.
+ * <p>
+ * Every object is mapped by its hash code to a number of counters, which are incremented when the object is added and decremented when it is removed.
+ * An object whose counters are not all positive has certainly not been added, while an object whose counters are all positive has been added with a high probability.
+ * A counter that reaches its maximal value stays saturated forever, so that decrementing it can never lead to a false negative.
+ * Objects that are equal must have equal hash codes and the hash code of an object must not change while it is in the filter.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class CountingBloomFilter {
+
+    /**
+     * The maximal value of a single counter, at which it becomes saturated.
+     */
+    private static final int SATURATED = 0xFF;
+
+    /**
+     * The counters, interpreted as unsigned bytes, whose number is always a power of two.
+     */
+    private final byte[] counters;
+
+    /**
+     * The number of counters an object is mapped to.
+     */
+    private final int numberOfHashes;
+
+    /**
+     * The number of objects the filter has been sized for.
+     */
+    private final int expectedElements;
+
+    /**
+     * The number of objects currently in the filter.
+     */
+    private int size;
+
+    /**
+     * The number of membership checks made.
+     */
+    private long queries;
+
+    /**
+     * The number of membership checks that were answered negatively.
+     */
+    private long negatives;
+
+    /**
+     * The number of positively answered membership checks reported to be false by {@link #recordFalsePositive()}.
+     */
+    private long falsePositives;
+
+    /**
+     * Creates a new, empty {@code CountingBloomFilter} that keeps the false positive rate at about the given {@code falsePositiveRate} while it holds at most
+     * {@code expectedElements} objects.
+     *
+     * @param expectedElements the number of objects the filter is sized for.
+     * @param falsePositiveRate the wanted probability of a false positive answer.
+     * @throws IllegalArgumentException when {@code expectedElements} is smaller than 1, {@code falsePositiveRate} is not between 0 and 1 (exclusive) or the filter would
+     * need too many counters.
+     */
+    public CountingBloomFilter(int expectedElements, double falsePositiveRate) {
+        if (expectedElements < 1) throw new IllegalArgumentException("The expected number of elements should be at least 1!");
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) throw new IllegalArgumentException("The false positive rate should be between 0 and 1!");
+
+        double optimalCounters = -expectedElements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        if (optimalCounters > 1 << 30) throw new IllegalArgumentException("The filter would need too many counters!");
+
+        int numberOfCounters = 64;
+        for (; numberOfCounters < optimalCounters; numberOfCounters *= 2);
+
+        this.counters = new byte[numberOfCounters];
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) numberOfCounters / expectedElements * Math.log(2)));
+        this.expectedElements = expectedElements;
+    }
+
+    /**
+     * Adds the given {@code value} into the current filter.
+     *
+     * @param value object that is to be added.
+     * @throws NullPointerException when the given {@code value} is {@code null}.
+     */
+    public void add(Object value) {
+        int hash = hash(value), step = step(hash), mask = this.counters.length - 1;
+
+        for (int i = 0; i < this.numberOfHashes; i++, hash += step) {
+            int counter = this.counters[hash & mask] & 0xFF;
+            if (counter != SATURATED) this.counters[hash & mask] = (byte) (counter + 1);
+        }
+        this.size++;
+    }
+
+    /**
+     * Removes one occurrence of the given {@code value}, which must have been added before, from the current filter.
+     *
+     * @param value object that is to be removed.
+     * @throws NullPointerException when the given {@code value} is {@code null}.
+     */
+    public void remove(Object value) {
+        int hash = hash(value), step = step(hash), mask = this.counters.length - 1;
+
+        for (int i = 0; i < this.numberOfHashes; i++, hash += step) {
+            int counter = this.counters[hash & mask] & 0xFF;
+            if (counter != SATURATED && counter != 0) this.counters[hash & mask] = (byte) (counter - 1);
+        }
+        this.size--;
+    }
+
+    /**
+     * Checks whether the given {@code value} might be in the current filter.
+     *
+     * @param value object that is checked.
+     * @return {@code false} if the given {@code value} is certainly not in the filter, {@code true} if it probably is.
+     * @throws NullPointerException when the given {@code value} is {@code null}.
+     */
+    public boolean mightContain(Object value) {
+        this.queries++;
+
+        int hash = hash(value), step = step(hash), mask = this.counters.length - 1;
+        for (int i = 0; i < this.numberOfHashes; i++, hash += step) {
+            if (this.counters[hash & mask] == 0) {
+                this.negatives++;
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Records that the last positive answer of {@link #mightContain(Object)} turned out to be false.
+     */
+    public void recordFalsePositive() {
+        this.falsePositives++;
+    }
+
+    /**
+     * Removes all objects from the current filter, keeping the collected statistics.
+     */
+    public void clear() {
+        Arrays.fill(this.counters, (byte) 0);
+        this.size = 0;
+    }
+
+    /**
+     * Determines the number of objects currently in the filter.
+     *
+     * @return the number of objects in the filter.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Determines the number of counters an object is mapped to.
+     *
+     * @return the number of hash functions.
+     */
+    public int getNumberOfHashes() {
+        return this.numberOfHashes;
+    }
+
+    /**
+     * Determines the number of bytes taken up by the counters of the current filter.
+     *
+     * @return size of the counters in bytes.
+     */
+    public long memoryBytes() {
+        return this.counters.length;
+    }
+
+    /**
+     * Calculates the expected probability of a false positive answer for the current number of objects in the filter.
+     * It grows beyond the rate the filter has been created with when more objects than expected are added.
+     *
+     * @return the expected false positive rate.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) this.numberOfHashes * this.size / this.counters.length), this.numberOfHashes);
+    }
+
+    /**
+     * Calculates the observed rate of false positive answers among the checks of objects that were not in the filter.
+     *
+     * @return the observed false positive rate, 0 if there were no such checks.
+     */
+    public double observedFalsePositiveRate() {
+        long checksOfMissing = this.negatives + this.falsePositives;
+        return checksOfMissing == 0 ? 0 : (double) this.falsePositives / checksOfMissing;
+    }
+
+    /**
+     * Fetches the number of membership checks made.
+     *
+     * @return the number of checks.
+     */
+    public long getQueries() {
+        return this.queries;
+    }
+
+    /**
+     * Fetches the number of membership checks that were answered negatively, without scanning the collection.
+     *
+     * @return the number of negative answers.
+     */
+    public long getNegatives() {
+        return this.negatives;
+    }
+
+    /**
+     * Fetches the number of reported false positive answers.
+     *
+     * @return the number of false positives.
+     */
+    public long getFalsePositives() {
+        return this.falsePositives;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CountingBloomFilter[elements=%d/%d, hashes=%d, memory=%d B, expectedFalsePositiveRate=%.4f, queries=%d, negatives=%d, falsePositives=%d, "
+                        + "observedFalsePositiveRate=%.4f]", this.size, this.expectedElements, this.numberOfHashes, this.memoryBytes(), this.expectedFalsePositiveRate(),
+                this.queries, this.negatives, this.falsePositives, this.observedFalsePositiveRate());
+    }
+
+    /**
+     * Calculates the first hash of the given {@code value} by spreading its hash code.
+     *
+     * @param value object whose hash is calculated.
+     * @return the first hash.
+     */
+    private static int hash(Object value) {
+        int hashCode = value.hashCode();
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Derives the odd step between the counters of an object from its first {@code hash}, using the finalization step of MurmurHash3.
+     *
+     * @param hash the first hash of an object.
+     * @return the step between the counters of the object.
+     */
+    private static int step(int hash) {
+        hash *= 0x85EB_CA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2_AE35;
+        hash ^= hash >>> 16;
+
+        return hash | 1;
+    }
+}
@@ -5,10 +5,49 @@ package hr.fer.oprpp1.custom.collections;
  *
  * @param <T> type of objects stored in the elements getter.
  * @author mirtamoslavac
- * @version 2.0
+ * @version 2.2
  */
 public interface ElementsGetter<T> {
 
+    /**
+     * The number of elements of a batch, between two checks of the {@link ValidationMode#EVERY_BATCH} mode.
+     */
+    int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * The {@code ValidationMode} enum determines how often an elements getter checks whether its collection has been modified after the getter was created.
+     * Checks that are made less often detect a modification later, but never let an iteration over a modified collection finish without an exception, except in the
+     * {@link #UNCHECKED} mode.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    enum ValidationMode {
+
+        /**
+         * The collection is checked on every call, before every fetched element.
+         */
+        EVERY_ELEMENT,
+
+        /**
+         * The collection is checked once per batch fetched by {@link #getNextElements(Object[])}, once per {@link #DEFAULT_BATCH_SIZE} elements fetched one by one and
+         * once more when the getter runs out of elements.
+         */
+        EVERY_BATCH,
+
+        /**
+         * The collection is checked only when the getter runs out of elements, so a modification is reported at the latest when the iteration ends.
+         */
+        AT_END,
+
+        /**
+         * The collection is never checked.
+         * Meant for read-only hot loops over collections that are certainly not modified during the iteration, since a modification leads to skipped, repeated or
+         * missing elements instead of an exception.
+         */
+        UNCHECKED
+    }
+
     /**
      * Determines whether the collection has elements that have yet to be fetched.
      *
@@ -26,10 +65,34 @@ public interface ElementsGetter<T> {
     T getNextElement();
 
     /**
-     * Calls a given {@link Processor} instance on all remaining unfetched elements of the collection.
+     * Fetches the next batch of elements of the collection that haven't yet been fetched and stores them at the beginning of the given {@code buffer}.
+     * At most {@code buffer.length} elements are fetched, so a return value smaller than that means that the collection has no more unfetched elements.
+     * Implementations check whether the collection has been modified once per batch instead of once per element.
+     *
+     * @param buffer array into which the fetched elements are stored, starting from index 0.
+     * @throws java.util.ConcurrentModificationException when attempting to fetch elements after the collection of the getter had been modified.
+     * @throws NullPointerException when the given buffer is {@code null}.
+     * @return the number of fetched elements, 0 if no unfetched elements are left.
+     */
+    default int getNextElements(T[] buffer) {
+        if (buffer == null) throw new NullPointerException("The given buffer cannot be null!");
+
+        int fetched = 0;
+        for (int length = buffer.length; fetched < length && this.hasNextElement(); fetched++) {
+            buffer[fetched] = this.getNextElement();
+        }
 
+        return fetched;
+    }
+
+    /**
+     * Calls a given {@link Processor} instance on all remaining unfetched elements of the collection.
+     * Every element is fetched only after the previous one has been processed, so a modification of the collection made by the processor is detected according to
+     * the validation mode of the getter.
+     *
      * @param p processor used to process remaining elements.
      * @throws NullPointerException when the given processor is {@code null}.
+     * @throws java.util.ConcurrentModificationException when the collection of the getter is modified before all elements have been processed.
      */
     default void processRemaining(Processor<? super T> p) {
         if (p == null) throw new NullPointerException("The given processor cannot be null!");
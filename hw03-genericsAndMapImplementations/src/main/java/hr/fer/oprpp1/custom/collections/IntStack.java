@@ -0,0 +1,129 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+
+/**
+ * The {@code IntStack} class represents the implementation of a stack of primitive {@code int} values, stored in a resizable array without boxing them.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class IntStack {
+
+    /**
+     * An array of values stored in the current stack, the last one being on the top of the stack.
+     */
+    private int[] elements;
+
+    /**
+     * The number of values on the current stack.
+     */
+    private int size;
+
+    /**
+     * Default capacity is a constant that will be set as the current stack's capacity
+     * when {@code initialCapacity} isn't provided as an argument in the class constructor.
+     */
+    static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Factor by which the current capacity of the {@code elements} array is increased when full.
+     */
+    static final int RESIZING_FACTOR = 2;
+
+    /**
+     * Default constructor that creates an empty {@code IntStack} with the default capacity.
+     */
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty {@code IntStack} and sets the capacity of its {@code elements} array to the given {@code initialCapacity}.
+     *
+     * @param initialCapacity given capacity of the {@code elements} array of the current stack.
+     * @throws IllegalArgumentException when the given initialCapacity is smaller than 1.
+     */
+    public IntStack(int initialCapacity) {
+        if (initialCapacity < 1) throw new IllegalArgumentException("The initial capacity of the stack should be larger than 1!");
+
+        this.elements = new int[initialCapacity];
+        this.size = 0;
+    }
+
+    /**
+     * Determines whether the current stack is empty.
+     *
+     * @return {@code true} if the current stack contains no values, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Determines the number of values on the current stack.
+     *
+     * @return the number of currently stored values on the current stack.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Pushes the given {@code value} on the top of the stack.
+     * If {@code elements} is full, the array is reallocated and resized by the defined {@code RESIZING_FACTOR}.
+     *
+     * @param value value that is to be pushed on the stack.
+     */
+    public void push(int value) {
+        if (this.size == this.elements.length) {
+            this.elements = Arrays.copyOf(this.elements, this.elements.length * RESIZING_FACTOR);
+        }
+
+        this.elements[this.size++] = value;
+    }
+
+    /**
+     * Removes last value pushed on stack from stack.
+     *
+     * @throws EmptyStackExceptionV2 when the stack is empty.
+     * @return value removed from the top of the stack.
+     */
+    public int pop() {
+        if (this.size == 0) {
+            throw new EmptyStackExceptionV2("Cannot pop when the stack is empty!");
+        }
+
+        return this.elements[--this.size];
+    }
+
+    /**
+     * Provides the last value pushed on stack from stack, without removing it.
+     *
+     * @throws EmptyStackExceptionV2 when the stack is empty.
+     * @return value on the top of the stack.
+     */
+    public int peek() {
+        if (this.size == 0) {
+            throw new EmptyStackExceptionV2("Cannot peek when the stack is empty!");
+        }
+
+        return this.elements[this.size - 1];
+    }
+
+    /**
+     * Removes all values from stack, keeping the capacity of the {@code elements} array.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Allocates a new array filled with the values on the current stack, from the bottom to the top of the stack.
+     *
+     * @return array of the values on the current stack.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.elements, this.size);
+    }
+}
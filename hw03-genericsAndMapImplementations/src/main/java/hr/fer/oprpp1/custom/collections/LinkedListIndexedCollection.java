@@ -3,6 +3,9 @@ package hr.fer.oprpp1.custom.collections;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 /**
  * The {@code LinkedListIndexedCollection} class represents the implementation of a linked list-backed {@link Collection} of {@code Object} instances.
@@ -10,7 +13,7 @@ import java.util.Objects;
  *
  * @param <T> type of objects stored in the collection.
  * @author mirtamoslavac
- * @version 3.1
+ * @version 3.5
  */
 public class LinkedListIndexedCollection<T> implements List<T> {
 
@@ -93,6 +96,16 @@ public class LinkedListIndexedCollection<T> implements List<T> {
      */
     private long modificationCount = 0;
 
+    /**
+     * Filter answering most membership checks of elements that are not in the current collection, {@code null} unless attached.
+     */
+    private CountingBloomFilter membershipFilter;
+
+    /**
+     * Estimated size of a single {@link ListNode} in bytes.
+     */
+    private static final long NODE_BYTES = CollectionStatistics.objectBytes(3, 0);
+
     /**
      * Default constructor that creates an empty instance of {@code LinkedListIndexedCollection}.
      */
@@ -122,6 +135,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
         position = Objects.checkIndex(position, this.size + 1);
 
         ListNode<T> insertedNode = new ListNode<>(value);
+        if (CollectionStatistics.ENABLED) CollectionStatistics.LINKED_LIST_INDEXED_COLLECTION.recordAllocation(NODE_BYTES);
         if (this.first == null) {
             this.first = this.last = insertedNode;
         } else if (position == 0) {
@@ -141,6 +155,8 @@ public class LinkedListIndexedCollection<T> implements List<T> {
         }
         this.size++;
         this.modificationCount++;
+
+        if (this.membershipFilter != null) this.membershipFilter.add(value);
     }
 
     @Override
@@ -149,6 +165,10 @@ public class LinkedListIndexedCollection<T> implements List<T> {
             return -1;
         }
 
+        if (this.membershipFilter != null && !this.membershipFilter.mightContain(value)) {
+            return -1;
+        }
+
         int returnValue = -1;
 
         ListNode<T> currentNode = this.first;
@@ -159,7 +179,9 @@ public class LinkedListIndexedCollection<T> implements List<T> {
             }
             currentNode = currentNode.next;
         }
+        if (returnValue == -1 && this.membershipFilter != null) this.membershipFilter.recordFalsePositive();
 
+        if (CollectionStatistics.ENABLED) CollectionStatistics.LINKED_LIST_INDEXED_COLLECTION.recordLookup(returnValue == -1 ? this.size : returnValue + 1);
         return returnValue;
     }
 
@@ -167,24 +189,29 @@ public class LinkedListIndexedCollection<T> implements List<T> {
     public void remove(int index) {
         index = Objects.checkIndex(index, this.size);
 
+        ListNode<T> removedNode;
         if (this.first != null && this.first == this.last){
+            removedNode = this.first;
             this.first = this.last = null;
         } else if (this.first != null && index == 0){
-            this.first.next.previous = null;
-            this.first.value = null;
-            this.first = this.first.next;
+            removedNode = this.first;
+            this.first = removedNode.next;
+            this.first.previous = null;
+            removedNode.next = null;
         } else if (index == this.size - 1){
-            this.last.previous.next = null;
-            this.last.value = null;
-            this.last = this.last.previous;
+            removedNode = this.last;
+            this.last = removedNode.previous;
+            this.last.next = null;
+            removedNode.previous = null;
         } else {
-            ListNode<T> removedNode = this.getNode(index);
+            removedNode = this.getNode(index);
             removedNode.previous.next = removedNode.next;
             removedNode.next.previous = removedNode.previous;
             removedNode.previous = null;
             removedNode.next = null;
-            removedNode.value = null;
         }
+        if (this.membershipFilter != null) this.membershipFilter.remove(removedNode.value);
+        removedNode.value = null;
         this.size--;
         this.modificationCount++;
     }
@@ -199,6 +226,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
         if (value == null) throw new NullPointerException("The passed value cannot be null!");
 
         ListNode<T> addedNode = new ListNode<>(value);
+        if (CollectionStatistics.ENABLED) CollectionStatistics.LINKED_LIST_INDEXED_COLLECTION.recordAllocation(NODE_BYTES);
         if (this.first == null) {
             this.first = this.last = addedNode;
         } else {
@@ -209,6 +237,8 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 
         this.size++;
         this.modificationCount++;
+
+        if (this.membershipFilter != null) this.membershipFilter.add(value);
     }
 
     @Override
@@ -247,6 +277,7 @@ public class LinkedListIndexedCollection<T> implements List<T> {
         this.first = null;
         this.last = null;
         this.size = 0;
+        if (this.membershipFilter != null) this.membershipFilter.clear();
 
         this.modificationCount++;
     }
@@ -254,14 +285,24 @@ public class LinkedListIndexedCollection<T> implements List<T> {
 
     @Override
     public ElementsGetter<T> createElementsGetter() {
-        return new LinkedListIndexedCollection.LinkedListElementsGetter<>(this);
+        return new LinkedListIndexedCollection.LinkedListElementsGetter<>(this, ElementsGetter.ValidationMode.EVERY_ELEMENT);
+    }
+
+    @Override
+    public ElementsGetter<T> createElementsGetter(ElementsGetter.ValidationMode mode) {
+        if (mode == null) throw new NullPointerException("The given validation mode cannot be null!");
+
+        return new LinkedListIndexedCollection.LinkedListElementsGetter<>(this, mode);
     }
 
     /**
      * The {@code LinkedListElementsGetter} is an implementation of {@link ElementsGetter} adapted for the {@link LinkedListIndexedCollection}.
+     * Whether the collection has been modified is checked as often as its {@link ElementsGetter.ValidationMode} requires.
+     * Since removed nodes are unlinked, a getter that checks less often than on every element ends early instead of walking into removed nodes, and then reports the
+     * modification.
      *
      * @author mirtamoslavac
-     * @version 1.0
+     * @version 1.1
      */
     private static class LinkedListElementsGetter<T> implements ElementsGetter<T> {
 
@@ -275,49 +316,271 @@ public class LinkedListIndexedCollection<T> implements List<T> {
          */
         private ListNode<T> nextNode;
 
+        /**
+         * The number of elements fetched so far.
+         */
+        private int fetchedCount;
+
         /**
          * The number of modifications made on the collection at the moment of instancing this current elements getter.
          */
         private final long savedModificationCount;
 
+        /**
+         * How often the current elements getter checks whether the collection has been modified.
+         */
+        private final ValidationMode mode;
+
         /**
          * Initializes the getter to the starting position.
          *
          * @param linkedListCollection collection whose elements will be fetched on demand.
+         * @param mode how often the getter checks whether the collection has been modified.
          * @throws NullPointerException when the given collection is {@code null}.
          */
-        private LinkedListElementsGetter(LinkedListIndexedCollection<T> linkedListCollection) {
+        private LinkedListElementsGetter(LinkedListIndexedCollection<T> linkedListCollection, ValidationMode mode) {
             if (linkedListCollection == null) throw new NullPointerException("The given collection cannot be null!");
             this.linkedListCollection = linkedListCollection;
             this.nextNode = linkedListCollection.first;
             this.savedModificationCount = this.linkedListCollection.modificationCount;
+            this.mode = mode;
         }
 
 
         @Override
         public boolean hasNextElement() {
-            if (this.savedModificationCount != this.linkedListCollection.modificationCount) {
-                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
-            }
+            if (this.mode == ValidationMode.EVERY_ELEMENT) this.checkForComodification();
+            if (this.nextNode != null) return true;
 
-            return this.nextNode != null;
+            if (this.mode != ValidationMode.UNCHECKED) this.checkForComodification();
+            return false;
         }
 
 
         @Override
         public T getNextElement() {
-            if (this.savedModificationCount != this.linkedListCollection.modificationCount) {
-                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
+            if (this.mode == ValidationMode.EVERY_ELEMENT || this.mode == ValidationMode.EVERY_BATCH && this.fetchedCount % DEFAULT_BATCH_SIZE == 0) {
+                this.checkForComodification();
             }
-            if (!hasNextElement()) {
+            if (this.nextNode == null) {
+                if (this.mode != ValidationMode.UNCHECKED) this.checkForComodification();
                 throw new NoSuchElementException("There are no elements in this collection that remain unfetched!");
             }
 
             T valueToReturn = this.nextNode.value;
             this.nextNode = nextNode.next;
+            this.fetchedCount++;
 
             return valueToReturn;
         }
+
+        /**
+         * {@inheritDoc}
+         * The nodes are walked directly, without checking for modifications of the collection between single elements.
+         */
+        @Override
+        public int getNextElements(T[] buffer) {
+            if (buffer == null) throw new NullPointerException("The given buffer cannot be null!");
+            if (this.mode == ValidationMode.EVERY_ELEMENT || this.mode == ValidationMode.EVERY_BATCH) this.checkForComodification();
+
+            ListNode<T> currentNode = this.nextNode;
+            int fetched = 0;
+            for (int length = buffer.length; fetched < length && currentNode != null; fetched++) {
+                buffer[fetched] = currentNode.value;
+                currentNode = currentNode.next;
+            }
+            this.nextNode = currentNode;
+            this.fetchedCount += fetched;
+            if (fetched < buffer.length && this.mode == ValidationMode.AT_END) this.checkForComodification();
+
+            return fetched;
+        }
+
+        /**
+         * Checks whether the collection has been modified after instancing the current elements getter.
+         *
+         * @throws ConcurrentModificationException when the collection has been modified.
+         */
+        private void checkForComodification() {
+            if (this.savedModificationCount != this.linkedListCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned spliterator splits off batches of growing size, copying them into arrays, since the linked-list itself cannot be split in the middle without walking to it.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new LinkedListSpliterator<>(this);
+    }
+
+    /**
+     * The {@code LinkedListSpliterator} is an implementation of {@link Spliterator} adapted for the {@link LinkedListIndexedCollection}.
+     * Every split hands over an array-backed spliterator of the next batch of elements, while the current spliterator keeps traversing the rest of the linked-list.
+     *
+     * @param <T> type of objects stored in the spliterator.
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class LinkedListSpliterator<T> implements Spliterator<T> {
+
+        /**
+         * The number of elements in the first batch handed over by splitting.
+         */
+        private static final int BATCH_UNIT = 1 << 10;
+
+        /**
+         * The maximum number of elements in a single batch handed over by splitting.
+         */
+        private static final int MAX_BATCH = 1 << 25;
+
+        /**
+         * The collection whose elements are traversed.
+         */
+        private final LinkedListIndexedCollection<T> linkedListCollection;
+
+        /**
+         * The next node that is to be traversed.
+         */
+        private ListNode<T> nextNode;
+
+        /**
+         * The number of elements that remain to be traversed.
+         */
+        private int remaining;
+
+        /**
+         * The size of the batch handed over by the last split.
+         */
+        private int batch;
+
+        /**
+         * The number of modifications made on the collection at the moment of instancing the current spliterator.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Creates a new {@code LinkedListSpliterator} covering all elements of the given collection.
+         *
+         * @param linkedListCollection collection whose elements are traversed.
+         */
+        private LinkedListSpliterator(LinkedListIndexedCollection<T> linkedListCollection) {
+            this.linkedListCollection = linkedListCollection;
+            this.nextNode = linkedListCollection.first;
+            this.remaining = linkedListCollection.size;
+            this.batch = 0;
+            this.savedModificationCount = linkedListCollection.modificationCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+            if (this.remaining <= 0 || this.nextNode == null) return false;
+
+            T value = this.nextNode.value;
+            this.nextNode = this.nextNode.next;
+            this.remaining--;
+            action.accept(value);
+            this.checkForComodification();
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+
+            ListNode<T> currentNode = this.nextNode;
+            for (int i = this.remaining; i > 0 && currentNode != null; i--) {
+                action.accept(currentNode.value);
+                currentNode = currentNode.next;
+            }
+            this.nextNode = null;
+            this.remaining = 0;
+            this.checkForComodification();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (this.remaining <= 1 || this.nextNode == null) return null;
+
+            int batchSize = Math.min(Math.min(this.batch + BATCH_UNIT, MAX_BATCH), this.remaining);
+            Object[] batchElements = new Object[batchSize];
+
+            ListNode<T> currentNode = this.nextNode;
+            int copied = 0;
+            for (; copied < batchSize && currentNode != null; copied++) {
+                batchElements[copied] = currentNode.value;
+                currentNode = currentNode.next;
+            }
+
+            this.nextNode = currentNode;
+            this.remaining -= copied;
+            this.batch = copied;
+            this.checkForComodification();
+
+            return Spliterators.spliterator(batchElements, 0, copied, ORDERED | NONNULL);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        /**
+         * Checks whether the collection has been modified after instancing the current spliterator.
+         *
+         * @throws ConcurrentModificationException when the collection has been modified.
+         */
+        private void checkForComodification() {
+            if (this.savedModificationCount != this.linkedListCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this spliterator!");
+            }
+        }
+    }
+
+    /**
+     * Attaches a new {@link CountingBloomFilter} to the current collection, filled with its elements and kept up to date on every addition and removal.
+     * The filter lets {@link #contains(Object)}, {@link #indexOf(Object)} and {@link #remove(Object)} answer most checks of elements that are not in the collection
+     * without scanning it, while the answers stay exact.
+     * A previously attached filter is replaced.
+     *
+     * @param expectedElements the number of elements the filter is sized for, increased to the current size of the collection if it is smaller.
+     * @param falsePositiveRate the wanted probability that a check of a missing element still has to scan the collection.
+     * @return the attached filter, which also reports its memory usage and false positive rates.
+     * @throws IllegalArgumentException when the filter cannot be created with the given parameters.
+     */
+    public CountingBloomFilter attachMembershipFilter(int expectedElements, double falsePositiveRate) {
+        CountingBloomFilter filter = new CountingBloomFilter(Math.max(expectedElements, this.size), falsePositiveRate);
+        for (ListNode<T> currentNode = this.first; currentNode != null; currentNode = currentNode.next) {
+            filter.add(currentNode.value);
+        }
+        this.membershipFilter = filter;
+        return filter;
+    }
+
+    /**
+     * Detaches the {@link CountingBloomFilter} attached by {@link #attachMembershipFilter(int, double)}, if there is one.
+     */
+    public void detachMembershipFilter() {
+        this.membershipFilter = null;
+    }
+
+    /**
+     * Fetches the {@link CountingBloomFilter} attached to the current collection.
+     *
+     * @return the attached filter, {@code null} if there is none.
+     */
+    public CountingBloomFilter getMembershipFilter() {
+        return this.membershipFilter;
     }
 
     /**
@@ -334,16 +597,28 @@ public class LinkedListIndexedCollection<T> implements List<T> {
             for (int i = 0; i < index; i++) {
                 currentNode = currentNode.next;
             }
+            if (CollectionStatistics.ENABLED) CollectionStatistics.LINKED_LIST_INDEXED_COLLECTION.recordLookup(index + 1);
         } else {
             currentNode = this.last;
             for (int i = this.size - 1; i > index; i--) {
                 currentNode = currentNode.previous;
             }
+            if (CollectionStatistics.ENABLED) CollectionStatistics.LINKED_LIST_INDEXED_COLLECTION.recordLookup(this.size - index);
         }
 
         return currentNode;
     }
 
+    /**
+     * Estimates the number of bytes retained by the current collection: the collection object itself and all of its nodes, but not the stored elements.
+     *
+     * @return estimated retained size of the current collection in bytes.
+     * @see CollectionStatistics
+     */
+    public long estimateRetainedBytes() {
+        return CollectionStatistics.objectBytes(2, Integer.BYTES + Long.BYTES) + this.size * NODE_BYTES;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,107 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The {@code MergeSort} class sorts ranges of object arrays with a stable, bottom-up merge sort in the spirit of TimSort.
+ * Short runs are first sorted by binary insertion sort, after which neighbouring runs are merged pairwise through a buffer holding only the left one.
+ * Runs that are already in order are not merged at all, so sorted and nearly sorted input takes linear time.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class MergeSort {
+
+    /**
+     * Length of the runs sorted by insertion sort before merging.
+     */
+    static final int MIN_RUN = 32;
+
+    /**
+     * Prevents instancing of the utility class.
+     */
+    private MergeSort() {
+    }
+
+    /**
+     * Sorts the elements of the given array from {@code from} (inclusive) to {@code to} (exclusive) into the order given by the {@code comparator}.
+     * Equal elements keep their relative order.
+     *
+     * @param array array whose range is sorted.
+     * @param from position of the first sorted element.
+     * @param to position right after the last sorted element.
+     * @param comparator comparator determining the order of the elements.
+     * @param <T> type of the sorted elements.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        int length = to - from;
+        if (length < 2) return;
+
+        for (int runStart = from; runStart < to; runStart += MIN_RUN) {
+            insertionSort(array, runStart, Math.min(runStart + MIN_RUN, to), comparator);
+        }
+        if (length <= MIN_RUN) return;
+
+        T[] buffer = (T[]) new Object[MIN_RUN];
+        for (int runLength = MIN_RUN; runLength < length; runLength *= 2) {
+            if (buffer.length < runLength) buffer = (T[]) new Object[runLength];
+            for (int left = from; left < to - runLength; left += 2 * runLength) {
+                int middle = left + runLength;
+                merge(array, left, middle, Math.min(middle + runLength, to), buffer, comparator);
+            }
+        }
+        Arrays.fill(buffer, null);
+    }
+
+    /**
+     * Sorts a short range of the given array by binary insertion sort, placing every element after all elements equal to it.
+     *
+     * @param array array whose range is sorted.
+     * @param from position of the first sorted element.
+     * @param to position right after the last sorted element.
+     * @param comparator comparator determining the order of the elements.
+     * @param <T> type of the sorted elements.
+     */
+    private static <T> void insertionSort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        for (int i = from + 1; i < to; i++) {
+            T value = array[i];
+            if (comparator.compare(array[i - 1], value) <= 0) continue;
+
+            int low = from, high = i - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare(array[middle], value) <= 0) low = middle + 1;
+                else high = middle;
+            }
+
+            System.arraycopy(array, low, array, low + 1, i - low);
+            array[low] = value;
+        }
+    }
+
+    /**
+     * Merges the sorted ranges {@code [left, middle)} and {@code [middle, right)} of the given array, taking elements from the left range first when they are equal.
+     *
+     * @param array array whose ranges are merged.
+     * @param left position of the first element of the left range.
+     * @param middle position of the first element of the right range.
+     * @param right position right after the last element of the right range.
+     * @param buffer array large enough to hold the left range.
+     * @param comparator comparator determining the order of the elements.
+     * @param <T> type of the merged elements.
+     */
+    private static <T> void merge(T[] array, int left, int middle, int right, T[] buffer, Comparator<? super T> comparator) {
+        if (comparator.compare(array[middle - 1], array[middle]) <= 0) return;
+
+        int leftLength = middle - left;
+        System.arraycopy(array, left, buffer, 0, leftLength);
+
+        int i = 0, j = middle, k = left;
+        while (i < leftLength && j < right) {
+            array[k++] = comparator.compare(array[j], buffer[i]) < 0 ? array[j++] : buffer[i++];
+        }
+        System.arraycopy(buffer, i, array, k, leftLength - i);
+    }
+}
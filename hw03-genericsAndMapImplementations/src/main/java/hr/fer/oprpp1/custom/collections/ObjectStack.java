@@ -7,20 +7,20 @@ package hr.fer.oprpp1.custom.collections;
  *
  * @param <T> type of objects stored in the stack-like collection.
  * @author mirtamoslavac
- * @version 2.0
+ * @version 3.0
  */
 public class ObjectStack<T> {
 
     /**
-     * The Adaptee in the adapter pattern, in this case an {@link ArrayIndexedCollection}.
+     * The Adaptee in the adapter pattern, in this case an {@link ArrayDequeCollection} whose end is the top of the stack.
      */
-    private ArrayIndexedCollection<T> adapteeCollection;
+    private final ArrayDequeCollection<T> adapteeCollection;
 
     /**
-     * Default constructor that creates a new instance of both the adaptor ({@code ObjectStack}) and the adaptee ({@link ArrayIndexedCollection}).
+     * Default constructor that creates a new instance of both the adaptor ({@code ObjectStack}) and the adaptee ({@link ArrayDequeCollection}).
      */
     public ObjectStack() {
-        adapteeCollection = new ArrayIndexedCollection<>();
+        adapteeCollection = new ArrayDequeCollection<>();
     }
 
     /**
@@ -47,7 +47,7 @@ public class ObjectStack<T> {
      * @throws NullPointerException when {@code value} is passed as {@code null}.
      */
     public void push(T value) {
-        this.adapteeCollection.add(value);
+        this.adapteeCollection.addLast(value);
     }
 
     /**
@@ -60,10 +60,7 @@ public class ObjectStack<T> {
         if (this.isEmpty()) {
             throw new EmptyStackExceptionV2("Cannot pop when the stack is empty!");
         }
-        T poppedObject = this.peek();
-        this.adapteeCollection.remove(this.size() - 1);
-
-        return poppedObject;
+        return this.adapteeCollection.removeLast();
     }
 
     /**
@@ -76,7 +73,7 @@ public class ObjectStack<T> {
         if (this.isEmpty()) {
             throw new EmptyStackExceptionV2("Cannot peek when the stack is empty!");
         }
-        return this.adapteeCollection.get(this.size() - 1);
+        return this.adapteeCollection.peekLast();
     }
 
     /**
@@ -0,0 +1,822 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@code OffHeapStringHashtable} class is a hashed table of {@code String} keys and values stored outside of the Java heap, offering the same operations as a
+ * {@link SimpleHashtable} of strings.
+ * <p>
+ * Keys and values are encoded in UTF-8 and appended as records to direct {@link ByteBuffer} slabs, while the table itself is a direct buffer of slots that uses open
+ * addressing with linear probing.
+ * Every slot holds the hash code of the key, so that keys are only compared when their hash codes match, and the address of its record.
+ * The only objects on the heap are therefore the table instance and the buffers, no matter how many entries are stored.
+ * <p>
+ * Replaced and removed records are not reused; the space they take up is reclaimed when the table is resized and more than half of the stored bytes are garbage.
+ * The table can be written to a file with {@link #persist(Path)} and memory-mapped back with {@link #load(Path)}, without rebuilding it.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class OffHeapStringHashtable implements Iterable<OffHeapStringHashtable.Entry> {
+
+    /**
+     * A constant that represents the default number of slots for a new hashtable when {@code capacity} isn't provided as an argument in the class constructor.
+     */
+    static final int DEFAULT_SLOTS = 16;
+
+    /**
+     * A constant that represents the percentage of allowed occupied slots, including the ones of removed entries, for the current hashtable.
+     */
+    static final double DEFAULT_OVERCAPACITY_FACTOR = 0.75;
+
+    /**
+     * The largest number of slots, limited by the size of a single {@link ByteBuffer}.
+     */
+    static final int MAX_SLOTS = 1 << 27;
+
+    /**
+     * Size of a slot in bytes: an 8 byte record reference followed by a 4 byte hash code.
+     */
+    private static final int SLOT_BYTES = 12;
+
+    /**
+     * Size of a record header in bytes: the 4 byte lengths of the key and of the value.
+     */
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /**
+     * Size of the first allocated slab in bytes.
+     */
+    static final int FIRST_SLAB_BYTES = 1 << 16;
+
+    /**
+     * The largest size of a slab in bytes.
+     */
+    static final int MAX_SLAB_BYTES = 1 << 30;
+
+    /**
+     * Reference stored in a slot that has never been used.
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * Reference stored in a slot whose entry has been removed.
+     */
+    private static final long DELETED = -1;
+
+    /**
+     * Value length stored in the record of an entry whose value is {@code null}.
+     */
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * A number written at the beginning of every persisted file.
+     */
+    private static final int MAGIC = 0x4F48_5354;
+
+    /**
+     * Version of the format of persisted files.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Size of the fixed part of the file header in bytes.
+     */
+    private static final int FILE_HEADER_BYTES = 32;
+
+    /**
+     * Buffer of slots representing the hashtable.
+     */
+    private ByteBuffer table;
+
+    /**
+     * The number of slots in the {@code table} buffer, always a power of two.
+     */
+    private int capacity;
+
+    /**
+     * The number of key-value pairs stored in the current hashtable.
+     */
+    private int size;
+
+    /**
+     * The number of slots whose entries have been removed.
+     */
+    private int deleted;
+
+    /**
+     * Buffers holding the records, of which only the last one is appended to.
+     */
+    private ByteBuffer[] slabs;
+
+    /**
+     * The number of allocated slabs.
+     */
+    private int slabCount;
+
+    /**
+     * The number of bytes in the slabs taken up by replaced or removed records.
+     */
+    private long garbageBytes;
+
+    /**
+     * Counter of how many times a modification on the current hashtable has occurred.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Default constructor that creates a new {@code OffHeapStringHashtable} instance with the default number of slots.
+     */
+    public OffHeapStringHashtable() {
+        this(DEFAULT_SLOTS);
+    }
+
+    /**
+     * Creates an instance of {@code OffHeapStringHashtable} and sets the number of slots in the table to the first power of two equal to or larger than the given
+     * {@code capacity}.
+     *
+     * @param capacity the proposed number of slots for the new {@code OffHeapStringHashtable} instance.
+     * @throws IllegalArgumentException when the given capacity is smaller than 1 or larger than {@link #MAX_SLOTS}.
+     */
+    public OffHeapStringHashtable(int capacity) {
+        if (capacity < 1 || capacity > MAX_SLOTS) throw new IllegalArgumentException("The capacity of the hashtable should be between 1 and " + MAX_SLOTS + "!");
+
+        int slots = 1;
+        for (; slots < capacity; slots *= 2);
+
+        this.capacity = slots;
+        this.table = ByteBuffer.allocateDirect(slots * SLOT_BYTES);
+        this.slabs = new ByteBuffer[4];
+    }
+
+    /**
+     * Creates an instance of {@code OffHeapStringHashtable} over already filled buffers.
+     *
+     * @param table buffer of slots.
+     * @param capacity the number of slots.
+     * @param size the number of stored entries.
+     * @param deleted the number of slots of removed entries.
+     * @param slabs buffers holding the records.
+     * @param garbageBytes the number of bytes taken up by replaced or removed records.
+     */
+    private OffHeapStringHashtable(ByteBuffer table, int capacity, int size, int deleted, ByteBuffer[] slabs, long garbageBytes) {
+        this.table = table;
+        this.capacity = capacity;
+        this.size = size;
+        this.deleted = deleted;
+        this.slabs = slabs.length == 0 ? new ByteBuffer[4] : slabs;
+        this.slabCount = slabs.length;
+        this.garbageBytes = garbageBytes;
+    }
+
+    /**
+     * The {@code Entry} class represents a single key-value pair of the hashtable, decoded when it is fetched by an iterator.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    public class Entry {
+
+        /**
+         * The key of the current entry.
+         */
+        private final String key;
+
+        /**
+         * The value of the current entry.
+         */
+        private String value;
+
+        /**
+         * Creates a new {@code Entry} with the given {@code key} and {@code value}.
+         *
+         * @param key the key of the new entry.
+         * @param value the value of the new entry.
+         */
+        private Entry(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Fetches the key of the current entry.
+         *
+         * @return the key of the current entry.
+         */
+        public String getKey() {
+            return this.key;
+        }
+
+        /**
+         * Fetches the value of the current entry.
+         *
+         * @return the value of the current entry.
+         */
+        public String getValue() {
+            return this.value;
+        }
+
+        /**
+         * Stores the new given {@code value} for the current entry, writing it into the hashtable as well.
+         *
+         * @param value new value of the current entry.
+         */
+        public void setValue(String value) {
+            OffHeapStringHashtable.this.put(this.key, value);
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    /**
+     * Inserts the given key and value into the current hashtable.
+     * If an entry with the same {@code key} that is given already exists, then the old {@code value} will be overwritten by the new one.
+     *
+     * @param key the key of the entry.
+     * @param value the value of the entry.
+     * @throws NullPointerException when the given {@code key} is {@code null}.
+     * @throws IllegalStateException when the table cannot grow any further.
+     * @return old {@code value} if an entry with the same {@code key} already existed, {@code null} otherwise.
+     */
+    public String put(String key, String value) {
+        if (key == null) throw new NullPointerException("The given key cannot be null!");
+
+        byte[] keyBytes = key.getBytes(UTF_8);
+        byte[] valueBytes = value == null ? null : value.getBytes(UTF_8);
+        int hash = spread(key.hashCode());
+        int slot = this.findSlot(keyBytes, hash);
+
+        if (slot >= 0) {
+            long oldReference = this.table.getLong(slot * SLOT_BYTES);
+            String oldValue = this.readValue(oldReference);
+            this.garbageBytes += this.recordBytes(oldReference);
+            this.table.putLong(slot * SLOT_BYTES, this.appendRecord(keyBytes, valueBytes));
+
+            return oldValue;
+        }
+
+        if (this.checkOccupancy()) slot = this.findSlot(keyBytes, hash);
+        long reference = this.appendRecord(keyBytes, valueBytes);
+
+        slot = -slot - 1;
+        if (this.table.getLong(slot * SLOT_BYTES) == DELETED) this.deleted--;
+        this.table.putLong(slot * SLOT_BYTES, reference);
+        this.table.putInt(slot * SLOT_BYTES + 8, hash);
+        this.size++;
+        this.modificationCount++;
+
+        return null;
+    }
+
+    /**
+     * Fetches the {@code value} of the entry whose {@code key} equals the given {@code key}.
+     *
+     * @param key {@code key} to the entry whose {@code value} is wanted.
+     * @return {@code value} that is stored in an existing entry, {@code null} otherwise (not making a difference between the {@code key} not existing and the {@code value}
+     * being {@code null}).
+     */
+    public String get(Object key) {
+        if (!(key instanceof String)) return null;
+
+        String stringKey = (String) key;
+        int slot = this.findSlot(stringKey.getBytes(UTF_8), spread(stringKey.hashCode()));
+
+        return slot < 0 ? null : this.readValue(this.table.getLong(slot * SLOT_BYTES));
+    }
+
+    /**
+     * Determines the size of the current hashtable, also known as the number of entries within it.
+     *
+     * @return the number of currently stored key-value pairs in the current hashtable.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether the current hashtable contains an entry whose {@code key} equals the given {@code key}.
+     *
+     * @param key {@code key} that is sought after in the current hashtable.
+     * @return {@code true} if an entry with that {@code key} exists, {@code false} otherwise.
+     */
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String)) return false;
+
+        String stringKey = (String) key;
+        return this.findSlot(stringKey.getBytes(UTF_8), spread(stringKey.hashCode())) >= 0;
+    }
+
+    /**
+     * Checks whether the current hashtable contains an entry whose {@code value} equals the given {@code value}.
+     *
+     * @param value {@code value} that is sought after in the current hashtable.
+     * @return {@code true} when the first entry with that {@code value} is found, {@code false} if no entries contain it.
+     */
+    public boolean containsValue(Object value) {
+        for (int slot = 0; slot < this.capacity; slot++) {
+            long reference = this.table.getLong(slot * SLOT_BYTES);
+            if (reference != EMPTY && reference != DELETED && Objects.equals(this.readValue(reference), value)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the entry in the current hashtable whose {@code key} equals the given {@code key}.
+     *
+     * @param key {@code key} of the entry that is to be removed.
+     * @return the {@code value} of the removed entry or {@code null} if the given {@code key} is {@code null} or the entry with that {@code key} is not in the current hashtable.
+     */
+    public String remove(Object key) {
+        if (!(key instanceof String)) return null;
+
+        String stringKey = (String) key;
+        int slot = this.findSlot(stringKey.getBytes(UTF_8), spread(stringKey.hashCode()));
+        if (slot < 0) return null;
+
+        long reference = this.table.getLong(slot * SLOT_BYTES);
+        String value = this.readValue(reference);
+        this.garbageBytes += this.recordBytes(reference);
+        this.table.putLong(slot * SLOT_BYTES, DELETED);
+        this.size--;
+        this.deleted++;
+        this.modificationCount++;
+
+        return value;
+    }
+
+    /**
+     * Determines whether the current hashtable is empty.
+     *
+     * @return {@code true} if the current hashtable is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all entries from the current hashtable, keeping its number of slots and releasing all slabs.
+     */
+    public void clear() {
+        this.table = ByteBuffer.allocateDirect(this.capacity * SLOT_BYTES);
+        this.slabs = new ByteBuffer[4];
+        this.slabCount = 0;
+        this.size = 0;
+        this.deleted = 0;
+        this.garbageBytes = 0;
+        this.modificationCount++;
+    }
+
+    /**
+     * Determines the number of bytes the current hashtable holds outside of the Java heap, including unused slots and unused space in the slabs.
+     *
+     * @return the number of reserved off-heap bytes.
+     */
+    public long offHeapBytes() {
+        long bytes = this.table.capacity();
+        for (int i = 0; i < this.slabCount; i++) {
+            bytes += this.slabs[i].capacity();
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+
+        for (Entry entry : this) {
+            sb.append(entry).append(", ");
+        }
+
+        if (sb.charAt(sb.length() - 1) == ' ')
+            sb.setLength(sb.length() - 2);
+
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    @Override
+    public Iterator<Entry> iterator() {
+        return new IteratorImpl();
+    }
+
+    /**
+     * Writes the current hashtable into the file at the given {@code path}, replacing the file if it already exists.
+     * The table is first written into a temporary file in the same directory, which then atomically replaces the file at the given {@code path}, so a hashtable can be
+     * persisted into the file it was loaded from.
+     * The written table can be restored with {@link #load(Path)}.
+     *
+     * @param path path of the file that the current hashtable is written to.
+     * @throws NullPointerException when the given {@code path} is {@code null}.
+     * @throws IOException when writing to the file fails.
+     */
+    public void persist(Path path) throws IOException {
+        if (path == null) throw new NullPointerException("The given path cannot be null!");
+
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES + Integer.BYTES * this.slabCount);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(this.size).putInt(this.capacity).putInt(this.deleted).putInt(this.slabCount).putLong(this.garbageBytes);
+        for (int i = 0; i < this.slabCount; i++) {
+            header.putInt(this.slabs[i].position());
+        }
+
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryPath = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)) {
+                writeFully(channel, header.flip());
+                writeFully(channel, this.table.duplicate().clear());
+                for (int i = 0; i < this.slabCount; i++) {
+                    writeFully(channel, this.slabs[i].duplicate().flip());
+                }
+            }
+
+            Files.move(temporaryPath, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Restores a hashtable written by {@link #persist(Path)} by memory-mapping the file at the given {@code path}.
+     * Nothing is copied or rehashed, so the restored hashtable is available immediately and its pages are read from the file when first accessed.
+     * The mapping is private, meaning that modifications of the restored hashtable are not written back into the file.
+     *
+     * @param path path of the file that the hashtable is restored from.
+     * @return restored hashtable.
+     * @throws NullPointerException when the given {@code path} is {@code null}.
+     * @throws IOException when reading the file fails or the file does not contain a persisted hashtable.
+     */
+    public static OffHeapStringHashtable load(Path path) throws IOException {
+        if (path == null) throw new NullPointerException("The given path cannot be null!");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), FILE_HEADER_BYTES));
+            if (header.limit() < FILE_HEADER_BYTES || header.getInt() != MAGIC) throw new IOException("The file " + path + " does not contain a persisted hashtable!");
+            if (header.getInt() != FORMAT_VERSION) throw new IOException("The file " + path + " was written in an unsupported format!");
+
+            int size = header.getInt(), capacity = header.getInt(), deleted = header.getInt(), slabCount = header.getInt();
+            long garbageBytes = header.getLong();
+
+            ByteBuffer slabLengths = channel.map(FileChannel.MapMode.READ_ONLY, FILE_HEADER_BYTES, (long) Integer.BYTES * slabCount);
+            long position = FILE_HEADER_BYTES + (long) Integer.BYTES * slabCount;
+
+            ByteBuffer table = channel.map(FileChannel.MapMode.PRIVATE, position, (long) capacity * SLOT_BYTES);
+            position += (long) capacity * SLOT_BYTES;
+
+            ByteBuffer[] slabs = new ByteBuffer[slabCount];
+            for (int i = 0; i < slabCount; i++) {
+                int length = slabLengths.getInt();
+                slabs[i] = channel.map(FileChannel.MapMode.PRIVATE, position, length).position(length);
+                position += length;
+            }
+
+            return new OffHeapStringHashtable(table, capacity, size, deleted, slabs, garbageBytes);
+        }
+    }
+
+    /**
+     * The {@code IteratorImpl} class represents an implementation of the {@link Iterator} for the {@link OffHeapStringHashtable} class, visiting the slots in order.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private class IteratorImpl implements Iterator<Entry> {
+
+        /**
+         * The entry that was last fetched.
+         */
+        private Entry currentEntry;
+
+        /**
+         * The slot of the entry that is to be fetched next, equal to the number of slots if there are no more entries.
+         */
+        private int nextSlot;
+
+        /**
+         * The number of modifications made on the hashtable at the moment of instancing the current iterator or when removing an entry within it occurs.
+         */
+        private long savedModificationCount;
+
+        /**
+         * Default constructor that creates a new {@code IteratorImpl} and finds the first slot to be processed by the iterator.
+         */
+        private IteratorImpl() {
+            this.savedModificationCount = modificationCount;
+            this.nextSlot = this.findLiveSlot(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.savedModificationCount != modificationCount) throw new ConcurrentModificationException("The hashtable has been modified outside of the already instanced iterator!");
+            return this.nextSlot < capacity;
+        }
+
+        @Override
+        public Entry next() {
+            if (!this.hasNext()) throw new NoSuchElementException("There are no more elements in this hashtable available for iteration!");
+
+            long reference = table.getLong(this.nextSlot * SLOT_BYTES);
+            this.currentEntry = new Entry(readKey(reference), readValue(reference));
+            this.nextSlot = this.findLiveSlot(this.nextSlot + 1);
+
+            return this.currentEntry;
+        }
+
+        @Override
+        public void remove() {
+            if (this.savedModificationCount != modificationCount) throw new ConcurrentModificationException("The hashtable has been modified outside of the already instanced iterator!");
+            if (this.currentEntry == null) throw new IllegalStateException("Cannot remove the same element twice after calling the next method!");
+
+            OffHeapStringHashtable.this.remove(this.currentEntry.key);
+            this.savedModificationCount = modificationCount;
+
+            this.currentEntry = null;
+        }
+
+        /**
+         * Finds the first slot holding an entry, starting from the given {@code slot}.
+         *
+         * @param slot slot where the search starts.
+         * @return found slot, or the number of slots if there are no more entries.
+         */
+        private int findLiveSlot(int slot) {
+            for (; slot < capacity; slot++) {
+                long reference = table.getLong(slot * SLOT_BYTES);
+                if (reference != EMPTY && reference != DELETED) break;
+            }
+
+            return slot;
+        }
+    }
+
+    /**
+     * Spreads the higher bits of the given hash code downwards, so that they also affect the slot of a key.
+     *
+     * @param hashCode hash code of a key.
+     * @return spread hash code.
+     */
+    private static int spread(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Searches the table for the slot of the key given by its encoded {@code keyBytes} and spread {@code hash}.
+     *
+     * @param keyBytes the key encoded in UTF-8.
+     * @param hash spread hash code of the key.
+     * @return the slot of the key if it exists, otherwise {@code -(insertionSlot + 1)}, where the insertion slot is the first free slot that the key could be stored in.
+     */
+    private int findSlot(byte[] keyBytes, int hash) {
+        int mask = this.capacity - 1, firstDeleted = -1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long reference = this.table.getLong(slot * SLOT_BYTES);
+
+            if (reference == EMPTY) {
+                return -(firstDeleted == -1 ? slot : firstDeleted) - 1;
+            } else if (reference == DELETED) {
+                if (firstDeleted == -1) firstDeleted = slot;
+            } else if (this.table.getInt(slot * SLOT_BYTES + 8) == hash && this.keyEquals(reference, keyBytes)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the key of the record at the given {@code reference} equals the given encoded key.
+     *
+     * @param reference reference of the record.
+     * @param keyBytes the key encoded in UTF-8.
+     * @return {@code true} if the keys are equal, {@code false} otherwise.
+     */
+    private boolean keyEquals(long reference, byte[] keyBytes) {
+        ByteBuffer slab = this.slab(reference);
+        int position = position(reference);
+        if (slab.getInt(position) != keyBytes.length) return false;
+
+        position += RECORD_HEADER_BYTES;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (slab.get(position + i) != keyBytes[i]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Decodes the key of the record at the given {@code reference}.
+     *
+     * @param reference reference of the record.
+     * @return decoded key.
+     */
+    private String readKey(long reference) {
+        ByteBuffer slab = this.slab(reference);
+        int position = position(reference);
+
+        byte[] keyBytes = new byte[slab.getInt(position)];
+        slab.get(position + RECORD_HEADER_BYTES, keyBytes);
+
+        return new String(keyBytes, UTF_8);
+    }
+
+    /**
+     * Decodes the value of the record at the given {@code reference}.
+     *
+     * @param reference reference of the record.
+     * @return decoded value, possibly {@code null}.
+     */
+    private String readValue(long reference) {
+        ByteBuffer slab = this.slab(reference);
+        int position = position(reference);
+
+        int valueLength = slab.getInt(position + 4);
+        if (valueLength == NULL_LENGTH) return null;
+
+        byte[] valueBytes = new byte[valueLength];
+        slab.get(position + RECORD_HEADER_BYTES + slab.getInt(position), valueBytes);
+
+        return new String(valueBytes, UTF_8);
+    }
+
+    /**
+     * Determines the size of the record at the given {@code reference}.
+     *
+     * @param reference reference of the record.
+     * @return size of the record in bytes.
+     */
+    private int recordBytes(long reference) {
+        ByteBuffer slab = this.slab(reference);
+        int position = position(reference);
+
+        return RECORD_HEADER_BYTES + slab.getInt(position) + Math.max(0, slab.getInt(position + 4));
+    }
+
+    /**
+     * Fetches the slab that holds the record at the given {@code reference}.
+     *
+     * @param reference reference of the record.
+     * @return slab of the record.
+     */
+    private ByteBuffer slab(long reference) {
+        return this.slabs[(int) ((reference - 1) >>> 32)];
+    }
+
+    /**
+     * Determines the position of the record at the given {@code reference} within its slab.
+     *
+     * @param reference reference of the record.
+     * @return position of the record within its slab.
+     */
+    private static int position(long reference) {
+        return (int) (reference - 1);
+    }
+
+    /**
+     * Appends a new record with the given encoded key and value to the last slab, allocating a new slab first if the record does not fit.
+     *
+     * @param keyBytes the key encoded in UTF-8.
+     * @param valueBytes the value encoded in UTF-8, or {@code null}.
+     * @return reference of the appended record, never equal to {@link #EMPTY} or {@link #DELETED}.
+     * @throws IllegalArgumentException when the record is larger than {@link #MAX_SLAB_BYTES}.
+     */
+    private long appendRecord(byte[] keyBytes, byte[] valueBytes) {
+        long recordBytes = (long) RECORD_HEADER_BYTES + keyBytes.length + (valueBytes == null ? 0 : valueBytes.length);
+        if (recordBytes > MAX_SLAB_BYTES) throw new IllegalArgumentException("The given key and value are too large to be stored!");
+
+        ByteBuffer slab = this.slabCount == 0 ? null : this.slabs[this.slabCount - 1];
+        if (slab == null || slab.remaining() < recordBytes) {
+            int slabBytes = slab == null ? FIRST_SLAB_BYTES : (int) Math.min(MAX_SLAB_BYTES, slab.capacity() * 2L);
+            slab = this.addSlab((int) Math.max(slabBytes, recordBytes));
+        }
+
+        long reference = ((long) (this.slabCount - 1) << 32 | slab.position()) + 1;
+        slab.putInt(keyBytes.length).putInt(valueBytes == null ? NULL_LENGTH : valueBytes.length).put(keyBytes);
+        if (valueBytes != null) slab.put(valueBytes);
+
+        return reference;
+    }
+
+    /**
+     * Allocates a new slab of the given size and appends it to the {@code slabs} array.
+     *
+     * @param slabBytes size of the new slab in bytes.
+     * @return the new slab.
+     */
+    private ByteBuffer addSlab(int slabBytes) {
+        if (this.slabCount == this.slabs.length) {
+            ByteBuffer[] newSlabs = new ByteBuffer[this.slabs.length * 2];
+            System.arraycopy(this.slabs, 0, newSlabs, 0, this.slabCount);
+            this.slabs = newSlabs;
+        }
+
+        ByteBuffer slab = ByteBuffer.allocateDirect(slabBytes);
+        this.slabs[this.slabCount++] = slab;
+
+        return slab;
+    }
+
+    /**
+     * Checks if the determined {@code DEFAULT_OVERCAPACITY_FACTOR} for the occupancy of the current hashtable would be reached by another entry and rebuilds the table if
+     * needed.
+     * The number of slots is doubled, unless most of the occupied slots belong to removed entries, in which case the table is only cleaned up.
+     * The records are compacted into new slabs as well when more than half of the stored bytes belong to replaced or removed records.
+     *
+     * @return {@code true} if the table has been rebuilt, {@code false} otherwise.
+     * @throws IllegalStateException when the table cannot grow any further.
+     */
+    private boolean checkOccupancy() {
+        if (this.size + this.deleted + 1 <= this.capacity * DEFAULT_OVERCAPACITY_FACTOR) return false;
+
+        int newCapacity = this.size + 1 > this.capacity * DEFAULT_OVERCAPACITY_FACTOR / 2 ? this.capacity * 2 : this.capacity;
+        if (newCapacity > MAX_SLOTS) throw new IllegalStateException("The hashtable cannot hold more than " + (int) (MAX_SLOTS * DEFAULT_OVERCAPACITY_FACTOR) + " entries!");
+
+        long storedBytes = 0;
+        for (int i = 0; i < this.slabCount; i++) {
+            storedBytes += this.slabs[i].position();
+        }
+        boolean compact = this.garbageBytes * 2 > storedBytes;
+
+        ByteBuffer oldTable = this.table;
+        ByteBuffer[] oldSlabs = this.slabs;
+        int oldCapacity = this.capacity;
+
+        this.table = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+        this.capacity = newCapacity;
+        if (compact) {
+            this.slabs = new ByteBuffer[4];
+            this.slabCount = 0;
+            this.garbageBytes = 0;
+        }
+
+        int mask = newCapacity - 1;
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            long reference = oldTable.getLong(oldSlot * SLOT_BYTES);
+            if (reference == EMPTY || reference == DELETED) continue;
+
+            int hash = oldTable.getInt(oldSlot * SLOT_BYTES + 8);
+            if (compact) reference = this.copyRecord(oldSlabs[(int) ((reference - 1) >>> 32)], position(reference));
+
+            int slot = hash & mask;
+            for (; this.table.getLong(slot * SLOT_BYTES) != EMPTY; slot = (slot + 1) & mask);
+            this.table.putLong(slot * SLOT_BYTES, reference);
+            this.table.putInt(slot * SLOT_BYTES + 8, hash);
+        }
+
+        this.deleted = 0;
+        this.modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * Copies the record at the given {@code position} of the given old slab to the end of the current slabs.
+     *
+     * @param oldSlab slab that the record is copied from.
+     * @param position position of the record within the old slab.
+     * @return reference of the copied record.
+     */
+    private long copyRecord(ByteBuffer oldSlab, int position) {
+        int keyLength = oldSlab.getInt(position), valueLength = oldSlab.getInt(position + 4);
+
+        byte[] keyBytes = new byte[keyLength];
+        oldSlab.get(position + RECORD_HEADER_BYTES, keyBytes);
+        byte[] valueBytes = null;
+        if (valueLength != NULL_LENGTH) {
+            valueBytes = new byte[valueLength];
+            oldSlab.get(position + RECORD_HEADER_BYTES + keyLength, valueBytes);
+        }
+
+        return this.appendRecord(keyBytes, valueBytes);
+    }
+
+    /**
+     * Writes all remaining bytes of the given {@code buffer} into the given {@code channel}.
+     *
+     * @param channel channel that is written to.
+     * @param buffer buffer whose remaining bytes are written.
+     * @throws IOException when writing fails.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
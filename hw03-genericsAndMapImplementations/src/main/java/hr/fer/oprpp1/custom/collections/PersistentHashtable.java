@@ -0,0 +1,775 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static java.lang.System.arraycopy;
+
+/**
+ * The {@code PersistentHashtable} class is a hashed table of key-value pairs stored in a hash array mapped trie whose nodes are shared between snapshots.
+ * It offers the same operations as {@link SimpleHashtable}, while taking a {@link #snapshot()} takes constant time and every following modification copies only the
+ * nodes on the path to the modified entry, in O(log<sub>32</sub> n) time.
+ *
+ * @param <K> type of every key object in the current hashtable.
+ * @param <V> type of every value object in the current hashtable.
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class PersistentHashtable<K,V> implements Iterable<PersistentHashtable.Entry<K,V>> {
+
+    /**
+     * The number of hash bits resolved by a single level of the trie.
+     */
+    static final int BITS = 5;
+
+    /**
+     * Mask that extracts the position within a single node from the shifted hash.
+     */
+    static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Marker returned by the lookup when the hashtable does not contain the wanted key.
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * The root node of the trie.
+     */
+    private Node root;
+
+    /**
+     * The number of key-value pairs stored in the current hashtable.
+     */
+    private int size;
+
+    /**
+     * Token marking the nodes that are not shared with any snapshot and can therefore be modified in place.
+     */
+    private Object owner;
+
+    /**
+     * Counter of how many times a modification on the current hashtable has occurred.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Default constructor that creates an empty {@code PersistentHashtable} instance.
+     */
+    public PersistentHashtable() {
+        this.owner = new Object();
+        this.root = new BitmapNode(this.owner, 0, new Object[0]);
+        this.size = 0;
+    }
+
+    /**
+     * Creates an instance of {@code PersistentHashtable} that shares the given trie.
+     *
+     * @param root the root node of the shared trie.
+     * @param size the number of entries in the shared trie.
+     */
+    private PersistentHashtable(Node root, int size) {
+        this.owner = new Object();
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * The {@code Entry} class represents a single immutable key-value pair of the hashtable, created when iterating over it.
+     *
+     * @param <K> type of the key object in the entry.
+     * @param <V> type of the value object in the entry.
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    public static class Entry<K,V> {
+        /**
+         * The key to the the current entry.
+         */
+        private final K key;
+
+        /**
+         * The value of the current entry.
+         */
+        private final V value;
+
+        /**
+         * Creates a new {@code Entry} with the given {@code key} and {@code value}.
+         *
+         * @param key the key to the new entry.
+         * @param value the value of the new entry.
+         */
+        private Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Fetches the key of the current entry.
+         *
+         * @return the key of the current entry
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Fetches the value of the current entry.
+         *
+         * @return value of the current entry.
+         */
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PersistentHashtable.Entry)) return false;
+            PersistentHashtable.Entry<?, ?> that = (PersistentHashtable.Entry<?, ?>) o;
+            return Objects.equals(this.key, that.key) &&
+                    Objects.equals(this.value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.key, this.value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Holder of the outcome of a single modification of the trie.
+     */
+    private static class Result {
+        /**
+         * Whether an entry was added to or removed from the trie.
+         */
+        private boolean sizeChanged;
+
+        /**
+         * The value previously mapped to the modified key, {@code null} if there was none.
+         */
+        private Object oldValue;
+    }
+
+    /**
+     * {@code Node} is the base of all nodes of the trie.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private abstract static class Node {
+
+        /**
+         * The owner token of the hashtable that is allowed to modify the current node in place.
+         */
+        final Object owner;
+
+        /**
+         * Alternating keys and values of the current node, where a {@code null} key marks that the following element is a child node.
+         */
+        Object[] array;
+
+        /**
+         * Creates a new {@code Node} with the given {@code owner} and {@code array}.
+         *
+         * @param owner owner token of the hashtable allowed to modify the new node in place.
+         * @param array alternating keys and values of the new node.
+         */
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+
+        /**
+         * Looks up the value mapped to the given {@code key} in the subtree of the current node.
+         *
+         * @param shift the number of hash bits resolved above the current node.
+         * @param hash spread hash of the given {@code key}.
+         * @param key key that is looked up.
+         * @return the mapped value, or {@link #NOT_FOUND} if the key isn't present.
+         */
+        abstract Object find(int shift, int hash, Object key);
+
+        /**
+         * Maps the given {@code key} to the given {@code value} in the subtree of the current node.
+         *
+         * @param owner owner token of the modifying hashtable.
+         * @param shift the number of hash bits resolved above the current node.
+         * @param hash spread hash of the given {@code key}.
+         * @param key key that is mapped.
+         * @param value value that is mapped.
+         * @param result holder of the outcome of the modification.
+         * @return the modified node, which is the current node itself if it could be modified in place or nothing changed.
+         */
+        abstract Node put(Object owner, int shift, int hash, Object key, Object value, Result result);
+
+        /**
+         * Removes the given {@code key} from the subtree of the current node.
+         *
+         * @param owner owner token of the modifying hashtable.
+         * @param shift the number of hash bits resolved above the current node.
+         * @param hash spread hash of the given {@code key}.
+         * @param key key that is removed.
+         * @param result holder of the outcome of the modification.
+         * @return the modified node, or {@code null} if it became empty.
+         */
+        abstract Node remove(Object owner, int shift, int hash, Object key, Result result);
+    }
+
+    /**
+     * The {@code BitmapNode} class represents an inner node of the trie, whose bitmap marks which of the 32 possible positions are occupied.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class BitmapNode extends Node {
+
+        /**
+         * Bitmap of the occupied positions of the current node.
+         */
+        private int bitmap;
+
+        /**
+         * Creates a new {@code BitmapNode}.
+         *
+         * @param owner owner token of the hashtable allowed to modify the new node in place.
+         * @param bitmap bitmap of the occupied positions.
+         * @param array alternating keys and values of the occupied positions.
+         */
+        private BitmapNode(Object owner, int bitmap, Object[] array) {
+            super(owner, array);
+            this.bitmap = bitmap;
+        }
+
+        /**
+         * Calculates the index of the pair at the position marked by the given {@code bit} within the {@code array}.
+         *
+         * @param bit bit of the wanted position.
+         * @return index of the pair at the wanted position.
+         */
+        private int index(int bit) {
+            return Integer.bitCount(this.bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0) return NOT_FOUND;
+
+            int index = 2 * this.index(bit);
+            Object storedKey = this.array[index];
+            if (storedKey == null) return ((Node) this.array[index + 1]).find(shift + BITS, hash, key);
+
+            return key.equals(storedKey) ? this.array[index + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object owner, int shift, int hash, Object key, Object value, Result result) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = 2 * this.index(bit);
+
+            if ((this.bitmap & bit) == 0) {
+                Object[] newArray = new Object[this.array.length + 2];
+                arraycopy(this.array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                arraycopy(this.array, index, newArray, index + 2, this.array.length - index);
+                result.sizeChanged = true;
+
+                if (this.owner == owner) {
+                    this.array = newArray;
+                    this.bitmap |= bit;
+                    return this;
+                }
+                return new BitmapNode(owner, this.bitmap | bit, newArray);
+            }
+
+            Object storedKey = this.array[index];
+            Object storedValue = this.array[index + 1];
+
+            if (storedKey == null) {
+                Node child = (Node) storedValue;
+                Node newChild = child.put(owner, shift + BITS, hash, key, value, result);
+                return newChild == child ? this : this.editAndSet(owner, index, null, newChild);
+            }
+
+            if (key.equals(storedKey)) {
+                result.oldValue = storedValue;
+                return storedValue == value ? this : this.editAndSet(owner, index, storedKey, value);
+            }
+
+            result.sizeChanged = true;
+            Node child = createNode(owner, shift + BITS, storedKey, storedValue, key, hash, value);
+            return this.editAndSet(owner, index, null, child);
+        }
+
+        @Override
+        Node remove(Object owner, int shift, int hash, Object key, Result result) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0) return this;
+
+            int index = 2 * this.index(bit);
+            Object storedKey = this.array[index];
+            Object storedValue = this.array[index + 1];
+
+            if (storedKey == null) {
+                Node child = (Node) storedValue;
+                Node newChild = child.remove(owner, shift + BITS, hash, key, result);
+                if (newChild == child) return this;
+                if (newChild != null) return this.editAndSet(owner, index, null, newChild);
+            } else if (key.equals(storedKey)) {
+                result.sizeChanged = true;
+                result.oldValue = storedValue;
+            } else {
+                return this;
+            }
+
+            if (this.bitmap == bit) return null;
+
+            Object[] newArray = new Object[this.array.length - 2];
+            arraycopy(this.array, 0, newArray, 0, index);
+            arraycopy(this.array, index + 2, newArray, index, newArray.length - index);
+
+            if (this.owner == owner) {
+                this.array = newArray;
+                this.bitmap ^= bit;
+                return this;
+            }
+            return new BitmapNode(owner, this.bitmap ^ bit, newArray);
+        }
+
+        /**
+         * Replaces the pair at the given {@code index}, in place if the current node is owned by the given {@code owner}, in a copy otherwise.
+         *
+         * @param owner owner token of the modifying hashtable.
+         * @param index index of the replaced key within the {@code array}.
+         * @param key new key, {@code null} if the new value is a child node.
+         * @param value new value or child node.
+         * @return the modified node.
+         */
+        private Node editAndSet(Object owner, int index, Object key, Object value) {
+            BitmapNode editable = this.owner == owner ? this : new BitmapNode(owner, this.bitmap, this.array.clone());
+            editable.array[index] = key;
+            editable.array[index + 1] = value;
+
+            return editable;
+        }
+    }
+
+    /**
+     * The {@code CollisionNode} class represents a leaf of the trie holding entries whose keys have the same hash.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class CollisionNode extends Node {
+
+        /**
+         * The hash shared by all keys in the current node.
+         */
+        private final int hash;
+
+        /**
+         * Creates a new {@code CollisionNode}.
+         *
+         * @param owner owner token of the hashtable allowed to modify the new node in place.
+         * @param hash the hash shared by all keys in the new node.
+         * @param array alternating keys and values of the new node.
+         */
+        private CollisionNode(Object owner, int hash, Object[] array) {
+            super(owner, array);
+            this.hash = hash;
+        }
+
+        /**
+         * Finds the index of the given {@code key} within the {@code array}.
+         *
+         * @param key key that is looked up.
+         * @return index of the key, -1 if it is not present.
+         */
+        private int indexOf(Object key) {
+            for (int i = 0; i < this.array.length; i += 2) {
+                if (key.equals(this.array[i])) return i;
+            }
+
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if (hash != this.hash) return NOT_FOUND;
+
+            int index = this.indexOf(key);
+            return index == -1 ? NOT_FOUND : this.array[index + 1];
+        }
+
+        @Override
+        Node put(Object owner, int shift, int hash, Object key, Object value, Result result) {
+            if (hash != this.hash) {
+                Node parent = new BitmapNode(owner, 1 << ((this.hash >>> shift) & MASK), new Object[]{null, this});
+                return parent.put(owner, shift, hash, key, value, result);
+            }
+
+            int index = this.indexOf(key);
+            Object[] newArray;
+            if (index != -1) {
+                result.oldValue = this.array[index + 1];
+                if (result.oldValue == value) return this;
+
+                newArray = this.owner == owner ? this.array : this.array.clone();
+                newArray[index + 1] = value;
+            } else {
+                result.sizeChanged = true;
+                newArray = new Object[this.array.length + 2];
+                arraycopy(this.array, 0, newArray, 0, this.array.length);
+                newArray[this.array.length] = key;
+                newArray[this.array.length + 1] = value;
+            }
+
+            if (this.owner == owner) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(owner, this.hash, newArray);
+        }
+
+        @Override
+        Node remove(Object owner, int shift, int hash, Object key, Result result) {
+            int index = hash == this.hash ? this.indexOf(key) : -1;
+            if (index == -1) return this;
+
+            result.sizeChanged = true;
+            result.oldValue = this.array[index + 1];
+            if (this.array.length == 2) return null;
+
+            Object[] newArray = new Object[this.array.length - 2];
+            arraycopy(this.array, 0, newArray, 0, index);
+            arraycopy(this.array, index + 2, newArray, index, newArray.length - index);
+
+            if (this.owner == owner) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(owner, this.hash, newArray);
+        }
+    }
+
+    /**
+     * Creates a new subtree holding the two given entries, whose keys first collide at the given {@code shift}.
+     *
+     * @param owner owner token of the modifying hashtable.
+     * @param shift the number of hash bits resolved above the new subtree.
+     * @param key1 key of the first entry.
+     * @param value1 value of the first entry.
+     * @param key2 key of the second entry.
+     * @param hash2 spread hash of the second entry's key.
+     * @param value2 value of the second entry.
+     * @return the root of the new subtree.
+     */
+    private static Node createNode(Object owner, int shift, Object key1, Object value1, Object key2, int hash2, Object value2) {
+        int hash1 = spread(key1);
+        if (hash1 == hash2) return new CollisionNode(owner, hash1, new Object[]{key1, value1, key2, value2});
+
+        Result ignored = new Result();
+        return new BitmapNode(owner, 0, new Object[0])
+                .put(owner, shift, hash1, key1, value1, ignored)
+                .put(owner, shift, hash2, key2, value2, ignored);
+    }
+
+    /**
+     * Calculates the spread hash of the given {@code key}, mixing the higher bits of its hash code into the lower ones.
+     *
+     * @param key key whose hash is calculated.
+     * @return spread hash of the given {@code key}.
+     */
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Creates a snapshot of the current hashtable in constant time.
+     * The snapshot and the current hashtable share all nodes, and any further modification of either of them copies the affected nodes, so neither sees the
+     * modifications of the other.
+     * A snapshot that is not modified can be handed over to and read from other threads.
+     *
+     * @return new hashtable containing the same entries as the current hashtable at the moment of calling this method.
+     */
+    public PersistentHashtable<K,V> snapshot() {
+        this.owner = new Object();
+
+        return new PersistentHashtable<>(this.root, this.size);
+    }
+
+    /**
+     * Inserts the given key and value into the current hashtable.
+     * If an entry with the same {@code key} that is given already exists, then the old {@code value} will be overwritten by the new one.
+     *
+     * @param key the key of the new entry.
+     * @param value the value of the new entry.
+     * @throws NullPointerException when the given {@code key} is {@code null}.
+     * @return old {@code value} if an entry with the same {@code key} already existed, {@code null} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (key == null) throw new NullPointerException("The given key cannot be null!");
+
+        Result result = new Result();
+        this.root = this.root.put(this.owner, 0, spread(key), key, value, result);
+        if (result.sizeChanged) {
+            this.size++;
+            this.modificationCount++;
+        }
+
+        return (V) result.oldValue;
+    }
+
+    /**
+     * Fetches the {@code value} of the entry whose {@code key} equals the given {@code key}.
+     *
+     * @param key {@code key} to the entry whose {@code value} is wanted.
+     * @return {@code value} that is stored in an existing entry, {@code null} otherwise (not making a difference between the {@code key} not existing and the {@code value}
+     * being {@code null}).
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) return null;
+
+        Object value = this.root.find(0, spread(key), key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * Determines the size of the current hashtable, also known as the number of entries within it.
+     *
+     * @return the number of currently stored key-value pairs in the current hashtable.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether the current hashtable contains an entry whose {@code key} equals the given {@code key}.
+     *
+     * @param key {@code key} that is sought after in the current hashtable.
+     * @return {@code true} if an entry with that {@code key} exists, {@code false} otherwise.
+     */
+    public boolean containsKey(Object key) {
+        if (key == null) return false;
+
+        return this.root.find(0, spread(key), key) != NOT_FOUND;
+    }
+
+    /**
+     * Checks whether the current hashtable contains an entry whose {@code value} equals the given {@code value}.
+     *
+     * @param value {@code value} that is sought after in the current hashtable.
+     * @return {@code true} when the first entry with that {@code value} is found, {@code false} if no entries contain it.
+     */
+    public boolean containsValue(Object value) {
+        for (Entry<K, V> entry : this) {
+            if (Objects.equals(entry.value, value)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the entry in the current hashtable whose {@code key} equals the given {@code key}.
+     *
+     * @param key {@code key} of the entry that is to be removed.
+     * @return the {@code value} of the removed entry or {@code null} if the given {@code key} is {@code null} or the entry with that {@code key} is not in the current hashtable.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) return null;
+
+        Result result = new Result();
+        Node newRoot = this.root.remove(this.owner, 0, spread(key), key, result);
+        if (!result.sizeChanged) return null;
+
+        this.root = newRoot == null ? new BitmapNode(this.owner, 0, new Object[0]) : newRoot;
+        this.size--;
+        this.modificationCount++;
+
+        return (V) result.oldValue;
+    }
+
+    /**
+     * Determines whether the current hashtable is empty.
+     *
+     * @return {@code true} if the current hashtable is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all entries from the current hashtable. Snapshots taken before clearing keep their entries.
+     */
+    public void clear() {
+        this.root = new BitmapNode(this.owner, 0, new Object[0]);
+        this.size = 0;
+        this.modificationCount++;
+    }
+
+    /**
+     * Creates and returns an array of the entries stored in the current hashtable, in the order of iteration.
+     *
+     * @return array of the stored entries.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Entry<K,V>[] toArray() {
+        Entry<K,V>[] array = (Entry<K, V>[]) new Entry[this.size];
+        int index = 0;
+        for (Entry<K, V> entry : this) {
+            array[index++] = entry;
+        }
+
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Entry<K, V> entry : this) {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(entry);
+        }
+
+        return sb.append("]").toString();
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new IteratorImpl();
+    }
+
+    /**
+     * The {@code IteratorImpl} class represents an implementation of the {@link Iterator} for the {@link PersistentHashtable} class, walking the trie depth-first.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private class IteratorImpl implements Iterator<Entry<K,V>> {
+
+        /**
+         * Nodes on the path from the root to the node that is currently being walked.
+         */
+        private final Node[] nodes = new Node[(Integer.SIZE + BITS - 1) / BITS + 2];
+
+        /**
+         * Index within the {@code array} of every node on the path that is to be processed next.
+         */
+        private final int[] indexes = new int[nodes.length];
+
+        /**
+         * Depth of the node that is currently being walked, -1 when the whole trie has been walked.
+         */
+        private int depth;
+
+        /**
+         * The entry that is to be fetched next.
+         */
+        private Entry<K,V> nextEntry;
+
+        /**
+         * The number of modifications made on the hashtable at the moment of instancing the current {@code IteratorImpl} instance.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Default constructor that creates a new {@code IteratorImpl} and finds the first entry to be processed by the iterator.
+         */
+        private IteratorImpl() {
+            this.nodes[0] = root;
+            this.depth = 0;
+            this.savedModificationCount = modificationCount;
+
+            this.findNextEntry();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.savedModificationCount != modificationCount) throw new ConcurrentModificationException("The hashtable has been modified outside of the already instanced iterator!");
+            return this.nextEntry != null;
+        }
+
+        @Override
+        public Entry<K,V> next() {
+            if (!this.hasNext()) throw new NoSuchElementException("There are no more elements in this hashtable available for iteration!");
+
+            Entry<K,V> currentEntry = this.nextEntry;
+            this.findNextEntry();
+
+            return currentEntry;
+        }
+
+        /**
+         * Finds the next entry in the trie that is to be processed by the current iterator.
+         */
+        @SuppressWarnings("unchecked")
+        private void findNextEntry() {
+            while (this.depth >= 0) {
+                Node node = this.nodes[this.depth];
+                int index = this.indexes[this.depth];
+
+                if (index >= node.array.length) {
+                    this.depth--;
+                    continue;
+                }
+
+                this.indexes[this.depth] = index + 2;
+                Object key = node.array[index];
+                if (key == null) {
+                    this.depth++;
+                    this.nodes[this.depth] = (Node) node.array[index + 1];
+                    this.indexes[this.depth] = 0;
+                } else {
+                    this.nextEntry = new Entry<>((K) key, (V) node.array[index + 1]);
+                    return;
+                }
+            }
+
+            this.nextEntry = null;
+        }
+    }
+
+    /**
+     * Checks whether some other object {@code o} is "equal to" the current hashtable, which is when it is a {@code PersistentHashtable} containing equal entries.
+     *
+     * @param o the other object which is compared with the current hashtable.
+     * @return {@code true} if equal, {@code false} otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersistentHashtable)) return false;
+        PersistentHashtable<?, ?> that = (PersistentHashtable<?, ?>) o;
+        if (this.size != that.size) return false;
+
+        for (Entry<K, V> entry : this) {
+            Object value = that.root.find(0, spread(entry.key), entry.key);
+            if (value == NOT_FOUND || !Objects.equals(entry.value, value)) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (Entry<K, V> entry : this) {
+            result += entry.hashCode();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,489 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+
+/**
+ * The {@code PersistentIndexedCollection} class represents the implementation of a {@link List} backed by a 32-way trie whose nodes are shared between snapshots.
+ * Taking a {@link #snapshot()} takes constant time, while every following modification copies only the nodes on the path to the modified element, leaving the
+ * snapshot unchanged.
+ * Adding, fetching and removing the last element take O(log<sub>32</sub> n) time, while inserting and removing elements elsewhere rebuild the trie in O(n) time.
+ * Duplicate elements are allowed, while the storage of {@code null} references is not.
+ *
+ * @param <T> type of objects stored in the collection.
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class PersistentIndexedCollection<T> implements List<T> {
+
+    /**
+     * The number of index bits resolved by a single level of the trie.
+     */
+    static final int BITS = 5;
+
+    /**
+     * The number of children of a single node of the trie.
+     */
+    static final int WIDTH = 1 << BITS;
+
+    /**
+     * Mask that extracts the position within a single node from an index.
+     */
+    static final int MASK = WIDTH - 1;
+
+    /**
+     * {@code Node} is a private static class that represents a single node of the trie, holding either elements (leaves) or other nodes.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class Node {
+
+        /**
+         * The owner token of the collection that is allowed to modify the current node in place.
+         */
+        private final Object owner;
+
+        /**
+         * The elements or child nodes of the current node.
+         */
+        private final Object[] array;
+
+        /**
+         * Creates a new {@code Node} with the given {@code owner} and {@code array}.
+         *
+         * @param owner owner token of the collection allowed to modify the new node in place.
+         * @param array elements or child nodes of the new node.
+         */
+        private Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+
+    /**
+     * The root node of the trie.
+     */
+    private Node root;
+
+    /**
+     * The number of index bits below the root node, 0 when the root node is a leaf.
+     */
+    private int shift;
+
+    /**
+     * The number of elements in the current collection.
+     */
+    private int size;
+
+    /**
+     * Token marking the nodes that are not shared with any snapshot and can therefore be modified in place.
+     */
+    private Object owner;
+
+    /**
+     * Counter of how many times a modification on this current collection has occurred.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Default constructor that creates an empty instance of {@code PersistentIndexedCollection}.
+     */
+    public PersistentIndexedCollection() {
+        this.owner = new Object();
+        this.root = new Node(this.owner, new Object[WIDTH]);
+        this.shift = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Creates an instance of {@code PersistentIndexedCollection} and fills it with elements from the given collection {@code other}.
+     *
+     * @param other some other collection whose elements are copied into this newly constructed collection.
+     * @throws NullPointerException when the given collection is {@code null} or any of its elements are {@code null}.
+     */
+    public PersistentIndexedCollection(Collection<? extends T> other) {
+        this();
+        this.addAll(other);
+    }
+
+    /**
+     * Creates an instance of {@code PersistentIndexedCollection} that shares the given trie.
+     *
+     * @param root the root node of the shared trie.
+     * @param shift the number of index bits below the given {@code root}.
+     * @param size the number of elements in the shared trie.
+     */
+    private PersistentIndexedCollection(Node root, int shift, int size) {
+        this.owner = new Object();
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * Creates a snapshot of the current collection in constant time.
+     * The snapshot and the current collection share all nodes, and any further modification of either of them copies the affected nodes, so neither sees the
+     * modifications of the other.
+     * A snapshot that is not modified can be handed over to and read from other threads.
+     *
+     * @return new collection containing the same elements as the current collection at the moment of calling this method.
+     */
+    public PersistentIndexedCollection<T> snapshot() {
+        this.owner = new Object();
+
+        return new PersistentIndexedCollection<>(this.root, this.shift, this.size);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds the given {@code value} at the end of the current collection, copying the nodes on its path that are shared with a snapshot.
+     */
+    @Override
+    public void add(T value) {
+        if (value == null) throw new NullPointerException("The passed value cannot be null!");
+
+        if ((long) this.size == 1L << (this.shift + BITS)) {
+            Node newRoot = new Node(this.owner, new Object[WIDTH]);
+            newRoot.array[0] = this.root;
+            this.root = newRoot;
+            this.shift += BITS;
+        }
+
+        Node node = this.root = this.editable(this.root);
+        for (int level = this.shift; level > 0; level -= BITS) {
+            int subIndex = (this.size >>> level) & MASK;
+            Node child = (Node) node.array[subIndex];
+            child = child == null ? new Node(this.owner, new Object[WIDTH]) : this.editable(child);
+            node.array[subIndex] = child;
+            node = child;
+        }
+
+        node.array[this.size & MASK] = value;
+        this.size++;
+        this.modificationCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, this.size);
+
+        return (T) this.leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Inserts the given {@code value} at the given {@code position}.
+     * Inserting at the end takes the same time as {@link #add(Object)}, while inserting anywhere else rebuilds the trie.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void insert(T value, int position) {
+        if (value == null) throw new NullPointerException("The passed value cannot be null!");
+        position = Objects.checkIndex(position, this.size + 1);
+
+        if (position == this.size) {
+            this.add(value);
+            return;
+        }
+
+        Object[] elements = new Object[this.size + 1];
+        Object[] oldElements = this.toArray();
+        arraycopy(oldElements, 0, elements, 0, position);
+        elements[position] = value;
+        arraycopy(oldElements, position, elements, position + 1, oldElements.length - position);
+
+        this.rebuild(elements);
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value == null) return -1;
+
+        for (int start = 0; start < this.size; start += WIDTH) {
+            Object[] leaf = this.leafFor(start);
+            for (int i = 0, length = min(WIDTH, this.size - start); i < length; i++) {
+                if (value.equals(leaf[i])) return start + i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Removes the element at the given {@code index}.
+     * Removing the last element copies only the nodes on its path, while removing any other element rebuilds the trie.
+     */
+    @Override
+    public void remove(int index) {
+        index = Objects.checkIndex(index, this.size);
+
+        if (index != this.size - 1) {
+            Object[] oldElements = this.toArray();
+            Object[] elements = new Object[this.size - 1];
+            arraycopy(oldElements, 0, elements, 0, index);
+            arraycopy(oldElements, index + 1, elements, index, elements.length - index);
+
+            this.rebuild(elements);
+            return;
+        }
+
+        Node newRoot = this.removeLast(this.shift, this.root, index);
+        this.size--;
+
+        if (newRoot == null) {
+            this.root = new Node(this.owner, new Object[WIDTH]);
+            this.shift = 0;
+        } else {
+            this.root = newRoot;
+            while (this.shift > 0 && this.root.array[1] == null) {
+                this.root = (Node) this.root.array[0];
+                this.shift -= BITS;
+            }
+        }
+
+        this.modificationCount++;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        int index = this.indexOf(value);
+        if (index == -1) return false;
+
+        this.remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return this.indexOf(value) != -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[this.size];
+
+        for (int start = 0; start < this.size; start += WIDTH) {
+            arraycopy(this.leafFor(start), 0, array, start, min(WIDTH, this.size - start));
+        }
+
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Snapshots taken before clearing keep their elements.
+     */
+    @Override
+    public void clear() {
+        this.root = new Node(this.owner, new Object[WIDTH]);
+        this.shift = 0;
+        this.size = 0;
+        this.modificationCount++;
+    }
+
+    @Override
+    public ElementsGetter<T> createElementsGetter() {
+        return new PersistentElementsGetter<>(this);
+    }
+
+    /**
+     * The {@code PersistentElementsGetter} is an implementation of {@link ElementsGetter} adapted for the {@link PersistentIndexedCollection}.
+     * It walks the leaves of the trie, descending from the root only once for every 32 elements.
+     *
+     * @param <T> type of objects stored in the elements getter.
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class PersistentElementsGetter<T> implements ElementsGetter<T> {
+
+        /**
+         * The collection whose elements will be fetched on demand, in order as they appear in it.
+         */
+        private final PersistentIndexedCollection<T> persistentCollection;
+
+        /**
+         * Position of the yet unfetched element that is sequentially first to be fetched.
+         */
+        private int toBeFetched;
+
+        /**
+         * The leaf containing the element at position {@code toBeFetched}, {@code null} if it is yet to be found.
+         */
+        private Object[] currentLeaf;
+
+        /**
+         * The number of modifications made on the collection at the moment of instancing this current elements getter.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Initializes the getter to the starting position.
+         *
+         * @param persistentCollection collection whose elements will be fetched on demand.
+         */
+        private PersistentElementsGetter(PersistentIndexedCollection<T> persistentCollection) {
+            this.persistentCollection = persistentCollection;
+            this.toBeFetched = 0;
+            this.currentLeaf = null;
+            this.savedModificationCount = persistentCollection.modificationCount;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            if (this.savedModificationCount != this.persistentCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
+            }
+
+            return this.toBeFetched < this.persistentCollection.size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T getNextElement() {
+            if (!this.hasNextElement()) {
+                throw new NoSuchElementException("There are no elements in this collection that remain unfetched!");
+            }
+
+            if (this.currentLeaf == null || (this.toBeFetched & MASK) == 0) {
+                this.currentLeaf = this.persistentCollection.leafFor(this.toBeFetched);
+            }
+
+            return (T) this.currentLeaf[this.toBeFetched++ & MASK];
+        }
+
+        /**
+         * {@inheritDoc}
+         * The elements are copied straight from the leaves of the trie.
+         */
+        @Override
+        public int getNextElements(T[] buffer) {
+            if (buffer == null) throw new NullPointerException("The given buffer cannot be null!");
+            if (this.savedModificationCount != this.persistentCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
+            }
+
+            int fetched = 0;
+            for (int length = min(buffer.length, this.persistentCollection.size - this.toBeFetched); fetched < length; ) {
+                int offset = this.toBeFetched & MASK;
+                int count = min(WIDTH - offset, length - fetched);
+
+                arraycopy(this.persistentCollection.leafFor(this.toBeFetched), offset, buffer, fetched, count);
+                fetched += count;
+                this.toBeFetched += count;
+            }
+            this.currentLeaf = null;
+
+            return fetched;
+        }
+    }
+
+    /**
+     * Fetches the elements of the leaf containing the element at the given {@code index}.
+     *
+     * @param index position of an element within the current collection.
+     * @return array of elements of the leaf containing the wanted element.
+     */
+    private Object[] leafFor(int index) {
+        Node node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+
+        return node.array;
+    }
+
+    /**
+     * Provides a version of the given {@code node} that the current collection may modify in place, copying it if it might be shared with a snapshot.
+     *
+     * @param node node that is to be modified.
+     * @return the given {@code node} if it is owned by the current collection, its copy otherwise.
+     */
+    private Node editable(Node node) {
+        return node.owner == this.owner ? node : new Node(this.owner, node.array.clone());
+    }
+
+    /**
+     * Removes the last element from the subtree of the given {@code node}, copying the nodes on its path that are shared with a snapshot.
+     *
+     * @param level the number of index bits below the given {@code node}.
+     * @param node root of the subtree containing the last element.
+     * @param index position of the last element.
+     * @return the modified {@code node}, or {@code null} if it became empty.
+     */
+    private Node removeLast(int level, Node node, int index) {
+        Node editableNode = this.editable(node);
+        int subIndex = (index >>> level) & MASK;
+
+        if (level == 0) {
+            editableNode.array[subIndex] = null;
+        } else {
+            editableNode.array[subIndex] = this.removeLast(level - BITS, (Node) node.array[subIndex], index);
+        }
+
+        return subIndex == 0 && editableNode.array[0] == null ? null : editableNode;
+    }
+
+    /**
+     * Replaces the content of the current collection with the given {@code elements}, building a new trie.
+     *
+     * @param elements elements of the new trie, in order.
+     */
+    @SuppressWarnings("unchecked")
+    private void rebuild(Object[] elements) {
+        this.clear();
+        for (Object element : elements) {
+            this.add((T) element);
+        }
+    }
+
+    /**
+     * Checks whether some other object {@code o} is "equal to" the current collection, which is when it is a {@code PersistentIndexedCollection} containing equal
+     * elements in the same order.
+     *
+     * @param o the other object which is compared with the current collection.
+     * @return {@code true} if equal, {@code false} otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PersistentIndexedCollection)) return false;
+        PersistentIndexedCollection<?> that = (PersistentIndexedCollection<?>) o;
+        if (this.size != that.size) return false;
+
+        for (int start = 0; start < this.size; start += WIDTH) {
+            Object[] thisLeaf = this.leafFor(start), thatLeaf = that.leafFor(start);
+            for (int i = 0, length = min(WIDTH, this.size - start); i < length; i++) {
+                if (!thisLeaf[i].equals(thatLeaf[i])) return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines a hash code value for the current collection from the elements it contains.
+     *
+     * @return hash code value for the current collection.
+     */
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int start = 0; start < this.size; start += WIDTH) {
+            Object[] leaf = this.leafFor(start);
+            for (int i = 0, length = min(WIDTH, this.size - start); i < length; i++) {
+                result = 31 * result + leaf[i].hashCode();
+            }
+        }
+
+        return result;
+    }
+}
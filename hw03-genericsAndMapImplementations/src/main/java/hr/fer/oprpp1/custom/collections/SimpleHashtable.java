@@ -1,8 +1,9 @@
 package hr.fer.oprpp1.custom.collections;
 
 import java.util.*;
-
-import static java.lang.Math.abs;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@code SimpleHashtable} class is a hashed table of key-value pairs.
@@ -10,7 +11,7 @@ import static java.lang.Math.abs;
  * @param <K> type of every key object in the current hashtable.
  * @param <V> type of every value object in the current hashtable.
  * @author mirtamoslavac
- * @version 1.1
+ * @version 2.0
  */
 public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry<K,V>>{
 
@@ -44,6 +45,11 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
      */
     static final int RESIZING_FACTOR = 2;
 
+    /**
+     * Estimated size of a single {@link TableEntry} in bytes.
+     */
+    private static final long ENTRY_BYTES = CollectionStatistics.objectBytes(3, Integer.BYTES);
+
     /**
      * Default constructor that creates a new {@code SimpleHashtable} instance with the default number of slots.
      */
@@ -63,6 +69,8 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
 
         this.hashtable = (TableEntry<K, V>[]) new TableEntry[firstSquare(capacity)];
         this.size = 0;
+
+        if (CollectionStatistics.ENABLED) CollectionStatistics.SIMPLE_HASHTABLE.recordAllocation(CollectionStatistics.referenceArrayBytes(this.hashtable.length));
     }
 
     /**
@@ -84,6 +92,11 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
          */
         private V value;
 
+        /**
+         * The spread hash code of the key, computed once when the entry is created.
+         */
+        private final int hash;
+
         /**
          * Reference to the next {@code TableEntry} instance in the same slot of the current hashtable.
          */
@@ -94,13 +107,15 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
          *
          * @param key the key to the new entry.
          * @param value the value of the new entry.
+         * @param hash the spread hash code of the given {@code key}.
          * @throws NullPointerException when the given {@code key} is {@code null}.
          */
-        private TableEntry(K key, V value) {
+        private TableEntry(K key, V value, int hash) {
             if (key == null) throw new NullPointerException("The given key cannot be null!");
 
             this.key = key;
             this.value = value;
+            this.hash = hash;
             this.next = null;
         }
 
@@ -158,35 +173,22 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
     public V put(K key, V value) {
         if (key == null) throw new NullPointerException("The given key cannot be null!");
 
-        this.checkOccupancy();
-
-        int slot = getSlot(key);
+        int hash = hash(key);
+        TableEntry<K, V> existingEntry = this.findEntry(key, hash);
+        if (existingEntry != null) {
+            V oldValue = existingEntry.value;
+            existingEntry.setValue(value);
 
-        if (this.containsKey(key)) {
-            TableEntry<K, V> hashtableElement = this.hashtable[slot];
-            while (hashtableElement != null) {
-                if (hashtableElement.key.equals(key)) {
-                    V oldValue = hashtableElement.value;
-                    hashtableElement.setValue(value);
-
-                    return oldValue;
-                }
-
-                hashtableElement = hashtableElement.next;
-            }
+            return oldValue;
         }
 
-        TableEntry<K, V> hashtableElement = this.hashtable[slot];
-        if (hashtableElement == null) {
-            this.hashtable[slot] = new TableEntry<>(key, value);
-            this.size++;
-            this.modificationCount++;
-
-            return null;
-        }
+        this.checkOccupancy();
+        if (CollectionStatistics.ENABLED) CollectionStatistics.SIMPLE_HASHTABLE.recordAllocation(ENTRY_BYTES);
 
-        for(; hashtableElement.next != null; hashtableElement = hashtableElement.next);
-        hashtableElement.next = new TableEntry<>(key, value);
+        int slot = this.getSlot(hash);
+        TableEntry<K, V> addedEntry = new TableEntry<>(key, value, hash);
+        addedEntry.next = this.hashtable[slot];
+        this.hashtable[slot] = addedEntry;
         this.size++;
         this.modificationCount++;
 
@@ -203,16 +205,8 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
     public V get(Object key) {
         if (key == null) return null;
 
-        TableEntry<K, V> hashtableElement = this.hashtable[getSlot(key)];
-        while (hashtableElement != null) {
-            if (hashtableElement.key.equals(key))
-                return hashtableElement.value;
-
-            hashtableElement = hashtableElement.next;
-        }
-
-        return null;
-
+        TableEntry<K, V> entry = this.findEntry(key, hash(key));
+        return entry == null ? null : entry.value;
     }
 
     /**
@@ -233,9 +227,7 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
     public boolean containsKey(Object key) {
         if (key == null) return false;
 
-        if (this.isValueNull(key)) return true;
-
-        return this.get(key) != null;
+        return this.findEntry(key, hash(key)) != null;
     }
 
     /**
@@ -264,37 +256,39 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
      * @return the {@code value} of the removed entry or {@code null} if the given {@code key} is {@code null} or the entry with that {@code key} is not in the current hashtable.
      */
     public V remove(Object key) {
-        if (key == null || !this.containsKey(key)) return null;
-
-        V value = null;
-        int slot = getSlot(key);
-
-        TableEntry<K,V> hashtableElement = this.hashtable[slot];
-        if (hashtableElement.key.equals(key)) {
-            value = hashtableElement.value;
-
-            this.hashtable[slot] = hashtableElement.next;
-            this.size--;
-            this.modificationCount++;
-        } else {
-            TableEntry<K,V> previous;
-
-            while (hashtableElement.next != null) {
-                previous = hashtableElement;
-                hashtableElement = hashtableElement.next;
+        if (key == null) return null;
 
-                if (hashtableElement.key.equals(key)) {
-                    value = hashtableElement.value;
+        int hash = hash(key), slot = this.getSlot(hash);
+        TableEntry<K, V> previous = null;
+        for (TableEntry<K, V> hashtableElement = this.hashtable[slot]; hashtableElement != null; hashtableElement = hashtableElement.next) {
+            if (hashtableElement.hash == hash && hashtableElement.key.equals(key)) {
+                if (previous == null) {
+                    this.hashtable[slot] = hashtableElement.next;
+                } else {
                     previous.next = hashtableElement.next;
-
-                    this.size--;
-                    this.modificationCount++;
-                    break;
                 }
+                this.size--;
+                this.modificationCount++;
+
+                return hashtableElement.value;
             }
+
+            previous = hashtableElement;
         }
 
-        return value;
+        return null;
+    }
+
+    /**
+     * Estimates the number of bytes retained by the current hashtable: the hashtable object itself, its slot array and all of its entries, but not the stored keys and
+     * values.
+     *
+     * @return estimated retained size of the current hashtable in bytes.
+     * @see CollectionStatistics
+     */
+    public long estimateRetainedBytes() {
+        return CollectionStatistics.objectBytes(1, Integer.BYTES + Long.BYTES) + CollectionStatistics.referenceArrayBytes(this.hashtable.length)
+                + this.size * ENTRY_BYTES;
     }
 
     /**
@@ -371,13 +365,75 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
     }
 
     /**
-     * Calculates the slot in the current hashtable where the {@code key} belongs to.
+     * Creates a new {@link Spliterator} over the entries of the current hashtable, which splits by halving the range of slots it covers.
+     * Only the spliterator covering the whole hashtable knows its exact size, since the number of entries in a range of slots can only be estimated.
+     *
+     * @return new {@link Spliterator} over the entries of the current hashtable.
+     */
+    @Override
+    public Spliterator<TableEntry<K, V>> spliterator() {
+        return new SpliteratorImpl(0, this.hashtable.length, this.size, true);
+    }
+
+    /**
+     * Creates a new sequential {@link Stream} with the current hashtable as its source.
+     *
+     * @return new sequential {@link Stream} over the entries of the current hashtable.
+     */
+    public Stream<TableEntry<K, V>> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Creates a new, possibly parallel, {@link Stream} with the current hashtable as its source.
      *
-     * @param key {@code key} whose slot in the hashtable is to be calculated.
+     * @return new possibly parallel {@link Stream} over the entries of the current hashtable.
+     */
+    public Stream<TableEntry<K, V>> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Calculates the spread hash code of the given {@code key}, mixing the higher bits of its hash code into the lower ones, which alone determine the slot.
+     *
+     * @param key {@code key} whose hash code is to be calculated.
+     * @return the spread hash code.
+     */
+    private static int hash(Object key) {
+        int hashCode = key.hashCode();
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Calculates the slot in the current hashtable where a key with the given spread {@code hash} belongs to.
+     *
+     * @param hash spread hash code of the key whose slot in the hashtable is to be calculated.
      * @return the calculated slot in the current hashtable.
      */
-    private int getSlot(Object key) {
-        return abs(key.hashCode()) % this.hashtable.length;
+    private int getSlot(int hash) {
+        return hash & (this.hashtable.length - 1);
+    }
+
+    /**
+     * Searches the slot of the given {@code key} for its entry.
+     * The keys are only compared when the spread hash codes of the entries match the given {@code hash}.
+     *
+     * @param key {@code key} whose entry is sought after.
+     * @param hash spread hash code of the given {@code key}.
+     * @return the entry of the given {@code key}, {@code null} if it does not exist.
+     */
+    private TableEntry<K, V> findEntry(Object key, int hash) {
+        TableEntry<K, V> hashtableElement = this.hashtable[this.getSlot(hash)];
+        int probes = 0;
+        while (hashtableElement != null) {
+            probes++;
+            if (hashtableElement.hash == hash && (hashtableElement.key == key || hashtableElement.key.equals(key))) break;
+
+            hashtableElement = hashtableElement.next;
+        }
+
+        if (CollectionStatistics.ENABLED) CollectionStatistics.SIMPLE_HASHTABLE.recordLookup(probes);
+        return hashtableElement;
     }
 
     /**
@@ -387,10 +443,6 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
      * @return {@code initialNumberOfSlots}, if it itself is a power of two, or the first power of two larger than the given {@code initialNumberOfSlots}.
      */
     private int firstSquare(int initialNumberOfSlots) {
-        if (initialNumberOfSlots % 2 == 0) {
-            return initialNumberOfSlots;
-        }
-
         int newCapacity = 1;
         for (; newCapacity < initialNumberOfSlots; newCapacity *= 2);
 
@@ -400,46 +452,31 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
     /**
      * Checks if the determined {@code DEFAULT_OVERCAPACITY_FACTOR} for the occupancy of the current hashtable has been reached and scales its size by the {@code RESIZING_FACTOR}
      * (while rearranging the already existing entries), if needed.
+     * The existing entries are relinked into the new slots using their stored hash codes, without recalculating the hash codes of the keys or creating new entries.
      */
     @SuppressWarnings("unchecked")
     private void checkOccupancy() {
         if (this.size / (1. * this.hashtable.length) < DEFAULT_OVERCAPACITY_FACTOR) return;
-        TableEntry<K, V>[] oldTable = this.toArray();
-        this.hashtable = (TableEntry<K, V>[]) new TableEntry[this.hashtable.length * RESIZING_FACTOR];
-
-        for (TableEntry<K, V> hashtableEntry : oldTable) {
-            int slot = getSlot(hashtableEntry.key);
-            TableEntry<K, V> currentEntry = this.hashtable[slot];
-
-            TableEntry<K, V> hashtableElement = this.hashtable[slot];
-            TableEntry<K, V> newHashtableEntry = new TableEntry<>(hashtableEntry.key, hashtableEntry.value);
-            if (currentEntry == null) {
-                this.hashtable[slot] = newHashtableEntry;
-            } else {
-                for(; hashtableElement.next != null; hashtableElement = hashtableElement.next);
-                hashtableElement.next = newHashtableEntry;
-            }
-        }
+        TableEntry<K, V>[] oldTable = this.hashtable;
+        this.hashtable = (TableEntry<K, V>[]) new TableEntry[oldTable.length * RESIZING_FACTOR];
 
-        this.modificationCount++;
-    }
+        for (TableEntry<K, V> hashtableElement : oldTable) {
+            while (hashtableElement != null) {
+                TableEntry<K, V> next = hashtableElement.next;
+                int slot = this.getSlot(hashtableElement.hash);
 
-    /**
-     * Determines whether the {@code value} of the entry is {@code null}.
-     * @param key {@code key} of the required entry.
-     * @return {@code true} if the entry's value is {@code null}, {@code false} otherwise.
-     */
-    private boolean isValueNull(Object key) {
-        TableEntry<K, V> hashtableElement = this.hashtable[getSlot(key)];
-        while (hashtableElement != null) {
-            if (hashtableElement.key.equals(key) && hashtableElement.value == null)
-                return true;
+                hashtableElement.next = this.hashtable[slot];
+                this.hashtable[slot] = hashtableElement;
 
-            hashtableElement = hashtableElement.next;
+                hashtableElement = next;
+            }
         }
 
-        return false;
+        this.modificationCount++;
 
+        if (CollectionStatistics.ENABLED) {
+            CollectionStatistics.SIMPLE_HASHTABLE.recordResize(this.size, CollectionStatistics.referenceArrayBytes(this.hashtable.length));
+        }
     }
 
     /**
@@ -523,6 +560,133 @@ public class SimpleHashtable<K,V> implements Iterable<SimpleHashtable.TableEntry
         }
     }
 
+    /**
+     * The {@code SpliteratorImpl} class represents an implementation of the {@link Spliterator} for the {@link SimpleHashtable} class.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private class SpliteratorImpl implements Spliterator<SimpleHashtable.TableEntry<K,V>> {
+
+        /**
+         * The slot in the current hashtable that is to be processed next.
+         */
+        private int currentSlot;
+
+        /**
+         * The slot right after the last slot covered by the current spliterator.
+         */
+        private final int fence;
+
+        /**
+         * The estimated number of entries covered by the current spliterator.
+         */
+        private int estimate;
+
+        /**
+         * Whether the current spliterator covers all slots of the hashtable, so that its {@code estimate} is exact.
+         */
+        private boolean exact;
+
+        /**
+         * The entry in the chain of the previously processed slot that is to be processed next.
+         */
+        private TableEntry<K,V> nextTableEntry;
+
+        /**
+         * The number of modifications made on the hashtable at the moment of instancing the current {@code SpliteratorImpl} instance.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Creates a new {@code SpliteratorImpl} covering the slots from {@code origin} (inclusive) to {@code fence} (exclusive).
+         *
+         * @param origin the first covered slot.
+         * @param fence the slot right after the last covered slot.
+         * @param estimate the estimated number of covered entries.
+         * @param exact whether the given {@code estimate} is exact.
+         */
+        private SpliteratorImpl(int origin, int fence, int estimate, boolean exact) {
+            this.currentSlot = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = exact;
+            this.nextTableEntry = null;
+            this.savedModificationCount = modificationCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TableEntry<K, V>> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+
+            TableEntry<K, V>[] table = hashtable;
+            while (this.nextTableEntry == null && this.currentSlot < this.fence) {
+                this.nextTableEntry = table[this.currentSlot++];
+            }
+            if (this.nextTableEntry == null) return false;
+
+            TableEntry<K, V> currentTableEntry = this.nextTableEntry;
+            this.nextTableEntry = currentTableEntry.next;
+            action.accept(currentTableEntry);
+            this.checkForComodification();
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super TableEntry<K, V>> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+
+            TableEntry<K, V>[] table = hashtable;
+            TableEntry<K, V> hashtableElement = this.nextTableEntry;
+            int slot = this.currentSlot;
+            while (true) {
+                for (; hashtableElement != null; hashtableElement = hashtableElement.next) {
+                    action.accept(hashtableElement);
+                }
+                if (slot >= this.fence) break;
+                hashtableElement = table[slot++];
+            }
+
+            this.nextTableEntry = null;
+            this.currentSlot = this.fence;
+            this.checkForComodification();
+        }
+
+        @Override
+        public Spliterator<TableEntry<K, V>> trySplit() {
+            int low = this.currentSlot, middle = (low + this.fence) >>> 1;
+            if (low >= middle || this.nextTableEntry != null) return null;
+
+            this.currentSlot = middle;
+            this.estimate >>>= 1;
+            this.exact = false;
+
+            return new SpliteratorImpl(low, middle, this.estimate, false);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (this.exact ? SIZED : 0) | DISTINCT | NONNULL;
+        }
+
+        /**
+         * Checks whether the hashtable has been modified after instancing the current spliterator.
+         *
+         * @throws ConcurrentModificationException when the hashtable has been modified.
+         */
+        private void checkForComodification() {
+            if (this.savedModificationCount != modificationCount) {
+                throw new ConcurrentModificationException("The hashtable has been modified after instancing this spliterator!");
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
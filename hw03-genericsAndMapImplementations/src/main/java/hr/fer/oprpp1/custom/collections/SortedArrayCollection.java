@@ -0,0 +1,752 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static java.lang.Math.max;
+import static java.lang.System.arraycopy;
+
+/**
+ * The {@code SortedArrayCollection} class represents the implementation of a resizable array-backed {@link Collection} that keeps its elements sorted by a
+ * {@link Comparator}.
+ * Elements are found by binary search in O(log n) time, while additions and removals shift the elements behind them as in {@link ArrayIndexedCollection}.
+ * Equal elements are kept in the order they were added in and two elements are considered equal when the comparator says so, regardless of their
+ * {@link Object#equals(Object)} methods.
+ * Duplicate elements are allowed, while the storage of {@code null} references is not.
+ *
+ * @param <T> type of objects stored in the collection.
+ * @author mirtamoslavac
+ * @version 1.1
+ */
+public class SortedArrayCollection<T> implements Collection<T> {
+
+    /**
+     * An array of objects stored in the current collection, sorted from index 0 to {@code size - 1}.
+     */
+    private T[] elements;
+
+    /**
+     * The number of elements within the {@code elements} array of the current collection.
+     */
+    private int size;
+
+    /**
+     * Counter of how many times a modification on this current collection has occurred.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Comparator determining the order of the elements.
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Default capacity of the {@code elements} array.
+     */
+    static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Factor by which the current capacity of the {@code elements} array is increased when full.
+     */
+    static final int RESIZING_FACTOR = 2;
+
+    /**
+     * Creates an empty instance of {@code SortedArrayCollection} whose elements are sorted by their natural ordering.
+     * The elements must therefore implement {@link Comparable}, or a {@link ClassCastException} is thrown when they are compared.
+     */
+    @SuppressWarnings("unchecked")
+    public SortedArrayCollection() {
+        this((Comparator<? super T>) (Comparator<?>) Comparator.<Comparable<Object>>naturalOrder());
+    }
+
+    /**
+     * Creates an empty instance of {@code SortedArrayCollection} whose elements are sorted by the given {@code comparator}.
+     *
+     * @param comparator comparator determining the order of the elements.
+     * @throws NullPointerException when the given comparator is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public SortedArrayCollection(Comparator<? super T> comparator) {
+        if (comparator == null) throw new NullPointerException("The given comparator cannot be null!");
+
+        this.comparator = comparator;
+        this.elements = (T[]) new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Creates an instance of {@code SortedArrayCollection} whose elements are sorted by the given {@code comparator} and fills it with the elements of the given
+     * collection {@code other}, sorting them all at once.
+     *
+     * @param other some other collection whose elements are copied into this new {@code SortedArrayCollection} instance.
+     * @param comparator comparator determining the order of the elements.
+     * @throws NullPointerException when the given collection, any of its elements or the given comparator is {@code null}.
+     */
+    public SortedArrayCollection(Collection<? extends T> other, Comparator<? super T> comparator) {
+        this(comparator);
+        this.addAll(other);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(this.elements, this.size);
+    }
+
+    /**
+     * Adds the given {@code value} into the current collection, right after all elements equal to it.
+     * If {@code elements} is full, the array is reallocated and doubled in size.
+     */
+    @Override
+    public void add(T value) {
+        if (value == null) throw new NullPointerException("The passed value cannot be null!");
+
+        this.ensureCapacity(this.size + 1);
+        int position = this.upperBound(value);
+        arraycopy(this.elements, position, this.elements, position + 1, this.size - position);
+
+        this.elements[position] = value;
+        this.size++;
+        this.modificationCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The elements of the given collection are appended to the backing array, which is then merge sorted, so adding many elements at once takes O((n + m) log(n + m))
+     * time instead of shifting the array for every element.
+     */
+    @Override
+    public void addAll(Collection<? extends T> other) {
+        if (other == null) throw new NullPointerException("The given other collection is null!");
+
+        Object[] added = other.toArray();
+        for (Object value : added) {
+            if (value == null) throw new NullPointerException("The passed value cannot be null!");
+        }
+
+        this.ensureCapacity(this.size + added.length);
+        arraycopy(added, 0, this.elements, this.size, added.length);
+        this.size += added.length;
+        MergeSort.sort(this.elements, 0, this.size, this.comparator);
+        this.modificationCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The element is found by binary search.
+     *
+     * @throws ClassCastException when the given {@code value} cannot be compared with the elements of the collection.
+     */
+    @Override
+    public boolean contains(Object value) {
+        return this.indexOf(value) != -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The first element equal to the given {@code value} is removed.
+     *
+     * @throws ClassCastException when the given {@code value} cannot be compared with the elements of the collection.
+     */
+    @Override
+    public boolean remove(Object value) {
+        int index = this.indexOf(value);
+        if (index == -1) return false;
+
+        this.remove(index);
+        return true;
+    }
+
+    /**
+     * Removes the element that is stored at position {@code index} in the current collection.
+     * Shifts the rest of the elements in the {@code elements} array towards the beginning of the array.
+     *
+     * @param index position of the element in the current collection.
+     * @throws IndexOutOfBoundsException when {@code index} is not within the range from 0 to {@code this.size-1}.
+     */
+    public void remove(int index) {
+        index = Objects.checkIndex(index, this.size);
+        this.removeRange(index, index + 1);
+    }
+
+    /**
+     * Retrieves the element stored in the current collection at the position {@code index}, the element at index 0 being the smallest one.
+     *
+     * @param index position of the element in the current collection.
+     * @return object at the given position in the current collection.
+     * @throws IndexOutOfBoundsException when index is not within the range from 0 to {@code this.size-1}.
+     */
+    public T get(int index) {
+        return this.elements[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Searches the collection for the first element equal to the given {@code value}, using binary search.
+     *
+     * @param value object that is searched for, can be passed as {@code null}.
+     * @return index of the first element equal to the given {@code value}, -1 if the {@code value} is not found or if the {@code value} passed is {@code null}.
+     * @throws ClassCastException when the given {@code value} cannot be compared with the elements of the collection.
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(Object value) {
+        if (value == null) return -1;
+
+        int index = this.binarySearch((T) value);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * Searches the collection for the given {@code key} using binary search, with the same contract as {@link Arrays#binarySearch(Object[], Object, Comparator)}.
+     * Unlike it, the index of the first of several equal elements is returned.
+     *
+     * @param key object that is searched for.
+     * @return index of the first element equal to the given {@code key}, or {@code -(insertion point) - 1} if there is no such element, where the insertion point is the
+     * index of the first element greater than the {@code key}, or the size of the collection if there is none.
+     * @throws NullPointerException when the given key is {@code null}.
+     */
+    public int binarySearch(T key) {
+        if (key == null) throw new NullPointerException("The given key cannot be null!");
+
+        int index = this.lowerBound(key);
+        return index < this.size && this.comparator.compare(this.elements[index], key) == 0 ? index : -index - 1;
+    }
+
+    /**
+     * Finds the greatest element of the current collection that is smaller than or equal to the given {@code key}.
+     *
+     * @param key object the elements are compared with.
+     * @return the last such element, {@code null} if there is none.
+     * @throws NullPointerException when the given key is {@code null}.
+     */
+    public T floor(T key) {
+        if (key == null) throw new NullPointerException("The given key cannot be null!");
+
+        int index = this.upperBound(key) - 1;
+        return index >= 0 ? this.elements[index] : null;
+    }
+
+    /**
+     * Finds the smallest element of the current collection that is greater than or equal to the given {@code key}.
+     *
+     * @param key object the elements are compared with.
+     * @return the first such element, {@code null} if there is none.
+     * @throws NullPointerException when the given key is {@code null}.
+     */
+    public T ceiling(T key) {
+        if (key == null) throw new NullPointerException("The given key cannot be null!");
+
+        int index = this.lowerBound(key);
+        return index < this.size ? this.elements[index] : null;
+    }
+
+    /**
+     * Finds the greatest element of the current collection that is strictly smaller than the given {@code key}.
+     *
+     * @param key object the elements are compared with.
+     * @return the last such element, {@code null} if there is none.
+     * @throws NullPointerException when the given key is {@code null}.
+     */
+    public T lower(T key) {
+        if (key == null) throw new NullPointerException("The given key cannot be null!");
+
+        int index = this.lowerBound(key) - 1;
+        return index >= 0 ? this.elements[index] : null;
+    }
+
+    /**
+     * Finds the smallest element of the current collection that is strictly greater than the given {@code key}.
+     *
+     * @param key object the elements are compared with.
+     * @return the first such element, {@code null} if there is none.
+     * @throws NullPointerException when the given key is {@code null}.
+     */
+    public T higher(T key) {
+        if (key == null) throw new NullPointerException("The given key cannot be null!");
+
+        int index = this.upperBound(key);
+        return index < this.size ? this.elements[index] : null;
+    }
+
+    /**
+     * Creates a view of the elements of the current collection that are greater than or equal to {@code fromKey} and strictly smaller than {@code toKey}.
+     * The view is backed by the current collection, so changes of one are visible in the other, and its bounds are looked up by binary search on every call.
+     * Elements outside of the bounds cannot be added through the view.
+     *
+     * @param fromKey the smallest element that can be in the view.
+     * @param toKey the element all elements of the view are smaller than.
+     * @return view of the given range of the current collection.
+     * @throws NullPointerException when any of the given keys is {@code null}.
+     * @throws IllegalArgumentException when {@code fromKey} is greater than {@code toKey}.
+     */
+    public Collection<T> range(T fromKey, T toKey) {
+        if (fromKey == null || toKey == null) throw new NullPointerException("The given keys cannot be null!");
+        if (this.comparator.compare(fromKey, toKey) > 0) throw new IllegalArgumentException("The lower bound of the range cannot be greater than the upper bound!");
+
+        return new RangeView(fromKey, toKey);
+    }
+
+    /**
+     * Fetches the comparator determining the order of the elements.
+     *
+     * @return the comparator of the current collection.
+     */
+    public Comparator<? super T> comparator() {
+        return this.comparator;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The {@code elements} array keeps the capacity that it had prior to being cleared and all existing elements are set to {@code null}.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.elements, 0, this.size, null);
+        this.size = 0;
+        this.modificationCount++;
+    }
+
+    @Override
+    public ElementsGetter<T> createElementsGetter() {
+        return new SortedElementsGetter<>(this, 0, this.size, ElementsGetter.ValidationMode.EVERY_ELEMENT);
+    }
+
+    @Override
+    public ElementsGetter<T> createElementsGetter(ElementsGetter.ValidationMode mode) {
+        if (mode == null) throw new NullPointerException("The given validation mode cannot be null!");
+
+        return new SortedElementsGetter<>(this, 0, this.size, mode);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The returned spliterator splits the backing array into two halves by index, so each part knows its exact size.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new SortedSpliterator<>(this, 0, this.size);
+    }
+
+    /**
+     * Finds the index of the first element that is greater than or equal to the given {@code key}.
+     *
+     * @param key object the elements are compared with.
+     * @return index of the first such element, the size of the collection if there is none.
+     */
+    private int lowerBound(T key) {
+        int low = 0, high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.comparator.compare(this.elements[middle], key) < 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Finds the index of the first element that is strictly greater than the given {@code key}.
+     *
+     * @param key object the elements are compared with.
+     * @return index of the first such element, the size of the collection if there is none.
+     */
+    private int upperBound(T key) {
+        int low = 0, high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.comparator.compare(this.elements[middle], key) <= 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Removes the elements from {@code from} (inclusive) to {@code to} (exclusive), shifting the rest of the elements towards the beginning of the array.
+     *
+     * @param from position of the first removed element.
+     * @param to position right after the last removed element.
+     */
+    private void removeRange(int from, int to) {
+        if (from == to) return;
+
+        arraycopy(this.elements, to, this.elements, from, this.size - to);
+        int newSize = this.size - (to - from);
+        Arrays.fill(this.elements, newSize, this.size, null);
+
+        this.size = newSize;
+        this.modificationCount++;
+    }
+
+    /**
+     * Checks whether the {@code elements} array can hold at least {@code minCapacity} elements.
+     * If not, it reallocates the array, resizing it by the defined {@code RESIZING_FACTOR} or to exactly {@code minCapacity}, whichever is larger.
+     *
+     * @param minCapacity the minimal wanted capacity of the {@code elements} array.
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (this.elements.length < minCapacity) {
+            this.elements = Arrays.copyOf(this.elements, max(minCapacity, this.elements.length * RESIZING_FACTOR));
+        }
+    }
+
+    /**
+     * Checks whether some other object {@code o} is "equal to" the current collection.
+     *
+     * @param o the other object which is compared with the current collection.
+     * @return {@code true} if equal, {@code false} otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SortedArrayCollection)) return false;
+        SortedArrayCollection<?> that = (SortedArrayCollection<?>) o;
+        return this.comparator.equals(that.comparator) && Arrays.equals(this.elements, 0, this.size, that.elements, 0, that.size);
+    }
+
+    /**
+     * Determines a hash code value for the current collection.
+     *
+     * @return hash code value for the current collection.
+     */
+    @Override
+    public int hashCode() {
+        int result = this.size;
+        for (int i = 0; i < this.size; i++) {
+            result = 31 * result + this.elements[i].hashCode();
+        }
+        return result;
+    }
+
+    /**
+     * The {@code RangeView} class is a {@link Collection} view of the elements of the outer collection between two keys.
+     *
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private class RangeView implements Collection<T> {
+
+        /**
+         * The smallest element that can be in the view.
+         */
+        private final T fromKey;
+
+        /**
+         * The element all elements of the view are smaller than.
+         */
+        private final T toKey;
+
+        /**
+         * Creates a new view of the elements from {@code fromKey} (inclusive) to {@code toKey} (exclusive).
+         *
+         * @param fromKey the smallest element that can be in the view.
+         * @param toKey the element all elements of the view are smaller than.
+         */
+        private RangeView(T fromKey, T toKey) {
+            this.fromKey = fromKey;
+            this.toKey = toKey;
+        }
+
+        @Override
+        public int size() {
+            return this.toIndex() - this.fromIndex();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IllegalArgumentException when the given {@code value} is outside of the bounds of the view.
+         */
+        @Override
+        public void add(T value) {
+            if (value == null) throw new NullPointerException("The passed value cannot be null!");
+            if (!this.inRange(value)) throw new IllegalArgumentException("The passed value is outside of the bounds of the range!");
+
+            SortedArrayCollection.this.add(value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object value) {
+            return value != null && this.inRange((T) value) && SortedArrayCollection.this.contains(value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object value) {
+            return value != null && this.inRange((T) value) && SortedArrayCollection.this.remove(value);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOfRange(SortedArrayCollection.this.elements, this.fromIndex(), this.toIndex());
+        }
+
+        /**
+         * Removes all elements within the bounds of the view from the outer collection.
+         */
+        @Override
+        public void clear() {
+            SortedArrayCollection.this.removeRange(this.fromIndex(), this.toIndex());
+        }
+
+        @Override
+        public ElementsGetter<T> createElementsGetter() {
+            return new SortedElementsGetter<>(SortedArrayCollection.this, this.fromIndex(), this.toIndex(), ElementsGetter.ValidationMode.EVERY_ELEMENT);
+        }
+
+        @Override
+        public ElementsGetter<T> createElementsGetter(ElementsGetter.ValidationMode mode) {
+            if (mode == null) throw new NullPointerException("The given validation mode cannot be null!");
+
+            return new SortedElementsGetter<>(SortedArrayCollection.this, this.fromIndex(), this.toIndex(), mode);
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return new SortedSpliterator<>(SortedArrayCollection.this, this.fromIndex(), this.toIndex());
+        }
+
+        /**
+         * Finds the index of the first element of the view in the outer collection.
+         *
+         * @return index of the first element of the view.
+         */
+        private int fromIndex() {
+            return SortedArrayCollection.this.lowerBound(this.fromKey);
+        }
+
+        /**
+         * Finds the index right after the last element of the view in the outer collection.
+         *
+         * @return index right after the last element of the view.
+         */
+        private int toIndex() {
+            return SortedArrayCollection.this.lowerBound(this.toKey);
+        }
+
+        /**
+         * Checks whether the given {@code value} is within the bounds of the view.
+         *
+         * @param value object that is checked.
+         * @return {@code true} if the value is within the bounds, {@code false} otherwise.
+         */
+        private boolean inRange(T value) {
+            Comparator<? super T> comparator = SortedArrayCollection.this.comparator;
+            return comparator.compare(value, this.fromKey) >= 0 && comparator.compare(value, this.toKey) < 0;
+        }
+    }
+
+    /**
+     * The {@code SortedElementsGetter} is an implementation of {@link ElementsGetter} adapted for the {@link SortedArrayCollection}, fetching the elements of a range
+     * of its indexes from the smallest to the greatest.
+     * Whether the collection has been modified is checked as often as its {@link ElementsGetter.ValidationMode} requires.
+     *
+     * @param <T> type of objects stored in the elements getter.
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class SortedElementsGetter<T> implements ElementsGetter<T> {
+
+        /**
+         * The collection whose elements will be fetched on demand.
+         */
+        private final SortedArrayCollection<T> sortedCollection;
+
+        /**
+         * Position of the yet unfetched element that is sequentially first to be fetched.
+         */
+        private int toBeFetched;
+
+        /**
+         * Position right after the last element that is to be fetched.
+         */
+        private final int fence;
+
+        /**
+         * The number of modifications made on the collection at the moment of instancing this current elements getter.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * How often the current elements getter checks whether the collection has been modified.
+         */
+        private final ValidationMode mode;
+
+        /**
+         * Initializes the getter to the starting position.
+         *
+         * @param sortedCollection collection whose elements will be fetched on demand.
+         * @param origin position of the first element that is to be fetched.
+         * @param fence position right after the last element that is to be fetched.
+         * @param mode how often the getter checks whether the collection has been modified.
+         */
+        private SortedElementsGetter(SortedArrayCollection<T> sortedCollection, int origin, int fence, ValidationMode mode) {
+            this.sortedCollection = sortedCollection;
+            this.toBeFetched = origin;
+            this.fence = fence;
+            this.savedModificationCount = sortedCollection.modificationCount;
+            this.mode = mode;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            if (this.mode == ValidationMode.EVERY_ELEMENT) this.checkForComodification();
+            if (this.toBeFetched < Math.min(this.fence, this.sortedCollection.size)) return true;
+
+            if (this.mode != ValidationMode.UNCHECKED) this.checkForComodification();
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         * A getter that does not check on every element never reads beyond the current size of the collection, but may fetch elements that were shifted.
+         */
+        @Override
+        public T getNextElement() {
+            if (this.mode == ValidationMode.EVERY_ELEMENT || this.mode == ValidationMode.EVERY_BATCH && this.toBeFetched % DEFAULT_BATCH_SIZE == 0) {
+                this.checkForComodification();
+            }
+            if (this.toBeFetched >= Math.min(this.fence, this.sortedCollection.size)) {
+                if (this.mode != ValidationMode.UNCHECKED) this.checkForComodification();
+                throw new NoSuchElementException("There are no elements in this collection that remain unfetched!");
+            }
+
+            return this.sortedCollection.elements[this.toBeFetched++];
+        }
+
+        /**
+         * {@inheritDoc}
+         * The elements are copied straight from the backing array of the collection.
+         */
+        @Override
+        public int getNextElements(T[] buffer) {
+            if (buffer == null) throw new NullPointerException("The given buffer cannot be null!");
+            if (this.mode == ValidationMode.EVERY_ELEMENT || this.mode == ValidationMode.EVERY_BATCH) this.checkForComodification();
+
+            int fetched = Math.min(buffer.length, Math.min(this.fence, this.sortedCollection.size) - this.toBeFetched);
+            if (fetched < buffer.length && this.mode == ValidationMode.AT_END) this.checkForComodification();
+            if (fetched <= 0) return 0;
+
+            arraycopy(this.sortedCollection.elements, this.toBeFetched, buffer, 0, fetched);
+            this.toBeFetched += fetched;
+
+            return fetched;
+        }
+
+        /**
+         * Checks whether the collection has been modified after instancing the current elements getter.
+         *
+         * @throws ConcurrentModificationException when the collection has been modified.
+         */
+        private void checkForComodification() {
+            if (this.savedModificationCount != this.sortedCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
+            }
+        }
+    }
+
+    /**
+     * The {@code SortedSpliterator} is an implementation of {@link Spliterator} adapted for the {@link SortedArrayCollection}.
+     * It covers a range of indexes of the backing array and reports the {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} characteristics.
+     *
+     * @param <T> type of objects stored in the spliterator.
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class SortedSpliterator<T> implements Spliterator<T> {
+
+        /**
+         * The collection whose elements are traversed.
+         */
+        private final SortedArrayCollection<T> sortedCollection;
+
+        /**
+         * Position of the element that is to be traversed next.
+         */
+        private int index;
+
+        /**
+         * Position right after the last element covered by the current spliterator.
+         */
+        private final int fence;
+
+        /**
+         * The number of modifications made on the collection at the moment of instancing the current spliterator.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Creates a new {@code SortedSpliterator} covering the elements of the given collection from {@code origin} (inclusive) to {@code fence} (exclusive).
+         *
+         * @param sortedCollection collection whose elements are traversed.
+         * @param origin position of the first covered element.
+         * @param fence position right after the last covered element.
+         */
+        private SortedSpliterator(SortedArrayCollection<T> sortedCollection, int origin, int fence) {
+            this.sortedCollection = sortedCollection;
+            this.index = origin;
+            this.fence = fence;
+            this.savedModificationCount = sortedCollection.modificationCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+            if (this.index >= this.fence) return false;
+
+            T value = this.sortedCollection.elements[this.index++];
+            action.accept(value);
+            this.checkForComodification();
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException("The given action cannot be null!");
+
+            T[] elements = this.sortedCollection.elements;
+            for (int i = this.index, fence = this.fence; i < fence; i++) {
+                action.accept(elements[i]);
+            }
+            this.index = this.fence;
+            this.checkForComodification();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int low = this.index, middle = (low + this.fence) >>> 1;
+            if (low >= middle) return null;
+
+            this.index = middle;
+            return new SortedSpliterator<>(this.sortedCollection, low, middle);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        /**
+         * Checks whether the collection has been modified after instancing the current spliterator.
+         *
+         * @throws ConcurrentModificationException when the collection has been modified.
+         */
+        private void checkForComodification() {
+            if (this.savedModificationCount != this.sortedCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this spliterator!");
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package hr.fer.oprpp1.custom.collections.demo;
+
+import hr.fer.oprpp1.custom.collections.OffHeapStringHashtable;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@code OffHeapHashtableBenchmark} is a command-line application that compares a {@link SimpleHashtable} of strings with an {@link OffHeapStringHashtable} holding the
+ * same entries: the heap they take up, the time needed to fill them and to look all keys up, and the time needed to persist and reload the off-heap table.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class OffHeapHashtableBenchmark {
+
+    /**
+     * The default number of entries, used when no number is given as a command-line argument.
+     */
+    private static final int DEFAULT_SIZE = 2_000_000;
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args an array of command-line arguments, optionally containing the number of entries.
+     * @throws IOException when persisting or loading the off-heap table fails.
+     */
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        SimpleHashtable<String, String> onHeap = new SimpleHashtable<>();
+        for (int i = 0; i < size; i++) onHeap.put("user-" + i, "value of entry number " + i);
+        long onHeapFill = System.nanoTime() - start;
+        long onHeapBytes = usedHeap() - heapBefore;
+
+        start = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < size; i++) if (onHeap.get("user-" + i) != null) found++;
+        long onHeapLookup = System.nanoTime() - start;
+
+        heapBefore = usedHeap();
+        start = System.nanoTime();
+        OffHeapStringHashtable offHeap = new OffHeapStringHashtable();
+        for (int i = 0; i < size; i++) offHeap.put("user-" + i, "value of entry number " + i);
+        long offHeapFill = System.nanoTime() - start;
+        long offHeapHeapBytes = usedHeap() - heapBefore;
+
+        start = System.nanoTime();
+        for (int i = 0; i < size; i++) if (offHeap.get("user-" + i) != null) found++;
+        long offHeapLookup = System.nanoTime() - start;
+
+        System.out.printf("%,d entries (%,d found)%n", size, found);
+        System.out.printf("SimpleHashtable:        heap %,d B, fill %,d ms, lookups %,d ms%n", onHeapBytes, onHeapFill / 1_000_000, onHeapLookup / 1_000_000);
+        System.out.printf("OffHeapStringHashtable: heap %,d B, off-heap %,d B, fill %,d ms, lookups %,d ms%n",
+                offHeapHeapBytes, offHeap.offHeapBytes(), offHeapFill / 1_000_000, offHeapLookup / 1_000_000);
+        if (onHeap.size() != offHeap.size()) System.out.println("The tables differ in size!");
+        onHeap = null;
+
+        Path file = Files.createTempFile("offheap", ".bin");
+        try {
+            start = System.nanoTime();
+            offHeap.persist(file);
+            long persist = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            OffHeapStringHashtable loaded = OffHeapStringHashtable.load(file);
+            long load = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            String value = loaded.get("user-" + (size / 2));
+            long firstLookup = System.nanoTime() - start;
+
+            System.out.printf("Persist %,d ms (%,d B file), load %.3f ms, first lookup after load %.3f ms (%s)%n",
+                    persist / 1_000_000, Files.size(file), load / 1e6, firstLookup / 1e6, value);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Determines the number of bytes used on the heap after requesting garbage collection.
+     *
+     * @return the number of used heap bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,134 @@
+package hr.fer.oprpp1.custom.collections.demo;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.PersistentHashtable;
+import hr.fer.oprpp1.custom.collections.PersistentIndexedCollection;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+/**
+ * {@code SnapshotBenchmark} is a command-line application that compares taking snapshots of collections by copying them with taking snapshots of persistent
+ * collections, measuring both the time and the memory retained by the snapshots.
+ * Every round takes a snapshot and then modifies the original collection, as a writer handing snapshots to readers would.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SnapshotBenchmark {
+
+    /**
+     * The number of snapshots taken and retained for every measured collection.
+     */
+    private static final int SNAPSHOTS = 100;
+
+    /**
+     * Runs the benchmark for lists and hashtables of multiple sizes.
+     *
+     * @param args an array of command-line arguments.
+     */
+    public static void main(String[] args) {
+        for (int size : new int[]{10_000, 100_000, 1_000_000}) {
+            System.out.printf("%,d elements, %d snapshots%n", size, SNAPSHOTS);
+            benchmarkLists(size);
+            benchmarkHashtables(size);
+        }
+    }
+
+    /**
+     * Compares copying an {@link ArrayIndexedCollection} with taking snapshots of a {@link PersistentIndexedCollection}.
+     *
+     * @param size the number of elements in the collections.
+     */
+    private static void benchmarkLists(int size) {
+        ArrayIndexedCollection<Integer> arrayCollection = new ArrayIndexedCollection<>(size + SNAPSHOTS);
+        PersistentIndexedCollection<Integer> persistentCollection = new PersistentIndexedCollection<>();
+        for (int i = 0; i < size; i++) {
+            arrayCollection.add(i);
+            persistentCollection.add(i);
+        }
+
+        Object[] copies = new Object[SNAPSHOTS];
+        long memoryBefore = usedMemory();
+        long start = System.nanoTime();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            copies[i] = new ArrayIndexedCollection<>(arrayCollection);
+            arrayCollection.add(i);
+        }
+        print("ArrayIndexedCollection copy", start, memoryBefore);
+
+        Object[] snapshots = new Object[SNAPSHOTS];
+        memoryBefore = usedMemory();
+        start = System.nanoTime();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            snapshots[i] = persistentCollection.snapshot();
+            persistentCollection.add(i);
+        }
+        print("PersistentIndexedCollection", start, memoryBefore);
+
+        if (copies[SNAPSHOTS - 1] == snapshots[SNAPSHOTS - 1]) System.out.println();
+    }
+
+    /**
+     * Compares copying a {@link SimpleHashtable} with taking snapshots of a {@link PersistentHashtable}.
+     *
+     * @param size the number of entries in the hashtables.
+     */
+    private static void benchmarkHashtables(int size) {
+        SimpleHashtable<Integer, Integer> simpleHashtable = new SimpleHashtable<>();
+        PersistentHashtable<Integer, Integer> persistentHashtable = new PersistentHashtable<>();
+        for (int i = 0; i < size; i++) {
+            simpleHashtable.put(i, i);
+            persistentHashtable.put(i, i);
+        }
+
+        int count = Math.max(1, SNAPSHOTS * 10_000 / size);
+        Object[] copies = new Object[count];
+        long memoryBefore = usedMemory();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            SimpleHashtable<Integer, Integer> copy = new SimpleHashtable<>(size * 2);
+            for (SimpleHashtable.TableEntry<Integer, Integer> entry : simpleHashtable.toArray()) {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+            copies[i] = copy;
+            simpleHashtable.put(-i, i);
+        }
+        print("SimpleHashtable copy (" + count + ")", start, memoryBefore);
+
+        Object[] snapshots = new Object[count];
+        memoryBefore = usedMemory();
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            snapshots[i] = persistentHashtable.snapshot();
+            persistentHashtable.put(-i, i);
+        }
+        print("PersistentHashtable (" + count + ")", start, memoryBefore);
+
+        if (copies[count - 1] == snapshots[count - 1]) System.out.println();
+    }
+
+    /**
+     * Prints the time elapsed since {@code start} and the memory allocated since {@code memoryBefore}, which is retained by the snapshots.
+     *
+     * @param name name of the measured approach.
+     * @param start the moment the measurement started, in nanoseconds.
+     * @param memoryBefore used heap memory before the measurement, in bytes.
+     */
+    private static void print(String name, long start, long memoryBefore) {
+        double millis = (System.nanoTime() - start) / 1e6;
+        long retainedBytes = usedMemory() - memoryBefore;
+
+        System.out.printf("  %-36s %10.3f ms  %,14d bytes retained%n", name, millis, retainedBytes);
+    }
+
+    /**
+     * Determines the currently used heap memory after requesting a garbage collection.
+     *
+     * @return the number of used heap bytes.
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,153 @@
+package hr.fer.oprpp1.custom.collections.demo;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.Collection;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+import java.util.Spliterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@code SpliteratorBenchmark} is a command-line application that measures how evenly the spliterators of custom collection implementations divide their elements and
+ * compares the throughput of sequential and parallel streams over them.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class SpliteratorBenchmark {
+
+    /**
+     * The number of elements stored in every benchmarked collection.
+     */
+    private static final int SIZE = 2_000_000;
+
+    /**
+     * The number of times a stream pipeline is run before measuring, so that the measured code is already compiled.
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * The number of measured stream pipeline runs.
+     */
+    private static final int MEASURED_ROUNDS = 10;
+
+    /**
+     * Fills all custom collections with the same elements and runs the benchmark on each of them.
+     *
+     * @param args an array of command-line arguments.
+     */
+    public static void main(String[] args) {
+        Collection<Integer> arrayCollection = new ArrayIndexedCollection<>(SIZE);
+        Collection<Integer> linkedListCollection = new LinkedListIndexedCollection<>();
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>();
+        for (int i = 0; i < SIZE; i++) {
+            arrayCollection.add(i);
+            linkedListCollection.add(i);
+            hashtable.put(i, i);
+        }
+
+        int leaves = Runtime.getRuntime().availableProcessors() * 4;
+        System.out.printf("%,d elements, %d threads%n", SIZE, Runtime.getRuntime().availableProcessors());
+
+        benchmark("ArrayIndexedCollection", arrayCollection::spliterator, arrayCollection::stream, arrayCollection::parallelStream, leaves);
+        benchmark("LinkedListIndexedCollection", linkedListCollection::spliterator, linkedListCollection::stream, linkedListCollection::parallelStream, leaves);
+        benchmark("SimpleHashtable", hashtable::spliterator, () -> hashtable.stream().map(SimpleHashtable.TableEntry::getValue),
+                () -> hashtable.parallelStream().map(SimpleHashtable.TableEntry::getValue), leaves);
+    }
+
+    /**
+     * Prints the split balance and the sequential and parallel stream throughput for a single collection.
+     *
+     * @param name name of the benchmarked collection.
+     * @param spliterator supplier of new spliterators over the collection.
+     * @param stream supplier of new sequential streams over the collection.
+     * @param parallelStream supplier of new parallel streams over the collection.
+     * @param leaves the number of parts the collection is split into when measuring the balance.
+     */
+    private static void benchmark(String name, Supplier<? extends Spliterator<?>> spliterator, Supplier<Stream<Integer>> stream,
+                                  Supplier<Stream<Integer>> parallelStream, int leaves) {
+        long[] sizes = splitSizes(spliterator.get(), leaves);
+        long min = Long.MAX_VALUE, max = 0;
+        for (long size : sizes) {
+            min = Math.min(min, size);
+            max = Math.max(max, size);
+        }
+
+        double sequentialMillis = measure(stream);
+        double parallelMillis = measure(parallelStream);
+
+        System.out.printf("%-28s %3d parts (min %,d, max %,d)  sequential %.2f ms  parallel %.2f ms  speedup %.2fx%n",
+                name, sizes.length, min, max, sequentialMillis, parallelMillis, sequentialMillis / parallelMillis);
+    }
+
+    /**
+     * Splits the given {@code spliterator} breadth-first until there are at least {@code leaves} parts or no part can be split anymore, then counts the elements of
+     * every part.
+     *
+     * @param spliterator spliterator that is to be split.
+     * @param leaves the wanted number of parts.
+     * @return the number of elements in every part.
+     */
+    private static long[] splitSizes(Spliterator<?> spliterator, int leaves) {
+        java.util.List<Spliterator<?>> parts = new java.util.ArrayList<>();
+        parts.add(spliterator);
+
+        boolean split = true;
+        while (parts.size() < leaves && split) {
+            split = false;
+            java.util.List<Spliterator<?>> nextParts = new java.util.ArrayList<>();
+            for (Spliterator<?> part : parts) {
+                Spliterator<?> prefix = part.trySplit();
+                if (prefix != null) {
+                    nextParts.add(prefix);
+                    split = true;
+                }
+                nextParts.add(part);
+            }
+            parts = nextParts;
+        }
+
+        long[] sizes = new long[parts.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            long[] count = {0};
+            parts.get(i).forEachRemaining(value -> count[0]++);
+            sizes[i] = count[0];
+        }
+
+        return sizes;
+    }
+
+    /**
+     * Measures the average time of filtering and summing the elements of a stream.
+     *
+     * @param stream supplier of new streams over the collection.
+     * @return average time of a single run in milliseconds.
+     */
+    private static double measure(Supplier<Stream<Integer>> stream) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += run(stream.get());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            checksum += run(stream.get());
+        }
+        double averageMillis = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+
+        if (checksum == 42) System.out.println();
+        return averageMillis;
+    }
+
+    /**
+     * Runs a filtering and aggregating pipeline over the given {@code stream}.
+     *
+     * @param stream stream that is to be processed.
+     * @return the sum of squares of all even elements.
+     */
+    private static long run(Stream<Integer> stream) {
+        return stream.filter(value -> value % 2 == 0).mapToLong(value -> (long) value * value).sum();
+    }
+}
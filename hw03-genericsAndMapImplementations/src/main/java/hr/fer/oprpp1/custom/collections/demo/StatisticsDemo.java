@@ -0,0 +1,54 @@
+package hr.fer.oprpp1.custom.collections.demo;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.CollectionStatistics;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+/**
+ * {@code StatisticsDemo} is a command-line application that shows the {@link CollectionStatistics} collected while filling collections with and without capacity hints.
+ * It has to be started with {@code -Dhr.fer.oprpp1.custom.collections.statistics=true}.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class StatisticsDemo {
+
+    /**
+     * The number of elements added to every collection.
+     */
+    private static final int SIZE = 100_000;
+
+    /**
+     * Fills the collections and prints the statistics and the estimated retained sizes.
+     *
+     * @param args an array of command-line arguments.
+     */
+    public static void main(String[] args) {
+        if (!CollectionStatistics.ENABLED) {
+            System.out.println("Start the demo with -D" + CollectionStatistics.ENABLED_PROPERTY + "=true to collect the statistics.");
+            return;
+        }
+
+        ArrayIndexedCollection<Integer> withoutHint = new ArrayIndexedCollection<>();
+        for (int i = 0; i < SIZE; i++) withoutHint.add(i);
+        System.out.println("Without capacity hint: " + CollectionStatistics.ARRAY_INDEXED_COLLECTION);
+        CollectionStatistics.ARRAY_INDEXED_COLLECTION.reset();
+
+        ArrayIndexedCollection<Integer> withHint = new ArrayIndexedCollection<>(SIZE);
+        for (int i = 0; i < SIZE; i++) withHint.add(i);
+        System.out.println("With capacity hint:    " + CollectionStatistics.ARRAY_INDEXED_COLLECTION);
+
+        LinkedListIndexedCollection<Integer> linkedList = new LinkedListIndexedCollection<>();
+        for (int i = 0; i < SIZE; i++) linkedList.add(i);
+        for (int i = 0; i < 100; i++) linkedList.get(i * (SIZE / 100));
+        System.out.println(CollectionStatistics.LINKED_LIST_INDEXED_COLLECTION);
+
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>();
+        for (int i = 0; i < SIZE; i++) hashtable.put(i, i);
+        System.out.println(CollectionStatistics.SIMPLE_HASHTABLE);
+
+        System.out.printf("Retained bytes: array %,d, array with hint %,d, linked list %,d, hashtable %,d%n", withoutHint.estimateRetainedBytes(),
+                withHint.estimateRetainedBytes(), linkedList.estimateRetainedBytes(), hashtable.estimateRetainedBytes());
+    }
+}
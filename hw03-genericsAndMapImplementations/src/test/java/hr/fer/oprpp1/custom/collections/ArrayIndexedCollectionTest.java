@@ -5,7 +5,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ArrayIndexedCollectionTest {
 
@@ -406,4 +411,170 @@ public class ArrayIndexedCollectionTest {
         assertEquals(fiveElementCollection.hashCode(), new ArrayIndexedCollection<>(fiveElementCollection).hashCode());
     }
 
+    @Test
+    public void testSpliteratorCharacteristics() {
+        assertTrue(fiveElementCollection.spliterator().hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(5, fiveElementCollection.spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testSpliteratorSplitsIntoExactHalves() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 100; i++) collection.add(i);
+
+        Spliterator<Integer> suffix = collection.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+
+        assertNotNull(prefix);
+        assertEquals(50, prefix.getExactSizeIfKnown());
+        assertEquals(50, suffix.getExactSizeIfKnown());
+        prefix.tryAdvance(value -> assertEquals(0, value));
+        suffix.tryAdvance(value -> assertEquals(50, value));
+    }
+
+    @Test
+    public void testStreamKeepsOrder() {
+        assertArrayEquals(persistentCollection.toArray(), persistentCollection.stream().toArray());
+    }
+
+    @Test
+    public void testParallelStreamSum() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (int i = 1; i <= 100_000; i++) collection.add(i);
+
+        assertEquals(5_000_050_000L, collection.parallelStream().mapToLong(Integer::longValue).sum());
+        assertArrayEquals(collection.toArray(), collection.parallelStream().toArray());
+    }
+
+    @Test
+    public void testStreamAfterClearIsEmpty() {
+        fiveElementCollection.clear();
+        assertEquals(0, fiveElementCollection.stream().count());
+    }
+
+    @Test
+    public void testSpliteratorAfterModificationThrows() {
+        Spliterator<Object> spliterator = fiveElementCollection.spliterator();
+        fiveElementCollection.remove(0);
+
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.forEachRemaining(value -> {}));
+    }
+
+    @Test
+    public void testParallelForEachProcessesEveryElement() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (int i = 1; i <= 100_000; i++) collection.add(i);
+
+        LongAdder sum = new LongAdder();
+        collection.parallelForEach(sum::add);
+
+        assertEquals(5_000_050_000L, sum.sum());
+    }
+
+    @Test
+    public void testParallelForEachNullProcessorThrows() {
+        assertThrows(NullPointerException.class, () -> fiveElementCollection.parallelForEach(null));
+    }
+
+    @Test
+    public void testParallelAddAllSatisfyingKeepsOrder() {
+        ArrayIndexedCollection<Integer> collection = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 100_000; i++) collection.add(i);
+
+        ArrayIndexedCollection<Integer> evens = new ArrayIndexedCollection<>();
+        evens.add(-2);
+        evens.parallelAddAllSatisfying(collection, value -> value % 2 == 0);
+
+        assertEquals(50_001, evens.size());
+        for (int i = 0; i < evens.size(); i++) {
+            assertEquals(2 * i - 2, evens.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelAddAllSatisfyingNullTesterThrows() {
+        assertThrows(NullPointerException.class, () -> emptyCollection.parallelAddAllSatisfying(fiveElementCollection, null));
+    }
+
+
+    @Test
+    void testMembershipFilterKeepsAnswersExact() {
+        ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 100; i++) col.add(i);
+        CountingBloomFilter filter = col.attachMembershipFilter(10, 0.01);
+
+        assertEquals(100, filter.size());
+        col.insert(500, 3);
+        col.add(500);
+        col.remove(0);
+        col.remove(Integer.valueOf(500));
+
+        assertFalse(col.contains(0));
+        assertTrue(col.contains(500));
+        assertEquals(3, col.indexOf(4));
+        assertEquals(-1, col.indexOf(1000));
+        assertFalse(col.remove(Integer.valueOf(1000)));
+        for (int i = 1; i < 100; i++) assertTrue(col.contains(i));
+        for (int i = 1000; i < 10_000; i++) assertFalse(col.contains(i));
+        assertTrue(filter.getNegatives() > 0);
+    }
+
+    @Test
+    void testMembershipFilterClearAndDetach() {
+        ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>();
+        CountingBloomFilter filter = col.attachMembershipFilter(100, 0.01);
+        col.add(1);
+        col.clear();
+
+        assertEquals(0, filter.size());
+        assertFalse(col.contains(1));
+        col.add(2);
+        assertSame(filter, col.getMembershipFilter());
+        col.detachMembershipFilter();
+        assertNull(col.getMembershipFilter());
+        assertTrue(col.contains(2));
+    }
+
+    @Test
+    void testSortMatchesArraysSort() {
+        Random random = new Random(42);
+        for (int size : new int[] {0, 1, 31, 32, 33, 100, 1000, 10_000}) {
+            ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>();
+            for (int i = 0; i < size; i++) col.add(random.nextInt(size + 1));
+            Object[] expected = col.toArray();
+            Arrays.sort(expected);
+
+            col.sort(Comparator.naturalOrder());
+
+            assertArrayEquals(expected, col.toArray());
+        }
+    }
+
+    @Test
+    void testSortIsStable() {
+        ArrayIndexedCollection<String> col = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 500; i++) col.add((char) ('a' + i % 7) + String.valueOf(i));
+
+        col.sort(Comparator.comparing(value -> value.charAt(0)));
+
+        for (int i = 1; i < col.size(); i++) {
+            String previous = col.get(i - 1), current = col.get(i);
+            assertTrue(previous.charAt(0) < current.charAt(0)
+                    || previous.charAt(0) == current.charAt(0) && Integer.parseInt(previous.substring(1)) < Integer.parseInt(current.substring(1)));
+        }
+    }
+
+    @Test
+    void testSortReversedAndNullComparator() {
+        ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 100; i++) col.add(i);
+        ElementsGetter<Integer> getter = col.createElementsGetter();
+
+        col.sort(Comparator.reverseOrder());
+
+        assertEquals(99, col.get(0));
+        assertEquals(0, col.get(99));
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+        assertThrows(NullPointerException.class, () -> col.sort(null));
+    }
 }
@@ -0,0 +1,145 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CollectionStatisticsTest {
+
+    private CollectionStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new CollectionStatistics("Test");
+    }
+
+    @Test
+    void testNewStatisticsAreEmpty() {
+        assertEquals("Test", statistics.getName());
+        assertEquals(0, statistics.getResizes());
+        assertEquals(0, statistics.getCopiedElements());
+        assertEquals(0, statistics.getAllocatedBytes());
+        assertEquals(0, statistics.getLookups());
+        assertEquals(0, statistics.getAverageProbeLength());
+        assertEquals(0, statistics.getMaxProbeLength());
+    }
+
+    @Test
+    void testRecording() {
+        statistics.recordResize(16, 144);
+        statistics.recordCopy(4);
+        statistics.recordAllocation(24);
+        statistics.recordLookup(1);
+        statistics.recordLookup(5);
+
+        assertEquals(1, statistics.getResizes());
+        assertEquals(20, statistics.getCopiedElements());
+        assertEquals(168, statistics.getAllocatedBytes());
+        assertEquals(2, statistics.getLookups());
+        assertEquals(6, statistics.getProbes());
+        assertEquals(3, statistics.getAverageProbeLength());
+        assertEquals(5, statistics.getMaxProbeLength());
+    }
+
+    @Test
+    void testReset() {
+        statistics.recordResize(16, 144);
+        statistics.recordLookup(5);
+        statistics.reset();
+
+        assertEquals(0, statistics.getResizes());
+        assertEquals(0, statistics.getCopiedElements());
+        assertEquals(0, statistics.getAllocatedBytes());
+        assertEquals(0, statistics.getLookups());
+        assertEquals(0, statistics.getMaxProbeLength());
+    }
+
+    @Test
+    void testByteEstimates() {
+        assertEquals(16, CollectionStatistics.referenceArrayBytes(0));
+        assertEquals(24, CollectionStatistics.referenceArrayBytes(1));
+        assertEquals(80, CollectionStatistics.referenceArrayBytes(16));
+        assertEquals(16, CollectionStatistics.objectBytes(0, 0));
+        assertEquals(24, CollectionStatistics.objectBytes(3, 0));
+        assertEquals(32, CollectionStatistics.objectBytes(1, Integer.BYTES + Long.BYTES));
+    }
+
+    @Test
+    void testEstimateRetainedBytes() {
+        ArrayIndexedCollection<Integer> array = new ArrayIndexedCollection<>(16);
+        LinkedListIndexedCollection<Integer> linkedList = new LinkedListIndexedCollection<>();
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>(16);
+        for (int i = 0; i < 10; i++) {
+            array.add(i);
+            linkedList.add(i);
+            hashtable.put(i, i);
+        }
+
+        assertEquals(32 + 80, array.estimateRetainedBytes());
+        assertEquals(32 + 10 * 24, linkedList.estimateRetainedBytes());
+        assertEquals(32 + 80 + 10 * 32, hashtable.estimateRetainedBytes());
+    }
+
+    @Test
+    void testArrayIndexedCollectionIsInstrumented() {
+        assumeTrue(CollectionStatistics.ENABLED);
+        CollectionStatistics arrayStatistics = CollectionStatistics.ARRAY_INDEXED_COLLECTION;
+        long resizes = arrayStatistics.getResizes(), copied = arrayStatistics.getCopiedElements(), lookups = arrayStatistics.getLookups();
+
+        ArrayIndexedCollection<Integer> array = new ArrayIndexedCollection<>(2);
+        array.add(1);
+        array.add(2);
+        array.add(3);
+        array.insert(0, 0);
+        array.contains(3);
+
+        assertEquals(resizes + 1, arrayStatistics.getResizes());
+        assertEquals(copied + 2 + 3, arrayStatistics.getCopiedElements());
+        assertEquals(lookups + 1, arrayStatistics.getLookups());
+    }
+
+    @Test
+    void testLinkedListIndexedCollectionIsInstrumented() {
+        assumeTrue(CollectionStatistics.ENABLED);
+        CollectionStatistics linkedListStatistics = CollectionStatistics.LINKED_LIST_INDEXED_COLLECTION;
+        long allocated = linkedListStatistics.getAllocatedBytes(), probes = linkedListStatistics.getProbes();
+
+        LinkedListIndexedCollection<Integer> linkedList = new LinkedListIndexedCollection<>();
+        for (int i = 0; i < 10; i++) linkedList.add(i);
+        linkedList.indexOf(4);
+
+        assertEquals(allocated + 10 * 24, linkedListStatistics.getAllocatedBytes());
+        assertEquals(probes + 5, linkedListStatistics.getProbes());
+    }
+
+    @Test
+    void testSimpleHashtableIsInstrumented() {
+        assumeTrue(CollectionStatistics.ENABLED);
+        CollectionStatistics hashtableStatistics = CollectionStatistics.SIMPLE_HASHTABLE;
+        long resizes = hashtableStatistics.getResizes(), lookups = hashtableStatistics.getLookups();
+
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>(2);
+        for (int i = 0; i < 10; i++) hashtable.put(i, i);
+        long lookupsAfterPuts = hashtableStatistics.getLookups();
+        hashtable.get(3);
+
+        assertTrue(hashtableStatistics.getResizes() > resizes);
+        assertTrue(lookupsAfterPuts > lookups);
+        assertEquals(lookupsAfterPuts + 1, hashtableStatistics.getLookups());
+        assertTrue(hashtableStatistics.getMaxProbeLength() >= 1);
+    }
+
+    @Test
+    void testStatisticsAreRegisteredOverJmx() throws Exception {
+        assumeTrue(CollectionStatistics.ENABLED);
+        ObjectName name = new ObjectName("hr.fer.oprpp1.custom.collections:type=CollectionStatistics,name=SimpleHashtable");
+
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        assertEquals("SimpleHashtable", ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Name"));
+    }
+}
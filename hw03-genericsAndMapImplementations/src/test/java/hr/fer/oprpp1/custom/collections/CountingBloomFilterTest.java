@@ -0,0 +1,94 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountingBloomFilterTest {
+
+    private CountingBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new CountingBloomFilter(1000, 0.01);
+    }
+
+    @Test
+    void testConstructorInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(Integer.MAX_VALUE, 1e-9));
+    }
+
+    @Test
+    void testSizing() {
+        assertEquals(16384, filter.memoryBytes());
+        assertEquals(11, filter.getNumberOfHashes());
+    }
+
+    @Test
+    void testNoFalseNegatives() {
+        for (int i = 0; i < 1000; i++) filter.add(i);
+
+        for (int i = 0; i < 1000; i++) assertTrue(filter.mightContain(i));
+        assertEquals(1000, filter.size());
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        for (int i = 0; i < 1000; i++) filter.add("element" + i);
+
+        int positives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("missing" + i)) positives++;
+        }
+
+        assertTrue(positives < 2_000, "Too many false positives: " + positives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.01);
+    }
+
+    @Test
+    void testRemove() {
+        filter.add("a");
+        filter.add("a");
+        filter.add("b");
+
+        filter.remove("a");
+        assertTrue(filter.mightContain("a"));
+        filter.remove("a");
+        assertFalse(filter.mightContain("a"));
+        assertTrue(filter.mightContain("b"));
+        assertEquals(1, filter.size());
+    }
+
+    @Test
+    void testSaturatedCountersAreNeverDecremented() {
+        for (int i = 0; i < 300; i++) filter.add("a");
+        filter.add("b");
+        for (int i = 0; i < 299; i++) filter.remove("a");
+
+        assertTrue(filter.mightContain("a"));
+        assertTrue(filter.mightContain("b"));
+    }
+
+    @Test
+    void testClearAndStatistics() {
+        filter.add(1);
+        filter.mightContain(1);
+        filter.mightContain(2);
+        filter.clear();
+
+        assertEquals(0, filter.size());
+        assertFalse(filter.mightContain(1));
+        assertEquals(3, filter.getQueries());
+        assertTrue(filter.getNegatives() >= 1);
+    }
+
+    @Test
+    void testNull() {
+        assertThrows(NullPointerException.class, () -> filter.add(null));
+        assertThrows(NullPointerException.class, () -> filter.mightContain(null));
+    }
+}
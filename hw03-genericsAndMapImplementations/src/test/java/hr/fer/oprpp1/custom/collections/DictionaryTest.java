@@ -137,6 +137,48 @@ public class DictionaryTest {
         assertThrows(NullPointerException.class, () -> dictionaryContainingEntriesObjects.remove(null));
     }
 
+    @Test
+    void testConstructorWithExpectedSize() {
+        Dictionary<Character, String> testingDictionary = new Dictionary<>(100);
+
+        assertTrue(testingDictionary.isEmpty());
+    }
+
+    @Test
+    void testConstructorWithInvalidExpectedSizeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new Dictionary<>(0));
+    }
+
+    @Test
+    void testPutAndGetManyEntries() {
+        Dictionary<Character, Integer> testingDictionary = new Dictionary<>();
+        for (char c = 0; c < 1000; c++) {
+            assertNull(testingDictionary.put(c, (int) c));
+        }
+
+        assertEquals(1000, testingDictionary.size());
+        for (char c = 0; c < 1000; c++) {
+            assertEquals((int) c, testingDictionary.get(c));
+        }
+        assertNull(testingDictionary.get((char) 1000));
+    }
+
+    @Test
+    void testRemoveAfterManyEntries() {
+        Dictionary<Integer, String> testingDictionary = new Dictionary<>();
+        for (int i = 0; i < 100; i++) {
+            testingDictionary.put(i, String.valueOf(i));
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(String.valueOf(i), testingDictionary.remove(i));
+        }
+
+        assertEquals(50, testingDictionary.size());
+        assertNull(testingDictionary.get(10));
+        assertEquals("11", testingDictionary.get(11));
+    }
+
     @Test
     void testEqualsTrue() {
         assertEquals(emptyDictionary, new Dictionary<>());
@@ -145,6 +145,27 @@ public class ElementsGetterTest {
         getter.processRemaining(System.out::println);
     }
 
+    @Test
+    public void testModifyingTheCollectionWhileProcessingThrows() {
+        java.util.List<java.util.function.Consumer<ArrayIndexedCollection<Integer>>> modifications = java.util.List.of(
+                col -> col.createElementsGetter().processRemaining(value -> {
+                    if (value == 1) col.add(4);
+                }),
+                col -> col.addAll(col),
+                col -> col.addAllSatisfying(col, value -> true)
+        );
+
+        for (java.util.function.Consumer<ArrayIndexedCollection<Integer>> modification : modifications) {
+            ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>(3);
+            col.add(1);
+            col.add(2);
+            col.add(3);
+
+            assertThrows(ConcurrentModificationException.class, () -> modification.accept(col));
+            assertEquals(4, col.size());
+        }
+    }
+
     @Test
     public void testAddAllElementsSatisfyingAGivenConditionFromOneCollectionToAnother() {
         Collection<Integer> col1 = new LinkedListIndexedCollection<>();
@@ -179,6 +200,151 @@ public class ElementsGetterTest {
         col4.forEach(System.out::println); // Jasna
     }
 
+    @Test
+    public void testGettingElementsInBatches() {
+        for (Collection<Integer> col : java.util.List.<Collection<Integer>>of(new ArrayIndexedCollection<>(), new LinkedListIndexedCollection<>())) {
+            for (int i = 0; i < 10; i++) col.add(i);
+
+            ElementsGetter<Integer> getter = col.createElementsGetter();
+            assertEquals(0, getter.getNextElement());
+
+            Integer[] buffer = new Integer[4];
+            assertEquals(4, getter.getNextElements(buffer));
+            assertArrayEquals(new Integer[]{1, 2, 3, 4}, buffer);
+            assertEquals(4, getter.getNextElements(buffer));
+            assertArrayEquals(new Integer[]{5, 6, 7, 8}, buffer);
+            assertEquals(1, getter.getNextElements(buffer));
+            assertEquals(9, buffer[0]);
+            assertEquals(0, getter.getNextElements(buffer));
+            assertFalse(getter.hasNextElement());
+        }
+    }
+
+    @Test
+    public void testGettingElementsInBatchesAfterModifyingTheCollectionThrows() {
+        Collection<String> col = new LinkedListIndexedCollection<>();
+        col.add("Ivo");
+        col.add("Ana");
+
+        ElementsGetter<String> getter = col.createElementsGetter();
+        col.add("Jasna");
+
+        assertThrows(ConcurrentModificationException.class, () -> getter.getNextElements(new String[2]));
+    }
+
+    @Test
+    public void testGettingElementsInBatchesNullBufferThrows() {
+        Collection<String> col = new ArrayIndexedCollection<>();
+
+        assertThrows(NullPointerException.class, () -> col.createElementsGetter().getNextElements(null));
+    }
+
+    @Test
+    public void testAddAllOfManyElements() {
+        Collection<Integer> col1 = new LinkedListIndexedCollection<>();
+        for (int i = 0; i < 1000; i++) col1.add(i);
+        ArrayIndexedCollection<Integer> col2 = new ArrayIndexedCollection<>(2);
+        col2.add(-1);
+
+        col2.addAll(col1);
 
+        assertEquals(1001, col2.size());
+        for (int i = 0; i < 1001; i++) {
+            assertEquals(i - 1, col2.get(i));
+        }
+    }
 
+    @Test
+    public void testAtEndValidationReportsModificationWhenIterationEnds() {
+        for (Collection<Integer> col : java.util.List.of(new ArrayIndexedCollection<Integer>(), new LinkedListIndexedCollection<Integer>(), new SortedArrayCollection<Integer>())) {
+            for (int i = 0; i < 10; i++) col.add(i);
+            ElementsGetter<Integer> getter = col.createElementsGetter(ElementsGetter.ValidationMode.AT_END);
+
+            assertEquals(0, getter.getNextElement());
+            col.remove(Integer.valueOf(9));
+            for (int i = 1; i < 9; i++) {
+                assertTrue(getter.hasNextElement());
+                assertEquals(i, getter.getNextElement());
+            }
+
+            assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+            assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+        }
+    }
+
+    @Test
+    public void testAtEndValidationOfProcessRemaining() {
+        Collection<Integer> col = new LinkedListIndexedCollection<>();
+        for (int i = 0; i < 200; i++) col.add(i);
+        ElementsGetter<Integer> getter = col.createElementsGetter(ElementsGetter.ValidationMode.AT_END);
+        int[] processed = new int[1];
+
+        assertThrows(ConcurrentModificationException.class, () -> getter.processRemaining(value -> {
+            if (processed[0]++ == 0) col.remove(Integer.valueOf(199));
+        }));
+    }
+
+    @Test
+    public void testLinkedListGetterStopsAtARemovedFirstNode() {
+        for (ElementsGetter.ValidationMode mode : java.util.List.of(ElementsGetter.ValidationMode.EVERY_BATCH, ElementsGetter.ValidationMode.AT_END)) {
+            LinkedListIndexedCollection<Integer> col = new LinkedListIndexedCollection<>();
+            for (int i = 0; i < 10; i++) col.add(i);
+            ElementsGetter<Integer> getter = col.createElementsGetter(mode);
+
+            assertEquals(0, getter.getNextElement());
+            col.remove(0);
+            col.remove(0);
+            getter.getNextElement();
+
+            assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+        }
+    }
+
+    @Test
+    public void testEveryBatchValidationReportsModificationWithinABatch() {
+        ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 1000; i++) col.add(i);
+        ElementsGetter<Integer> getter = col.createElementsGetter(ElementsGetter.ValidationMode.EVERY_BATCH);
+
+        getter.getNextElement();
+        col.remove(999);
+
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (int i = 0; i < ElementsGetter.DEFAULT_BATCH_SIZE; i++) getter.getNextElement();
+        });
+        assertThrows(ConcurrentModificationException.class, () -> getter.getNextElements(new Integer[4]));
+    }
+
+    @Test
+    public void testUncheckedGetterNeverThrowsConcurrentModification() {
+        for (Collection<Integer> col : java.util.List.of(new ArrayIndexedCollection<Integer>(), new LinkedListIndexedCollection<Integer>(), new SortedArrayCollection<Integer>())) {
+            for (int i = 0; i < 10; i++) col.add(i);
+            ElementsGetter<Integer> getter = col.createElementsGetter(ElementsGetter.ValidationMode.UNCHECKED);
+
+            getter.getNextElement();
+            col.remove(Integer.valueOf(9));
+            int fetched = 1;
+            while (getter.hasNextElement()) {
+                getter.getNextElement();
+                fetched++;
+            }
+
+            assertEquals(9, fetched);
+            assertThrows(NoSuchElementException.class, getter::getNextElement);
+        }
+    }
+
+    @Test
+    public void testValidationModesFetchTheSameElements() {
+        Collection<Integer> col = new ArrayIndexedCollection<>();
+        for (int i = 0; i < 300; i++) col.add(i);
+
+        for (ElementsGetter.ValidationMode mode : ElementsGetter.ValidationMode.values()) {
+            ElementsGetter<Integer> getter = col.createElementsGetter(mode);
+            for (int i = 0; i < 300; i++) assertEquals(i, getter.getNextElement());
+            assertFalse(getter.hasNextElement());
+        }
+        assertThrows(NullPointerException.class, () -> col.createElementsGetter(null));
+        assertThrows(NullPointerException.class, () -> new ArrayDequeCollection<Integer>().createElementsGetter(null));
+    }
 }
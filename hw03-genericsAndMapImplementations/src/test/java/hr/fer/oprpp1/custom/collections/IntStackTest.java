@@ -0,0 +1,63 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntStackTest {
+
+    private IntStack stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new IntStack(2);
+    }
+
+    @Test
+    void testConstructorInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IntStack(0));
+    }
+
+    @Test
+    void testEmptyStack() {
+        assertTrue(stack.isEmpty());
+        assertEquals(0, stack.size());
+        assertThrows(EmptyStackExceptionV2.class, () -> stack.pop());
+        assertThrows(EmptyStackExceptionV2.class, () -> stack.peek());
+    }
+
+    @Test
+    void testPushPopResizing() {
+        for (int i = 0; i < 100; i++) {
+            stack.push(i);
+        }
+
+        assertEquals(100, stack.size());
+        assertEquals(99, stack.peek());
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    void testToArray() {
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+        stack.pop();
+
+        assertArrayEquals(new int[]{1, 2}, stack.toArray());
+    }
+
+    @Test
+    void testClear() {
+        stack.push(1);
+        stack.clear();
+
+        assertTrue(stack.isEmpty());
+        stack.push(4);
+        assertEquals(4, stack.peek());
+    }
+}
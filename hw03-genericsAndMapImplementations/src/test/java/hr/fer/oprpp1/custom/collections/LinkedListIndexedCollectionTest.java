@@ -5,7 +5,10 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
 
 public class LinkedListIndexedCollectionTest {
 
@@ -343,5 +346,120 @@ public class LinkedListIndexedCollectionTest {
         assertEquals(fiveElementCollection.hashCode(), new LinkedListIndexedCollection<>(fiveElementCollection).hashCode());
     }
 
+    @Test
+    public void testSpliteratorCharacteristics() {
+        assertTrue(fiveElementCollection.spliterator().hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(5, fiveElementCollection.spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testSpliteratorSplitsInBatches() {
+        LinkedListIndexedCollection<Integer> collection = new LinkedListIndexedCollection<>();
+        for (int i = 0; i < 5000; i++) collection.add(i);
+
+        Spliterator<Integer> rest = collection.spliterator();
+        Spliterator<Integer> batch = rest.trySplit();
+
+        assertNotNull(batch);
+        assertTrue(batch.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(5000, batch.getExactSizeIfKnown() + rest.getExactSizeIfKnown());
+        batch.tryAdvance(value -> assertEquals(0, value));
+    }
+
+    @Test
+    public void testStreamKeepsOrder() {
+        assertArrayEquals(persistentCollection.toArray(), persistentCollection.stream().toArray());
+    }
+
+    @Test
+    public void testParallelStreamSum() {
+        LinkedListIndexedCollection<Integer> collection = new LinkedListIndexedCollection<>();
+        for (int i = 1; i <= 100_000; i++) collection.add(i);
+
+        assertEquals(5_000_050_000L, collection.parallelStream().mapToLong(Integer::longValue).sum());
+        assertArrayEquals(collection.toArray(), collection.parallelStream().toArray());
+    }
+
+    @Test
+    public void testSpliteratorAfterModificationThrows() {
+        Spliterator<Object> spliterator = fiveElementCollection.spliterator();
+        fiveElementCollection.remove(0);
+
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.forEachRemaining(value -> {}));
+    }
+
+    @Test
+    public void testParallelForEachProcessesEveryElement() {
+        LinkedListIndexedCollection<Integer> collection = new LinkedListIndexedCollection<>();
+        for (int i = 1; i <= 100_000; i++) collection.add(i);
+
+        LongAdder sum = new LongAdder();
+        collection.parallelForEach(sum::add);
+
+        assertEquals(5_000_050_000L, sum.sum());
+    }
+
+    @Test
+    public void testParallelForEachNullProcessorThrows() {
+        assertThrows(NullPointerException.class, () -> fiveElementCollection.parallelForEach(null));
+    }
+
+    @Test
+    public void testParallelAddAllSatisfyingKeepsOrder() {
+        LinkedListIndexedCollection<Integer> collection = new LinkedListIndexedCollection<>();
+        for (int i = 0; i < 100_000; i++) collection.add(i);
+
+        LinkedListIndexedCollection<Integer> evens = new LinkedListIndexedCollection<>();
+        evens.add(-2);
+        evens.parallelAddAllSatisfying(collection, value -> value % 2 == 0);
+
+        assertEquals(50_001, evens.size());
+        for (int i = 0; i < evens.size(); i++) {
+            assertEquals(2 * i - 2, evens.get(i));
+        }
+    }
+
+    @Test
+    public void testParallelAddAllSatisfyingNullTesterThrows() {
+        assertThrows(NullPointerException.class, () -> emptyCollection.parallelAddAllSatisfying(fiveElementCollection, null));
+    }
+
+
+    @Test
+    void testMembershipFilterKeepsAnswersExact() {
+        LinkedListIndexedCollection<Integer> col = new LinkedListIndexedCollection<>();
+        for (int i = 0; i < 100; i++) col.add(i);
+        CountingBloomFilter filter = col.attachMembershipFilter(10, 0.01);
+
+        assertEquals(100, filter.size());
+        col.insert(500, 3);
+        col.add(500);
+        col.remove(0);
+        col.remove(Integer.valueOf(500));
 
+        assertFalse(col.contains(0));
+        assertTrue(col.contains(500));
+        assertEquals(3, col.indexOf(4));
+        assertEquals(-1, col.indexOf(1000));
+        assertFalse(col.remove(Integer.valueOf(1000)));
+        for (int i = 1; i < 100; i++) assertTrue(col.contains(i));
+        for (int i = 1000; i < 10_000; i++) assertFalse(col.contains(i));
+        assertTrue(filter.getNegatives() > 0);
+    }
+
+    @Test
+    void testMembershipFilterClearAndDetach() {
+        LinkedListIndexedCollection<Integer> col = new LinkedListIndexedCollection<>();
+        CountingBloomFilter filter = col.attachMembershipFilter(100, 0.01);
+        col.add(1);
+        col.clear();
+
+        assertEquals(0, filter.size());
+        assertFalse(col.contains(1));
+        col.add(2);
+        assertSame(filter, col.getMembershipFilter());
+        col.detachMembershipFilter();
+        assertNull(col.getMembershipFilter());
+        assertTrue(col.contains(2));
+    }
 }
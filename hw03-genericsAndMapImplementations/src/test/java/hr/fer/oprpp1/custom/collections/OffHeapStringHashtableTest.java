@@ -0,0 +1,219 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapStringHashtableTest {
+
+    private OffHeapStringHashtable emptyHashtable;
+    private OffHeapStringHashtable hashtableContainingEntries;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        emptyHashtable = new OffHeapStringHashtable();
+
+        hashtableContainingEntries = new OffHeapStringHashtable(2);
+        hashtableContainingEntries.put("Ivana", "2");
+        hashtableContainingEntries.put("Ante", "2");
+        hashtableContainingEntries.put("Jasna", "2");
+        hashtableContainingEntries.put("Kristina", "5");
+        hashtableContainingEntries.put("Ivana", "5");
+    }
+
+    @Test
+    void testConstructorInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapStringHashtable(0));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapStringHashtable(OffHeapStringHashtable.MAX_SLOTS + 1));
+    }
+
+    @Test
+    void testPutNullKey() {
+        assertThrows(NullPointerException.class, () -> emptyHashtable.put(null, "value"));
+    }
+
+    @Test
+    void testPutAndGet() {
+        assertEquals(4, hashtableContainingEntries.size());
+        assertEquals("5", hashtableContainingEntries.get("Ivana"));
+        assertEquals("2", hashtableContainingEntries.get("Ante"));
+        assertNull(hashtableContainingEntries.get("Marko"));
+        assertNull(hashtableContainingEntries.get(null));
+        assertNull(hashtableContainingEntries.get(5));
+    }
+
+    @Test
+    void testPutReturnsOldValue() {
+        assertEquals("2", hashtableContainingEntries.put("Jasna", "4"));
+        assertNull(hashtableContainingEntries.put("Marko", "3"));
+        assertEquals("4", hashtableContainingEntries.get("Jasna"));
+    }
+
+    @Test
+    void testNullValue() {
+        emptyHashtable.put("key", null);
+
+        assertEquals(1, emptyHashtable.size());
+        assertTrue(emptyHashtable.containsKey("key"));
+        assertTrue(emptyHashtable.containsValue(null));
+        assertNull(emptyHashtable.get("key"));
+    }
+
+    @Test
+    void testNonAsciiKeysAndValues() {
+        emptyHashtable.put("Šišmiš", "čćđž");
+        emptyHashtable.put("", "");
+
+        assertEquals("čćđž", emptyHashtable.get("Šišmiš"));
+        assertEquals("", emptyHashtable.get(""));
+    }
+
+    @Test
+    void testContainsKeyAndValue() {
+        assertTrue(hashtableContainingEntries.containsKey("Kristina"));
+        assertFalse(hashtableContainingEntries.containsKey("Marko"));
+        assertFalse(hashtableContainingEntries.containsKey(null));
+        assertTrue(hashtableContainingEntries.containsValue("5"));
+        assertFalse(hashtableContainingEntries.containsValue("3"));
+    }
+
+    @Test
+    void testRemove() {
+        assertEquals("2", hashtableContainingEntries.remove("Ante"));
+        assertNull(hashtableContainingEntries.remove("Ante"));
+        assertNull(hashtableContainingEntries.remove(null));
+
+        assertEquals(3, hashtableContainingEntries.size());
+        assertFalse(hashtableContainingEntries.containsKey("Ante"));
+        assertEquals("2", hashtableContainingEntries.get("Jasna"));
+    }
+
+    @Test
+    void testClear() {
+        hashtableContainingEntries.clear();
+
+        assertTrue(hashtableContainingEntries.isEmpty());
+        assertNull(hashtableContainingEntries.get("Ivana"));
+        hashtableContainingEntries.put("Ivana", "1");
+        assertEquals("1", hashtableContainingEntries.get("Ivana"));
+    }
+
+    @Test
+    void testManyEntriesWithRemovals() {
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            emptyHashtable.put("key" + i, "value" + i);
+            expected.put("key" + i, "value" + i);
+            if (i % 3 == 0) {
+                emptyHashtable.remove("key" + (i / 2));
+                expected.remove("key" + (i / 2));
+            }
+            if (i % 5 == 0) {
+                emptyHashtable.put("key" + (i / 4), "replaced" + i);
+                expected.put("key" + (i / 4), "replaced" + i);
+            }
+        }
+
+        assertEquals(expected.size(), emptyHashtable.size());
+        for (Map.Entry<String, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), emptyHashtable.get(entry.getKey()));
+        }
+
+        Map<String, String> iterated = new HashMap<>();
+        for (OffHeapStringHashtable.Entry entry : emptyHashtable) {
+            iterated.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void testIteratorRemoveAndSetValue() {
+        Iterator<OffHeapStringHashtable.Entry> iterator = hashtableContainingEntries.iterator();
+        while (iterator.hasNext()) {
+            OffHeapStringHashtable.Entry entry = iterator.next();
+            if (entry.getKey().equals("Ante")) {
+                iterator.remove();
+                assertThrows(IllegalStateException.class, iterator::remove);
+            } else {
+                entry.setValue(entry.getValue() + "!");
+            }
+        }
+
+        assertEquals(3, hashtableContainingEntries.size());
+        assertEquals("5!", hashtableContainingEntries.get("Ivana"));
+        assertFalse(hashtableContainingEntries.containsKey("Ante"));
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testIteratorConcurrentModification() {
+        Iterator<OffHeapStringHashtable.Entry> iterator = hashtableContainingEntries.iterator();
+        hashtableContainingEntries.put("Marko", "1");
+
+        assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("[]", emptyHashtable.toString());
+        emptyHashtable.put("a", "1");
+        assertEquals("[a=1]", emptyHashtable.toString());
+    }
+
+    @Test
+    void testPersistAndLoad() throws IOException {
+        Path file = directory.resolve("table.bin");
+        for (int i = 0; i < 5_000; i++) {
+            emptyHashtable.put("key" + i, i % 7 == 0 ? null : "value" + i);
+        }
+        emptyHashtable.remove("key1");
+        emptyHashtable.persist(file);
+
+        OffHeapStringHashtable loaded = OffHeapStringHashtable.load(file);
+
+        assertEquals(emptyHashtable.size(), loaded.size());
+        assertNull(loaded.get("key1"));
+        assertEquals("value2", loaded.get("key2"));
+        assertTrue(loaded.containsKey("key7"));
+        assertNull(loaded.get("key7"));
+    }
+
+    @Test
+    void testLoadedHashtableIsModifiableWithoutChangingFile() throws IOException {
+        Path file = directory.resolve("table.bin");
+        hashtableContainingEntries.persist(file);
+
+        OffHeapStringHashtable loaded = OffHeapStringHashtable.load(file);
+        loaded.put("Ivana", "1");
+        for (int i = 0; i < 100; i++) loaded.put("key" + i, "value" + i);
+
+        assertEquals("1", loaded.get("Ivana"));
+        assertEquals(104, loaded.size());
+        assertEquals("5", OffHeapStringHashtable.load(file).get("Ivana"));
+
+        loaded.persist(file);
+        assertEquals("1", OffHeapStringHashtable.load(file).get("Ivana"));
+        assertEquals(104, OffHeapStringHashtable.load(file).size());
+    }
+
+    @Test
+    void testLoadInvalidFile() throws IOException {
+        Path file = Files.writeString(directory.resolve("invalid.bin"), "not a hashtable at all, just some text");
+
+        assertThrows(IOException.class, () -> OffHeapStringHashtable.load(file));
+    }
+}
@@ -0,0 +1,174 @@
+package hr.fer.oprpp1.custom.collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentHashtableTest {
+
+    PersistentHashtable<String,Integer> examMarks;
+
+    @BeforeEach
+    void setUp() {
+        this.examMarks = new PersistentHashtable<>();
+        this.examMarks.put("Ivana", 2);
+        this.examMarks.put("Ante", 2);
+        this.examMarks.put("Jasna", 2);
+        this.examMarks.put("Kristina", 5);
+        this.examMarks.put("Marta", null);
+        this.examMarks.put("Ivana", 5);
+    }
+
+    @Test
+    void testPutAndGet() {
+        assertEquals(5, this.examMarks.size());
+        assertEquals(5, this.examMarks.get("Ivana"));
+        assertEquals(2, this.examMarks.get("Ante"));
+        assertNull(this.examMarks.get("Marta"));
+        assertNull(this.examMarks.get("Helena"));
+        assertNull(this.examMarks.get(null));
+    }
+
+    @Test
+    void testPutReturnsOldValue() {
+        assertEquals(5, this.examMarks.put("Kristina", 4));
+        assertNull(this.examMarks.put("Helena", 4));
+        assertEquals(6, this.examMarks.size());
+    }
+
+    @Test
+    void testPutNullKeyThrows() {
+        assertThrows(NullPointerException.class, () -> this.examMarks.put(null, 1));
+    }
+
+    @Test
+    void testContainsKeyAndValue() {
+        assertTrue(this.examMarks.containsKey("Marta"));
+        assertFalse(this.examMarks.containsKey("Helena"));
+        assertFalse(this.examMarks.containsKey(null));
+        assertTrue(this.examMarks.containsValue(null));
+        assertTrue(this.examMarks.containsValue(5));
+        assertFalse(this.examMarks.containsValue(3));
+    }
+
+    @Test
+    void testRemove() {
+        assertEquals(2, this.examMarks.remove("Ante"));
+        assertNull(this.examMarks.remove("Ante"));
+        assertNull(this.examMarks.remove(null));
+        assertEquals(4, this.examMarks.size());
+        assertFalse(this.examMarks.containsKey("Ante"));
+    }
+
+    @Test
+    void testClear() {
+        this.examMarks.clear();
+
+        assertTrue(this.examMarks.isEmpty());
+        assertEquals(0, this.examMarks.toArray().length);
+    }
+
+    @Test
+    void testCollidingKeys() {
+        PersistentHashtable<String, Integer> hashtable = new PersistentHashtable<>();
+        hashtable.put("Aa", 1);
+        hashtable.put("BB", 2);
+        hashtable.put("AaAa", 3);
+        hashtable.put("BBBB", 4);
+        hashtable.put("AaBB", 5);
+
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(1, hashtable.get("Aa"));
+        assertEquals(2, hashtable.get("BB"));
+        assertEquals(5, hashtable.get("AaBB"));
+        assertEquals(1, hashtable.remove("Aa"));
+        assertNull(hashtable.get("Aa"));
+        assertEquals(2, hashtable.get("BB"));
+        assertEquals(2, hashtable.remove("BB"));
+        assertEquals(3, hashtable.size());
+    }
+
+    @Test
+    void testAgainstHashMap() {
+        Random random = new Random(42);
+        PersistentHashtable<Integer, Integer> hashtable = new PersistentHashtable<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(20_000) * (random.nextBoolean() ? 1 : -65_536);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), hashtable.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), hashtable.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), hashtable.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), hashtable.get(entry.getKey()));
+        }
+
+        int iterated = 0;
+        for (PersistentHashtable.Entry<Integer, Integer> entry : hashtable) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            iterated++;
+        }
+        assertEquals(expected.size(), iterated);
+    }
+
+    @Test
+    void testSnapshotIsNotAffectedByModifications() {
+        PersistentHashtable<String, Integer> snapshot = this.examMarks.snapshot();
+
+        this.examMarks.put("Ivana", 1);
+        this.examMarks.put("Helena", 3);
+        this.examMarks.remove("Ante");
+
+        assertEquals(5, snapshot.size());
+        assertEquals(5, snapshot.get("Ivana"));
+        assertEquals(2, snapshot.get("Ante"));
+        assertFalse(snapshot.containsKey("Helena"));
+        assertEquals(1, this.examMarks.get("Ivana"));
+    }
+
+    @Test
+    void testModifyingSnapshotDoesNotAffectOriginal() {
+        PersistentHashtable<String, Integer> snapshot = this.examMarks.snapshot();
+
+        snapshot.clear();
+        snapshot.put("Ivana", 1);
+
+        assertEquals(5, this.examMarks.size());
+        assertEquals(5, this.examMarks.get("Ivana"));
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        PersistentHashtable<String, Integer> other = new PersistentHashtable<>();
+        other.put("Kristina", 5);
+        other.put("Marta", null);
+        other.put("Jasna", 2);
+        other.put("Ante", 2);
+        other.put("Ivana", 5);
+
+        assertEquals(this.examMarks, other);
+        assertEquals(this.examMarks.hashCode(), other.hashCode());
+        other.put("Ante", 3);
+        assertNotEquals(this.examMarks, other);
+    }
+
+    @Test
+    void testIteratorAfterModificationThrows() {
+        Iterator<PersistentHashtable.Entry<String, Integer>> iterator = this.examMarks.iterator();
+        this.examMarks.put("Helena", 3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+    }
+}
@@ -0,0 +1,195 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+public class PersistentIndexedCollectionTest {
+
+    private PersistentIndexedCollection<Integer> emptyCollection;
+    private PersistentIndexedCollection<Integer> largeCollection;
+
+    @BeforeEach
+    void setUp() {
+        emptyCollection = new PersistentIndexedCollection<>();
+        largeCollection = new PersistentIndexedCollection<>();
+        for (int i = 0; i < 40_000; i++) {
+            largeCollection.add(i);
+        }
+    }
+
+    @Test
+    public void testEmptyCollection() {
+        assertEquals(0, emptyCollection.size());
+        assertTrue(emptyCollection.isEmpty());
+        assertArrayEquals(new Object[0], emptyCollection.toArray());
+    }
+
+    @Test
+    public void testAddAndGetAcrossLevels() {
+        assertEquals(40_000, largeCollection.size());
+        for (int i = 0; i < 40_000; i++) {
+            assertEquals(i, largeCollection.get(i));
+        }
+    }
+
+    @Test
+    public void testAddNullThrows() {
+        assertThrows(NullPointerException.class, () -> emptyCollection.add(null));
+    }
+
+    @Test
+    public void testGetInvalidIndexThrows() {
+        assertThrows(IndexOutOfBoundsException.class, () -> largeCollection.get(40_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> emptyCollection.get(0));
+    }
+
+    @Test
+    public void testCopyConstructor() {
+        PersistentIndexedCollection<Integer> copy = new PersistentIndexedCollection<>(largeCollection);
+
+        assertEquals(largeCollection, copy);
+        assertEquals(largeCollection.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void testToArray() {
+        Object[] array = largeCollection.toArray();
+
+        assertEquals(40_000, array.length);
+        assertEquals(33, array[33]);
+        assertEquals(39_999, array[39_999]);
+    }
+
+    @Test
+    public void testInsertInTheMiddle() {
+        largeCollection.insert(-1, 1000);
+
+        assertEquals(40_001, largeCollection.size());
+        assertEquals(999, largeCollection.get(999));
+        assertEquals(-1, largeCollection.get(1000));
+        assertEquals(1000, largeCollection.get(1001));
+    }
+
+    @Test
+    public void testInsertAtTheEnd() {
+        emptyCollection.insert(1, 0);
+        emptyCollection.insert(2, 1);
+
+        assertArrayEquals(new Object[]{1, 2}, emptyCollection.toArray());
+    }
+
+    @Test
+    public void testRemoveLastShrinksBackToEmpty() {
+        for (int i = 39_999; i >= 0; i--) {
+            largeCollection.remove(i);
+            assertEquals(i, largeCollection.size());
+        }
+
+        assertTrue(largeCollection.isEmpty());
+        largeCollection.add(7);
+        assertEquals(7, largeCollection.get(0));
+    }
+
+    @Test
+    public void testRemoveFromTheMiddle() {
+        largeCollection.remove(5);
+
+        assertEquals(39_999, largeCollection.size());
+        assertEquals(4, largeCollection.get(4));
+        assertEquals(6, largeCollection.get(5));
+    }
+
+    @Test
+    public void testRemoveValue() {
+        assertTrue(largeCollection.remove(Integer.valueOf(39_999)));
+        assertFalse(largeCollection.remove(Integer.valueOf(39_999)));
+        assertFalse(largeCollection.contains(39_999));
+    }
+
+    @Test
+    public void testIndexOfAndContains() {
+        assertEquals(12_345, largeCollection.indexOf(12_345));
+        assertEquals(-1, largeCollection.indexOf(-5));
+        assertEquals(-1, largeCollection.indexOf(null));
+        assertTrue(largeCollection.contains(0));
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByModifications() {
+        PersistentIndexedCollection<Integer> snapshot = largeCollection.snapshot();
+
+        largeCollection.add(40_000);
+        largeCollection.remove(40_000);
+        largeCollection.remove(39_999);
+        largeCollection.insert(-1, 0);
+        largeCollection.clear();
+
+        assertEquals(40_000, snapshot.size());
+        for (int i = 0; i < 40_000; i++) {
+            assertEquals(i, snapshot.get(i));
+        }
+    }
+
+    @Test
+    public void testModifyingSnapshotDoesNotAffectOriginal() {
+        PersistentIndexedCollection<Integer> snapshot = largeCollection.snapshot();
+
+        snapshot.add(-1);
+        snapshot.remove(snapshot.size() - 1);
+        snapshot.remove(snapshot.size() - 1);
+
+        assertEquals(40_000, largeCollection.size());
+        assertEquals(39_999, largeCollection.get(39_999));
+        assertEquals(39_999, snapshot.size());
+    }
+
+    @Test
+    public void testSnapshotsOfSnapshots() {
+        PersistentIndexedCollection<Integer> first = largeCollection.snapshot();
+        largeCollection.add(1);
+        PersistentIndexedCollection<Integer> second = largeCollection.snapshot();
+        largeCollection.add(2);
+
+        assertEquals(40_000, first.size());
+        assertEquals(40_001, second.size());
+        assertEquals(40_002, largeCollection.size());
+        assertEquals(2, largeCollection.get(40_001));
+    }
+
+    @Test
+    public void testElementsGetter() {
+        ElementsGetter<Integer> getter = largeCollection.createElementsGetter();
+        for (int i = 0; i < 40_000; i++) {
+            assertTrue(getter.hasNextElement());
+            assertEquals(i, getter.getNextElement());
+        }
+
+        assertFalse(getter.hasNextElement());
+        assertThrows(NoSuchElementException.class, getter::getNextElement);
+    }
+
+    @Test
+    public void testElementsGetterInBatches() {
+        ElementsGetter<Integer> getter = largeCollection.createElementsGetter();
+        assertEquals(0, getter.getNextElement());
+
+        Integer[] buffer = new Integer[100];
+        assertEquals(100, getter.getNextElements(buffer));
+        assertEquals(1, buffer[0]);
+        assertEquals(100, buffer[99]);
+        assertEquals(101, getter.getNextElement());
+    }
+
+    @Test
+    public void testElementsGetterAfterModificationThrows() {
+        ElementsGetter<Integer> getter = largeCollection.createElementsGetter();
+        largeCollection.add(1);
+
+        assertThrows(ConcurrentModificationException.class, getter::getNextElement);
+    }
+}
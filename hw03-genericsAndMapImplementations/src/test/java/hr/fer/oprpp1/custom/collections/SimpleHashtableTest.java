@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -302,4 +304,67 @@ public class SimpleHashtableTest {
         assertThrows(NoSuchElementException.class, iter::next);
     }
 
+    @Test
+    void testSpliteratorCoversAllEntries() {
+        assertTrue(this.examMarks.spliterator().hasCharacteristics(Spliterator.SIZED | Spliterator.DISTINCT));
+        assertEquals(this.examMarks.size(), this.examMarks.stream().count());
+        assertEquals(14, this.examMarks.stream().map(SimpleHashtable.TableEntry::getValue).filter(Objects::nonNull).mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testSpliteratorSplitIsNotSized() {
+        Spliterator<SimpleHashtable.TableEntry<String,Integer>> spliterator = this.examMarks.spliterator();
+
+        assertNotNull(spliterator.trySplit());
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+    }
+
+    @Test
+    void testParallelStreamCount() {
+        SimpleHashtable<Integer,Integer> hashtable = new SimpleHashtable<>();
+        for (int i = 0; i < 100_000; i++) hashtable.put(i, i);
+
+        assertEquals(100_000, hashtable.parallelStream().count());
+        assertEquals(4_999_950_000L, hashtable.parallelStream().mapToLong(entry -> entry.getKey()).sum());
+    }
+
+    @Test
+    void testResizingKeepsEntries() {
+        SimpleHashtable<Integer, Integer> hashtable = new SimpleHashtable<>(2);
+        hashtable.put(1, 1);
+        SimpleHashtable.TableEntry<Integer, Integer> entry = hashtable.toArray()[0];
+
+        for (int i = 2; i < 1000; i++) hashtable.put(i, i);
+
+        SimpleHashtable.TableEntry<Integer, Integer> sameEntry = null;
+        for (SimpleHashtable.TableEntry<Integer, Integer> e : hashtable.toArray()) {
+            if (e.getKey() == 1) sameEntry = e;
+        }
+        assertSame(entry, sameEntry);
+        assertEquals(999, hashtable.size());
+    }
+
+    @Test
+    void testKeysWithEqualHashCodes() {
+        SimpleHashtable<String, Integer> hashtable = new SimpleHashtable<>();
+        hashtable.put("Aa", 1);
+        hashtable.put("BB", 2);
+
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(1, hashtable.get("Aa"));
+        assertEquals(2, hashtable.get("BB"));
+        assertEquals(1, hashtable.remove("Aa"));
+        assertNull(hashtable.get("Aa"));
+        assertEquals(2, hashtable.get("BB"));
+    }
+
+    @Test
+    void testNegativeAndMinimalHashCodes() {
+        SimpleHashtable<Integer, String> hashtable = new SimpleHashtable<>(6);
+        hashtable.put(Integer.MIN_VALUE, "min");
+        hashtable.put(-17, "negative");
+
+        assertEquals("min", hashtable.get(Integer.MIN_VALUE));
+        assertEquals("negative", hashtable.get(-17));
+    }
 }
@@ -0,0 +1,193 @@
+package hr.fer.oprpp1.custom.collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+public class SortedArrayCollectionTest {
+
+    private SortedArrayCollection<Integer> emptyCollection;
+    private SortedArrayCollection<Integer> tensCollection;
+
+    @BeforeEach
+    void setUp() {
+        emptyCollection = new SortedArrayCollection<>();
+        tensCollection = new SortedArrayCollection<>();
+        for (int i : new int[] {50, 10, 90, 30, 70, 20, 80, 40, 60}) {
+            tensCollection.add(i);
+        }
+    }
+
+    @Test
+    void testAddKeepsElementsSorted() {
+        assertArrayEquals(new Object[] {10, 20, 30, 40, 50, 60, 70, 80, 90}, tensCollection.toArray());
+        assertEquals(9, tensCollection.size());
+        assertEquals(10, tensCollection.get(0));
+        assertEquals(90, tensCollection.get(8));
+    }
+
+    @Test
+    void testAddNullThrows() {
+        assertThrows(NullPointerException.class, () -> emptyCollection.add(null));
+        assertThrows(NullPointerException.class, () -> new SortedArrayCollection<Integer>(null));
+    }
+
+    @Test
+    void testAddRandomMatchesArraysSort() {
+        Random random = new Random(42);
+        Object[] expected = new Object[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextInt(500);
+            emptyCollection.add((Integer) expected[i]);
+        }
+        Arrays.sort(expected);
+
+        assertArrayEquals(expected, emptyCollection.toArray());
+    }
+
+    @Test
+    void testEqualElementsKeepInsertionOrder() {
+        SortedArrayCollection<String> col = new SortedArrayCollection<>(Comparator.comparing(String::length));
+        col.add("bb");
+        col.add("a");
+        col.add("cc");
+        col.add("d");
+        ArrayIndexedCollection<String> more = new ArrayIndexedCollection<>();
+        more.add("ee");
+        more.add("f");
+        col.addAll(more);
+
+        assertArrayEquals(new Object[] {"a", "d", "f", "bb", "cc", "ee"}, col.toArray());
+        assertEquals(3, col.indexOf("xx"));
+    }
+
+    @Test
+    void testBinarySearch() {
+        assertEquals(0, tensCollection.binarySearch(10));
+        assertEquals(4, tensCollection.binarySearch(50));
+        assertEquals(-1, tensCollection.binarySearch(5));
+        assertEquals(-5, tensCollection.binarySearch(45));
+        assertEquals(-10, tensCollection.binarySearch(100));
+        assertEquals(-1, emptyCollection.binarySearch(1));
+        assertThrows(NullPointerException.class, () -> tensCollection.binarySearch(null));
+    }
+
+    @Test
+    void testBinarySearchFindsFirstOfDuplicates() {
+        for (int i = 0; i < 5; i++) tensCollection.add(50);
+
+        assertEquals(4, tensCollection.binarySearch(50));
+        assertEquals(4, tensCollection.indexOf(50));
+    }
+
+    @Test
+    void testFloorCeilingLowerHigher() {
+        assertEquals(40, tensCollection.floor(45));
+        assertEquals(40, tensCollection.floor(40));
+        assertNull(tensCollection.floor(5));
+        assertEquals(50, tensCollection.ceiling(45));
+        assertEquals(40, tensCollection.ceiling(40));
+        assertNull(tensCollection.ceiling(95));
+        assertEquals(30, tensCollection.lower(40));
+        assertNull(tensCollection.lower(10));
+        assertEquals(50, tensCollection.higher(40));
+        assertNull(tensCollection.higher(90));
+        assertNull(emptyCollection.floor(1));
+    }
+
+    @Test
+    void testContainsIndexOfAndRemove() {
+        assertTrue(tensCollection.contains(30));
+        assertFalse(tensCollection.contains(35));
+        assertFalse(tensCollection.contains(null));
+        assertEquals(-1, tensCollection.indexOf(null));
+        assertEquals(2, tensCollection.indexOf(30));
+
+        assertTrue(tensCollection.remove(Integer.valueOf(30)));
+        assertFalse(tensCollection.remove(Integer.valueOf(30)));
+        tensCollection.remove(0);
+
+        assertArrayEquals(new Object[] {20, 40, 50, 60, 70, 80, 90}, tensCollection.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> tensCollection.remove(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> tensCollection.get(-1));
+    }
+
+    @Test
+    void testConstructorFromCollection() {
+        ArrayIndexedCollection<Integer> other = new ArrayIndexedCollection<>();
+        for (int i = 100; i > 0; i--) other.add(i);
+
+        SortedArrayCollection<Integer> col = new SortedArrayCollection<>(other, Comparator.naturalOrder());
+
+        assertEquals(100, col.size());
+        for (int i = 0; i < 100; i++) assertEquals(i + 1, col.get(i));
+        assertThrows(NullPointerException.class, () -> new SortedArrayCollection<>(null, Comparator.<Integer>naturalOrder()));
+    }
+
+    @Test
+    void testRangeView() {
+        Collection<Integer> range = tensCollection.range(25, 60);
+
+        assertEquals(3, range.size());
+        assertArrayEquals(new Object[] {30, 40, 50}, range.toArray());
+        assertTrue(range.contains(40));
+        assertFalse(range.contains(60));
+        assertFalse(range.contains(20));
+
+        tensCollection.add(55);
+        assertEquals(4, range.size());
+
+        range.add(25);
+        assertThrows(IllegalArgumentException.class, () -> range.add(60));
+        assertTrue(range.remove(40));
+        assertFalse(range.remove(70));
+        assertArrayEquals(new Object[] {25, 30, 50, 55}, range.toArray());
+
+        range.clear();
+        assertTrue(range.isEmpty());
+        assertArrayEquals(new Object[] {10, 20, 60, 70, 80, 90}, tensCollection.toArray());
+        assertThrows(IllegalArgumentException.class, () -> tensCollection.range(60, 25));
+    }
+
+    @Test
+    void testRangeViewStreamAndElementsGetter() {
+        Collection<Integer> range = tensCollection.range(20, 80);
+
+        assertEquals(20 + 30 + 40 + 50 + 60 + 70, range.stream().mapToInt(Integer::intValue).sum());
+        ElementsGetter<Integer> getter = range.createElementsGetter();
+        assertEquals(20, getter.getNextElement());
+        Integer[] buffer = new Integer[10];
+        assertEquals(5, getter.getNextElements(buffer));
+        assertEquals(70, buffer[4]);
+        assertFalse(getter.hasNextElement());
+    }
+
+    @Test
+    void testElementsGetterDetectsModification() {
+        ElementsGetter<Integer> getter = tensCollection.createElementsGetter();
+        getter.getNextElement();
+        tensCollection.add(15);
+
+        assertThrows(ConcurrentModificationException.class, getter::hasNextElement);
+    }
+
+    @Test
+    void testClearAndEquals() {
+        SortedArrayCollection<Integer> other = new SortedArrayCollection<>();
+        for (int i = 90; i >= 10; i -= 10) other.add(i);
+
+        assertEquals(tensCollection, other);
+        assertEquals(tensCollection.hashCode(), other.hashCode());
+
+        tensCollection.clear();
+        assertEquals(0, tensCollection.size());
+        assertEquals(emptyCollection, tensCollection);
+        assertNotEquals(emptyCollection, other);
+    }
+}
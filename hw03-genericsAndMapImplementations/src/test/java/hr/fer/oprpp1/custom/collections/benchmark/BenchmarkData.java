@@ -0,0 +1,31 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+/**
+ * Constants shared by all benchmarks, so that every implementation is measured on the same generated data.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class BenchmarkData {
+
+    /**
+     * Seed of every random generator used to generate the data.
+     */
+    static final long SEED = 42;
+
+    /**
+     * The number of precomputed random indexes or keys, which must be a power of two.
+     */
+    static final int INDEXES = 1 << 12;
+
+    /**
+     * Mask wrapping a growing cursor around the precomputed random indexes or keys.
+     */
+    static final int INDEX_MASK = INDEXES - 1;
+
+    /**
+     * Prevents instancing of the class, which only holds constants.
+     */
+    private BenchmarkData() {
+    }
+}
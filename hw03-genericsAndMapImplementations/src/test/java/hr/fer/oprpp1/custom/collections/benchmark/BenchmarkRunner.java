@@ -0,0 +1,46 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of the custom collections without a GUI and writes the results as JSON to {@code target/jmh-result.json}, which serves as the baseline
+ * that later runs are compared to.
+ * Any regular JMH command-line option can be passed along, e.g. {@code -p size=10,1000} to only run the smaller sizes or a regular expression selecting the benchmarks.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Path of the file the results are written to.
+     */
+    private static final String RESULT_FILE = "target/jmh-result.json";
+
+    /**
+     * Runs the benchmarks selected by the given command-line options, or all benchmarks of this package if none are selected.
+     *
+     * @param args an array of command-line arguments, passed on to JMH.
+     * @throws RunnerException when running the benchmarks fails.
+     * @throws CommandLineOptionException when the command-line arguments are invalid.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + ".");
+        }
+
+        new Runner(options.build()).run();
+    }
+}
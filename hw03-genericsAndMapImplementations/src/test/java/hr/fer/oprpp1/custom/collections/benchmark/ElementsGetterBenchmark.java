@@ -0,0 +1,108 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.Collection;
+import hr.fer.oprpp1.custom.collections.ElementsGetter;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of iterating over the custom lists with elements getters of every {@link ElementsGetter.ValidationMode}, element by element and in batches.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class ElementsGetterBenchmark {
+
+    /**
+     * Name of the measured list implementation.
+     */
+    @Param({"ArrayIndexedCollection", "LinkedListIndexedCollection"})
+    private String implementation;
+
+    /**
+     * Validation mode of the measured elements getters.
+     */
+    @Param({"EVERY_ELEMENT", "EVERY_BATCH", "AT_END", "UNCHECKED"})
+    private ElementsGetter.ValidationMode mode;
+
+    /**
+     * The number of elements of the measured list.
+     */
+    @Param({"1000", "100000"})
+    private int size;
+
+    /**
+     * The measured list, filled with {@code size} elements.
+     */
+    private Collection<Integer> collection;
+
+    /**
+     * Buffer the elements are fetched into in batches.
+     */
+    private final Integer[] buffer = new Integer[ElementsGetter.DEFAULT_BATCH_SIZE];
+
+    /**
+     * Fills the measured list.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        collection = implementation.equals("ArrayIndexedCollection") ? new ArrayIndexedCollection<>() : new LinkedListIndexedCollection<>();
+        for (int i = 0; i < size; i++) {
+            collection.add(i);
+        }
+    }
+
+    /**
+     * Fetches all elements one at a time.
+     *
+     * @return sum of the elements.
+     */
+    @Benchmark
+    public long elementByElement() {
+        ElementsGetter<Integer> getter = collection.createElementsGetter(mode);
+        long sum = 0;
+        while (getter.hasNextElement()) {
+            sum += getter.getNextElement();
+        }
+        return sum;
+    }
+
+    /**
+     * Fetches all elements in batches of {@link ElementsGetter#DEFAULT_BATCH_SIZE}.
+     *
+     * @return sum of the elements.
+     */
+    @Benchmark
+    public long batched() {
+        ElementsGetter<Integer> getter = collection.createElementsGetter(mode);
+        long sum = 0;
+        for (int fetched; (fetched = getter.getNextElements(buffer)) > 0; ) {
+            for (int i = 0; i < fetched; i++) {
+                sum += buffer[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Processes all elements through {@link ElementsGetter#processRemaining}.
+     *
+     * @return sum of the elements.
+     */
+    @Benchmark
+    public long processRemaining() {
+        long[] sum = new long[1];
+        collection.createElementsGetter(mode).processRemaining(value -> sum[0] += value);
+        return sum[0];
+    }
+}
@@ -0,0 +1,203 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link SimpleHashtable} compared to a {@link HashMap} with keys that are expensive to hash and to compare: long strings sharing a common prefix and
+ * composite keys whose hash code is recalculated on every call.
+ * Lookups use copies of the stored keys, so that they cannot be found by reference.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class ExpensiveKeyBenchmark {
+
+    /**
+     * Name of the measured table implementation.
+     */
+    @Param({"SimpleHashtable", "HashMap"})
+    private String implementation;
+
+    /**
+     * Type of the keys of the measured table.
+     */
+    @Param({"LongString", "CompositeKey"})
+    private String keyType;
+
+    /**
+     * The number of entries of the measured table.
+     */
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    /**
+     * Keys of the measured table.
+     */
+    private Object[] keys;
+
+    /**
+     * Precomputed copies of random keys of the measured table.
+     */
+    private Object[] lookupKeys;
+
+    /**
+     * The measured {@link SimpleHashtable}, mapping every key to its index.
+     */
+    private SimpleHashtable<Object, Integer> simpleHashtable;
+
+    /**
+     * The measured {@link HashMap}, mapping every key to its index.
+     */
+    private Map<Object, Integer> hashMap;
+
+    /**
+     * Position of the next key to be used from {@code lookupKeys}.
+     */
+    private int cursor;
+
+    /**
+     * Generates the keys and fills both tables.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = newKey(i);
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        lookupKeys = new Object[BenchmarkData.INDEXES];
+        for (int i = 0; i < lookupKeys.length; i++) {
+            lookupKeys[i] = newKey(random.nextInt(size));
+        }
+
+        simpleHashtable = new SimpleHashtable<>();
+        hashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            simpleHashtable.put(keys[i], i);
+            hashMap.put(keys[i], i);
+        }
+    }
+
+    /**
+     * Puts all keys into a new table.
+     *
+     * @return size of the filled table.
+     */
+    @Benchmark
+    public int putUntilFull() {
+        if (implementation.equals("SimpleHashtable")) {
+            SimpleHashtable<Object, Integer> filled = new SimpleHashtable<>();
+            for (int i = 0; i < size; i++) {
+                filled.put(keys[i], i);
+            }
+            return filled.size();
+        } else {
+            Map<Object, Integer> filled = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                filled.put(keys[i], i);
+            }
+            return filled.size();
+        }
+    }
+
+    /**
+     * Gets the value of a copy of a random key of the table.
+     *
+     * @return the value.
+     */
+    @Benchmark
+    public Integer getPresent() {
+        Object key = lookupKeys[cursor++ & BenchmarkData.INDEX_MASK];
+        return implementation.equals("SimpleHashtable") ? simpleHashtable.get(key) : hashMap.get(key);
+    }
+
+    /**
+     * Creates a new key of the measured type for the given index.
+     *
+     * @param i index of the key.
+     * @return the key.
+     */
+    private Object newKey(int i) {
+        if (keyType.equals("LongString")) {
+            return "/home/students/oprpp1/homework/submissions/2020/winter/semester/" + i;
+        }
+
+        return new CompositeKey("Ivana", "Horvat", "FER", i / 100, i % 100);
+    }
+
+    /**
+     * A key made out of several fields, that does not cache its hash code.
+     */
+    private static final class CompositeKey {
+
+        /**
+         * First name of the student.
+         */
+        private final String firstName;
+
+        /**
+         * Last name of the student.
+         */
+        private final String lastName;
+
+        /**
+         * Faculty of the student.
+         */
+        private final String faculty;
+
+        /**
+         * Year of enrolment of the student.
+         */
+        private final int year;
+
+        /**
+         * Index of the student within the year.
+         */
+        private final int index;
+
+        /**
+         * Creates a new {@code CompositeKey} out of the given fields.
+         *
+         * @param firstName first name of the student.
+         * @param lastName last name of the student.
+         * @param faculty faculty of the student.
+         * @param year year of enrolment of the student.
+         * @param index index of the student within the year.
+         */
+        private CompositeKey(String firstName, String lastName, String faculty, int year, int index) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.faculty = faculty;
+            this.year = year;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CompositeKey)) return false;
+            CompositeKey that = (CompositeKey) o;
+            return year == that.year && index == that.index && firstName.equals(that.firstName) && lastName.equals(that.lastName) && faculty.equals(that.faculty);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(firstName, lastName, faculty, year, index);
+        }
+    }
+}
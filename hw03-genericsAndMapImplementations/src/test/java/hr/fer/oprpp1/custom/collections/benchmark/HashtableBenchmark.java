@@ -0,0 +1,321 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import hr.fer.oprpp1.custom.collections.Dictionary;
+import hr.fer.oprpp1.custom.collections.SimpleHashtable;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link SimpleHashtable} and {@link Dictionary} compared to a {@link HashMap}.
+ * All three are wrapped into the same small set of operations, so every benchmark runs identical code for each {@code implementation}.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class HashtableBenchmark {
+
+    /**
+     * Name of the measured table implementation.
+     */
+    @Param({"SimpleHashtable", "Dictionary", "HashMap"})
+    private String implementation;
+
+    /**
+     * The number of entries of the measured table.
+     */
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    /**
+     * The measured table, filled with {@code size} entries mapping every key to itself.
+     */
+    private Table table;
+
+    /**
+     * Precomputed random keys of the measured table.
+     */
+    private final Integer[] presentKeys = new Integer[BenchmarkData.INDEXES];
+
+    /**
+     * Precomputed random keys that are not in the measured table.
+     */
+    private final Integer[] missingKeys = new Integer[BenchmarkData.INDEXES];
+
+    /**
+     * Position of the next key to be used from {@code presentKeys} or {@code missingKeys}.
+     */
+    private int cursor;
+
+    /**
+     * Fills the measured table and generates the random keys.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = newTable();
+        for (int i = 0; i < size; i++) {
+            table.put(i, i);
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        for (int i = 0; i < presentKeys.length; i++) {
+            presentKeys[i] = random.nextInt(size);
+            missingKeys[i] = size + random.nextInt(size);
+        }
+    }
+
+    /**
+     * Puts {@code size} entries into a new table.
+     *
+     * @return the filled table.
+     */
+    @Benchmark
+    public Table putUntilFull() {
+        Table filled = newTable();
+        for (int i = 0; i < size; i++) {
+            filled.put(i, i);
+        }
+        return filled;
+    }
+
+    /**
+     * Gets the value of a random key of the table.
+     *
+     * @return the value.
+     */
+    @Benchmark
+    public Integer getPresent() {
+        return table.get(presentKeys[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+
+    /**
+     * Gets the value of a random key that is not in the table.
+     *
+     * @return {@code null}.
+     */
+    @Benchmark
+    public Integer getMissing() {
+        return table.get(missingKeys[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+
+    /**
+     * Checks whether the table contains a random key of it.
+     *
+     * @return {@code true}.
+     */
+    @Benchmark
+    public boolean containsKey() {
+        return table.containsKey(presentKeys[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+
+    /**
+     * Removes the entry of a random key of the table and puts it back.
+     *
+     * @return value of the entry.
+     */
+    @Benchmark
+    public Integer removeAndPutBack() {
+        Integer key = presentKeys[cursor++ & BenchmarkData.INDEX_MASK];
+        Integer value = table.remove(key);
+        table.put(key, value);
+        return value;
+    }
+
+    /**
+     * Traverses all values of the table.
+     *
+     * @return sum of the values.
+     */
+    @Benchmark
+    public long iterate() {
+        return table.sumOfValues();
+    }
+
+    /**
+     * Creates a new empty table of the measured implementation.
+     *
+     * @return the table.
+     */
+    private Table newTable() {
+        switch (implementation) {
+            case "SimpleHashtable": return new SimpleHashtableTable();
+            case "Dictionary": return new DictionaryTable();
+            default: return new HashMapTable();
+        }
+    }
+
+    /**
+     * The operations of a table mapping integers to integers that are measured.
+     */
+    public interface Table {
+
+        /**
+         * Maps the given {@code key} to the given {@code value}.
+         *
+         * @param key the key.
+         * @param value the value.
+         */
+        void put(Integer key, Integer value);
+
+        /**
+         * Returns the value mapped from the given {@code key}.
+         *
+         * @param key the key.
+         * @return the value, {@code null} if there is none.
+         */
+        Integer get(Integer key);
+
+        /**
+         * Determines whether the given {@code key} is mapped to a value.
+         *
+         * @param key the key.
+         * @return {@code true} if the key is mapped to a value, {@code false} otherwise.
+         */
+        boolean containsKey(Integer key);
+
+        /**
+         * Removes the mapping of the given {@code key}.
+         *
+         * @param key the key.
+         * @return the removed value, {@code null} if there was none.
+         */
+        Integer remove(Integer key);
+
+        /**
+         * Traverses all values.
+         *
+         * @return sum of the values.
+         */
+        long sumOfValues();
+    }
+
+    /**
+     * The {@code SimpleHashtableTable} class is a {@link Table} backed by a {@link SimpleHashtable}.
+     */
+    private static class SimpleHashtableTable implements Table {
+
+        /**
+         * The wrapped hashtable.
+         */
+        private final SimpleHashtable<Integer, Integer> table = new SimpleHashtable<>();
+
+        @Override
+        public void put(Integer key, Integer value) {
+            table.put(key, value);
+        }
+
+        @Override
+        public Integer get(Integer key) {
+            return table.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Integer key) {
+            return table.containsKey(key);
+        }
+
+        @Override
+        public Integer remove(Integer key) {
+            return table.remove(key);
+        }
+
+        @Override
+        public long sumOfValues() {
+            long sum = 0;
+            for (SimpleHashtable.TableEntry<Integer, Integer> entry : table) {
+                sum += entry.getValue();
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * {@link Dictionary} offers no traversal, so its {@link #sumOfValues()} looks up every key that was put into it instead.
+     */
+    private static class DictionaryTable implements Table {
+
+        /**
+         * The wrapped dictionary.
+         */
+        private final Dictionary<Integer, Integer> dictionary = new Dictionary<>();
+
+        @Override
+        public void put(Integer key, Integer value) {
+            dictionary.put(key, value);
+        }
+
+        @Override
+        public Integer get(Integer key) {
+            return dictionary.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Integer key) {
+            return dictionary.get(key) != null;
+        }
+
+        @Override
+        public Integer remove(Integer key) {
+            return dictionary.remove(key);
+        }
+
+        @Override
+        public long sumOfValues() {
+            long sum = 0;
+            for (int i = 0, size = dictionary.size(); i < size; i++) {
+                sum += dictionary.get(i);
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * The {@code HashMapTable} class is a {@link Table} backed by a {@link HashMap}.
+     */
+    private static class HashMapTable implements Table {
+
+        /**
+         * The wrapped map.
+         */
+        private final Map<Integer, Integer> map = new HashMap<>();
+
+        @Override
+        public void put(Integer key, Integer value) {
+            map.put(key, value);
+        }
+
+        @Override
+        public Integer get(Integer key) {
+            return map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Integer key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public Integer remove(Integer key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public long sumOfValues() {
+            long sum = 0;
+            for (Integer value : map.values()) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+}
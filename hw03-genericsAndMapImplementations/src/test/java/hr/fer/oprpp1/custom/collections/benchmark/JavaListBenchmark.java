@@ -0,0 +1,200 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link ArrayList} and {@link LinkedList}, running the same operations as {@link IndexedCollectionBenchmark} so that the custom lists can be compared
+ * to them.
+ * As there, the linked list is not measured on the largest size, since its indexed operations walk through up to half of the list.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public abstract class JavaListBenchmark {
+
+    /**
+     * The measured list, filled with {@link #size()} elements.
+     */
+    private List<Integer> list;
+
+    /**
+     * Precomputed random indexes of elements of the measured list.
+     */
+    private final int[] indexes = new int[BenchmarkData.INDEXES];
+
+    /**
+     * Position of the next index to be used from {@code indexes}.
+     */
+    private int cursor;
+
+    /**
+     * Fills the measured list and generates the random indexes.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = newList();
+        for (int i = 0; i < size(); i++) {
+            list.add(i);
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(size());
+        }
+    }
+
+    /**
+     * Fills a new list with {@link #size()} elements.
+     *
+     * @return the filled list.
+     */
+    @Benchmark
+    public List<Integer> addUntilFull() {
+        List<Integer> filled = newList();
+        for (int i = 0, size = size(); i < size; i++) {
+            filled.add(i);
+        }
+        return filled;
+    }
+
+    /**
+     * Gets the element at a random index.
+     *
+     * @return the element.
+     */
+    @Benchmark
+    public Integer getRandom() {
+        return list.get(indexes[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+
+    /**
+     * Inserts an element at the beginning of the list and removes it again.
+     *
+     * @return size of the list.
+     */
+    @Benchmark
+    public int insertAndRemoveFirst() {
+        list.add(0, -1);
+        list.remove(0);
+        return list.size();
+    }
+
+    /**
+     * Inserts an element in the middle of the list and removes it again.
+     *
+     * @return size of the list.
+     */
+    @Benchmark
+    public int insertAndRemoveMiddle() {
+        int middle = size() / 2;
+        list.add(middle, -1);
+        list.remove(middle);
+        return list.size();
+    }
+
+    /**
+     * Adds an element at the end of the list and removes it again.
+     *
+     * @return size of the list.
+     */
+    @Benchmark
+    public int addAndRemoveLast() {
+        list.add(-1);
+        list.remove(list.size() - 1);
+        return list.size();
+    }
+
+    /**
+     * Searches the whole list for an element it does not contain.
+     *
+     * @return whether the element was found.
+     */
+    @Benchmark
+    public boolean containsMissing() {
+        return list.contains(-1);
+    }
+
+    /**
+     * Iterates over all elements of the list.
+     *
+     * @return sum of the elements.
+     */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : list) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of elements of the measured list.
+     *
+     * @return the number of elements.
+     */
+    protected abstract int size();
+
+    /**
+     * Creates a new empty list of the measured implementation.
+     *
+     * @return the list.
+     */
+    protected abstract List<Integer> newList();
+
+    /**
+     * The {@code Array} class measures {@link ArrayList}.
+     */
+    public static class Array extends JavaListBenchmark {
+
+        /**
+         * The number of elements of the measured list.
+         */
+        @Param({"10", "1000", "100000", "10000000"})
+        private int size;
+
+        @Override
+        protected int size() {
+            return size;
+        }
+
+        @Override
+        protected List<Integer> newList() {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * The {@code Linked} class measures {@link LinkedList}.
+     */
+    public static class Linked extends JavaListBenchmark {
+
+        /**
+         * The number of elements of the measured list.
+         */
+        @Param({"10", "1000", "100000"})
+        private int size;
+
+        @Override
+        protected int size() {
+            return size;
+        }
+
+        @Override
+        protected List<Integer> newList() {
+            return new LinkedList<>();
+        }
+    }
+}
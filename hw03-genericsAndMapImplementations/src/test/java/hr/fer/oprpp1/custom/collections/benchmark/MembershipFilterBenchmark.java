@@ -0,0 +1,141 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.CountingBloomFilter;
+import hr.fer.oprpp1.custom.collections.LinkedListIndexedCollection;
+import hr.fer.oprpp1.custom.collections.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of membership checks of the custom lists with and without an attached {@link CountingBloomFilter}, for elements that are mostly missing.
+ * The filter statistics, including its memory usage and the observed false positive rate, are printed at the end of every trial.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class MembershipFilterBenchmark {
+
+    /**
+     * Name of the measured list implementation.
+     */
+    @Param({"ArrayIndexedCollection", "LinkedListIndexedCollection"})
+    private String implementation;
+
+    /**
+     * Whether a membership filter is attached to the measured list.
+     */
+    @Param({"false", "true"})
+    private boolean filtered;
+
+    /**
+     * The number of elements of the measured list.
+     */
+    @Param({"1000", "100000"})
+    private int size;
+
+    /**
+     * The measured list, filled with {@code size} elements.
+     */
+    private List<Integer> list;
+
+    /**
+     * Precomputed random elements that are not in the measured list.
+     */
+    private final Integer[] missing = new Integer[BenchmarkData.INDEXES];
+
+    /**
+     * Precomputed random elements of the measured list.
+     */
+    private final Integer[] present = new Integer[BenchmarkData.INDEXES];
+
+    /**
+     * Position of the next element to be used from {@code missing} or {@code present}.
+     */
+    private int cursor;
+
+    /**
+     * Fills the measured list, attaches the filter if needed and generates the random elements.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = implementation.equals("ArrayIndexedCollection") ? new ArrayIndexedCollection<>() : new LinkedListIndexedCollection<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        if (filtered) {
+            attach(list);
+        }
+
+        Random random = new Random(BenchmarkData.SEED);
+        for (int i = 0; i < missing.length; i++) {
+            missing[i] = size + random.nextInt(size * 10);
+            present[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Prints the statistics of the attached filter, if there is one.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CountingBloomFilter filter = list instanceof ArrayIndexedCollection
+                ? ((ArrayIndexedCollection<Integer>) list).getMembershipFilter()
+                : ((LinkedListIndexedCollection<Integer>) list).getMembershipFilter();
+        if (filter != null) System.out.println(filter);
+    }
+
+    /**
+     * Checks whether the list contains a random element that is not in it.
+     *
+     * @return {@code false}.
+     */
+    @Benchmark
+    public boolean containsMissing() {
+        return list.contains(missing[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+
+    /**
+     * Checks whether the list contains a random element of it.
+     *
+     * @return {@code true}.
+     */
+    @Benchmark
+    public boolean containsPresent() {
+        return list.contains(present[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+
+    /**
+     * Adds an element at the end of the list and removes it again, updating the filter if there is one.
+     *
+     * @return size of the list.
+     */
+    @Benchmark
+    public int addAndRemoveLast() {
+        list.add(-1);
+        list.remove(list.size() - 1);
+        return list.size();
+    }
+
+    /**
+     * Attaches a membership filter for {@code size} elements with a false positive rate of 1% to the given {@code list}.
+     *
+     * @param list the list.
+     */
+    private void attach(List<Integer> list) {
+        if (list instanceof ArrayIndexedCollection) {
+            ((ArrayIndexedCollection<Integer>) list).attachMembershipFilter(size, 0.01);
+        } else {
+            ((LinkedListIndexedCollection<Integer>) list).attachMembershipFilter(size, 0.01);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.SortedArrayCollection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of sorting an {@link ArrayIndexedCollection} compared to sorting a {@link java.util.ArrayList}, and of membership checks of a
+ * {@link SortedArrayCollection} compared to the linear search of an {@link ArrayIndexedCollection}.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class SortedCollectionBenchmark {
+
+    /**
+     * The number of elements of the measured collections.
+     */
+    @Param({"1000", "100000"})
+    private int size;
+
+    /**
+     * Random elements of the measured collections.
+     */
+    private Integer[] values;
+
+    /**
+     * Precomputed random elements searched for, half of which are in the measured collections.
+     */
+    private final Integer[] lookups = new Integer[BenchmarkData.INDEXES];
+
+    /**
+     * The measured unsorted collection, filled with {@code values}.
+     */
+    private ArrayIndexedCollection<Integer> arrayCollection;
+
+    /**
+     * The measured sorted collection, filled with {@code values}.
+     */
+    private SortedArrayCollection<Integer> sortedCollection;
+
+    /**
+     * Position of the next element to be used from {@code lookups}.
+     */
+    private int cursor;
+
+    /**
+     * Generates the random elements and fills the measured collections.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        values = new Integer[size];
+        arrayCollection = new ArrayIndexedCollection<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            arrayCollection.add(values[i]);
+        }
+        sortedCollection = new SortedArrayCollection<>(arrayCollection, Comparator.naturalOrder());
+
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = random.nextBoolean() ? values[random.nextInt(size)] : random.nextInt();
+        }
+    }
+
+    /**
+     * Fills a new {@link ArrayIndexedCollection} with {@code values} and sorts it.
+     *
+     * @return the sorted collection.
+     */
+    @Benchmark
+    public Object sortArrayIndexedCollection() {
+        ArrayIndexedCollection<Integer> col = new ArrayIndexedCollection<>(size);
+        for (Integer value : values) col.add(value);
+        col.sort(Comparator.naturalOrder());
+        return col;
+    }
+
+    /**
+     * Fills a new {@link ArrayList} with {@code values} and sorts it.
+     *
+     * @return the sorted list.
+     */
+    @Benchmark
+    public Object sortArrayList() {
+        ArrayList<Integer> list = new ArrayList<>(size);
+        for (Integer value : values) list.add(value);
+        list.sort(Comparator.naturalOrder());
+        return list;
+    }
+
+    /**
+     * Searches the unsorted collection for a random element.
+     *
+     * @return whether the element was found.
+     */
+    @Benchmark
+    public boolean containsArrayIndexedCollection() {
+        return arrayCollection.contains(lookups[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+
+    /**
+     * Searches the sorted collection for a random element.
+     *
+     * @return whether the element was found.
+     */
+    @Benchmark
+    public boolean containsSortedArrayCollection() {
+        return sortedCollection.contains(lookups[cursor++ & BenchmarkData.INDEX_MASK]);
+    }
+}
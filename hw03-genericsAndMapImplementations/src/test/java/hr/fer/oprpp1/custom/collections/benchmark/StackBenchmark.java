@@ -0,0 +1,189 @@
+package hr.fer.oprpp1.custom.collections.benchmark;
+
+import hr.fer.oprpp1.custom.collections.ArrayIndexedCollection;
+import hr.fer.oprpp1.custom.collections.IntStack;
+import hr.fer.oprpp1.custom.collections.ObjectStack;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link ObjectStack} compared to an {@link ArrayDeque} used as a stack.
+ * The push and pop pattern of a parser, which repeatedly opens a number of nested blocks and closes them again, is measured on {@link IntStack} and on an
+ * {@link ArrayIndexedCollection} used through its indexed methods, as {@link ObjectStack} used to do, as well.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class StackBenchmark {
+
+    /**
+     * The deepest level of nesting reached within one block.
+     */
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * The number of elements of the measured stacks.
+     */
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    /**
+     * The measured {@link ObjectStack}, filled with {@code size} elements.
+     */
+    private ObjectStack<Integer> objectStack;
+
+    /**
+     * The measured {@link ArrayDeque}, filled with {@code size} elements.
+     */
+    private ArrayDeque<Integer> arrayDeque;
+
+    /**
+     * Fills the measured stacks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectStack = new ObjectStack<>();
+        arrayDeque = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            objectStack.push(i);
+            arrayDeque.push(i);
+        }
+    }
+
+    /**
+     * Pushes {@code size} elements on a new {@link ObjectStack}.
+     *
+     * @return the stack.
+     */
+    @Benchmark
+    public ObjectStack<Integer> objectStackPushUntilFull() {
+        ObjectStack<Integer> stack = new ObjectStack<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        return stack;
+    }
+
+    /**
+     * Pushes {@code size} elements on a new {@link ArrayDeque}.
+     *
+     * @return the stack.
+     */
+    @Benchmark
+    public ArrayDeque<Integer> arrayDequePushUntilFull() {
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        return stack;
+    }
+
+    /**
+     * Pushes an element on the filled {@link ObjectStack} and pops it again.
+     *
+     * @return the popped element.
+     */
+    @Benchmark
+    public Integer objectStackPushAndPop() {
+        objectStack.push(-1);
+        return objectStack.pop();
+    }
+
+    /**
+     * Pushes an element on the filled {@link ArrayDeque} and pops it again.
+     *
+     * @return the popped element.
+     */
+    @Benchmark
+    public Integer arrayDequePushAndPop() {
+        arrayDeque.push(-1);
+        return arrayDeque.pop();
+    }
+
+    /**
+     * Peeks at the top of the filled {@link ObjectStack}.
+     *
+     * @return the top element.
+     */
+    @Benchmark
+    public Integer objectStackPeek() {
+        return objectStack.peek();
+    }
+
+    /**
+     * Peeks at the top of the filled {@link ArrayDeque}.
+     *
+     * @return the top element.
+     */
+    @Benchmark
+    public Integer arrayDequePeek() {
+        return arrayDeque.peek();
+    }
+
+    /**
+     * Pushes {@code size} elements on a new {@link ObjectStack} in nested blocks of up to {@link #MAX_DEPTH} elements, popping each block before opening the next one.
+     *
+     * @return sum of the popped elements.
+     */
+    @Benchmark
+    public long objectStackNestedBlocks() {
+        ObjectStack<Integer> stack = new ObjectStack<>();
+        long sum = 0;
+        for (int pushed = 0, block = 0; pushed < size; block++) {
+            int depth = Math.min(block % MAX_DEPTH + 1, size - pushed);
+            for (int i = 0; i < depth; i++) stack.push(i);
+            pushed += depth;
+            while (!stack.isEmpty()) sum += stack.pop();
+        }
+        return sum;
+    }
+
+    /**
+     * Pushes {@code size} elements on a new {@link IntStack} in nested blocks of up to {@link #MAX_DEPTH} elements, popping each block before opening the next one.
+     *
+     * @return sum of the popped elements.
+     */
+    @Benchmark
+    public long intStackNestedBlocks() {
+        IntStack stack = new IntStack();
+        long sum = 0;
+        for (int pushed = 0, block = 0; pushed < size; block++) {
+            int depth = Math.min(block % MAX_DEPTH + 1, size - pushed);
+            for (int i = 0; i < depth; i++) stack.push(i);
+            pushed += depth;
+            while (!stack.isEmpty()) sum += stack.pop();
+        }
+        return sum;
+    }
+
+    /**
+     * Adds {@code size} elements to a new {@link ArrayIndexedCollection} in nested blocks of up to {@link #MAX_DEPTH} elements, removing each block from its end
+     * before opening the next one.
+     *
+     * @return sum of the removed elements.
+     */
+    @Benchmark
+    public long indexedCollectionNestedBlocks() {
+        ArrayIndexedCollection<Integer> stack = new ArrayIndexedCollection<>();
+        long sum = 0;
+        for (int pushed = 0, block = 0; pushed < size; block++) {
+            int depth = Math.min(block % MAX_DEPTH + 1, size - pushed);
+            for (int i = 0; i < depth; i++) stack.add(i);
+            pushed += depth;
+            while (!stack.isEmpty()) {
+                sum += stack.get(stack.size() - 1);
+                stack.remove(stack.size() - 1);
+            }
+        }
+        return sum;
+    }
+}
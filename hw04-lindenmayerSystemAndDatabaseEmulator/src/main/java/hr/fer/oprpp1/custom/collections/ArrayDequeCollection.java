@@ -0,0 +1,314 @@
+package hr.fer.oprpp1.custom.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code ArrayDequeCollection} class represents the implementation of a double-ended queue backed by a resizable circular array.
+ * Elements can be added to and removed from both ends in constant time, without shifting the other elements.
+ * Duplicate elements are allowed, while the storage of {@code null} references is not.
+ *
+ * @param <T> type of objects stored in the collection.
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class ArrayDequeCollection<T> implements Collection<T> {
+
+    /**
+     * The circular array of objects stored in the current collection, whose capacity is always a power of two.
+     */
+    private T[] elements;
+
+    /**
+     * Position of the first element of the current collection within the {@code elements} array.
+     */
+    private int head;
+
+    /**
+     * The number of elements within the {@code elements} array of the current collection.
+     */
+    private int size;
+
+    /**
+     * Counter of how many times a modification on this current collection has occurred.
+     */
+    private long modificationCount = 0;
+
+    /**
+     * Default capacity is a constant that will be set as the current collection's capacity
+     * when {@code initialCapacity} isn't provided as an argument in the class constructor.
+     */
+    static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Default constructor that creates an instance of {@code ArrayDequeCollection} and sets the capacity of its {@code elements} array to the default capacity.
+     */
+    public ArrayDequeCollection() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an instance of {@code ArrayDequeCollection} and sets the capacity of its {@code elements} array to the first power of two equal to or larger than the given
+     * {@code initialCapacity}.
+     *
+     * @param initialCapacity given capacity of the {@code elements} array of the current collection.
+     * @throws IllegalArgumentException when the given initialCapacity is smaller than 1.
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayDequeCollection(int initialCapacity) {
+        if (initialCapacity < 1) throw new IllegalArgumentException("The initial capacity of the array-backed collection should be larger than 1!");
+
+        int capacity = 1;
+        for (; capacity < initialCapacity; capacity *= 2);
+
+        this.elements = (T[]) new Object[capacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds the given {@code value} at the end of the current collection.
+     */
+    @Override
+    public void add(T value) {
+        this.addLast(value);
+    }
+
+    /**
+     * Adds the given {@code value} at the beginning of the current collection.
+     * If {@code elements} is full, the array is reallocated and doubled in size.
+     *
+     * @param value object that is to be added to the current collection.
+     * @throws NullPointerException when {@code value} is passed as {@code null}.
+     */
+    public void addFirst(T value) {
+        if (value == null) throw new NullPointerException("The passed value cannot be null!");
+
+        this.checkCapacity();
+        this.head = (this.head - 1) & (this.elements.length - 1);
+        this.elements[this.head] = value;
+        this.size++;
+        this.modificationCount++;
+    }
+
+    /**
+     * Adds the given {@code value} at the end of the current collection.
+     * If {@code elements} is full, the array is reallocated and doubled in size.
+     *
+     * @param value object that is to be added to the current collection.
+     * @throws NullPointerException when {@code value} is passed as {@code null}.
+     */
+    public void addLast(T value) {
+        if (value == null) throw new NullPointerException("The passed value cannot be null!");
+
+        this.checkCapacity();
+        this.elements[(this.head + this.size) & (this.elements.length - 1)] = value;
+        this.size++;
+        this.modificationCount++;
+    }
+
+    /**
+     * Removes the first element of the current collection.
+     *
+     * @throws NoSuchElementException when the collection is empty.
+     * @return the removed element.
+     */
+    public T removeFirst() {
+        if (this.size == 0) throw new NoSuchElementException("Cannot remove an element from an empty collection!");
+
+        T value = this.elements[this.head];
+        this.elements[this.head] = null;
+        this.head = (this.head + 1) & (this.elements.length - 1);
+        this.size--;
+        this.modificationCount++;
+
+        return value;
+    }
+
+    /**
+     * Removes the last element of the current collection.
+     *
+     * @throws NoSuchElementException when the collection is empty.
+     * @return the removed element.
+     */
+    public T removeLast() {
+        if (this.size == 0) throw new NoSuchElementException("Cannot remove an element from an empty collection!");
+
+        int tail = (this.head + --this.size) & (this.elements.length - 1);
+        T value = this.elements[tail];
+        this.elements[tail] = null;
+        this.modificationCount++;
+
+        return value;
+    }
+
+    /**
+     * Provides the first element of the current collection, without removing it.
+     *
+     * @throws NoSuchElementException when the collection is empty.
+     * @return the first element.
+     */
+    public T peekFirst() {
+        if (this.size == 0) throw new NoSuchElementException("Cannot peek into an empty collection!");
+
+        return this.elements[this.head];
+    }
+
+    /**
+     * Provides the last element of the current collection, without removing it.
+     *
+     * @throws NoSuchElementException when the collection is empty.
+     * @return the last element.
+     */
+    public T peekLast() {
+        if (this.size == 0) throw new NoSuchElementException("Cannot peek into an empty collection!");
+
+        return this.elements[(this.head + this.size - 1) & (this.elements.length - 1)];
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return this.indexOf(value) != -1;
+    }
+
+    /**
+     * Removes the first occurrence of the given {@code value}, shifting the elements after it one place toward the beginning.
+     */
+    @Override
+    public boolean remove(Object value) {
+        int index = this.indexOf(value);
+        if (index == -1) return false;
+
+        int mask = this.elements.length - 1;
+        for (int i = index, last = this.size - 1; i < last; i++) {
+            this.elements[(this.head + i) & mask] = this.elements[(this.head + i + 1) & mask];
+        }
+        this.elements[(this.head + --this.size) & mask] = null;
+        this.modificationCount++;
+
+        return true;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[this.size];
+        int firstPart = Math.min(this.size, this.elements.length - this.head);
+
+        System.arraycopy(this.elements, this.head, array, 0, firstPart);
+        System.arraycopy(this.elements, 0, array, firstPart, this.size - firstPart);
+
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The {@code elements} array keeps the capacity that it had prior to being cleared and all existing elements are set to {@code null}.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.elements, null);
+        this.head = 0;
+        this.size = 0;
+        this.modificationCount++;
+    }
+
+    @Override
+    public ElementsGetter<T> createElementsGetter() {
+        return new DequeElementsGetter<>(this);
+    }
+
+    /**
+     * The {@code DequeElementsGetter} is an implementation of {@link ElementsGetter} adapted for the {@link ArrayDequeCollection}, fetching elements from the first to
+     * the last one.
+     *
+     * @param <T> type of objects stored in the elements getter.
+     * @author mirtamoslavac
+     * @version 1.0
+     */
+    private static class DequeElementsGetter<T> implements ElementsGetter<T> {
+
+        /**
+         * The collection whose elements will be fetched on demand, in order as they appear in it.
+         */
+        private final ArrayDequeCollection<T> dequeCollection;
+
+        /**
+         * Position, relative to the first element, of the yet unfetched element that is sequentially first to be fetched.
+         */
+        private int toBeFetched;
+
+        /**
+         * The number of modifications made on the collection at the moment of instancing this current elements getter.
+         */
+        private final long savedModificationCount;
+
+        /**
+         * Initializes the getter to the starting position.
+         *
+         * @param dequeCollection collection whose elements will be fetched on demand.
+         */
+        private DequeElementsGetter(ArrayDequeCollection<T> dequeCollection) {
+            this.dequeCollection = dequeCollection;
+            this.toBeFetched = 0;
+            this.savedModificationCount = dequeCollection.modificationCount;
+        }
+
+        @Override
+        public boolean hasNextElement() {
+            if (this.savedModificationCount != this.dequeCollection.modificationCount) {
+                throw new ConcurrentModificationException("The collection has been modified after instancing this element getter!");
+            }
+
+            return this.toBeFetched < this.dequeCollection.size;
+        }
+
+        @Override
+        public T getNextElement() {
+            if (!this.hasNextElement()) {
+                throw new NoSuchElementException("There are no elements in this collection that remain unfetched!");
+            }
+
+            T[] elements = this.dequeCollection.elements;
+            return elements[(this.dequeCollection.head + this.toBeFetched++) & (elements.length - 1)];
+        }
+    }
+
+    /**
+     * Searches the current collection for the first occurrence of the given {@code value}.
+     *
+     * @param value object that is searched for.
+     * @return position of the first occurrence relative to the first element, -1 if the {@code value} is not found or is {@code null}.
+     */
+    private int indexOf(Object value) {
+        if (value == null) return -1;
+
+        for (int i = 0, mask = this.elements.length - 1; i < this.size; i++) {
+            if (value.equals(this.elements[(this.head + i) & mask])) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks whether new addition to the {@code elements} fills the entire array.
+     * If so, it reallocates the array, doubling its size and moving the elements so that the first one is at position 0.
+     */
+    @SuppressWarnings("unchecked")
+    private void checkCapacity() {
+        if (this.size < this.elements.length) return;
+
+        T[] newElements = (T[]) new Object[this.elements.length * 2];
+        int firstPart = this.elements.length - this.head;
+        System.arraycopy(this.elements, this.head, newElements, 0, firstPart);
+        System.arraycopy(this.elements, 0, newElements, firstPart, this.head);
+
+        this.elements = newElements;
+        this.head = 0;
+    }
+}
@@ -4,71 +4,38 @@ import java.util.Objects;
 
 /**
  * The {@code Dictionary} class is a collection of key-value pairs.
- * It serves as the Adaptor in the Adapter pattern.
+ * It serves as the Adaptor in the Adapter pattern, storing its entries in a hashed table so that every lookup by key takes constant time on average.
  *
  * @param <K> type of every key object in the current dictionary.
  * @param <V> type of every value object in the current dictionary.
  * @author mirtamoslavac
- * @version 1.0
+ * @version 2.0
  */
 public class Dictionary<K,V> {
 
     /**
-     * The Adaptee in the adapter pattern, in this case an {@link ArrayIndexedCollection}, in which the key-value pairs will be stored.
+     * The Adaptee in the adapter pattern, in this case a {@link SimpleHashtable}, in which the key-value pairs will be stored.
      */
-    private final ArrayIndexedCollection<DictionaryEntry<K, V>> dictionaryEntries;
+    private final SimpleHashtable<K, V> dictionaryEntries;
 
     /**
-     * Default constructor that creates a new instance of both the adaptor ({@code Dictionary}) and the adaptee ({@link ArrayIndexedCollection}).
+     * Default constructor that creates a new instance of both the adaptor ({@code Dictionary}) and the adaptee ({@link SimpleHashtable}).
      */
     public Dictionary() {
-        this.dictionaryEntries = new ArrayIndexedCollection<>();
+        this.dictionaryEntries = new SimpleHashtable<>();
     }
 
     /**
-     * The {@code DictionaryEntry} class represents a single key-value pair within the dictionary.
+     * Creates a new instance of both the adaptor ({@code Dictionary}) and the adaptee ({@link SimpleHashtable}), with enough slots prepared for the given
+     * {@code expectedSize}.
      *
-     * @param <K> type of the key object in the dictionary entry.
-     * @param <V> type of the value object in the dictionary entry.
+     * @param expectedSize the number of entries the new dictionary is expected to hold.
+     * @throws IllegalArgumentException when the given {@code expectedSize} is smaller than 1.
      */
-    private static class DictionaryEntry<K, V> {
-        /**
-         * The key to the the current entry.
-         */
-        private final K key;
-
-        /**
-         * The value of the current entry.
-         */
-        private V value;
-
-        /**
-         * Creates a new {@code DictionaryEntry} with the given {@code key} and {@code value}.
-         *
-         * @param key   the key to the new entry.
-         * @param value the value of the new entry.
-         * @throws NullPointerException when the given {@code key} is {@code null}.
-         */
-        DictionaryEntry(K key, V value) {
-            if (key == null) throw new NullPointerException("The given key cannot be null!");
-
-            this.key = key;
-            this.value = value;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof DictionaryEntry)) return false;
-            DictionaryEntry<?, ?> that = (DictionaryEntry<?, ?>) o;
-            return Objects.equals(this.key, that.key) &&
-                    Objects.equals(this.value, that.value);
-        }
+    public Dictionary(int expectedSize) {
+        if (expectedSize < 1) throw new IllegalArgumentException("The expected size of the dictionary should be at least 1!");
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.key, this.value);
-        }
+        this.dictionaryEntries = new SimpleHashtable<>((int) Math.ceil(expectedSize / SimpleHashtable.DEFAULT_OVERCAPACITY_FACTOR) + 1);
     }
 
     /**
@@ -97,88 +64,75 @@ public class Dictionary<K,V> {
     }
 
     /**
-     * Inserts the given key and value as a {@link DictionaryEntry} instance in the current dictionary.
+     * Inserts the given key and value as an entry in the current dictionary.
      * If an entry with the same {@code key} that is given already exists, then the old {@code value} will be overwritten by the new one.
      *
-     * @param key the key of the new {@code DictionaryEntry} instance.
-     * @param value the value of the new {@code DictionaryEntry} instance.
+     * @param key the key of the new entry.
+     * @param value the value of the new entry.
      * @return old {@code value} if an entry with the same {@code key} already existed, {@code null} otherwise.
      * @throws NullPointerException when the given {@code key} is {@code null}.
      */
     public V put(K key, V value) {
         if (key == null) throw new NullPointerException("The given key cannot be null!");
 
-        DictionaryEntry<K, V> entry = this.getEntry(key);
-        if (entry == null) {
-            this.dictionaryEntries.insert(new DictionaryEntry<>(key, value), this.size());
-            return null;
-        }
-
-        V oldValue = entry.value;
-        entry.value = value;
-        return oldValue;
+        return this.dictionaryEntries.put(key, value);
     }
 
     /**
-     * Retrieves the entry in the current dictionary that has the same key as the given {@code key}.
+     * Retrieves the value of the entry in the current dictionary that has the same key as the given {@code key}.
      *
-     * @param key the key of the wanted {@code DictionaryEntry} instance.
+     * @param key the key of the wanted entry.
      * @return {@code value} if the matched entry contains a non-{@code null} value, {@code null} otherwise.
      * @throws NullPointerException when the given {@code key} is {@code null}.
      */
     public V get(Object key) {
         if (key == null) throw new NullPointerException("The given key cannot be null!");
 
-        DictionaryEntry<K, V> entry = this.getEntry(key);
-        if (entry == null) return null;
-        return entry.value;
+        return this.dictionaryEntries.get(key);
     }
 
     /**
      * Removes the entry from the current dictionary that has the same key as the given {@code key}.
      *
-     * @param key the key of the wanted {@code DictionaryEntry} instance.
+     * @param key the key of the wanted entry.
      * @return {@code value} if the matched and removed entry contains a non-{@code null} value, {@code null} otherwise.
      * @throws NullPointerException when the given {@code key} is {@code null}.
      */
     public V remove(K key) {
         if (key == null) throw new NullPointerException("The given key cannot be null!");
 
-        V value = this.get(key);
-        if (value == null) return null;
+        if (this.dictionaryEntries.get(key) == null) return null;
 
-        if (this.dictionaryEntries.remove(new DictionaryEntry<>(key, value))) return value;
-        else return null;
+        return this.dictionaryEntries.remove(key);
     }
 
+    /**
+     * {@inheritDoc}
+     * Two dictionaries are equal if they contain the same keys mapped to equal values, regardless of the order in which their entries were inserted.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Dictionary)) return false;
         Dictionary<?, ?> that = (Dictionary<?, ?>) o;
-        return Objects.equals(this.dictionaryEntries, that.dictionaryEntries);
-    }
+        if (this.size() != that.size()) return false;
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(this.dictionaryEntries);
+        for (SimpleHashtable.TableEntry<K, V> entry : this.dictionaryEntries) {
+            if (!that.dictionaryEntries.containsKey(entry.getKey()) || !Objects.equals(entry.getValue(), that.dictionaryEntries.get(entry.getKey()))) return false;
+        }
+        return true;
     }
 
     /**
-     * Fetches the {@link DictionaryEntry} instance whose {@code key} equals to the given {@code key}.
-     *
-     * @param key {@code key} of the wanted entry.
-     * @return the entry requested if found, {@code null} otherwise.
+     * {@inheritDoc}
+     * The hash code depends only on the stored entries, regardless of the order in which they were inserted.
      */
-    private DictionaryEntry<K, V> getEntry(Object key) {
-        ElementsGetter<DictionaryEntry<K, V>> elementsGetter = this.dictionaryEntries.createElementsGetter();
-
-        while (elementsGetter.hasNextElement()) {
-            DictionaryEntry<K, V> possibleDictionaryEntry = elementsGetter.getNextElement();
-            if (possibleDictionaryEntry.key.equals(key))
-                return possibleDictionaryEntry;
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (SimpleHashtable.TableEntry<K, V> entry : this.dictionaryEntries) {
+            result += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
         }
-
-        return null;
+        return result;
     }
 }
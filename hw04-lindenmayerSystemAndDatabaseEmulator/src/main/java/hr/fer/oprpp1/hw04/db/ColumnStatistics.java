@@ -0,0 +1,196 @@
+package hr.fer.oprpp1.hw04.db;
+
+/**
+ * The {@code ColumnStatistics} class holds the statistics of a single {@link StudentColumn} used to estimate the selectivity of conditions on its values, which
+ * is the fraction of rows satisfying them.
+ * <p>
+ * Besides the number of distinct values, it keeps an equi-depth histogram, the values found at {@link #BUCKETS} + 1 evenly spaced positions within the rows
+ * sorted by their values, so every two neighbouring bounds enclose the same number of rows.
+ * A value found at several bounds is frequent enough to take up whole buckets, while all other values are assumed to be equally frequent.
+ * Within a bucket, the values are assumed to be spread evenly, so the selectivity of ranges and prefixes is interpolated between its bounds.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class ColumnStatistics {
+
+    /**
+     * The number of buckets of the histogram.
+     */
+    static final int BUCKETS = 64;
+
+    /**
+     * The number of characters following the common prefix of two bounds that are compared when interpolating between them.
+     */
+    private static final int INTERPOLATED_CHARACTERS = 8;
+
+    /**
+     * Selectivity assumed for {@code LIKE} patterns that do not end with their wildcard.
+     */
+    static final double PATTERN_SELECTIVITY = 0.25;
+
+    /**
+     * Selectivity assumed for unknown comparison operators.
+     */
+    static final double DEFAULT_SELECTIVITY = 0.5;
+
+    /**
+     * The number of rows of the column.
+     */
+    private final int rows;
+
+    /**
+     * The number of distinct values of the column.
+     */
+    private final int distinctValues;
+
+    /**
+     * Bounds of the histogram in ascending order, empty if the column has no rows.
+     */
+    private final String[] bounds;
+
+    /**
+     * Creates new {@code ColumnStatistics} of the given {@code column}.
+     *
+     * @param column the column.
+     */
+    ColumnStatistics(StudentColumn column) {
+        this.rows = column.size();
+        this.distinctValues = column.distinctValues();
+        this.bounds = new String[this.rows == 0 ? 0 : BUCKETS + 1];
+
+        for (int bucket = 0; bucket < this.bounds.length; bucket++) {
+            this.bounds[bucket] = column.sortedValue((int) ((long) bucket * (this.rows - 1) / BUCKETS));
+        }
+    }
+
+    /**
+     * Retrieves the number of rows of the column.
+     *
+     * @return the number of rows.
+     */
+    int rows() {
+        return this.rows;
+    }
+
+    /**
+     * Retrieves the number of distinct values of the column.
+     *
+     * @return the number of distinct values.
+     */
+    int distinctValues() {
+        return this.distinctValues;
+    }
+
+    /**
+     * Estimates the fraction of rows whose values satisfy the given {@code operator} when compared to the given {@code literal}.
+     *
+     * @param operator the comparison operator.
+     * @param literal the string the values are compared to.
+     * @return the estimated selectivity, between 0 and 1.
+     */
+    double selectivity(IComparisonOperator operator, String literal) {
+        if (this.rows == 0) return 0;
+
+        if (operator == ComparisonOperators.LIKE && literal.indexOf('*') < 0) operator = ComparisonOperators.EQUALS;
+
+        if (operator == ComparisonOperators.EQUALS) return this.equalSelectivity(literal);
+        if (operator == ComparisonOperators.NOT_EQUALS) return 1 - this.equalSelectivity(literal);
+        if (operator == ComparisonOperators.LESS) return this.fractionBelow(literal, false);
+        if (operator == ComparisonOperators.LESS_OR_EQUALS) return this.fractionBelow(literal, true);
+        if (operator == ComparisonOperators.GREATER) return 1 - this.fractionBelow(literal, true);
+        if (operator == ComparisonOperators.GREATER_OR_EQUALS) return 1 - this.fractionBelow(literal, false);
+
+        if (operator == ComparisonOperators.LIKE) {
+            String prefix = StudentColumn.likePrefix(literal);
+            if (prefix == null) return PATTERN_SELECTIVITY;
+            if (prefix.isEmpty()) return 1;
+
+            char last = prefix.charAt(prefix.length() - 1);
+            double fraction = last == Character.MAX_VALUE ? 0
+                    : this.fractionBelow(prefix.substring(0, prefix.length() - 1) + (char) (last + 1), false) - this.fractionBelow(prefix, false);
+            return Math.max(fraction, this.averageSelectivity(prefix));
+        }
+
+        return DEFAULT_SELECTIVITY;
+    }
+
+    /**
+     * Estimates the fraction of rows holding the given {@code literal}.
+     *
+     * @param literal the value.
+     * @return the estimated selectivity.
+     */
+    private double equalSelectivity(String literal) {
+        int matching = 0;
+        for (String bound : this.bounds) {
+            if (bound.equals(literal)) matching++;
+        }
+        return Math.max((matching - 1.0) / BUCKETS, this.averageSelectivity(literal));
+    }
+
+    /**
+     * Estimates the fraction of rows holding one of the values starting with the given {@code value}, assuming all values are equally frequent.
+     *
+     * @param value the value, or a prefix of the values.
+     * @return the estimated selectivity, 0 if the value is outside of the range of all values.
+     */
+    private double averageSelectivity(String value) {
+        boolean outside = value.compareTo(this.bounds[0]) < 0 && !this.bounds[0].startsWith(value) || value.compareTo(this.bounds[BUCKETS]) > 0;
+        return outside ? 0 : 1.0 / this.distinctValues;
+    }
+
+    /**
+     * Estimates the fraction of rows whose values are less than, or optionally equal to, the given {@code literal}.
+     * Within the bucket enclosing the literal, the rows are assumed to be spread evenly, as given by {@link #position}.
+     *
+     * @param literal the value.
+     * @param inclusive whether the values equal to the literal are counted.
+     * @return the estimated selectivity.
+     */
+    private double fractionBelow(String literal, boolean inclusive) {
+        int below = 0;
+        for (String bound : this.bounds) {
+            int comparison = bound.compareTo(literal);
+            if (comparison < 0 || inclusive && comparison == 0) below++;
+        }
+
+        if (below == 0) return 0;
+        if (below == this.bounds.length) return 1;
+        return (below - 1 + position(literal, this.bounds[below - 1], this.bounds[below])) / BUCKETS;
+    }
+
+    /**
+     * Estimates the relative position of the given {@code value} between two other values by treating the first few characters following their common
+     * prefix as digits of a number, whose base is the range of characters found there.
+     *
+     * @param value the value.
+     * @param low the lower value.
+     * @param high the higher value.
+     * @return the relative position, between 0 and 1.
+     */
+    private static double position(String value, String low, String high) {
+        int common = 0;
+        while (common < low.length() && common < high.length() && low.charAt(common) == high.charAt(common)) common++;
+
+        int end = common + INTERPOLATED_CHARACTERS;
+        char minimum = Character.MAX_VALUE, maximum = 0;
+        for (String string : new String[]{value, low, high}) {
+            for (int i = common; i < Math.min(end, string.length()); i++) {
+                minimum = (char) Math.min(minimum, string.charAt(i));
+                maximum = (char) Math.max(maximum, string.charAt(i));
+            }
+        }
+        if (minimum > maximum) return 0.5;
+
+        double base = maximum - minimum + 2, valueNumber = 0, lowNumber = 0, highNumber = 0;
+        for (int i = common; i < end; i++) {
+            valueNumber = valueNumber * base + (i < value.length() ? value.charAt(i) - minimum + 1 : 0);
+            lowNumber = lowNumber * base + (i < low.length() ? low.charAt(i) - minimum + 1 : 0);
+            highNumber = highNumber * base + (i < high.length() ? high.charAt(i) - minimum + 1 : 0);
+        }
+
+        if (highNumber <= lowNumber) return 0.5;
+        return Math.min(Math.max((valueNumber - lowNumber) / (highNumber - lowNumber), 0), 1);
+    }
+}
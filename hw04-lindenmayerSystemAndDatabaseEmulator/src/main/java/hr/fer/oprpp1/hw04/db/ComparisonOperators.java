@@ -46,18 +46,20 @@ public class ComparisonOperators {
 
     /**
      * LIKE operator implementation, with the first value being the string that is to be checked, and the second value the pattern to be checked.
+     * Since the pattern holds at most one wildcard, the value is matched by comparing its start and its end with the parts of the pattern around the wildcard,
+     * without compiling a regular expression.
      */
     public static final IComparisonOperator LIKE = ((value1, value2) -> {
         Objects.requireNonNull(value1, "The value1 cannot be null!");
         Objects.requireNonNull(value2, "The value2 cannot be null!");
-        int wildcardCounter = 0;
-
-        for (int i = 0, value2Length = value2.length(); i < value2Length; i++) {
-            if (value2.charAt(i) == WILDCARD_ELEMENT) {
-                wildcardCounter++;
-                if (wildcardCounter > 1) throw new IllegalArgumentException("More than one wildcard character entered!");
-            }
-        }
-        return value1.matches(value2.replace(String.valueOf(WILDCARD_ELEMENT), ".*"));
+
+        int wildcard = value2.indexOf(WILDCARD_ELEMENT);
+        if (wildcard < 0) return value1.equals(value2);
+        if (value2.indexOf(WILDCARD_ELEMENT, wildcard + 1) >= 0) throw new IllegalArgumentException("More than one wildcard character entered!");
+
+        int suffixLength = value2.length() - wildcard - 1;
+        return value1.length() >= wildcard + suffixLength
+                && value1.regionMatches(0, value2, 0, wildcard)
+                && value1.regionMatches(value1.length() - suffixLength, value2, wildcard + 1, suffixLength);
     });
 }
@@ -0,0 +1,282 @@
+package hr.fer.oprpp1.hw04.db;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * The {@code DictionaryColumn} class is a {@link StudentColumn} storing every distinct value only once, in a sorted dictionary, and every row as the code of its
+ * value, which is its index within the dictionary.
+ * <p>
+ * Codes are stored as {@code char} values when there are at most 65536 distinct values and as {@code int} values otherwise.
+ * A condition is evaluated once for every distinct value, and the rows are then filtered by looking up the result for their codes, so no strings are compared
+ * while scanning the rows.
+ * The rows are also kept sorted by their codes, which is the index of the column, so all rows holding a range of the dictionary are next to each other.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class DictionaryColumn extends StudentColumn {
+
+    /**
+     * Distinct values of the column in ascending order.
+     */
+    private final String[] dictionary;
+
+    /**
+     * Codes of all rows if there are at most 65536 distinct values, {@code null} otherwise.
+     */
+    private final char[] shortCodes;
+
+    /**
+     * Codes of all rows if there are more than 65536 distinct values, {@code null} otherwise.
+     */
+    private final int[] codes;
+
+    /**
+     * Indexes of all rows sorted by their codes, and within the same code in ascending order.
+     */
+    private final int[] sortedRows;
+
+    /**
+     * Position of the first row holding every value of the dictionary within {@code sortedRows}, followed by the number of rows.
+     */
+    private final int[] codeStarts;
+
+    /**
+     * Creates a new {@code DictionaryColumn} from the given values and codes of the rows.
+     *
+     * @param values distinct values in the order in which they were added.
+     * @param rowCodes codes of all rows, indexes within {@code values}.
+     * @param size the number of rows.
+     */
+    private DictionaryColumn(String[] values, int[] rowCodes, int size) {
+        Integer[] order = new Integer[values.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (first, second) -> values[first].compareTo(values[second]));
+
+        int[] remapped = new int[values.length];
+        this.dictionary = new String[values.length];
+        for (int code = 0; code < order.length; code++) {
+            this.dictionary[code] = values[order[code]];
+            remapped[order[code]] = code;
+        }
+
+        this.codeStarts = new int[values.length + 1];
+        if (values.length <= Character.MAX_VALUE + 1) {
+            this.shortCodes = new char[size];
+            this.codes = null;
+            for (int row = 0; row < size; row++) {
+                int code = remapped[rowCodes[row]];
+                this.shortCodes[row] = (char) code;
+                this.codeStarts[code + 1]++;
+            }
+        } else {
+            this.shortCodes = null;
+            this.codes = new int[size];
+            for (int row = 0; row < size; row++) {
+                int code = remapped[rowCodes[row]];
+                this.codes[row] = code;
+                this.codeStarts[code + 1]++;
+            }
+        }
+
+        for (int code = 0; code < values.length; code++) {
+            this.codeStarts[code + 1] += this.codeStarts[code];
+        }
+        this.sortedRows = new int[size];
+        int[] positions = Arrays.copyOf(this.codeStarts, values.length);
+        for (int row = 0; row < size; row++) {
+            this.sortedRows[positions[this.code(row)]++] = row;
+        }
+    }
+
+    @Override
+    int size() {
+        return this.shortCodes != null ? this.shortCodes.length : this.codes.length;
+    }
+
+    @Override
+    String get(int row) {
+        return this.dictionary[this.code(row)];
+    }
+
+    @Override
+    int find(String value) {
+        int code = Arrays.binarySearch(this.dictionary, value);
+        return code < 0 ? -1 : this.sortedRows[this.codeStarts[code]];
+    }
+
+    @Override
+    int distinctValues() {
+        return this.dictionary.length;
+    }
+
+    @Override
+    String sortedValue(int position) {
+        return this.dictionary[this.code(this.sortedRows[position])];
+    }
+
+    @Override
+    double scanCost(IComparisonOperator operator, String literal) {
+        return 1 + STRING_COST * this.dictionary.length / Math.max(this.size(), 1);
+    }
+
+    @Override
+    int filter(IComparisonOperator operator, String literal, int[] selection, int size, int[] result) {
+        boolean[] matches = new boolean[this.dictionary.length];
+        for (int code = 0; code < this.dictionary.length; code++) {
+            matches[code] = operator.satisfied(this.dictionary[code], literal);
+        }
+
+        int kept = 0;
+        if (this.shortCodes != null) {
+            char[] codes = this.shortCodes;
+            for (int i = 0; i < size; i++) {
+                int row = selection == null ? i : selection[i];
+                if (matches[codes[row]]) result[kept++] = row;
+            }
+        } else {
+            int[] codes = this.codes;
+            for (int i = 0; i < size; i++) {
+                int row = selection == null ? i : selection[i];
+                if (matches[codes[row]]) result[kept++] = row;
+            }
+        }
+        return kept;
+    }
+
+    @Override
+    IndexRange range(IComparisonOperator operator, String literal) {
+        if (operator == ComparisonOperators.LIKE && literal.indexOf('*') < 0) operator = ComparisonOperators.EQUALS;
+
+        String[] dictionary = this.dictionary;
+        int from = 0, to = dictionary.length;
+        if (operator == ComparisonOperators.LESS) {
+            to = this.firstCode(code -> dictionary[code].compareTo(literal) >= 0);
+        } else if (operator == ComparisonOperators.LESS_OR_EQUALS) {
+            to = this.firstCode(code -> dictionary[code].compareTo(literal) > 0);
+        } else if (operator == ComparisonOperators.GREATER) {
+            from = this.firstCode(code -> dictionary[code].compareTo(literal) > 0);
+        } else if (operator == ComparisonOperators.GREATER_OR_EQUALS) {
+            from = this.firstCode(code -> dictionary[code].compareTo(literal) >= 0);
+        } else if (operator == ComparisonOperators.EQUALS) {
+            from = this.firstCode(code -> dictionary[code].compareTo(literal) >= 0);
+            to = this.firstCode(code -> dictionary[code].compareTo(literal) > 0);
+        } else if (operator == ComparisonOperators.LIKE) {
+            String prefix = likePrefix(literal);
+            if (prefix == null) return null;
+            from = this.firstCode(code -> dictionary[code].compareTo(prefix) >= 0);
+            to = this.firstCode(code -> dictionary[code].compareTo(prefix) > 0 && !dictionary[code].startsWith(prefix));
+        } else {
+            return null;
+        }
+
+        return new IndexRange(this, this.codeStarts[from], this.codeStarts[Math.max(from, to)]);
+    }
+
+    @Override
+    int[] rows(int from, int to) {
+        if (to == from) return new int[0];
+
+        int lowCode = this.code(this.sortedRows[from]), highCode = this.code(this.sortedRows[to - 1]);
+        if (lowCode == highCode) return Arrays.copyOfRange(this.sortedRows, from, to);
+        if (to - from < this.sortedRows.length / WIDE_RANGE_FRACTION) {
+            int[] rows = Arrays.copyOfRange(this.sortedRows, from, to);
+            Arrays.sort(rows);
+            return rows;
+        }
+
+        int[] rows = new int[to - from];
+        for (int row = 0, kept = 0; kept < rows.length; row++) {
+            int code = this.code(row);
+            if (code >= lowCode && code <= highCode) rows[kept++] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Finds the first code satisfying the given {@code condition}, which is satisfied by all codes following it as well.
+     *
+     * @param condition the condition.
+     * @return the first code satisfying the condition, the size of the dictionary if there is none.
+     */
+    private int firstCode(IntPredicate condition) {
+        int low = 0, high = this.dictionary.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (condition.test(middle)) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    /**
+     * Fetches the code of the value of the given {@code row}.
+     *
+     * @param row index of the row.
+     * @return the code of the row.
+     */
+    private int code(int row) {
+        return this.shortCodes != null ? this.shortCodes[row] : this.codes[row];
+    }
+
+    /**
+     * The {@code Builder} class collects the values of a {@link DictionaryColumn} row by row.
+     */
+    static final class Builder {
+
+        /**
+         * Codes of the values added so far, in the order in which they were added.
+         */
+        private final Map<String, Integer> valueCodes = new HashMap<>();
+
+        /**
+         * Codes of the rows added so far.
+         */
+        private int[] rowCodes;
+
+        /**
+         * The number of rows added so far.
+         */
+        private int size;
+
+        /**
+         * Creates a new {@code Builder} expecting the given number of rows.
+         *
+         * @param expectedSize the expected number of rows.
+         */
+        Builder(int expectedSize) {
+            this.rowCodes = new int[Math.max(expectedSize, 1)];
+        }
+
+        /**
+         * Adds a row with the given {@code value}.
+         *
+         * @param value value of the row.
+         */
+        void add(String value) {
+            if (this.size == this.rowCodes.length) this.rowCodes = Arrays.copyOf(this.rowCodes, this.size * 2);
+
+            Integer code = this.valueCodes.get(value);
+            if (code == null) {
+                code = this.valueCodes.size();
+                this.valueCodes.put(value, code);
+            }
+            this.rowCodes[this.size++] = code;
+        }
+
+        /**
+         * Builds the column from the rows added so far.
+         *
+         * @return the column.
+         */
+        DictionaryColumn build() {
+            String[] values = new String[this.valueCodes.size()];
+            this.valueCodes.forEach((value, code) -> values[code] = value);
+
+            return new DictionaryColumn(values, this.rowCodes, this.size);
+        }
+    }
+}
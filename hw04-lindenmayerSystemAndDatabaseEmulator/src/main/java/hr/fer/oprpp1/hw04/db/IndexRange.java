@@ -0,0 +1,57 @@
+package hr.fer.oprpp1.hw04.db;
+
+/**
+ * The {@code IndexRange} class represents the rows of a {@link StudentColumn} satisfying a condition, found by its index as a range of positions within the
+ * rows of the column sorted by their values.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class IndexRange {
+
+    /**
+     * Column whose index was used.
+     */
+    private final StudentColumn column;
+
+    /**
+     * Position of the first row of the range, inclusive.
+     */
+    private final int from;
+
+    /**
+     * Position of the last row of the range, exclusive.
+     */
+    private final int to;
+
+    /**
+     * Creates a new {@code IndexRange} of the given column.
+     *
+     * @param column column whose index was used.
+     * @param from position of the first row of the range, inclusive.
+     * @param to position of the last row of the range, exclusive.
+     */
+    IndexRange(StudentColumn column, int from, int to) {
+        this.column = column;
+        this.from = from;
+        this.to = Math.max(from, to);
+    }
+
+    /**
+     * Retrieves the number of rows within the current range.
+     *
+     * @return the number of rows.
+     */
+    int size() {
+        return this.to - this.from;
+    }
+
+    /**
+     * Retrieves the indexes of the rows within the current range.
+     *
+     * @return indexes of the rows in ascending order.
+     */
+    int[] rows() {
+        return this.column.rows(this.from, this.to);
+    }
+}
@@ -0,0 +1,310 @@
+package hr.fer.oprpp1.hw04.db;
+
+import java.util.Arrays;
+
+/**
+ * The {@code PackedJmbagColumn} class is a {@link StudentColumn} storing JMBAGs made of exactly ten decimal digits as {@code long} values.
+ * <p>
+ * Since all JMBAGs have the same length, the numeric order of the packed values is the same as the lexicographic order of the JMBAGs, so comparisons to a literal
+ * that is a valid JMBAG as well, and {@code LIKE} conditions with a prefix of digits, are evaluated on the packed values, while all other conditions are evaluated
+ * on the restored strings.
+ * Rows are found by a binary search over the packed values, which are sorted only if they have not been added in ascending order, so the sorted values serve
+ * as the index of the column as well.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class PackedJmbagColumn extends StudentColumn {
+
+    /**
+     * The number of digits of a JMBAG that can be packed.
+     */
+    static final int LENGTH = 10;
+
+    /**
+     * Packed JMBAGs of all rows.
+     */
+    private final long[] values;
+
+    /**
+     * Packed JMBAGs in ascending order, {@code null} if {@code values} are already in ascending order.
+     */
+    private final long[] sortedValues;
+
+    /**
+     * Indexes of the rows of {@code sortedValues}, {@code null} if {@code values} are already in ascending order.
+     */
+    private final int[] sortedRows;
+
+    /**
+     * Creates a new {@code PackedJmbagColumn} from the given packed JMBAGs.
+     *
+     * @param values packed JMBAGs of all rows.
+     * @throws IllegalArgumentException when any JMBAG appears more than once.
+     */
+    private PackedJmbagColumn(long[] values) {
+        this.values = values;
+
+        boolean ascending = true;
+        for (int row = 1; row < values.length && ascending; row++) {
+            ascending = values[row - 1] < values[row];
+        }
+
+        if (ascending) {
+            this.sortedValues = null;
+            this.sortedRows = null;
+            return;
+        }
+
+        this.sortedValues = values.clone();
+        Arrays.sort(this.sortedValues);
+        for (int i = 1; i < this.sortedValues.length; i++) {
+            if (this.sortedValues[i - 1] == this.sortedValues[i]) throw new IllegalArgumentException("The given JMBAG already exists in the database!");
+        }
+
+        this.sortedRows = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            this.sortedRows[Arrays.binarySearch(this.sortedValues, values[row])] = row;
+        }
+    }
+
+    /**
+     * Packs the given {@code jmbag} into a {@code long} value.
+     *
+     * @param jmbag the JMBAG.
+     * @return the packed JMBAG, -1 if it is not made of exactly {@link #LENGTH} decimal digits.
+     */
+    static long pack(String jmbag) {
+        if (jmbag == null || jmbag.length() != LENGTH) return -1;
+
+        long packed = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char digit = jmbag.charAt(i);
+            if (digit < '0' || digit > '9') return -1;
+            packed = packed * 10 + (digit - '0');
+        }
+        return packed;
+    }
+
+    /**
+     * Restores the JMBAG from the given {@code packed} value.
+     *
+     * @param packed the packed JMBAG.
+     * @return the JMBAG.
+     */
+    static String unpack(long packed) {
+        char[] digits = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--, packed /= 10) {
+            digits[i] = (char) ('0' + packed % 10);
+        }
+        return new String(digits);
+    }
+
+    @Override
+    int size() {
+        return this.values.length;
+    }
+
+    @Override
+    String get(int row) {
+        return unpack(this.values[row]);
+    }
+
+    @Override
+    int distinctValues() {
+        return this.values.length;
+    }
+
+    @Override
+    String sortedValue(int position) {
+        return unpack(this.sortedValues != null ? this.sortedValues[position] : this.values[position]);
+    }
+
+    @Override
+    double scanCost(IComparisonOperator operator, String literal) {
+        return bounds(operator == ComparisonOperators.NOT_EQUALS ? ComparisonOperators.EQUALS : operator, literal) != null ? 1 : STRING_COST;
+    }
+
+    @Override
+    int find(String value) {
+        long packed = pack(value);
+        if (packed < 0) return -1;
+
+        int index = Arrays.binarySearch(this.sortedValues != null ? this.sortedValues : this.values, packed);
+        if (index < 0) return -1;
+        return this.sortedRows != null ? this.sortedRows[index] : index;
+    }
+
+    @Override
+    int filter(IComparisonOperator operator, String literal, int[] selection, int size, int[] result) {
+        boolean negated = operator == ComparisonOperators.NOT_EQUALS;
+        long[] bounds = bounds(negated ? ComparisonOperators.EQUALS : operator, literal);
+        if (bounds == null) return this.filterStrings(operator, literal, selection, size, result);
+
+        long[] values = this.values;
+        long low = bounds[0], high = bounds[1];
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int row = selection == null ? i : selection[i];
+            long value = values[row];
+            if ((value >= low && value <= high) != negated) result[kept++] = row;
+        }
+        return kept;
+    }
+
+    @Override
+    IndexRange range(IComparisonOperator operator, String literal) {
+        long[] bounds = bounds(operator, literal);
+        if (bounds == null) return null;
+
+        long[] sorted = this.sortedValues != null ? this.sortedValues : this.values;
+        int from = Arrays.binarySearch(sorted, bounds[0]), to = Arrays.binarySearch(sorted, bounds[1]);
+        return new IndexRange(this, from >= 0 ? from : -from - 1, to >= 0 ? to + 1 : -to - 1);
+    }
+
+    @Override
+    int[] rows(int from, int to) {
+        if (to == from) return new int[0];
+
+        if (this.sortedRows == null) {
+            int[] rows = new int[to - from];
+            Arrays.setAll(rows, i -> from + i);
+            return rows;
+        }
+
+        if (to - from < this.values.length / WIDE_RANGE_FRACTION) {
+            int[] rows = Arrays.copyOfRange(this.sortedRows, from, to);
+            Arrays.sort(rows);
+            return rows;
+        }
+
+        long low = this.sortedValues[from], high = this.sortedValues[to - 1];
+        int[] rows = new int[to - from];
+        for (int row = 0, kept = 0; kept < rows.length; row++) {
+            if (this.values[row] >= low && this.values[row] <= high) rows[kept++] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Determines the range of packed values satisfying the given {@code operator} when compared to the given {@code literal}.
+     *
+     * @param operator the comparison operator.
+     * @param literal the string the values are compared to.
+     * @return the lowest and the highest satisfying packed value, {@code null} if the condition cannot be evaluated on the packed values.
+     */
+    private static long[] bounds(IComparisonOperator operator, String literal) {
+        if (operator == ComparisonOperators.LIKE) {
+            if (literal.indexOf('*') < 0) {
+                operator = ComparisonOperators.EQUALS;
+            } else {
+                String prefix = likePrefix(literal);
+                if (prefix == null || prefix.length() >= LENGTH) return null;
+
+                long scale = 1;
+                for (int i = prefix.length(); i < LENGTH; i++) scale *= 10;
+                long packed = pack(prefix + "0".repeat(LENGTH - prefix.length()));
+                return packed < 0 ? null : new long[]{packed, packed + scale - 1};
+            }
+        }
+
+        long packed = pack(literal);
+        if (packed < 0) return null;
+
+        if (operator == ComparisonOperators.LESS) return new long[]{Long.MIN_VALUE, packed - 1};
+        if (operator == ComparisonOperators.LESS_OR_EQUALS) return new long[]{Long.MIN_VALUE, packed};
+        if (operator == ComparisonOperators.GREATER) return new long[]{packed + 1, Long.MAX_VALUE};
+        if (operator == ComparisonOperators.GREATER_OR_EQUALS) return new long[]{packed, Long.MAX_VALUE};
+        if (operator == ComparisonOperators.EQUALS) return new long[]{packed, packed};
+        return null;
+    }
+
+    /**
+     * Keeps only the selected rows whose restored JMBAGs satisfy the given {@code operator}, used for conditions that cannot be evaluated on the packed values.
+     *
+     * @param operator the comparison operator.
+     * @param literal the string the values are compared to.
+     * @param selection indexes of the selected rows, or {@code null} for all rows of the column.
+     * @param size the number of selected rows.
+     * @param result array the indexes of the kept rows are written to.
+     * @return the number of kept rows.
+     */
+    private int filterStrings(IComparisonOperator operator, String literal, int[] selection, int size, int[] result) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int row = selection == null ? i : selection[i];
+            if (operator.satisfied(this.get(row), literal)) result[kept++] = row;
+        }
+        return kept;
+    }
+
+    /**
+     * The {@code Builder} class collects JMBAGs row by row into a {@link PackedJmbagColumn}, or into a {@link DictionaryColumn} once a JMBAG that cannot be
+     * packed is added.
+     */
+    static final class Builder {
+
+        /**
+         * Packed JMBAGs of the rows added so far, {@code null} once a JMBAG that cannot be packed has been added.
+         */
+        private long[] values;
+
+        /**
+         * Builder of the dictionary column used instead of packing, {@code null} until a JMBAG that cannot be packed is added.
+         */
+        private DictionaryColumn.Builder fallback;
+
+        /**
+         * The number of rows added so far.
+         */
+        private int size;
+
+        /**
+         * Creates a new {@code Builder} expecting the given number of rows.
+         *
+         * @param expectedSize the expected number of rows.
+         */
+        Builder(int expectedSize) {
+            this.values = new long[Math.max(expectedSize, 1)];
+        }
+
+        /**
+         * Adds a row with the given {@code jmbag}.
+         *
+         * @param jmbag JMBAG of the row.
+         */
+        void add(String jmbag) {
+            long packed = this.fallback == null ? pack(jmbag) : -1;
+
+            if (packed < 0 && this.fallback == null) {
+                this.fallback = new DictionaryColumn.Builder(this.values.length);
+                for (int row = 0; row < this.size; row++) {
+                    this.fallback.add(unpack(this.values[row]));
+                }
+                this.values = null;
+            }
+
+            if (this.fallback != null) {
+                this.fallback.add(jmbag);
+            } else {
+                if (this.size == this.values.length) this.values = Arrays.copyOf(this.values, this.size * 2);
+                this.values[this.size] = packed;
+            }
+            this.size++;
+        }
+
+        /**
+         * Builds the column from the rows added so far.
+         *
+         * @return the column.
+         * @throws IllegalArgumentException when any JMBAG appears more than once.
+         */
+        StudentColumn build() {
+            if (this.fallback == null) return new PackedJmbagColumn(Arrays.copyOf(this.values, this.size));
+
+            DictionaryColumn column = this.fallback.build();
+            if (column.distinctValues() != column.size()) throw new IllegalArgumentException("The given JMBAG already exists in the database!");
+            return column;
+        }
+    }
+}
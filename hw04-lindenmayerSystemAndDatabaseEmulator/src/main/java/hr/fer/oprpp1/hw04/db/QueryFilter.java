@@ -1,5 +1,6 @@
 package hr.fer.oprpp1.hw04.db;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -25,6 +26,15 @@ public class QueryFilter implements IFilter {
         this.conditionalExpressionsList = Objects.requireNonNull(conditionalExpressionsList, "The given list of conditional expressions within a query cannot be null!");
     }
 
+    /**
+     * Retrieves the conditional expressions within the current filter.
+     *
+     * @return unmodifiable list of the conditional expressions.
+     */
+    public List<ConditionalExpression> getConditionalExpressions() {
+        return Collections.unmodifiableList(this.conditionalExpressionsList);
+    }
+
     /**
      * {@inheritDoc}
      *
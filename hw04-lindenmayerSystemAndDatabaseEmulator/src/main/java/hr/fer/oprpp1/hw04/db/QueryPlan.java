@@ -0,0 +1,177 @@
+package hr.fer.oprpp1.hw04.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code QueryPlan} class represents the way {@link StudentDatabase} evaluates the conditional expressions of a query, as chosen by {@link QueryPlanner}.
+ * <p>
+ * The records are first selected either by a range of a column's index or by a full scan, and are then filtered by the remaining expressions in the order
+ * given by the plan, each expression being evaluated only on the records that satisfied all previous ones.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class QueryPlan {
+
+    /**
+     * The number of records within the database.
+     */
+    private final int records;
+
+    /**
+     * Step whose expression selects the records by the index of its column, {@code null} if all records are scanned.
+     */
+    private final Step indexStep;
+
+    /**
+     * Range of the index selecting the records, {@code null} if all records are scanned.
+     */
+    private final IndexRange indexRange;
+
+    /**
+     * Steps filtering the selected records, in the order of their evaluation.
+     */
+    private final List<Step> filterSteps;
+
+    /**
+     * Creates a new {@code QueryPlan}.
+     *
+     * @param records the number of records within the database.
+     * @param indexStep step whose expression selects the records by the index of its column, {@code null} if all records are scanned.
+     * @param indexRange range of the index selecting the records, {@code null} if all records are scanned.
+     * @param filterSteps steps filtering the selected records, in the order of their evaluation.
+     */
+    QueryPlan(int records, Step indexStep, IndexRange indexRange, List<Step> filterSteps) {
+        this.records = records;
+        this.indexStep = indexStep;
+        this.indexRange = indexRange;
+        this.filterSteps = Collections.unmodifiableList(filterSteps);
+    }
+
+    /**
+     * Retrieves the range of the index selecting the records.
+     *
+     * @return the range, {@code null} if all records are scanned.
+     */
+    IndexRange getIndexRange() {
+        return this.indexRange;
+    }
+
+    /**
+     * Retrieves the steps filtering the selected records.
+     *
+     * @return unmodifiable list of the steps in the order of their evaluation.
+     */
+    List<Step> getFilterSteps() {
+        return this.filterSteps;
+    }
+
+    /**
+     * Describes the current plan, one step per line, along with the estimates it was chosen by.
+     *
+     * @return list of lines describing the plan.
+     */
+    List<String> explain() {
+        List<String> lines = new ArrayList<>(this.filterSteps.size() + 1);
+
+        if (this.indexRange == null) {
+            lines.add(String.format("Full scan of %d records", this.records));
+        } else {
+            lines.add(String.format("Index range scan on %s: %d of %d records (estimated %.0f)", this.indexStep.description, this.indexRange.size(),
+                    this.records, this.indexStep.selectivity * this.records));
+        }
+
+        for (Step step : this.filterSteps) {
+            lines.add(String.format("Filter %s: estimated selectivity %.1f %%, cost %.1f per record", step.description, step.selectivity * 100, step.cost));
+        }
+
+        return lines;
+    }
+
+    /**
+     * The {@code Step} class represents the evaluation of a single conditional expression along with its estimates.
+     */
+    static final class Step {
+
+        /**
+         * The conditional expression.
+         */
+        private final ConditionalExpression expression;
+
+        /**
+         * Textual form of the conditional expression.
+         */
+        private final String description;
+
+        /**
+         * Column holding the values of the expression's field, {@code null} if the field is not stored in a column.
+         */
+        private final StudentColumn column;
+
+        /**
+         * Estimated fraction of records satisfying the expression.
+         */
+        private final double selectivity;
+
+        /**
+         * Estimated cost of evaluating the expression on a single record.
+         */
+        private final double cost;
+
+        /**
+         * Creates a new {@code Step}.
+         *
+         * @param expression the conditional expression.
+         * @param description textual form of the conditional expression.
+         * @param column column holding the values of the expression's field, {@code null} if the field is not stored in a column.
+         * @param selectivity estimated fraction of records satisfying the expression.
+         * @param cost estimated cost of evaluating the expression on a single record.
+         */
+        Step(ConditionalExpression expression, String description, StudentColumn column, double selectivity, double cost) {
+            this.expression = expression;
+            this.description = description;
+            this.column = column;
+            this.selectivity = selectivity;
+            this.cost = cost;
+        }
+
+        /**
+         * Retrieves the conditional expression of the current step.
+         *
+         * @return the conditional expression.
+         */
+        ConditionalExpression getExpression() {
+            return this.expression;
+        }
+
+        /**
+         * Retrieves the column holding the values of the expression's field.
+         *
+         * @return the column, {@code null} if the field is not stored in a column.
+         */
+        StudentColumn getColumn() {
+            return this.column;
+        }
+
+        /**
+         * Retrieves the estimated fraction of records satisfying the expression.
+         *
+         * @return the estimated selectivity.
+         */
+        double getSelectivity() {
+            return this.selectivity;
+        }
+
+        /**
+         * Ranks the current step among the filtering steps, which are evaluated from the lowest rank up.
+         * The rank is the cost of the step per record it rejects, so cheap steps rejecting most records are evaluated first.
+         *
+         * @return the rank.
+         */
+        double rank() {
+            return this.cost / Math.max(1 - this.selectivity, 1e-3);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package hr.fer.oprpp1.hw04.db;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The {@code QueryPlanner} class chooses the {@link QueryPlan} by which {@link StudentDatabase} evaluates the conditional expressions of a query.
+ * <p>
+ * The selectivity of every expression is estimated from the {@link ColumnStatistics} of its column.
+ * The most selective expression that can be served by the index of its column selects the records, and all other expressions filter them ordered by their
+ * estimated cost per rejected record.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+final class QueryPlanner {
+
+    /**
+     * Estimated cost of evaluating an expression on a field that is not stored in a column, which requires creating the whole record.
+     */
+    static final double RECORD_COST = 32;
+
+    /**
+     * Field value getters of the fields stored in columns.
+     */
+    private static final IFieldValueGetter[] GETTERS = {FieldValueGetters.JMBAG, FieldValueGetters.LAST_NAME, FieldValueGetters.FIRST_NAME};
+
+    /**
+     * Names of the fields stored in columns, in the order of {@code GETTERS}.
+     */
+    private static final String[] NAMES = {"jmbag", "lastName", "firstName"};
+
+    /**
+     * The number of records within the database.
+     */
+    private final int records;
+
+    /**
+     * Columns of the fields, in the order of {@code GETTERS}.
+     */
+    private final StudentColumn[] columns;
+
+    /**
+     * Statistics of the columns, in the order of {@code GETTERS}.
+     */
+    private final ColumnStatistics[] statistics;
+
+    /**
+     * Creates a new {@code QueryPlanner} for the given columns, collecting their statistics.
+     *
+     * @param records the number of records within the database.
+     * @param jmbags column with JMBAGs of all records.
+     * @param lastNames column with last names of all records.
+     * @param firstNames column with first names of all records.
+     */
+    QueryPlanner(int records, StudentColumn jmbags, StudentColumn lastNames, StudentColumn firstNames) {
+        this.records = records;
+        this.columns = new StudentColumn[]{jmbags, lastNames, firstNames};
+        this.statistics = new ColumnStatistics[this.columns.length];
+        for (int i = 0; i < this.columns.length; i++) {
+            this.statistics[i] = new ColumnStatistics(this.columns[i]);
+        }
+    }
+
+    /**
+     * Chooses the plan of evaluating the given conditional expressions.
+     *
+     * @param conditionalExpressions conditional expressions of the query.
+     * @return the plan.
+     */
+    QueryPlan plan(List<ConditionalExpression> conditionalExpressions) {
+        List<QueryPlan.Step> filterSteps = new ArrayList<>(conditionalExpressions.size());
+        QueryPlan.Step indexStep = null;
+        IndexRange indexRange = null;
+
+        for (ConditionalExpression expression : conditionalExpressions) {
+            IComparisonOperator operator = expression.getComparisonOperator();
+            String literal = expression.getStringLiteral();
+            int field = field(expression.getFieldValueGetter());
+
+            StudentColumn column = field < 0 ? null : this.columns[field];
+            double selectivity = field < 0 ? ColumnStatistics.DEFAULT_SELECTIVITY : this.statistics[field].selectivity(operator, literal);
+            double cost = field < 0 ? RECORD_COST : column.scanCost(operator, literal);
+            QueryPlan.Step step = new QueryPlan.Step(expression, describe(field, operator, literal), column, selectivity, cost);
+            filterSteps.add(step);
+
+            if (column != null && (indexStep == null || selectivity < indexStep.getSelectivity())) {
+                IndexRange range = column.range(operator, literal);
+                if (range != null) {
+                    indexStep = step;
+                    indexRange = range;
+                }
+            }
+        }
+
+        filterSteps.remove(indexStep);
+        filterSteps.sort(Comparator.comparingDouble(QueryPlan.Step::rank));
+        return new QueryPlan(this.records, indexStep, indexRange, filterSteps);
+    }
+
+    /**
+     * Finds the field with the given {@code getter}.
+     *
+     * @param getter the field value getter.
+     * @return index of the field within {@code GETTERS}, -1 if the field is not stored in a column.
+     */
+    private static int field(IFieldValueGetter getter) {
+        for (int i = 0; i < GETTERS.length; i++) {
+            if (GETTERS[i] == getter) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Creates the textual form of a conditional expression.
+     *
+     * @param field index of the expression's field, -1 if it is not stored in a column.
+     * @param operator the comparison operator.
+     * @param literal the string literal.
+     * @return the textual form.
+     */
+    private static String describe(int field, IComparisonOperator operator, String literal) {
+        String symbol;
+        if (operator == ComparisonOperators.LESS) symbol = "<";
+        else if (operator == ComparisonOperators.LESS_OR_EQUALS) symbol = "<=";
+        else if (operator == ComparisonOperators.GREATER) symbol = ">";
+        else if (operator == ComparisonOperators.GREATER_OR_EQUALS) symbol = ">=";
+        else if (operator == ComparisonOperators.EQUALS) symbol = "=";
+        else if (operator == ComparisonOperators.NOT_EQUALS) symbol = "!=";
+        else if (operator == ComparisonOperators.LIKE) symbol = "LIKE";
+        else symbol = "<custom operator>";
+
+        return (field < 0 ? "<custom field>" : NAMES[field]) + " " + symbol + " \"" + literal + "\"";
+    }
+}
@@ -0,0 +1,113 @@
+package hr.fer.oprpp1.hw04.db;
+
+/**
+ * The {@code StudentColumn} class represents a single column of string values of all student records within the columnar storage of {@link StudentDatabase}.
+ * <p>
+ * Conditions are evaluated on a whole column at once, narrowing down a selection vector, which is an array of indexes of the rows that are still selected.
+ * Every column is also indexed by the order of its values, so that comparisons, equality and {@code LIKE} conditions with a prefix pattern can be served as a
+ * range of that order instead of a scan.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+abstract class StudentColumn {
+
+    /**
+     * Ranges of the index holding at least one in this many rows are collected by scanning the column, which is cheaper than sorting the rows of the range.
+     */
+    static final int WIDE_RANGE_FRACTION = 32;
+
+    /**
+     * Estimated cost of comparing a value of a row as a string, relative to looking up a single array element.
+     */
+    static final double STRING_COST = 8;
+
+    /**
+     * Fetches the number of rows within the current column.
+     *
+     * @return the number of rows.
+     */
+    abstract int size();
+
+    /**
+     * Fetches the value of the given {@code row}.
+     *
+     * @param row index of the row.
+     * @return value of the row.
+     */
+    abstract String get(int row);
+
+    /**
+     * Fetches the number of distinct values within the current column.
+     *
+     * @return the number of distinct values.
+     */
+    abstract int distinctValues();
+
+    /**
+     * Fetches the value at the given {@code position} within the rows sorted by their values.
+     *
+     * @param position the position.
+     * @return value of the row at the position.
+     */
+    abstract String sortedValue(int position);
+
+    /**
+     * Finds the row holding the given {@code value}.
+     *
+     * @param value the value.
+     * @return index of the first row holding the value, -1 if there is none.
+     */
+    abstract int find(String value);
+
+    /**
+     * Keeps only the selected rows whose values satisfy the given {@code operator} when compared to the given {@code literal}.
+     * The indexes of the kept rows are written to {@code result} in their original order, which may be the given {@code selection} itself.
+     *
+     * @param operator the comparison operator.
+     * @param literal the string the values are compared to.
+     * @param selection indexes of the selected rows, or {@code null} for all rows of the column.
+     * @param size the number of selected rows.
+     * @param result array the indexes of the kept rows are written to.
+     * @return the number of kept rows.
+     */
+    abstract int filter(IComparisonOperator operator, String literal, int[] selection, int size, int[] result);
+
+    /**
+     * Estimates the cost of evaluating the given condition on a single row by {@link #filter}, relative to looking up a single array element.
+     *
+     * @param operator the comparison operator.
+     * @param literal the string the values are compared to.
+     * @return the estimated cost per row.
+     */
+    abstract double scanCost(IComparisonOperator operator, String literal);
+
+    /**
+     * Finds the rows whose values satisfy the given {@code operator} when compared to the given {@code literal} using the index of the current column.
+     *
+     * @param operator the comparison operator.
+     * @param literal the string the values are compared to.
+     * @return the range of the index holding the rows, {@code null} if the condition cannot be served by the index.
+     */
+    abstract IndexRange range(IComparisonOperator operator, String literal);
+
+    /**
+     * Retrieves the indexes of the rows at the given positions within the rows sorted by their values.
+     *
+     * @param from the first position, inclusive.
+     * @param to the last position, exclusive.
+     * @return indexes of the rows in ascending order.
+     */
+    abstract int[] rows(int from, int to);
+
+    /**
+     * Extracts the prefix from a {@code LIKE} pattern whose only wildcard is its last character.
+     *
+     * @param pattern the pattern.
+     * @return the prefix, or {@code null} if the pattern is not of that form.
+     */
+    static String likePrefix(String pattern) {
+        int wildcard = pattern.indexOf('*');
+        return wildcard >= 0 && wildcard == pattern.length() - 1 ? pattern.substring(0, wildcard) : null;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Scanner;
 
 /**
  * The {@code StudentDB} class is a command-line executor of multiple queries on an already defined database.
+ * A query given after {@code explain} instead of {@code query} is not executed, but its plan is printed instead.
  *
  * @author mirtamoslavac
  * @version 1.1
@@ -26,6 +27,11 @@ public class StudentDB {
      */
     private static final String QUERY_TAG = "query";
 
+    /**
+     * String that represents the start of a query whose plan is to be described instead of executed.
+     */
+    private static final String EXPLAIN_TAG = "explain";
+
     /**
      * Program used to execute queries on a database.
      *
@@ -60,6 +66,10 @@ public class StudentDB {
 
                 String[] separated = next.split("\\s+", 2);
                 if (separated.length != 2) throw new IllegalArgumentException("Invalid query formatting!");
+                if (separated[0].equalsIgnoreCase(EXPLAIN_TAG)) {
+                    db.explain(new QueryFilter(new QueryParser(separated[1]).getQuery())).forEach(System.out::println);
+                    continue;
+                }
                 if (!separated[0].equalsIgnoreCase(QUERY_TAG)) throw new IllegalArgumentException("Invalid query invocation!");
 
                 List<StudentRecord> resultRows = getRelevantRecords(db, separated[1]);
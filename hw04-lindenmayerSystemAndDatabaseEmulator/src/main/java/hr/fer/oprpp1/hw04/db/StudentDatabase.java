@@ -1,24 +1,51 @@
 package hr.fer.oprpp1.hw04.db;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * The {@code StudentDatabase} class represents a model of a database that stores {@link StudentRecord} instances.
+ * <p>
+ * Records are stored column by column: last and first names in {@link DictionaryColumn} instances, JMBAGs in a {@link PackedJmbagColumn} and final grades as
+ * a single byte per record, so {@link StudentRecord} instances are created only for the records returned to the caller.
+ * A {@link QueryFilter} is evaluated one conditional expression at a time over a whole column, narrowing down the selection of records before the next one.
+ * Every column is indexed as well, so the most selective expression that is a comparison or a {@code LIKE} with a prefix pattern selects the records by a range
+ * lookup instead of a scan, while the order of all other expressions is chosen by their estimated selectivity and cost, as described by {@link #explain}.
  *
  * @author mirtamoslavac
  * @version 1.0
  */
 public class StudentDatabase {
     /**
-     * Internal list of student records in the current database.
+     * The number of student records in the current database.
      */
-    private final List<StudentRecord> studentRecords;
+    private final int size;
 
     /**
-     * Map used as an index for fast retrieval of student records when a JMBAG is the comparison operator in the current database.
+     * Column with JMBAGs of all student records, also used as an index for fast retrieval of student records by their JMBAG.
      */
-    private final Map<String, StudentRecord> indexByJMBAG;
+    private final StudentColumn jmbags;
+
+    /**
+     * Column with last names of all student records.
+     */
+    private final StudentColumn lastNames;
+
+    /**
+     * Column with first names of all student records.
+     */
+    private final StudentColumn firstNames;
+
+    /**
+     * Final grades of all student records.
+     */
+    private final byte[] finalGrades;
+
+    /**
+     * Planner of the queries on the columns of the current database.
+     */
+    private final QueryPlanner planner;
 
     /**
      * Creates a new {@code StudentDatabase} instance with all valid rows which represent {@link StudentRecord} instances.
@@ -29,38 +56,133 @@ public class StudentDatabase {
     public StudentDatabase(List<String> fileRows) {
         Objects.requireNonNull(fileRows, "There should be at least one student record in the database!");
 
-        this.studentRecords = new ArrayList<>(fileRows.size());
-        this.indexByJMBAG = new HashMap<>(fileRows.size());
+        this.size = fileRows.size();
+        this.finalGrades = new byte[this.size];
 
+        PackedJmbagColumn.Builder jmbags = new PackedJmbagColumn.Builder(this.size);
+        DictionaryColumn.Builder lastNames = new DictionaryColumn.Builder(this.size);
+        DictionaryColumn.Builder firstNames = new DictionaryColumn.Builder(this.size);
+
+        int index = 0;
         for (String row : fileRows) {
             StudentRecord studentRecord = this.parseStudentRecord(row);
 
-            StudentRecord returnedStudentRecord = this.indexByJMBAG.putIfAbsent(studentRecord.getJmbag(), studentRecord);
-            if (returnedStudentRecord != null) throw new IllegalArgumentException("The given JMBAG already exists in the database!");
-
-            this.studentRecords.add(studentRecord);
+            jmbags.add(studentRecord.getJmbag());
+            lastNames.add(studentRecord.getLastName());
+            firstNames.add(studentRecord.getFirstName());
+            this.finalGrades[index++] = (byte) studentRecord.getFinalGrade();
         }
 
+        this.jmbags = jmbags.build();
+        this.lastNames = lastNames.build();
+        this.firstNames = firstNames.build();
+        this.planner = new QueryPlanner(this.size, this.jmbags, this.lastNames, this.firstNames);
     }
 
     /**
-     * Obtains requested record using the JMBAG index in O(1).
+     * Obtains requested record using the JMBAG column in O(log n).
      *
      * @param jmbag the JMBAG of the wanted record.
      * @return requested student record if it exists, {@code null} otherwise.
      */
     public StudentRecord forJMBAG(String jmbag) {
-        return this.indexByJMBAG.get(jmbag);
+        if (jmbag == null) return null;
+
+        int row = this.jmbags.find(jmbag);
+        return row < 0 ? null : this.record(row);
     }
 
     /**
-     * Filters while looping through all student records in the current DB's internal list.
+     * Filters all student records in the current DB.
+     * A {@link QueryFilter} is evaluated over the columns, while any other filter is given every student record.
      *
      * @param filter predicate by which the student records in the current database are filtered.
      * @return list of student records for which the {@link IFilter#accepts} method returns {@code true}.
+     * @throws NullPointerException when the given {@code filter} is {@code null}.
      */
     public List<StudentRecord> filter(IFilter filter) {
-        return this.studentRecords.stream().filter(filter::accepts).collect(Collectors.toList());
+        Objects.requireNonNull(filter, "The given filter cannot be null!");
+
+        if (filter instanceof QueryFilter) return this.filter(((QueryFilter) filter).getConditionalExpressions());
+
+        List<StudentRecord> studentRecords = new ArrayList<>();
+        for (int row = 0; row < this.size; row++) {
+            StudentRecord studentRecord = this.record(row);
+            if (filter.accepts(studentRecord)) studentRecords.add(studentRecord);
+        }
+        return studentRecords;
+    }
+
+    /**
+     * Retrieves the number of student records in the current database.
+     *
+     * @return the number of student records.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Describes the plan by which the given {@code filter} would be evaluated on the current database.
+     *
+     * @param filter the query filter.
+     * @return list of lines describing the plan.
+     * @throws NullPointerException when the given {@code filter} is {@code null}.
+     */
+    public List<String> explain(QueryFilter filter) {
+        return this.planner.plan(Objects.requireNonNull(filter, "The given filter cannot be null!").getConditionalExpressions()).explain();
+    }
+
+    /**
+     * Filters all student records by the given conditional expressions, evaluated by the plan chosen by the {@link QueryPlanner}.
+     * The records are selected by an index range or a full scan, and the filtering steps are then evaluated one at a time, each only on the records that
+     * satisfied all previous ones.
+     *
+     * @param conditionalExpressions conditional expressions all of which the returned student records satisfy.
+     * @return list of student records satisfying all conditional expressions.
+     */
+    private List<StudentRecord> filter(List<ConditionalExpression> conditionalExpressions) {
+        QueryPlan plan = this.planner.plan(conditionalExpressions);
+
+        int[] selection = plan.getIndexRange() == null ? null : plan.getIndexRange().rows();
+        int selected = selection == null ? this.size : selection.length;
+
+        for (QueryPlan.Step step : plan.getFilterSteps()) {
+            if (selected == 0) break;
+
+            int[] result = selection != null ? selection : new int[this.size];
+            ConditionalExpression expression = step.getExpression();
+            IComparisonOperator operator = expression.getComparisonOperator();
+            String literal = expression.getStringLiteral();
+
+            if (step.getColumn() != null) {
+                selected = step.getColumn().filter(operator, literal, selection, selected, result);
+            } else {
+                int kept = 0;
+                for (int i = 0; i < selected; i++) {
+                    int row = selection == null ? i : selection[i];
+                    if (operator.satisfied(expression.getFieldValueGetter().get(this.record(row)), literal)) result[kept++] = row;
+                }
+                selected = kept;
+            }
+            selection = result;
+        }
+
+        List<StudentRecord> studentRecords = new ArrayList<>(selected);
+        for (int i = 0; i < selected; i++) {
+            studentRecords.add(this.record(selection == null ? i : selection[i]));
+        }
+        return studentRecords;
+    }
+
+    /**
+     * Creates the student record stored in the given {@code row}.
+     *
+     * @param row index of the row.
+     * @return new {@link StudentRecord} instance.
+     */
+    private StudentRecord record(int row) {
+        return new StudentRecord(this.jmbags.get(row), this.lastNames.get(row), this.firstNames.get(row), this.finalGrades[row]);
     }
 
     /**
@@ -0,0 +1,242 @@
+package hr.fer.oprpp1.hw04.db.demo;
+
+import hr.fer.oprpp1.hw04.db.QueryFilter;
+import hr.fer.oprpp1.hw04.db.QueryParser;
+import hr.fer.oprpp1.hw04.db.StudentDatabase;
+import hr.fer.oprpp1.hw04.db.StudentRecord;
+
+import java.lang.management.ManagementFactory;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code StudentDatabaseBenchmark} class is a command-line program that compares the memory used by a {@link StudentDatabase} holding a number of generated
+ * student records, by default ten million, and the time it takes to run a few queries on it, with a store keeping every record as a {@link StudentRecord}
+ * instance within a list and a map indexed by JMBAGs.
+ * The plan chosen by the database is printed below the times of every query.
+ * <p>
+ * The program should be given enough heap for the row store, e.g. {@code -Xmx4g} for ten million records.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class StudentDatabaseBenchmark {
+
+    /**
+     * The number of records generated when no number is given.
+     */
+    private static final int DEFAULT_RECORDS = 10_000_000;
+
+    /**
+     * The number of times every query is run, the first of which is not measured.
+     */
+    private static final int ROUNDS = 6;
+
+    /**
+     * Queries that are measured.
+     */
+    private static final String[] QUERIES = {
+            "lastName LIKE \"Ba*\"",
+            "firstName = \"Ivana\" and lastName > \"M\"",
+            "jmbag < \"0000100000\"",
+            "lastName LIKE \"*ić\" and firstName != \"Ana\"",
+            "jmbag = \"0000012345\"",
+            "lastName = \"Bakoić\" and firstName = \"Ana\"",
+            "jmbag LIKE \"000123*\""
+    };
+
+    /**
+     * Syllables the generated names are made of.
+     */
+    private static final String[] SYLLABLES = {"Ba", "Ko", "Ma", "Pe", "Ri", "Ho", "Ju", "Ze", "Vu", "Lo", "Si", "Ta", "Dra", "Ne", "Gr", "Ćo"};
+
+    /**
+     * Endings of the generated last names.
+     */
+    private static final String[] ENDINGS = {"ić", "ović", "ek", "ac", "an", "er"};
+
+    /**
+     * The generated first names.
+     */
+    private static final String[] FIRST_NAMES = {"Ana", "Ivana", "Marko", "Ivan", "Petra", "Luka", "Maja", "Josip", "Iva", "Tomislav", "Lucija", "Filip",
+            "Katarina", "Matej", "Sara", "Dino", "Nika", "Karlo", "Ema", "Bojan"};
+
+    /**
+     * Builds both stores from the generated records and prints the memory they use and the time it takes to run the queries.
+     *
+     * @param args an array of command-line arguments, optionally holding the number of records.
+     */
+    public static void main(String[] args) {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+        List<String> rows = new GeneratedRows(records);
+        List<QueryFilter> filters = new ArrayList<>();
+        for (String query : QUERIES) filters.add(new QueryFilter(new QueryParser(query).getQuery()));
+
+        System.out.printf("%,d records%n", records);
+
+        long before = usedHeap(), start = System.nanoTime();
+        RowStore rowStore = new RowStore(rows);
+        long loadTime = System.nanoTime() - start, rowStoreBytes = usedHeap() - before;
+        System.out.printf("row store:      %,6d MB, loaded in %,.0f ms%n", rowStoreBytes >> 20, loadTime / 1e6);
+        double[] rowStoreTimes = measure(filters, rowStore::filter, rowStore::forJMBAG);
+        rowStore = null;
+
+        before = usedHeap();
+        start = System.nanoTime();
+        StudentDatabase database = new StudentDatabase(rows);
+        loadTime = System.nanoTime() - start;
+        long databaseBytes = usedHeap() - before;
+        System.out.printf("columnar store: %,6d MB, loaded in %,.0f ms%n", databaseBytes >> 20, loadTime / 1e6);
+        double[] databaseTimes = measure(filters, database::filter, database::forJMBAG);
+
+        for (int i = 0; i < QUERIES.length; i++) {
+            System.out.printf("%-45s row %9.2f ms, columnar %9.2f ms%n", QUERIES[i], rowStoreTimes[i], databaseTimes[i]);
+            database.explain(filters.get(i)).forEach(line -> System.out.println("    " + line));
+        }
+        System.out.println(database.size() + " records still referenced");
+    }
+
+    /**
+     * Runs all queries on a store, using the given {@code lookup} for direct queries and the given {@code filter} for all others, and measures the best time.
+     *
+     * @param filters filters of all queries.
+     * @param filter function filtering the store.
+     * @param lookup function finding a record by its JMBAG.
+     * @return the best time of every query in milliseconds.
+     */
+    private static double[] measure(List<QueryFilter> filters, Function<QueryFilter, List<StudentRecord>> filter,
+                                    Function<String, StudentRecord> lookup) {
+        double[] times = new double[QUERIES.length];
+        for (int i = 0; i < QUERIES.length; i++) {
+            QueryParser parser = new QueryParser(QUERIES[i]);
+            long best = Long.MAX_VALUE;
+            int found = 0;
+
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                found = parser.isDirectQuery() ? (lookup.apply(parser.getQueriedJMBAG()) != null ? 1 : 0) : filter.apply(filters.get(i)).size();
+                if (round > 0) best = Math.min(best, System.nanoTime() - start);
+            }
+
+            times[i] = best / 1e6;
+            System.out.printf("  %-45s %,10d records%n", QUERIES[i], found);
+        }
+        return times;
+    }
+
+    /**
+     * Measures the heap used after a garbage collection.
+     *
+     * @return the used heap in bytes.
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * The {@code GeneratedRows} class is a list of database rows generated on demand from their indexes, so the rows never take up the heap all at once.
+     */
+    private static class GeneratedRows extends AbstractList<String> {
+
+        /**
+         * The number of rows.
+         */
+        private final int size;
+
+        /**
+         * Creates a new {@code GeneratedRows} list with the given number of rows.
+         *
+         * @param size the number of rows.
+         */
+        private GeneratedRows(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            long hash = (index + 1) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+
+            StringBuilder row = new StringBuilder(48);
+            String jmbag = Integer.toString(index);
+            for (int i = jmbag.length(); i < 10; i++) row.append('0');
+            row.append(jmbag).append('\t');
+
+            int syllables = 2 + (int) ((hash >>> 8) & 1);
+            for (int i = 0; i < syllables; i++) {
+                String syllable = SYLLABLES[(int) (hash >>> (12 + 4 * i)) & 15];
+                row.append(i == 0 ? syllable : syllable.toLowerCase());
+            }
+            row.append(ENDINGS[(int) ((hash >>> 28) % ENDINGS.length)]).append('\t');
+
+            row.append(FIRST_NAMES[(int) ((hash >>> 36) % FIRST_NAMES.length)]).append('\t');
+            row.append(1 + (hash >>> 48) % 5);
+            return row.toString();
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+
+    /**
+     * The {@code RowStore} class keeps every record as a {@link StudentRecord} instance within a list and a map indexed by JMBAGs, filtering the list record by
+     * record.
+     */
+    private static class RowStore {
+
+        /**
+         * List of all student records.
+         */
+        private final List<StudentRecord> studentRecords;
+
+        /**
+         * Map of all student records indexed by their JMBAGs.
+         */
+        private final Map<String, StudentRecord> indexByJMBAG;
+
+        /**
+         * Creates a new {@code RowStore} from the given rows.
+         *
+         * @param rows rows of all student records.
+         */
+        private RowStore(List<String> rows) {
+            this.studentRecords = new ArrayList<>(rows.size());
+            this.indexByJMBAG = new HashMap<>(rows.size());
+
+            for (String row : rows) {
+                String[] elements = row.split("\\t");
+                StudentRecord studentRecord = new StudentRecord(elements[0], elements[1], elements[2], Integer.parseInt(elements[3]));
+                this.indexByJMBAG.put(studentRecord.getJmbag(), studentRecord);
+                this.studentRecords.add(studentRecord);
+            }
+        }
+
+        /**
+         * Obtains the record with the given {@code jmbag}.
+         *
+         * @param jmbag the JMBAG.
+         * @return the record, {@code null} if there is none.
+         */
+        private StudentRecord forJMBAG(String jmbag) {
+            return this.indexByJMBAG.get(jmbag);
+        }
+
+        /**
+         * Filters all student records by the given {@code filter}.
+         *
+         * @param filter the filter.
+         * @return list of accepted student records.
+         */
+        private List<StudentRecord> filter(QueryFilter filter) {
+            return this.studentRecords.stream().filter(filter::accepts).collect(Collectors.toList());
+        }
+    }
+}
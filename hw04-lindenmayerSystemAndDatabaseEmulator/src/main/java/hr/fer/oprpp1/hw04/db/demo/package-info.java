@@ -0,0 +1,6 @@
+/**
+ * Package used to measure the database querying implementation.
+ *
+ * @since 4.0
+ */
+package hr.fer.oprpp1.hw04.db.demo;
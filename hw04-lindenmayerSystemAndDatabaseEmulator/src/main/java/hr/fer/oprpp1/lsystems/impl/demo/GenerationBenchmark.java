@@ -0,0 +1,81 @@
+package hr.fer.oprpp1.lsystems.impl.demo;
+
+import hr.fer.oprpp1.lsystems.impl.LSystemBuilderImpl;
+import hr.fer.zemris.lsystems.LSystem;
+
+/**
+ * The {@code GenerationBenchmark} class is a command-line program that measures how long it takes to generate the strings of a few {@link LSystem} instances,
+ * whose productions are looked up for every generated symbol.
+ *
+ * @author mirtamoslavac
+ * @version 1.0
+ */
+public class GenerationBenchmark {
+
+    /**
+     * The number of generations run before the measurements start, so that the measured code is already compiled.
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * The number of measured generations for every LSystem.
+     */
+    private static final int MEASURED_ROUNDS = 10;
+
+    /**
+     * Runs the benchmark on a Koch curve, a plant and a Hilbert curve and prints the average generation time and the number of symbols generated per second.
+     *
+     * @param args an array of command-line arguments.
+     */
+    public static void main(String[] args) {
+        benchmark("Koch curve", new LSystemBuilderImpl()
+                .registerCommand('F', "draw 1")
+                .registerCommand('+', "rotate 60")
+                .registerCommand('-', "rotate -60")
+                .registerProduction('F', "F+F--F+F")
+                .setAxiom("F")
+                .build(), 8);
+
+        benchmark("Plant", new LSystemBuilderImpl()
+                .registerCommand('F', "draw 1")
+                .registerCommand('+', "rotate 25.7")
+                .registerCommand('-', "rotate -25.7")
+                .registerCommand('[', "push")
+                .registerCommand(']', "pop")
+                .registerProduction('F', "F[+F]F[-F]F")
+                .setAxiom("GF")
+                .build(), 7);
+
+        benchmark("Hilbert curve", new LSystemBuilderImpl()
+                .registerCommand('F', "draw 1")
+                .registerCommand('+', "rotate 90")
+                .registerCommand('-', "rotate -90")
+                .registerProduction('L', "+RF-LFL-FR+")
+                .registerProduction('R', "-LF+RFR+FL-")
+                .setAxiom("L")
+                .build(), 9);
+    }
+
+    /**
+     * Generates the string of the given {@code lSystem} for the given {@code level} multiple times and prints the measured results.
+     *
+     * @param name name of the benchmarked LSystem.
+     * @param lSystem LSystem whose generation is measured.
+     * @param level level of the LSystem's string that is to be generated.
+     */
+    private static void benchmark(String name, LSystem lSystem, int level) {
+        int length = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            length += lSystem.generate(level).length();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            length = lSystem.generate(level).length();
+        }
+        double averageMillis = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+
+        System.out.printf("%-14s level %d: %,d symbols, %.3f ms per generation, %,.0f symbols/s%n",
+                name, level, length, averageMillis, length / averageMillis * 1000);
+    }
+}
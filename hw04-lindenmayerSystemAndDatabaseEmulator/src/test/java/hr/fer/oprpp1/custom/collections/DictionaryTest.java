@@ -137,6 +137,48 @@ public class DictionaryTest {
         assertThrows(NullPointerException.class, () -> dictionaryContainingEntriesObjects.remove(null));
     }
 
+    @Test
+    void testConstructorWithExpectedSize() {
+        Dictionary<Character, String> testingDictionary = new Dictionary<>(100);
+
+        assertTrue(testingDictionary.isEmpty());
+    }
+
+    @Test
+    void testConstructorWithInvalidExpectedSizeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new Dictionary<>(0));
+    }
+
+    @Test
+    void testPutAndGetManyEntries() {
+        Dictionary<Character, Integer> testingDictionary = new Dictionary<>();
+        for (char c = 0; c < 1000; c++) {
+            assertNull(testingDictionary.put(c, (int) c));
+        }
+
+        assertEquals(1000, testingDictionary.size());
+        for (char c = 0; c < 1000; c++) {
+            assertEquals((int) c, testingDictionary.get(c));
+        }
+        assertNull(testingDictionary.get((char) 1000));
+    }
+
+    @Test
+    void testRemoveAfterManyEntries() {
+        Dictionary<Integer, String> testingDictionary = new Dictionary<>();
+        for (int i = 0; i < 100; i++) {
+            testingDictionary.put(i, String.valueOf(i));
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(String.valueOf(i), testingDictionary.remove(i));
+        }
+
+        assertEquals(50, testingDictionary.size());
+        assertNull(testingDictionary.get(10));
+        assertEquals("11", testingDictionary.get(11));
+    }
+
     @Test
     void testEqualsTrue() {
         assertEquals(emptyDictionary, new Dictionary<>());
@@ -146,4 +188,27 @@ public class DictionaryTest {
     void testEqualsFalse() {
         assertNotEquals(emptyDictionary, dictionaryContainingEntriesObjects);
     }
+
+    @Test
+    void testEqualsIgnoresInsertionOrderAndHistory() {
+        Dictionary<Integer, String> first = new Dictionary<>();
+        Dictionary<Integer, String> second = new Dictionary<>(100);
+        for (int i = 0; i < 50; i++) {
+            first.put(i, "value" + i);
+            second.put(49 - i, "value" + (49 - i));
+        }
+        second.put(100, "removed");
+        second.remove(100);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+
+        second.put(7, "changed");
+        assertNotEquals(first, second);
+        second.put(7, "value7");
+        second.put(50, null);
+        assertNotEquals(first, second);
+        first.put(51, null);
+        assertNotEquals(first, second);
+    }
 }
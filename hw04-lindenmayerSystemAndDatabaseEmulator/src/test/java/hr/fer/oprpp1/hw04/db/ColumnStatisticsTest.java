@@ -0,0 +1,70 @@
+package hr.fer.oprpp1.hw04.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnStatisticsTest {
+
+    private ColumnStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        DictionaryColumn.Builder builder = new DictionaryColumn.Builder(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            builder.add(i % 2 == 0 ? "Horvat" : String.format("N%04d", i));
+        }
+        this.statistics = new ColumnStatistics(builder.build());
+    }
+
+    @Test
+    void testDistinctValues() {
+        assertEquals(10_000, this.statistics.rows());
+        assertEquals(5_001, this.statistics.distinctValues());
+    }
+
+    @Test
+    void testFrequentValueSelectivity() {
+        assertEquals(0.5, this.statistics.selectivity(ComparisonOperators.EQUALS, "Horvat"), 0.05);
+        assertEquals(0.5, this.statistics.selectivity(ComparisonOperators.NOT_EQUALS, "Horvat"), 0.05);
+    }
+
+    @Test
+    void testRareValueSelectivity() {
+        assertEquals(1.0 / 5_001, this.statistics.selectivity(ComparisonOperators.EQUALS, "N0001"), 1e-9);
+        assertEquals(1.0 / 5_001, this.statistics.selectivity(ComparisonOperators.LIKE, "N0001"), 1e-9);
+        assertEquals(0, this.statistics.selectivity(ComparisonOperators.EQUALS, "Zec"));
+        assertEquals(0, this.statistics.selectivity(ComparisonOperators.EQUALS, "Anić"));
+    }
+
+    @Test
+    void testRangeSelectivity() {
+        assertEquals(0.75, this.statistics.selectivity(ComparisonOperators.LESS, "N5000"), 0.05);
+        assertEquals(0.25, this.statistics.selectivity(ComparisonOperators.GREATER_OR_EQUALS, "N5000"), 0.05);
+        assertEquals(0, this.statistics.selectivity(ComparisonOperators.LESS, "A"));
+        assertEquals(1, this.statistics.selectivity(ComparisonOperators.LESS_OR_EQUALS, "Z"));
+    }
+
+    @Test
+    void testLikeSelectivity() {
+        assertEquals(0.5, this.statistics.selectivity(ComparisonOperators.LIKE, "N*"), 0.05);
+        assertEquals(0.5, this.statistics.selectivity(ComparisonOperators.LIKE, "Hor*"), 0.05);
+        assertEquals(1, this.statistics.selectivity(ComparisonOperators.LIKE, "*"));
+        assertEquals(ColumnStatistics.PATTERN_SELECTIVITY, this.statistics.selectivity(ComparisonOperators.LIKE, "*vat"));
+    }
+
+    @Test
+    void testInterpolatedSelectivityOfUniqueValues() {
+        PackedJmbagColumn.Builder builder = new PackedJmbagColumn.Builder(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            builder.add(String.format("%010d", i));
+        }
+        ColumnStatistics statistics = new ColumnStatistics(builder.build());
+
+        assertEquals(0.001, statistics.selectivity(ComparisonOperators.LIKE, "000000012*"), 2e-4);
+        assertEquals(0.0123, statistics.selectivity(ComparisonOperators.LESS, "0000000123"), 1e-3);
+        assertEquals(1e-4, statistics.selectivity(ComparisonOperators.EQUALS, "0000000123"), 1e-9);
+    }
+
+}
@@ -177,4 +177,13 @@ public class ComparisonOperatorTest {
 
         assertThrows(IllegalArgumentException.class, () -> this.comparisonOperator.satisfied("Zagreb", "*agr*b"));
     }
+
+    @Test
+    void testLikeTreatsRegexCharactersLiterally() {
+        this.comparisonOperator = ComparisonOperators.LIKE;
+
+        assertTrue(this.comparisonOperator.satisfied("A.(B)", "A.(*"));
+        assertFalse(this.comparisonOperator.satisfied("AxB", "A.B"));
+        assertFalse(this.comparisonOperator.satisfied("AAA", "AA*AA"));
+    }
 }
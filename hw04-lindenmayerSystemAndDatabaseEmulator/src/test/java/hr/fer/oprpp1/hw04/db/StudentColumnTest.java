@@ -0,0 +1,104 @@
+package hr.fer.oprpp1.hw04.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StudentColumnTest {
+
+    private static StudentColumn dictionaryColumn(String... values) {
+        DictionaryColumn.Builder builder = new DictionaryColumn.Builder(values.length);
+        for (String value : values) builder.add(value);
+        return builder.build();
+    }
+
+    private static StudentColumn jmbagColumn(String... values) {
+        PackedJmbagColumn.Builder builder = new PackedJmbagColumn.Builder(values.length);
+        for (String value : values) builder.add(value);
+        return builder.build();
+    }
+
+    private static void assertRange(StudentColumn column, IComparisonOperator operator, String literal, int... expectedRows) {
+        IndexRange range = column.range(operator, literal);
+
+        assertNotNull(range);
+        assertEquals(expectedRows.length, range.size());
+        assertArrayEquals(expectedRows, range.rows());
+    }
+
+    @Test
+    void testDictionaryRanges() {
+        StudentColumn column = dictionaryColumn("Kos", "Anić", "Kovač", "Anić", "Babić", "Kos", "Zec");
+
+        assertRange(column, ComparisonOperators.EQUALS, "Kos", 0, 5);
+        assertRange(column, ComparisonOperators.EQUALS, "Horvat");
+        assertRange(column, ComparisonOperators.LESS, "Kos", 1, 3, 4);
+        assertRange(column, ComparisonOperators.LESS_OR_EQUALS, "Kos", 0, 1, 3, 4, 5);
+        assertRange(column, ComparisonOperators.GREATER, "Kos", 2, 6);
+        assertRange(column, ComparisonOperators.GREATER_OR_EQUALS, "Kot", 2, 6);
+        assertRange(column, ComparisonOperators.LIKE, "Ko*", 0, 2, 5);
+        assertRange(column, ComparisonOperators.LIKE, "Anić", 1, 3);
+        assertRange(column, ComparisonOperators.LIKE, "*", 0, 1, 2, 3, 4, 5, 6);
+        assertNull(column.range(ComparisonOperators.LIKE, "*ić"));
+        assertNull(column.range(ComparisonOperators.NOT_EQUALS, "Kos"));
+    }
+
+    @Test
+    void testPackedJmbagRanges() {
+        StudentColumn column = jmbagColumn("0000000020", "0000000003", "0000000011", "0000000001", "0000000015");
+
+        assertRange(column, ComparisonOperators.EQUALS, "0000000011", 2);
+        assertRange(column, ComparisonOperators.LESS, "0000000011", 1, 3);
+        assertRange(column, ComparisonOperators.LESS_OR_EQUALS, "0000000011", 1, 2, 3);
+        assertRange(column, ComparisonOperators.GREATER, "0000000011", 0, 4);
+        assertRange(column, ComparisonOperators.GREATER_OR_EQUALS, "0000000012", 0, 4);
+        assertRange(column, ComparisonOperators.LIKE, "000000001*", 2, 4);
+        assertNull(column.range(ComparisonOperators.LESS, "12"));
+        assertNull(column.range(ComparisonOperators.LIKE, "*1"));
+    }
+
+    @Test
+    void testAscendingPackedJmbagRanges() {
+        StudentColumn column = jmbagColumn("0000000001", "0000000002", "0000000003", "0000000004");
+
+        assertRange(column, ComparisonOperators.GREATER, "0000000002", 2, 3);
+        assertRange(column, ComparisonOperators.LIKE, "0*", 0, 1, 2, 3);
+        assertEquals(2, column.find("0000000003"));
+    }
+
+    @Test
+    void testRangesAgreeWithFilter() {
+        StudentColumn column = dictionaryColumn("Kos", "Anić", "Kovač", "Anić", "Babić", "Kos", "Zec");
+
+        for (IComparisonOperator operator : List.of(ComparisonOperators.LESS, ComparisonOperators.GREATER_OR_EQUALS, ComparisonOperators.EQUALS)) {
+            int[] filtered = new int[column.size()];
+            int kept = column.filter(operator, "Kovač", null, column.size(), filtered);
+
+            assertArrayEquals(Arrays.copyOf(filtered, kept), column.range(operator, "Kovač").rows());
+        }
+    }
+
+    @Test
+    void testNarrowAndWideRangesOfLargeColumns() {
+        String[] names = new String[1000], jmbags = new String[1000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = String.format("v%03d", i * 7919 % 1000);
+            jmbags[i] = String.format("%010d", i * 7919 % 1000);
+        }
+
+        for (StudentColumn column : List.of(dictionaryColumn(names), jmbagColumn(jmbags))) {
+            String value = column.get(1);
+            for (String literal : List.of(value.substring(0, value.length() - 1) + "*", value.substring(0, value.length() - 2) + "*", value)) {
+                IComparisonOperator operator = literal.endsWith("*") ? ComparisonOperators.LIKE : ComparisonOperators.LESS;
+                int[] filtered = new int[column.size()];
+                int kept = column.filter(operator, literal, null, column.size(), filtered);
+
+                assertArrayEquals(Arrays.copyOf(filtered, kept), column.range(operator, literal).rows(), literal);
+            }
+        }
+    }
+
+}
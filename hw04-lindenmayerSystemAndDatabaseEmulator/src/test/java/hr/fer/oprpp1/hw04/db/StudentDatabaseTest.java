@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,4 +64,101 @@ public class StudentDatabaseTest {
         assertTrue(this.database.filter(this.declineAll).isEmpty());
     }
 
+    @Test
+    void testQueryFilterOnColumns() {
+        List<StudentRecord> records = this.database.filter(new QueryFilter(new QueryParser("firstName = \"Marin\" and lastName > \"B\"").getQuery()));
+
+        assertEquals(2, records.size());
+        assertEquals("0000000004", records.get(0).getJmbag());
+        assertEquals("Štruml", records.get(1).getLastName());
+        assertEquals(4, records.get(1).getFinalGrade());
+    }
+
+    @Test
+    void testQueryFilterOnPackedJMBAGs() {
+        assertEquals(9, this.database.filter(new QueryFilter(new QueryParser("jmbag < \"0000000010\"").getQuery())).size());
+        assertEquals(1, this.database.filter(new QueryFilter(new QueryParser("jmbag LIKE \"*31\"").getQuery())).size());
+        assertEquals(62, this.database.filter(new QueryFilter(new QueryParser("jmbag != \"0000000031\"").getQuery())).size());
+    }
+
+    @Test
+    void testQueryFilterMatchesRecordByRecordFiltering() {
+        QueryFilter queryFilter = new QueryFilter(new QueryParser("lastName LIKE \"B*\" and firstName >= \"J\"").getQuery());
+
+        assertEquals(this.database.filter(record -> queryFilter.accepts(record)), this.database.filter(queryFilter));
+    }
+
+    @Test
+    void testUnpackableJMBAGs() {
+        StudentDatabase database = new StudentDatabase(List.of("0000000002\tA\tB\t5", "x1\tC\tD\t3", "0000000001\tE\tF\t1"));
+
+        assertEquals("D", database.forJMBAG("x1").getFirstName());
+        assertEquals(1, database.forJMBAG("0000000001").getFinalGrade());
+        assertEquals(2, database.filter(new QueryFilter(new QueryParser("jmbag < \"x\"").getQuery())).size());
+    }
+
+    @Test
+    void testDuplicateJMBAG() {
+        assertThrows(IllegalArgumentException.class, () -> new StudentDatabase(List.of("0000000002\tA\tB\t5", "0000000001\tC\tD\t3", "0000000002\tE\tF\t1")));
+        assertThrows(IllegalArgumentException.class, () -> new StudentDatabase(List.of("x1\tA\tB\t5", "x1\tC\tD\t3")));
+    }
+
+    @Test
+    void testIndexedQueriesMatchRecordByRecordFiltering() {
+        String[] queries = {
+                "lastName LIKE \"Ko*\"",
+                "lastName < \"D\" and firstName > \"M\"",
+                "firstName = \"Marin\" and jmbag > \"0000000002\"",
+                "jmbag LIKE \"000000003*\" and lastName LIKE \"*ić\"",
+                "firstName >= \"Z\"",
+                "lastName LIKE \"*a\""
+        };
+
+        for (String query : queries) {
+            QueryFilter queryFilter = new QueryFilter(new QueryParser(query).getQuery());
+
+            assertEquals(this.database.filter(record -> queryFilter.accepts(record)), this.database.filter(queryFilter), query);
+        }
+    }
+
+    @Test
+    void testExplainIndexRangeAndFilterOrder() {
+        List<String> plan = this.database.explain(new QueryFilter(new QueryParser(
+                "jmbag != \"0000000001\" and lastName LIKE \"*ić\" and firstName = \"Marin\"").getQuery()));
+
+        assertEquals(3, plan.size());
+        assertTrue(plan.get(0).startsWith("Index range scan on firstName = \"Marin\": 3 of 63 records"));
+        assertTrue(plan.get(1).startsWith("Filter lastName LIKE \"*ić\""));
+        assertTrue(plan.get(2).startsWith("Filter jmbag != \"0000000001\""));
+    }
+
+    @Test
+    void testExplainFullScan() {
+        List<String> plan = this.database.explain(new QueryFilter(List.of(
+                new ConditionalExpression(record -> record.getFirstName() + record.getLastName(), "*ić", ComparisonOperators.LIKE),
+                new ConditionalExpression(FieldValueGetters.LAST_NAME, "*ić", ComparisonOperators.LIKE))));
+
+        assertEquals(List.of("Full scan of 63 records"), plan.subList(0, 1));
+        assertTrue(plan.get(1).startsWith("Filter lastName LIKE"));
+        assertTrue(plan.get(2).startsWith("Filter <custom field> LIKE"));
+    }
+
+    @Test
+    void testCustomFieldsAreFilteredRecordByRecord() {
+        QueryFilter queryFilter = new QueryFilter(List.of(
+                new ConditionalExpression(record -> record.getFirstName() + " " + record.getLastName(), "Marin B*", ComparisonOperators.LIKE),
+                new ConditionalExpression(FieldValueGetters.JMBAG, "0000000010", ComparisonOperators.LESS)));
+
+        assertEquals(List.of(this.database.forJMBAG("0000000004")), this.database.filter(queryFilter));
+    }
+
+    @Test
+    void testEmptyJMBAGRangeOfSmallUnsortedDatabase() {
+        StudentDatabase database = new StudentDatabase(List.of("0000000002\tB\tB\t2", "0000000001\tA\tA\t1"));
+
+        assertTrue(database.filter(new QueryFilter(new QueryParser("jmbag < \"0000000001\"").getQuery())).isEmpty());
+        assertTrue(database.filter(new QueryFilter(new QueryParser("jmbag LIKE \"1*\"").getQuery())).isEmpty());
+        assertEquals(1, database.filter(new QueryFilter(new QueryParser("jmbag <= \"0000000001\"").getQuery())).size());
+    }
+
 }